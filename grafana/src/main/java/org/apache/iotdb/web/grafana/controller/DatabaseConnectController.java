@@ -106,6 +106,7 @@ public class DatabaseConnectController {
     try {
       JSONObject jsonObject = getRequestBodyJson(request);
       Pair<ZonedDateTime, ZonedDateTime> timeRange = getTimeFromAndTo(jsonObject);
+      long interval = getInterval(jsonObject, timeRange);
       JSONArray array = (JSONArray) jsonObject.get("targets"); // []
       JSONArray result = new JSONArray();
       for (int i = 0; i < array.size(); i++) {
@@ -118,9 +119,9 @@ public class DatabaseConnectController {
         JSONObject obj = new JSONObject();
         obj.put("target", target);
         if (type.equals("table")) {
-          setJsonTable(obj, target, timeRange);
+          setJsonTable(obj, target, timeRange, interval);
         } else if (type.equals("timeserie")) {
-          setJsonTimeseries(obj, target, timeRange);
+          setJsonTimeseries(obj, target, timeRange, interval);
         }
         result.add(i, obj);
       }
@@ -141,10 +142,37 @@ public class DatabaseConnectController {
         to.atZone(ZoneId.of("Asia/Shanghai")));
   }
 
+  /**
+   * get the time interval in ms that one point of the panel covers, so that the time range is
+   * divided into at most maxDataPoints intervals. A down-sampling function that returns several
+   * points per group, like M4 with up to 4, puts that many intervals into one group, so the panel
+   * receives at most maxDataPoints points, rounded up to a multiple of the points per group.
+   *
+   * @param jsonObject request JSON
+   * @param timeRange time range of the panel
+   * @return the interval, or 0 if Grafana sends neither intervalMs nor maxDataPoints
+   */
+  private long getInterval(JSONObject jsonObject, Pair<ZonedDateTime, ZonedDateTime> timeRange) {
+    long interval = 0;
+    Long intervalMs = jsonObject.getLong("intervalMs");
+    if (intervalMs != null) {
+      interval = intervalMs;
+    }
+    Long maxDataPoints = jsonObject.getLong("maxDataPoints");
+    if (maxDataPoints != null && maxDataPoints > 0) {
+      // the time range includes both ends
+      long range = timeRange.right.toInstant().toEpochMilli() - timeRange.left.toInstant()
+          .toEpochMilli() + 1;
+      // round up so that range / interval <= maxDataPoints
+      interval = Math.max(interval, (range + maxDataPoints - 1) / maxDataPoints);
+    }
+    return interval;
+  }
+
   private void setJsonTable(JSONObject obj, String target,
-      Pair<ZonedDateTime, ZonedDateTime> timeRange)
+      Pair<ZonedDateTime, ZonedDateTime> timeRange, long interval)
       throws JSONException {
-    List<TimeValues> timeValues = databaseConnectService.querySeries(target, timeRange);
+    List<TimeValues> timeValues = databaseConnectService.querySeries(target, timeRange, interval);
     JSONArray columns = new JSONArray();
     JSONObject column = new JSONObject();
     column.put("text", "Time");
@@ -166,9 +194,9 @@ public class DatabaseConnectController {
   }
 
   private void setJsonTimeseries(JSONObject obj, String target,
-      Pair<ZonedDateTime, ZonedDateTime> timeRange)
+      Pair<ZonedDateTime, ZonedDateTime> timeRange, long interval)
       throws JSONException {
-    List<TimeValues> timeValues = databaseConnectService.querySeries(target, timeRange);
+    List<TimeValues> timeValues = databaseConnectService.querySeries(target, timeRange, interval);
     logger.info("query size: {}", timeValues.size());
     JSONArray dataPoints = new JSONArray();
     for (TimeValues tv : timeValues) {
@@ -28,7 +28,15 @@ import org.apache.iotdb.web.grafana.bean.TimeValues;
  */
 public interface BasicDao {
 
-  List<TimeValues> querySeries(String s, Pair<ZonedDateTime, ZonedDateTime> timeRange);
+  /**
+   * query the data of a series in a time range.
+   *
+   * @param s series path without the "root." prefix
+   * @param timeRange time range of the panel
+   * @param interval time interval in ms to aggregate the data into, or 0 to return raw data
+   */
+  List<TimeValues> querySeries(String s, Pair<ZonedDateTime, ZonedDateTime> timeRange,
+      long interval);
 
   List<String> getMetaData();
 
@@ -24,16 +24,22 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import org.apache.iotdb.jdbc.Constant;
+import org.apache.iotdb.tsfile.common.constant.StatisticConstant;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.utils.Pair;
 import org.apache.iotdb.web.grafana.bean.TimeValues;
 import org.apache.iotdb.web.grafana.dao.BasicDao;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
@@ -45,8 +51,31 @@ public class BasicDaoImpl implements BasicDao {
 
   private static final Logger logger = LoggerFactory.getLogger(BasicDaoImpl.class);
 
+  /**
+   * pseudo function that keeps the first, min, max and last value of every interval, so that the
+   * shape of a line chart is preserved (M4 aggregation). min_time and max_time are the timestamps
+   * of the first and last value.
+   */
+  private static final String M4 = "m4";
+  /**
+   * the most points an M4 group is drawn with.
+   */
+  private static final int M4_POINTS = 4;
+  private static final List<String> M4_FUNCTIONS = Arrays
+      .asList(StatisticConstant.FIRST, StatisticConstant.MIN_VALUE, StatisticConstant.MAX_VALUE,
+          StatisticConstant.LAST, StatisticConstant.MIN_TIME, StatisticConstant.MAX_TIME);
+
   private final JdbcTemplate jdbcTemplate;
 
+  @Value("${isDownSampling:true}")
+  private boolean isDownSampling;
+
+  @Value("${continuous_data_function:m4}")
+  private String continuousDataFunction;
+
+  @Value("${discrete_data_function:last}")
+  private String discreteDataFunction;
+
   @Autowired
   public BasicDaoImpl(JdbcTemplate jdbcTemplate) {
     this.jdbcTemplate = jdbcTemplate;
@@ -71,21 +100,133 @@ public class BasicDaoImpl implements BasicDao {
   }
 
   @Override
-  public List<TimeValues> querySeries(String s, Pair<ZonedDateTime, ZonedDateTime> timeRange) {
+  public List<TimeValues> querySeries(String s, Pair<ZonedDateTime, ZonedDateTime> timeRange,
+      long interval) {
     Long from = zonedCovertToLong(timeRange.left);
     Long to = zonedCovertToLong(timeRange.right);
-    String sql = "SELECT " + s.substring(s.lastIndexOf('.') + 1) + " FROM root."
-        + s.substring(0, s.lastIndexOf('.')) + " WHERE time > " + from + " and time < " + to;
-    logger.info(sql);
     List<TimeValues> rows = null;
     try {
-      rows = jdbcTemplate.query(sql, new TimeValuesRowMapper("root." + s));
+      if (isDownSampling && interval > 0) {
+        rows = queryDownSampledSeries(s, from, to, interval);
+      } else {
+        String sql = "SELECT " + s.substring(s.lastIndexOf('.') + 1) + " FROM root."
+            + s.substring(0, s.lastIndexOf('.')) + " WHERE time >= " + from + " and time <= "
+            + to;
+        logger.info(sql);
+        rows = jdbcTemplate.query(sql, new TimeValuesRowMapper("root." + s));
+      }
     } catch (Exception e) {
       logger.error(e.getMessage());
     }
     return rows;
   }
 
+  /**
+   * aggregate the series into one group per interval on the server side, so that the number of
+   * returned points is bounded by the width of the panel instead of the amount of raw data. Like
+   * the raw query, the groups cover [from, to] including both ends.
+   *
+   * @param interval the time one point of the panel covers, an M4 group covers as many of them as
+   * it may return points
+   */
+  private List<TimeValues> queryDownSampledSeries(String s, long from, long to, long interval) {
+    String function = isContinuous("root." + s) ? continuousDataFunction : discreteDataFunction;
+    boolean isM4 = M4.equalsIgnoreCase(function);
+    long groupInterval = isM4 ? interval * M4_POINTS : interval;
+    List<String> functions = isM4 ? M4_FUNCTIONS : Collections.singletonList(function);
+    String measurement = s.substring(s.lastIndexOf('.') + 1);
+    StringBuilder selectClause = new StringBuilder();
+    List<String> columnNames = new ArrayList<>();
+    for (String f : functions) {
+      if (selectClause.length() > 0) {
+        selectClause.append(", ");
+      }
+      selectClause.append(f).append("(").append(measurement).append(")");
+      columnNames.add(f + "(root." + s + ")");
+    }
+    String sql = "SELECT " + selectClause + " FROM root." + s.substring(0, s.lastIndexOf('.'))
+        + " GROUP BY (" + groupInterval + "ms, [" + from + ", " + to + "])";
+    logger.info(sql);
+    List<TimeValues> rows = new ArrayList<>();
+    jdbcTemplate.query(sql, (RowCallbackHandler) resultSet -> {
+      if (isM4) {
+        addM4Points(resultSet, "root." + s, rows);
+        return;
+      }
+      for (String columnName : columnNames) {
+        // an interval without data has null values
+        if (resultSet.getString(columnName) != null) {
+          rows.add(TimeValuesRowMapper.toTimeValues(resultSet, columnName));
+        }
+      }
+    });
+    return rows;
+  }
+
+  /**
+   * add the points of one M4 group. The first and last value are at their own timestamps, the
+   * minimum and maximum are placed evenly between them, as the server does not return their
+   * timestamps. When a group is one pixel wide this draws the same line as the raw data: a vertical
+   * line from the minimum to the maximum, joined to the neighbouring groups by the first and last
+   * value. An extreme equal to the first or last value is not repeated.
+   */
+  private static void addM4Points(ResultSet resultSet, String path, List<TimeValues> rows)
+      throws SQLException {
+    String firstColumn = StatisticConstant.FIRST + "(" + path + ")";
+    // an interval without data has null values
+    if (resultSet.getString(firstColumn) == null) {
+      return;
+    }
+    long firstTime = resultSet.getLong(StatisticConstant.MIN_TIME + "(" + path + ")");
+    long lastTime = resultSet.getLong(StatisticConstant.MAX_TIME + "(" + path + ")");
+    float first = resultSet.getFloat(firstColumn);
+    float last = resultSet.getFloat(StatisticConstant.LAST + "(" + path + ")");
+    List<Float> extremes = new ArrayList<>();
+    for (String function : Arrays
+        .asList(StatisticConstant.MIN_VALUE, StatisticConstant.MAX_VALUE)) {
+      float extreme = resultSet.getFloat(function + "(" + path + ")");
+      if (extreme != first && extreme != last) {
+        extremes.add(extreme);
+      }
+    }
+
+    rows.add(toTimeValues(firstTime, first));
+    // each of these extremes is another point of the group, so the group spans enough
+    // milliseconds to give every point its own timestamp
+    for (int i = 0; i < extremes.size(); i++) {
+      rows.add(toTimeValues(
+          firstTime + (lastTime - firstTime) * (i + 1) / (extremes.size() + 1), extremes.get(i)));
+    }
+    if (lastTime != firstTime) {
+      rows.add(toTimeValues(lastTime, last));
+    }
+  }
+
+  private static TimeValues toTimeValues(long time, float value) {
+    TimeValues tv = new TimeValues();
+    tv.setTime(time);
+    tv.setValue(value);
+    return tv;
+  }
+
+  /**
+   * numeric series are downsampled with continuousDataFunction, the others (boolean and text)
+   * with discreteDataFunction.
+   */
+  private boolean isContinuous(String path) {
+    ConnectionCallback<Boolean> connectionCallback = connection -> {
+      ResultSet resultSet = connection.getMetaData()
+          .getColumns(Constant.CATALOG_TIMESERIES, path, path, null);
+      if (!resultSet.next()) {
+        return false;
+      }
+      TSDataType dataType = TSDataType.valueOf(resultSet.getString(3));
+      return dataType == TSDataType.INT32 || dataType == TSDataType.INT64
+          || dataType == TSDataType.FLOAT || dataType == TSDataType.DOUBLE;
+    };
+    return jdbcTemplate.execute(connectionCallback);
+  }
+
   private Long zonedCovertToLong(ZonedDateTime time) {
     return time.toInstant().toEpochMilli();
   }
@@ -102,6 +243,10 @@ public class BasicDaoImpl implements BasicDao {
 
     @Override
     public TimeValues mapRow(ResultSet resultSet, int i) throws SQLException {
+      return toTimeValues(resultSet, columnName);
+    }
+
+    static TimeValues toTimeValues(ResultSet resultSet, String columnName) throws SQLException {
       TimeValues tv = new TimeValues();
       tv.setTime(resultSet.getLong("Time"));
       String valueString = resultSet.getString(columnName);
@@ -0,0 +1,206 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.web.grafana.dao.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.iotdb.tsfile.utils.Pair;
+import org.apache.iotdb.web.grafana.bean.TimeValues;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class BasicDaoImplTest {
+
+  private static final String SERIES = "sg.d1.s1";
+  private static final String PATH = "root." + SERIES;
+
+  private FakeJdbcTemplate jdbcTemplate;
+  private BasicDaoImpl basicDao;
+
+  @Before
+  public void setUp() {
+    jdbcTemplate = new FakeJdbcTemplate();
+    basicDao = new BasicDaoImpl(jdbcTemplate);
+    ReflectionTestUtils.setField(basicDao, "isDownSampling", true);
+    ReflectionTestUtils.setField(basicDao, "continuousDataFunction", "m4");
+    ReflectionTestUtils.setField(basicDao, "discreteDataFunction", "last");
+  }
+
+  private Pair<ZonedDateTime, ZonedDateTime> timeRange(long from, long to) {
+    return new Pair<>(ZonedDateTime.ofInstant(Instant.ofEpochMilli(from), ZoneId.of("UTC")),
+        ZonedDateTime.ofInstant(Instant.ofEpochMilli(to), ZoneId.of("UTC")));
+  }
+
+  private void addM4Row(long time, String first, String min, String max, String last,
+      String minTime, String maxTime) {
+    Map<String, String> row = new HashMap<>();
+    row.put("Time", String.valueOf(time));
+    row.put("first(" + PATH + ")", first);
+    row.put("min_value(" + PATH + ")", min);
+    row.put("max_value(" + PATH + ")", max);
+    row.put("last(" + PATH + ")", last);
+    row.put("min_time(" + PATH + ")", minTime);
+    row.put("max_time(" + PATH + ")", maxTime);
+    jdbcTemplate.rows.add(row);
+  }
+
+  private void assertPoints(List<TimeValues> timeValues, long... timesAndValues) {
+    assertEquals(timesAndValues.length / 2, timeValues.size());
+    for (int i = 0; i < timeValues.size(); i++) {
+      assertEquals(timesAndValues[i * 2], timeValues.get(i).getTime());
+      assertEquals(timesAndValues[i * 2 + 1], timeValues.get(i).getValue(), 0.0001);
+    }
+  }
+
+  @Test
+  public void testM4() {
+    jdbcTemplate.continuous = true;
+    // the minimum and maximum are neither the first nor the last value
+    addM4Row(0, "5", "1", "9", "4", "3", "95");
+    // the minimum is the first value and the maximum is the last value
+    addM4Row(100, "2", "2", "7", "7", "110", "150");
+    // one point
+    addM4Row(200, "3", "3", "3", "3", "250", "250");
+    // no data
+    addM4Row(300, null, null, null, null, null, null);
+    // only the minimum is between the first and last value
+    addM4Row(400, "1", "0", "5", "5", "400", "402");
+
+    List<TimeValues> timeValues = basicDao.querySeries(SERIES, timeRange(0, 499), 25);
+
+    // a group may return 4 points, so it covers the time of 4 points of the panel
+    assertEquals("SELECT first(s1), min_value(s1), max_value(s1), last(s1), min_time(s1), "
+        + "max_time(s1) FROM root.sg.d1 GROUP BY (100ms, [0, 499])", jdbcTemplate.sqls.get(0));
+    assertPoints(timeValues,
+        3, 5, 33, 1, 64, 9, 95, 4,
+        110, 2, 150, 7,
+        250, 3,
+        400, 1, 401, 0, 402, 5);
+  }
+
+  @Test
+  public void testDiscrete() {
+    jdbcTemplate.continuous = false;
+    for (long time = 0; time < 300; time += 100) {
+      Map<String, String> row = new HashMap<>();
+      row.put("Time", String.valueOf(time));
+      row.put("last(" + PATH + ")", time == 100 ? null : "true");
+      jdbcTemplate.rows.add(row);
+    }
+
+    List<TimeValues> timeValues = basicDao.querySeries(SERIES, timeRange(0, 299), 100);
+
+    assertEquals("SELECT last(s1) FROM root.sg.d1 GROUP BY (100ms, [0, 299])",
+        jdbcTemplate.sqls.get(0));
+    assertPoints(timeValues, 0, 1, 200, 1);
+  }
+
+  @Test
+  public void testRawQuery() {
+    ReflectionTestUtils.setField(basicDao, "isDownSampling", false);
+    for (long time = 0; time <= 299; time += 299) {
+      Map<String, String> row = new HashMap<>();
+      row.put("Time", String.valueOf(time));
+      row.put(PATH, String.valueOf(time));
+      jdbcTemplate.rows.add(row);
+    }
+
+    List<TimeValues> timeValues = basicDao.querySeries(SERIES, timeRange(0, 299), 100);
+
+    // both ends of the time range are included, as in the GROUP BY query
+    assertEquals("SELECT s1 FROM root.sg.d1 WHERE time >= 0 and time <= 299",
+        jdbcTemplate.sqls.get(0));
+    assertPoints(timeValues, 0, 0, 299, 299);
+  }
+
+  /**
+   * returns the given rows for every query and whether the series is numeric for every metadata
+   * request.
+   */
+  private static class FakeJdbcTemplate extends JdbcTemplate {
+
+    private List<Map<String, String>> rows = new ArrayList<>();
+    private List<String> sqls = new ArrayList<>();
+    private boolean continuous;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T execute(ConnectionCallback<T> action) {
+      return (T) Boolean.valueOf(continuous);
+    }
+
+    @Override
+    public void query(String sql, RowCallbackHandler rch) {
+      sqls.add(sql);
+      try {
+        for (Map<String, String> row : rows) {
+          rch.processRow(resultSet(row));
+        }
+      } catch (SQLException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    @Override
+    public <T> List<T> query(String sql, RowMapper<T> rowMapper) {
+      sqls.add(sql);
+      List<T> results = new ArrayList<>();
+      try {
+        for (int i = 0; i < rows.size(); i++) {
+          results.add(rowMapper.mapRow(resultSet(rows.get(i)), i));
+        }
+      } catch (SQLException e) {
+        throw new IllegalStateException(e);
+      }
+      return results;
+    }
+
+    private ResultSet resultSet(Map<String, String> row) {
+      return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+          new Class[]{ResultSet.class}, (proxy, method, args) -> {
+            String value = row.get((String) args[0]);
+            switch (method.getName()) {
+              case "getString":
+                return value;
+              case "getLong":
+                return Long.parseLong(value);
+              case "getFloat":
+                return Float.parseFloat(value);
+              default:
+                throw new UnsupportedOperationException(method.getName());
+            }
+          });
+    }
+  }
+}
@@ -54,4 +54,9 @@ public class Config {
 
   public static boolean rpcThriftCompressionEnable = false;
 
+  /**
+   * must be true if the server runs the selector-based RPC server (rpc_selector_server_enable).
+   */
+  public static boolean rpcFramedTransportEnable = false;
+
 }
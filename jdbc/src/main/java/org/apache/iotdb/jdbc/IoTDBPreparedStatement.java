@@ -54,6 +54,13 @@ public class IoTDBPreparedStatement extends IoTDBStatement implements PreparedSt
 
   private String sql;
   private static final String METHOD_NOT_SUPPORTED_STRING = "Method not supported";
+  private static final String INSERT_COMMAND_LOWERCASE = "insert";
+
+  /**
+   * insert statements are parsed once on the server and only the parameters are sent for each
+   * execution, other statements are completed with the parameters on the client.
+   */
+  private boolean preparedOnServer = false;
 
   /**
    * save the SQL parameters as (paramLoc,paramValue) pairs.
@@ -68,9 +75,13 @@ public class IoTDBPreparedStatement extends IoTDBStatement implements PreparedSt
 
   public IoTDBPreparedStatement(IoTDBConnection connection, Iface client,
       TS_SessionHandle sessionHandle, String sql,
-      ZoneId zoneId) {
+      ZoneId zoneId) throws SQLException {
     super(connection, client, sessionHandle, zoneId);
     this.sql = sql;
+    if (sql.trim().toLowerCase().startsWith(INSERT_COMMAND_LOWERCASE)) {
+      prepareOnServer(sql);
+      preparedOnServer = true;
+    }
   }
 
   @Override
@@ -85,6 +96,9 @@ public class IoTDBPreparedStatement extends IoTDBStatement implements PreparedSt
 
   @Override
   public boolean execute() throws SQLException {
+    if (preparedOnServer) {
+      return executePrepared(sql, getParameterList());
+    }
     return super.execute(createCompleteSql(sql, parameters));
   }
 
@@ -95,6 +109,10 @@ public class IoTDBPreparedStatement extends IoTDBStatement implements PreparedSt
 
   @Override
   public int executeUpdate() throws SQLException {
+    if (preparedOnServer) {
+      executePrepared(sql, getParameterList());
+      return 0;
+    }
     return super.executeUpdate(createCompleteSql(sql, parameters));
   }
 
@@ -392,6 +410,18 @@ public class IoTDBPreparedStatement extends IoTDBStatement implements PreparedSt
 
   }
 
+  private List<String> getParameterList() throws SQLException {
+    int parameterCount = splitSqlStatement(sql).size() - 1;
+    List<String> parameterList = new ArrayList<>(parameterCount);
+    for (int i = 1; i <= parameterCount; i++) {
+      if (!parameters.containsKey(i)) {
+        throw new SQLException("Parameter #" + i + " is unset");
+      }
+      parameterList.add(parameters.get(i));
+    }
+    return parameterList;
+  }
+
   private List<String> splitSqlStatement(final String sql) {
     List<String> parts = new ArrayList<>();
     int apCount = 0;
@@ -66,7 +66,6 @@ public class IoTDBQueryResultSet implements ResultSet {
   private static final String METHOD_NOT_SUPPORTED = "Method not supported";
   private final String TIMESTAMP_STR = "Time";
   private static final String limitStr = "LIMIT";
-  private static final String offsetStr = "OFFSET";
   private Statement statement = null;
   private String sql;
   private SQLWarning warningChain = null;
@@ -86,8 +85,6 @@ public class IoTDBQueryResultSet implements ResultSet {
   private String operationType;
   // 0 means it is not constrained in sql
   private int rowsLimit = 0;
-  // 0 means it is not constrained in sql, or the offset position has been reached
-  private int rowsOffset = 0;
   private long queryId;
   private boolean ignoreTimeStamp = false;
 
@@ -152,13 +149,8 @@ public class IoTDBQueryResultSet implements ResultSet {
           maxRowsOrRowsLimit = (rowsLimit < maxRows) ? rowsLimit : maxRows;
         }
 
-        // check if OFFSET is constrained after LIMIT has been constrained
-        int posOffset = arraySplited.indexOf(offsetStr);
-        if (posOffset != -1) {
-          // NOTE that OFFSET <OFFSETValue>: OFFSETValue is ensured to be a non-negative
-          // integer by the server side
-          rowsOffset = Integer.parseInt(splited[posOffset + 1]);
-        }
+        // NOTE that OFFSET is applied by the server, so rows before the OFFSET position
+        // are never sent to the client
       }
     } catch (NumberFormatException e) {
       throw new IoTDBSQLException("Out of range: LIMIT&SLIMIT parameter should be Int32.");
@@ -747,16 +739,6 @@ public class IoTDBQueryResultSet implements ResultSet {
       return false;
     }
 
-    // When rowsOffset is constrained and the offset position has NOT been reached
-    if (rowsOffset != 0) {
-      for (int i = 0; i < rowsOffset; i++) { // Try to move to the offset position
-        if (!nextWithoutConstraints(rowsOffset + maxRowsOrRowsLimit - i)) {
-          return false; // No next record, i.e, fail to move to the offset position
-        }
-      }
-      rowsOffset = 0; // The offset position has been reached
-    }
-
     boolean isNext;
     if (maxRowsOrRowsLimit > 0) {
       isNext = nextWithoutConstraints(maxRowsOrRowsLimit - rowsFetched);
@@ -765,10 +747,6 @@ public class IoTDBQueryResultSet implements ResultSet {
     }
 
     if (isNext) {
-      /*
-       * Note that 'rowsFetched' is not increased in the nextWithoutConstraints(),
-       * because 'rowsFetched' should not count the rows fetched before the OFFSET position.
-       */
       rowsFetched++;
     }
 
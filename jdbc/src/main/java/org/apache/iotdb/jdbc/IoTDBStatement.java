@@ -38,10 +38,13 @@ import org.apache.iotdb.service.rpc.thrift.TSCloseOperationReq;
 import org.apache.iotdb.service.rpc.thrift.TSCloseOperationResp;
 import org.apache.iotdb.service.rpc.thrift.TSExecuteBatchStatementReq;
 import org.apache.iotdb.service.rpc.thrift.TSExecuteBatchStatementResp;
+import org.apache.iotdb.service.rpc.thrift.TSExecutePreparedReq;
 import org.apache.iotdb.service.rpc.thrift.TSExecuteStatementReq;
 import org.apache.iotdb.service.rpc.thrift.TSExecuteStatementResp;
 import org.apache.iotdb.service.rpc.thrift.TSIService;
 import org.apache.iotdb.service.rpc.thrift.TSOperationHandle;
+import org.apache.iotdb.service.rpc.thrift.TSPrepareStatementReq;
+import org.apache.iotdb.service.rpc.thrift.TSPrepareStatementResp;
 import org.apache.iotdb.service.rpc.thrift.TS_SessionHandle;
 import org.apache.iotdb.service.rpc.thrift.TS_StatusCode;
 import org.apache.thrift.TException;
@@ -55,7 +58,12 @@ public class IoTDBStatement implements Statement {
   private ResultSet resultSet = null;
   private IoTDBConnection connection;
   private int fetchSize;
-  private int queryTimeout = 10;
+  /**
+   * Timeout of the queries in seconds, 0 means no limit. The server applies its own default
+   * unless the timeout is set explicitly.
+   */
+  private int queryTimeout = 0;
+  private boolean isQueryTimeoutSet = false;
   protected TSIService.Iface client;
   private TS_SessionHandle sessionHandle;
   private TSOperationHandle operationHandle = null;
@@ -130,10 +138,12 @@ public class IoTDBStatement implements Statement {
       return;
     }
     try {
-      if (operationHandle != null) {
-        TSCancelOperationReq closeReq = new TSCancelOperationReq(operationHandle);
-        TSCancelOperationResp closeResp = client.cancelOperation(closeReq);
-        RpcUtils.verifySuccess(closeResp.getStatus());
+      if (operationHandle != null && queryId.get() > 0) {
+        // cancel the query of the last result set, the queries of other statements go on
+        TSCancelOperationReq cancelReq = new TSCancelOperationReq(operationHandle);
+        cancelReq.setQueryId(queryId.get() - 1);
+        TSCancelOperationResp cancelResp = client.cancelOperation(cancelReq);
+        RpcUtils.verifySuccess(cancelResp.getStatus());
       }
     } catch (Exception e) {
       throw new SQLException("Error occurs when canceling statement.", e);
@@ -246,6 +256,7 @@ public class IoTDBStatement implements Statement {
       return true;
     } else {
       TSExecuteStatementReq execReq = new TSExecuteStatementReq(sessionHandle, sql);
+      setTimeout(execReq);
       TSExecuteStatementResp execResp = client.executeStatement(execReq);
       operationHandle = execResp.getOperationHandle();
       try {
@@ -350,6 +361,7 @@ public class IoTDBStatement implements Statement {
   private ResultSet executeQuerySQL(String sql) throws TException, SQLException {
     isCancelled = false;
     TSExecuteStatementReq execReq = new TSExecuteStatementReq(sessionHandle, sql);
+    setTimeout(execReq);
     TSExecuteStatementResp execResp = client.executeQueryStatement(execReq);
     operationHandle = execResp.getOperationHandle();
     try {
@@ -499,10 +511,17 @@ public class IoTDBStatement implements Statement {
   @Override
   public void setQueryTimeout(int seconds) throws SQLException {
     checkConnection("setQueryTimeout");
-    if (seconds <= 0) {
+    if (seconds < 0) {
       throw new SQLException(String.format("queryTimeout %d must be >= 0!", seconds));
     }
     this.queryTimeout = seconds;
+    this.isQueryTimeoutSet = true;
+  }
+
+  private void setTimeout(TSExecuteStatementReq execReq) {
+    if (isQueryTimeoutSet) {
+      execReq.setTimeout(queryTimeout * 1000L);
+    }
   }
 
   @Override
@@ -578,6 +597,79 @@ public class IoTDBStatement implements Statement {
     this.sessionHandle = connection.sessionHandle;
   }
 
+  /**
+   * Prepare the statement on the server under a new statement id, so that it can be executed by
+   * {@link #executePrepared(String, List)} without being parsed again.
+   */
+  void prepareOnServer(String sql) throws SQLException {
+    requestStmtId();
+    try {
+      TSPrepareStatementResp resp = client
+          .prepareStatement(new TSPrepareStatementReq(sessionHandle, sql, stmtId));
+      RpcUtils.verifySuccess(resp.getStatus());
+    } catch (TException e) {
+      throw new SQLException(String.format("Fail to prepare %s", sql), e);
+    } catch (IoTDBRPCException e) {
+      throw new IoTDBSQLException(e);
+    }
+  }
+
+  /**
+   * Execute the statement prepared by {@link #prepareOnServer(String)}.
+   *
+   * @param sql the statement as it was prepared, with '?' placeholders. It is prepared again after
+   * a reconnection, as the prepared statements of the old session are lost
+   * @param parameters parameter values in the form of SQL literals, in placeholder order
+   */
+  boolean executePrepared(String sql, List<String> parameters) throws SQLException {
+    checkConnection("execute");
+    isClosed = false;
+    try {
+      return executePreparedSQL(sql, parameters);
+    } catch (TException e) {
+      boolean flag = connection.reconnect();
+      reInit();
+      if (flag) {
+        try {
+          // the statements prepared in the old session are lost
+          prepareOnServer(sql);
+          return executePreparedSQL(sql, parameters);
+        } catch (TException e2) {
+          throw new SQLException(
+              String.format("Fail to execute %s after reconnecting. please check server status",
+                  sql), e2);
+        }
+      } else {
+        throw new SQLException(String
+            .format("Fail to reconnect to server when executing %s. please check server status",
+                sql), e);
+      }
+    }
+  }
+
+  private boolean executePreparedSQL(String sql, List<String> parameters)
+      throws TException, SQLException {
+    isCancelled = false;
+    TSExecutePreparedReq execReq = new TSExecutePreparedReq(sessionHandle, stmtId, parameters);
+    TSExecuteStatementResp execResp = client.executePrepared(execReq);
+    operationHandle = execResp.getOperationHandle();
+    try {
+      RpcUtils.verifySuccess(execResp.getStatus());
+    } catch (IoTDBRPCException e) {
+      throw new IoTDBSQLException(e);
+    }
+    if (execResp.getOperationHandle().hasResultSet) {
+      IoTDBQueryResultSet resSet = new IoTDBQueryResultSet(this,
+          execResp.getColumns(), client,
+          operationHandle, sql, execResp.getOperationType(),
+          execResp.getDataTypeList(), queryId.getAndIncrement());
+      resSet.setIgnoreTimeStamp(execResp.ignoreTimeStamp);
+      this.resultSet = resSet;
+      return true;
+    }
+    return false;
+  }
+
   void requestStmtId() throws SQLException {
     try {
       this.stmtId = client.requestStatementId();
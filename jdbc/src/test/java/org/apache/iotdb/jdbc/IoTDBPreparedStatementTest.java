@@ -26,11 +26,15 @@ import static org.mockito.Mockito.when;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.ZoneId;
+import java.util.Arrays;
+import org.apache.iotdb.service.rpc.thrift.TSExecutePreparedReq;
 import org.apache.iotdb.service.rpc.thrift.TSExecuteStatementReq;
 import org.apache.iotdb.service.rpc.thrift.TSExecuteStatementResp;
 import org.apache.iotdb.service.rpc.thrift.TSGetOperationStatusResp;
 import org.apache.iotdb.service.rpc.thrift.TSIService.Iface;
 import org.apache.iotdb.service.rpc.thrift.TSOperationHandle;
+import org.apache.iotdb.service.rpc.thrift.TSPrepareStatementReq;
+import org.apache.iotdb.service.rpc.thrift.TSPrepareStatementResp;
 import org.apache.iotdb.service.rpc.thrift.TS_SessionHandle;
 import org.apache.iotdb.service.rpc.thrift.TS_Status;
 import org.apache.iotdb.service.rpc.thrift.TS_StatusCode;
@@ -66,6 +70,9 @@ public class IoTDBPreparedStatementTest {
 
     when(getOperationStatusResp.getStatus()).thenReturn(Status_SUCCESS);
     when(client.executeStatement(any(TSExecuteStatementReq.class))).thenReturn(execStatementResp);
+    when(client.prepareStatement(any(TSPrepareStatementReq.class)))
+        .thenReturn(new TSPrepareStatementResp(Status_SUCCESS));
+    when(client.executePrepared(any(TSExecutePreparedReq.class))).thenReturn(execStatementResp);
   }
 
   @SuppressWarnings("resource")
@@ -281,12 +288,15 @@ public class IoTDBPreparedStatementTest {
     ps.setString(7, "abc");
     ps.execute();
 
-    ArgumentCaptor<TSExecuteStatementReq> argument = ArgumentCaptor
-        .forClass(TSExecuteStatementReq.class);
-    verify(client).executeStatement(argument.capture());
-    assertEquals(
-        "INSERT INTO root.ln.wf01.wt01(timestamp,a,b,c,d,e,f) VALUES(12324,false,123,123234345,123.423,-1323.0,'abc')",
-        argument.getValue().getStatement());
+    ArgumentCaptor<TSPrepareStatementReq> prepareArgument = ArgumentCaptor
+        .forClass(TSPrepareStatementReq.class);
+    verify(client).prepareStatement(prepareArgument.capture());
+    assertEquals(sql, prepareArgument.getValue().getStatement());
+    ArgumentCaptor<TSExecutePreparedReq> argument = ArgumentCaptor
+        .forClass(TSExecutePreparedReq.class);
+    verify(client).executePrepared(argument.capture());
+    assertEquals(Arrays.asList("12324", "false", "123", "123234345", "123.423", "-1323.0", "'abc'"),
+        argument.getValue().getParameters());
   }
 
   @SuppressWarnings("resource")
@@ -305,11 +315,22 @@ public class IoTDBPreparedStatementTest {
     ps.setString(7, "abc");
     ps.execute();
 
-    ArgumentCaptor<TSExecuteStatementReq> argument = ArgumentCaptor
-        .forClass(TSExecuteStatementReq.class);
-    verify(client).executeStatement(argument.capture());
-    assertEquals(
-        "INSERT INTO root.ln.wf01.wt01(timestamp,a,b,c,d,e,f) VALUES(2017-11-01T00:13:00,false,123,123234345,123.423,-1323.0,'abc')",
-        argument.getValue().getStatement());
+    ArgumentCaptor<TSExecutePreparedReq> argument = ArgumentCaptor
+        .forClass(TSExecutePreparedReq.class);
+    verify(client).executePrepared(argument.capture());
+    assertEquals(Arrays
+            .asList("2017-11-01T00:13:00", "false", "123", "123234345", "123.423", "-1323.0",
+                "'abc'"),
+        argument.getValue().getParameters());
+  }
+
+  @SuppressWarnings("resource")
+  @Test(expected = SQLException.class)
+  public void unsetInsertArgument() throws Exception {
+    String sql = "INSERT INTO root.ln.wf01.wt01(timestamp,a) VALUES(?,?)";
+    IoTDBPreparedStatement ps = new IoTDBPreparedStatement(connection, client, sessHandle, sql,
+        zoneId);
+    ps.setLong(1, 12324);
+    ps.execute();
   }
 }
@@ -53,6 +53,7 @@ TOK_TYPE;
 TOK_LINEAR;
 TOK_PREVIOUS;
 TOK_TIMEUNIT;
+TOK_SLIDINGSTEP;
 TOK_TIMEORIGIN;
 TOK_TIMEINTERVAL;
 TOK_TIMEINTERVALPAIR;
@@ -77,7 +78,10 @@ TOK_ALL;
 TOK_SLIMIT;
 TOK_SOFFSET;
 TOK_LIMIT;
+TOK_OFFSET;
+TOK_ORDERBY;
 TOK_FLOAT_COMB;
+TOK_LOAD_FILE;
 
 /*
   BELOW IS THE METADATA TOKEN
@@ -131,7 +135,10 @@ ArrayList<ParseError> errors = new ArrayList<ParseError>();
         xlateMap.put("KW_NOT", "NOT");
         xlateMap.put("KW_LIKE", "LIKE");
 
+        xlateMap.put("KW_ORDER", "ORDER");
         xlateMap.put("KW_BY", "BY");
+        xlateMap.put("KW_ASC", "ASC");
+        xlateMap.put("KW_DESC", "DESC");
         xlateMap.put("KW_GROUP", "GROUP");
         xlateMap.put("KW_FILL", "FILL");
         xlateMap.put("KW_LINEAR", "LINEAR");
@@ -354,6 +361,7 @@ execStatement
     | metadataStatement
     | mergeStatement
 //    | loadStatement
+    | loadFileStatement
     | indexStatement
     | quitStatement
     | listStatement
@@ -493,8 +501,9 @@ queryStatement
    :
    selectClause
    whereClause?
+   orderByTimeClause?
    specialClause?
-   -> ^(TOK_QUERY selectClause whereClause? specialClause?)
+   -> ^(TOK_QUERY selectClause whereClause? orderByTimeClause? specialClause?)
    ;
 
 specialClause
@@ -525,6 +534,11 @@ loadStatement
     -> ^(TOK_LOAD $fileName identifier+)
     ;
 
+loadFileStatement
+    : KW_LOAD (fileName=StringLiteral)
+    -> ^(TOK_LOAD_FILE $fileName)
+    ;
+
 createUser
     : KW_CREATE KW_USER
         userName=Identifier
@@ -749,8 +763,14 @@ whereClause
 
 groupbyClause
     :
-    KW_GROUP KW_BY LPAREN value=integer unit=Identifier (COMMA timeOrigin=dateFormatWithNumber)? COMMA timeInterval (COMMA timeInterval)* RPAREN
-    -> ^(TOK_GROUPBY ^(TOK_TIMEUNIT $value $unit) ^(TOK_TIMEORIGIN $timeOrigin)? ^(TOK_TIMEINTERVAL timeInterval+))
+    KW_GROUP KW_BY LPAREN value=integer unit=Identifier (COMMA stepValue=integer stepUnit=Identifier)? (COMMA timeOrigin=dateFormatWithNumber)? COMMA timeInterval (COMMA timeInterval)* RPAREN
+    -> ^(TOK_GROUPBY ^(TOK_TIMEUNIT $value $unit) ^(TOK_SLIDINGSTEP $stepValue $stepUnit)? ^(TOK_TIMEORIGIN $timeOrigin)? ^(TOK_TIMEINTERVAL timeInterval+))
+    ;
+
+orderByTimeClause
+    :
+    KW_ORDER KW_BY KW_TIME (order=KW_ASC | order=KW_DESC)?
+    -> ^(TOK_ORDERBY $order?)
     ;
 
 fillClause
@@ -762,12 +782,13 @@ fillClause
 limitClause
     :
     KW_LIMIT N=nonNegativeInteger offsetClause?
-    -> ^(TOK_LIMIT $N)
+    -> ^(TOK_LIMIT $N) offsetClause?
     ;
 
 offsetClause
     :
     KW_OFFSET OFFSETValue=nonNegativeInteger
+    -> ^(TOK_OFFSET $OFFSETValue)
     ;
 
 slimitClause
@@ -132,6 +132,7 @@ public class AuthorityChecker {
         return PrivilegeType.DELETE_TIMESERIES.ordinal();
       case INSERT:
       case LOADDATA:
+      case LOAD_FILE:
       case INDEX:
         return PrivilegeType.INSERT_TIMESERIES.ordinal();
       case UPDATE:
@@ -53,6 +53,22 @@ public class IoTDBConfig {
    */
   private int maxConcurrentClientNum = 65535;
 
+  /**
+   * whether to serve JDBC clients by a selector-based server with framed transport instead of one
+   * thread per connection. Clients must enable framed transport as well.
+   */
+  private boolean rpcSelectorServerEnable = false;
+
+  /**
+   * Number of threads that select and read/write the connections in the selector-based server.
+   */
+  private int rpcSelectorThreadNum = 2;
+
+  /**
+   * Number of threads that execute the requests in the selector-based server.
+   */
+  private int rpcWorkerThreadNum = 64;
+
   /**
    * Memory allocated for the read process
    */
@@ -170,6 +186,19 @@ public class IoTDBConfig {
    * whether to cache meta data(ChunkMetaData and TsFileMetaData) or not.
    */
   private boolean metaDataCacheEnable = true;
+  /**
+   * whether to read sealed TsFiles through memory mapping rather than positional reads of a
+   * FileChannel.
+   */
+  private boolean enableMmapRead = false;
+
+  /**
+   * Only sealed TsFiles whose size (in byte) is not smaller than this are memory-mapped when
+   * enableMmapRead is true, so that a huge number of small files does not exhaust the mappings a
+   * process can hold.
+   */
+  private long mmapReadFileSizeThreshold = 16 * 1024 * 1024L;
+
   /**
    * Memory allocated for fileMetaData cache in read process
    */
@@ -180,6 +209,52 @@ public class IoTDBConfig {
    */
   private long allocateMemoryForChumkMetaDataCache = allocateMemoryForRead * 6 / 19;
 
+  /**
+   * whether to cache the chunks of sealed tsfiles across queries or not.
+   */
+  private boolean chunkCacheEnable = true;
+
+  /**
+   * whether to keep a summary of every series in each sealed TsFile under indexFileDir, so that
+   * queries can skip TsFiles without reading their metadata.
+   */
+  private boolean seriesIndexEnable = true;
+
+  /**
+   * whether to compute the rollups of every series when flushing a sequence memtable and keep
+   * them in a rollup TsFile next to the sealed TsFile, so that coarse-grained group by queries
+   * read the rollups instead of the raw data.
+   */
+  private boolean rollupEnable = false;
+
+  /**
+   * bucket lengths of the rollups in ms, each bucket is aligned to 0.
+   */
+  private long[] rollupIntervals = {60_000L, 3_600_000L, 86_400_000L};
+
+  /**
+   * Memory allocated for chunk cache in read process
+   */
+  private long allocateMemoryForChunkCache = allocateMemoryForRead * 4 / 19;
+
+  /**
+   * Memory allocated for the data that running queries hold in read process, e.g., chunks, pages
+   * and fetched results
+   */
+  private long allocateMemoryForQuery = allocateMemoryForRead * 6 / 19;
+
+  /**
+   * The longest time (in ms) a query waits for other queries to release memory when the memory for
+   * queries is exhausted, after which the query is rejected.
+   */
+  private long queryMemoryWaitTimeInMs = 10000;
+
+  /**
+   * The default timeout in ms of the queries of a session, used when a statement does not set its
+   * own timeout. A query exceeding it is stopped and its resources are released. 0 means no limit.
+   */
+  private long defaultQueryTimeoutInMs = 0;
+
   /**
    * The statMonitor writes statistics info into IoTDB every backLoopPeriodSec secs. The default
    * value is 5s.
@@ -204,6 +279,12 @@ public class IoTDBConfig {
    */
   private int mManagerCacheSize = 400000;
 
+  /**
+   * Max number of query plans kept in {@link org.apache.iotdb.db.qp.PhysicalPlanCache}, 0 means
+   * query plans are not cached.
+   */
+  private int queryPlanCacheSize = 1000;
+
   /**
    * Is this IoTDB instance a receiver of sync or not.
    */
@@ -411,7 +492,7 @@ public class IoTDBConfig {
     return indexFileDir;
   }
 
-  private void setIndexFileDir(String indexFileDir) {
+  void setIndexFileDir(String indexFileDir) {
     this.indexFileDir = indexFileDir;
   }
 
@@ -483,6 +564,30 @@ public class IoTDBConfig {
     this.maxConcurrentClientNum = maxConcurrentClientNum;
   }
 
+  public boolean isRpcSelectorServerEnable() {
+    return rpcSelectorServerEnable;
+  }
+
+  public void setRpcSelectorServerEnable(boolean rpcSelectorServerEnable) {
+    this.rpcSelectorServerEnable = rpcSelectorServerEnable;
+  }
+
+  public int getRpcSelectorThreadNum() {
+    return rpcSelectorThreadNum;
+  }
+
+  public void setRpcSelectorThreadNum(int rpcSelectorThreadNum) {
+    this.rpcSelectorThreadNum = rpcSelectorThreadNum;
+  }
+
+  public int getRpcWorkerThreadNum() {
+    return rpcWorkerThreadNum;
+  }
+
+  public void setRpcWorkerThreadNum(int rpcWorkerThreadNum) {
+    this.rpcWorkerThreadNum = rpcWorkerThreadNum;
+  }
+
   public int getStatMonitorDetectFreqSec() {
     return statMonitorDetectFreqSec;
   }
@@ -507,6 +612,14 @@ public class IoTDBConfig {
     this.mManagerCacheSize = mManagerCacheSize;
   }
 
+  public int getQueryPlanCacheSize() {
+    return queryPlanCacheSize;
+  }
+
+  void setQueryPlanCacheSize(int queryPlanCacheSize) {
+    this.queryPlanCacheSize = queryPlanCacheSize;
+  }
+
   public boolean isSyncEnable() {
     return isSyncEnable;
   }
@@ -667,6 +780,46 @@ public class IoTDBConfig {
     this.metaDataCacheEnable = metaDataCacheEnable;
   }
 
+  public boolean isSeriesIndexEnable() {
+    return seriesIndexEnable;
+  }
+
+  public void setSeriesIndexEnable(boolean seriesIndexEnable) {
+    this.seriesIndexEnable = seriesIndexEnable;
+  }
+
+  public boolean isRollupEnable() {
+    return rollupEnable;
+  }
+
+  public void setRollupEnable(boolean rollupEnable) {
+    this.rollupEnable = rollupEnable;
+  }
+
+  public long[] getRollupIntervals() {
+    return rollupIntervals;
+  }
+
+  public void setRollupIntervals(long[] rollupIntervals) {
+    this.rollupIntervals = rollupIntervals;
+  }
+
+  public boolean isEnableMmapRead() {
+    return enableMmapRead;
+  }
+
+  public void setEnableMmapRead(boolean enableMmapRead) {
+    this.enableMmapRead = enableMmapRead;
+  }
+
+  public long getMmapReadFileSizeThreshold() {
+    return mmapReadFileSizeThreshold;
+  }
+
+  public void setMmapReadFileSizeThreshold(long mmapReadFileSizeThreshold) {
+    this.mmapReadFileSizeThreshold = mmapReadFileSizeThreshold;
+  }
+
   public long getAllocateMemoryForFileMetaDataCache() {
     return allocateMemoryForFileMetaDataCache;
   }
@@ -675,6 +828,46 @@ public class IoTDBConfig {
     this.allocateMemoryForFileMetaDataCache = allocateMemoryForFileMetaDataCache;
   }
 
+  public boolean isChunkCacheEnable() {
+    return chunkCacheEnable;
+  }
+
+  public void setChunkCacheEnable(boolean chunkCacheEnable) {
+    this.chunkCacheEnable = chunkCacheEnable;
+  }
+
+  public long getAllocateMemoryForChunkCache() {
+    return allocateMemoryForChunkCache;
+  }
+
+  public void setAllocateMemoryForChunkCache(long allocateMemoryForChunkCache) {
+    this.allocateMemoryForChunkCache = allocateMemoryForChunkCache;
+  }
+
+  public long getAllocateMemoryForQuery() {
+    return allocateMemoryForQuery;
+  }
+
+  public void setAllocateMemoryForQuery(long allocateMemoryForQuery) {
+    this.allocateMemoryForQuery = allocateMemoryForQuery;
+  }
+
+  public long getQueryMemoryWaitTimeInMs() {
+    return queryMemoryWaitTimeInMs;
+  }
+
+  public void setQueryMemoryWaitTimeInMs(long queryMemoryWaitTimeInMs) {
+    this.queryMemoryWaitTimeInMs = queryMemoryWaitTimeInMs;
+  }
+
+  public long getDefaultQueryTimeoutInMs() {
+    return defaultQueryTimeoutInMs;
+  }
+
+  public void setDefaultQueryTimeoutInMs(long defaultQueryTimeoutInMs) {
+    this.defaultQueryTimeoutInMs = defaultQueryTimeoutInMs;
+  }
+
   public long getAllocateMemoryForChumkMetaDataCache() {
     return allocateMemoryForChumkMetaDataCache;
   }
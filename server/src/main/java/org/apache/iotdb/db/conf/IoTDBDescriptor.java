@@ -24,6 +24,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.Properties;
 import org.apache.iotdb.db.utils.FilePathUtils;
 import org.slf4j.Logger;
@@ -123,6 +124,13 @@ public class IoTDBDescriptor {
       conf.setRpcThriftCompressionEnable(Boolean.parseBoolean(properties.getProperty("rpc_thrift_compression_enable",
               Boolean.toString(conf.isRpcThriftCompressionEnable()))));
 
+      conf.setRpcSelectorServerEnable(Boolean.parseBoolean(properties.getProperty(
+          "rpc_selector_server_enable", Boolean.toString(conf.isRpcSelectorServerEnable()))));
+      conf.setRpcSelectorThreadNum(Integer.parseInt(properties.getProperty(
+          "rpc_selector_thread_num", Integer.toString(conf.getRpcSelectorThreadNum())).trim()));
+      conf.setRpcWorkerThreadNum(Integer.parseInt(properties.getProperty(
+          "rpc_worker_thread_num", Integer.toString(conf.getRpcWorkerThreadNum())).trim()));
+
       conf.setRpcPort(Integer.parseInt(properties.getProperty("rpc_port",
           Integer.toString(conf.getRpcPort()))));
 
@@ -137,8 +145,40 @@ public class IoTDBDescriptor {
           Boolean.parseBoolean(properties.getProperty("meta_data_cache_enable",
               Boolean.toString(conf.isMetaDataCacheEnable()))));
 
+      conf.setChunkCacheEnable(
+          Boolean.parseBoolean(properties.getProperty("chunk_cache_enable",
+              Boolean.toString(conf.isChunkCacheEnable()))));
+
+      conf.setSeriesIndexEnable(
+          Boolean.parseBoolean(properties.getProperty("series_index_enable",
+              Boolean.toString(conf.isSeriesIndexEnable()))));
+
+      conf.setRollupEnable(
+          Boolean.parseBoolean(properties.getProperty("rollup_enable",
+              Boolean.toString(conf.isRollupEnable()))));
+
+      String rollupIntervals = properties.getProperty("rollup_intervals");
+      if (rollupIntervals != null) {
+        conf.setRollupIntervals(Arrays.stream(rollupIntervals.split(","))
+            .mapToLong(interval -> Long.parseLong(interval.trim())).toArray());
+      }
+
+      conf.setQueryMemoryWaitTimeInMs(Long.parseLong(properties
+          .getProperty("query_memory_wait_time_in_ms",
+              Long.toString(conf.getQueryMemoryWaitTimeInMs()))));
+
+      conf.setDefaultQueryTimeoutInMs(Long.parseLong(properties
+          .getProperty("default_query_timeout_in_ms",
+              Long.toString(conf.getDefaultQueryTimeoutInMs()))));
+
       initMemoryAllocate(properties);
 
+      conf.setEnableMmapRead(Boolean.parseBoolean(properties.getProperty("enable_mmap_read",
+          Boolean.toString(conf.isEnableMmapRead()))));
+      conf.setMmapReadFileSizeThreshold(Long.parseLong(properties
+          .getProperty("mmap_read_file_size_threshold",
+              Long.toString(conf.getMmapReadFileSizeThreshold())).trim()));
+
       conf.setEnableWal(Boolean.parseBoolean(properties.getProperty("enable_wal",
           Boolean.toString(conf.isEnableWal()))));
 
@@ -153,6 +193,8 @@ public class IoTDBDescriptor {
 
       conf.setWalFolder(properties.getProperty("wal_dir", conf.getWalFolder()));
 
+      conf.setIndexFileDir(properties.getProperty("index_dir", conf.getIndexFileDir()));
+
       conf.setFlushWalThreshold(Integer
           .parseInt(properties.getProperty("flush_wal_threshold",
               Integer.toString(conf.getFlushWalThreshold()))));
@@ -220,6 +262,10 @@ public class IoTDBDescriptor {
           .parseInt(properties.getProperty("schema_manager_cache_size",
               Integer.toString(conf.getmManagerCacheSize())).trim()));
 
+      conf.setQueryPlanCacheSize(Integer
+          .parseInt(properties.getProperty("query_plan_cache_size",
+              Integer.toString(conf.getQueryPlanCacheSize())).trim()));
+
       conf.setLanguageVersion(properties.getProperty("language_version",
           conf.getLanguageVersion()).trim());
 
@@ -280,10 +326,6 @@ public class IoTDBDescriptor {
           maxMemoryAvailable * Integer.parseInt(proportions[1].trim()) / proportionSum);
     }
 
-    if (!conf.isMetaDataCacheEnable()) {
-      return;
-    }
-
     String queryMemoryAllocateProportion = properties
         .getProperty("filemeta_chunkmeta_free_memory_proportion");
     if (queryMemoryAllocateProportion != null) {
@@ -298,6 +340,20 @@ public class IoTDBDescriptor {
             maxMemoryAvailable * Integer.parseInt(proportions[0].trim()) / proportionSum);
         conf.setAllocateMemoryForChumkMetaDataCache(
             maxMemoryAvailable * Integer.parseInt(proportions[1].trim()) / proportionSum);
+        // the last section is always the free memory used in query
+        long memoryForQuery = maxMemoryAvailable
+            * Integer.parseInt(proportions[proportions.length - 1].trim()) / proportionSum;
+        if (proportions.length > 3) {
+          // the third section of a:b:c:d is for the chunk cache
+          conf.setAllocateMemoryForChunkCache(
+              maxMemoryAvailable * Integer.parseInt(proportions[2].trim()) / proportionSum);
+        } else {
+          // a:b:c has no section for the chunk cache, it takes 4/10 of the free memory as the
+          // default 3:6:4:6 does, so the read memory is not exceeded
+          conf.setAllocateMemoryForChunkCache(memoryForQuery * 4 / 10);
+          memoryForQuery -= conf.getAllocateMemoryForChunkCache();
+        }
+        conf.setAllocateMemoryForQuery(memoryForQuery);
       } catch (Exception e) {
         throw new RuntimeException(
             "Each subsection of configuration item filemeta_chunkmeta_free_memory_proportion should be an integer, which is "
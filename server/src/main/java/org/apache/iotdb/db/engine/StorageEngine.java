@@ -20,9 +20,10 @@ package org.apache.iotdb.db.engine;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.io.FileUtils;
@@ -36,6 +37,7 @@ import org.apache.iotdb.db.exception.PathErrorException;
 import org.apache.iotdb.db.exception.ProcessorException;
 import org.apache.iotdb.db.exception.StorageEngineException;
 import org.apache.iotdb.db.exception.StorageEngineFailureException;
+import org.apache.iotdb.db.exception.StorageGroupProcessorException;
 import org.apache.iotdb.db.metadata.MManager;
 import org.apache.iotdb.db.qp.physical.crud.BatchInsertPlan;
 import org.apache.iotdb.db.qp.physical.crud.InsertPlan;
@@ -43,9 +45,14 @@ import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.service.IService;
 import org.apache.iotdb.db.service.ServiceType;
 import org.apache.iotdb.db.utils.FilePathUtils;
+import org.apache.iotdb.tsfile.common.constant.TsFileConstant;
+import org.apache.iotdb.tsfile.file.metadata.ChunkGroupMetaData;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
+import org.apache.iotdb.tsfile.file.metadata.TsDeviceMetadataIndex;
 import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.read.expression.impl.SingleSeriesExpression;
 import org.slf4j.Logger;
@@ -221,9 +228,17 @@ public class StorageEngine implements IService {
    */
   public void delete(String deviceId, String measurementId, long timestamp)
       throws StorageEngineException {
+    delete(deviceId, measurementId, Long.MIN_VALUE, timestamp);
+  }
+
+  /**
+   * delete data of timeseries "{deviceId}.{measurementId}" with startTime <= time <= endTime.
+   */
+  public void delete(String deviceId, String measurementId, long startTime, long endTime)
+      throws StorageEngineException {
     StorageGroupProcessor storageGroupProcessor = getProcessor(deviceId);
     try {
-      storageGroupProcessor.delete(deviceId, measurementId, timestamp);
+      storageGroupProcessor.delete(deviceId, measurementId, startTime, endTime);
     } catch (IOException e) {
       throw new StorageEngineException(e);
     }
@@ -272,31 +287,85 @@ public class StorageEngine implements IService {
   }
 
   /**
-   * Append one specified tsfile to the storage group. <b>This method is only provided for
-   * transmission module</b>
+   * Load a sealed TsFile into the storage group that its devices belong to, see {@link
+   * StorageGroupProcessor#loadNewTsFile(TsFileResource, boolean)}. All devices in the file must
+   * belong to the same storage group and all its time series must have been registered with the
+   * data types of the file.
    *
-   * @param storageGroupName the seriesPath of storage group
-   * @param appendFile the appended tsfile information
+   * @param newTsFile the sealed TsFile to be loaded
+   * @param moveFile move the file into the data folder if true, otherwise copy it
    */
-  @SuppressWarnings("unused") // reimplement sync module
-  public boolean appendFileToStorageGroupProcessor(String storageGroupName,
-      TsFileResource appendFile,
-      String appendFilePath) throws StorageEngineException {
-    // TODO reimplement sync module
-    return true;
+  public void loadNewTsFile(File newTsFile, boolean moveFile) throws StorageEngineException {
+    Map<String, Long> startTimeMap = new HashMap<>();
+    Map<String, Long> endTimeMap = new HashMap<>();
+    String storageGroupName = null;
+    String deviceOfStorageGroup = null;
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(newTsFile.getPath(), false)) {
+      if (!reader.isComplete()) {
+        throw new StorageEngineException(
+            String.format("%s is not a complete TsFile", newTsFile.getPath()));
+      }
+      reader.loadMetadataSize();
+      for (Entry<String, TsDeviceMetadataIndex> entry : reader.readFileMetadata().getDeviceMap()
+          .entrySet()) {
+        String deviceId = entry.getKey();
+        String deviceStorageGroup = MManager.getInstance().getStorageGroupNameByPath(deviceId);
+        if (storageGroupName == null) {
+          storageGroupName = deviceStorageGroup;
+          deviceOfStorageGroup = deviceId;
+        } else if (!storageGroupName.equals(deviceStorageGroup)) {
+          throw new StorageEngineException(String.format(
+              "Devices in %s belong to more than one storage group: %s, %s", newTsFile.getPath(),
+              storageGroupName, deviceStorageGroup));
+        }
+        checkSeriesRegistered(reader, deviceId, entry.getValue());
+        startTimeMap.put(deviceId, entry.getValue().getStartTime());
+        endTimeMap.put(deviceId, entry.getValue().getEndTime());
+      }
+    } catch (IOException | PathErrorException e) {
+      throw new StorageEngineException(
+          String.format("Cannot read the metadata of %s", newTsFile.getPath()), e);
+    }
+    if (deviceOfStorageGroup == null) {
+      throw new StorageEngineException(
+          String.format("%s does not contain any device", newTsFile.getPath()));
+    }
+
+    try {
+      getProcessor(deviceOfStorageGroup)
+          .loadNewTsFile(new TsFileResource(newTsFile, startTimeMap, endTimeMap), moveFile);
+    } catch (StorageGroupProcessorException e) {
+      throw new StorageEngineException(e);
+    }
   }
 
   /**
-   * get all overlap tsfiles which are conflict with the appendFile.
-   *
-   * @param storageGroupName the seriesPath of storage group
-   * @param appendFile the appended tsfile information
+   * check that every time series of the device in the TsFile is registered with the same data type
+   * as its chunks.
    */
-  @SuppressWarnings("unused") // reimplement sync module
-  public List<String> getOverlapFiles(String storageGroupName, TsFileResource appendFile,
-      String uuid) throws StorageEngineException {
-    // TODO reimplement sync module
-    return Collections.emptyList();
+  private void checkSeriesRegistered(TsFileSequenceReader reader, String deviceId,
+      TsDeviceMetadataIndex index) throws IOException, PathErrorException, StorageEngineException {
+    Map<String, TSDataType> registeredTypes = new HashMap<>();
+    for (ChunkGroupMetaData chunkGroupMetaData : reader.readTsDeviceMetaData(index)
+        .getChunkGroupMetaDataList()) {
+      for (ChunkMetaData chunkMetaData : chunkGroupMetaData.getChunkMetaDataList()) {
+        String path = deviceId + TsFileConstant.PATH_SEPARATOR + chunkMetaData.getMeasurementUid();
+        TSDataType registeredType = registeredTypes.get(path);
+        if (registeredType == null) {
+          if (!MManager.getInstance().pathExist(path)) {
+            throw new StorageEngineException(
+                String.format("Time series %s is not registered", path));
+          }
+          registeredType = MManager.getInstance().getSeriesType(path);
+          registeredTypes.put(path, registeredType);
+        }
+        if (chunkMetaData.getTsDataType() != registeredType) {
+          throw new StorageEngineException(String.format(
+              "Time series %s is registered as %s but its data in the TsFile is %s", path,
+              registeredType, chunkMetaData.getTsDataType()));
+        }
+      }
+    }
   }
 
   /**
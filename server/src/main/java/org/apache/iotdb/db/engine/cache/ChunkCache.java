@@ -0,0 +1,260 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.service.JMXService;
+import org.apache.iotdb.tsfile.compress.IUnCompressor;
+import org.apache.iotdb.tsfile.file.header.ChunkHeader;
+import org.apache.iotdb.tsfile.file.header.PageHeader;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.Chunk;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class is used to cache the <code>Chunk</code>s of sealed tsfiles in IoTDB, so that the
+ * queries reading the same chunks share one copy instead of each reading it from disk. The pages of
+ * a cached chunk are stored uncompressed, so a hit saves the decompression too. The caching
+ * strategy is LRU.
+ */
+public class ChunkCache implements ChunkCacheMBean {
+
+  private static final Logger logger = LoggerFactory.getLogger(ChunkCache.class);
+  private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+
+  private static final String MBEAN_NAME = "org.apache.iotdb.db.engine.cache:type=Chunk Cache";
+  private static final char KEY_SEPARATOR = '#';
+
+  private static boolean cacheEnable = config.isChunkCacheEnable();
+  private static final long MEMORY_THRESHOLD_IN_B = config.getAllocateMemoryForChunkCache();
+  /**
+   * estimated size of a chunk header and the object overhead of a cache entry.
+   */
+  private static final long ENTRY_OVERHEAD_IN_B = 128;
+
+  /**
+   * key: file path # offset of the chunk header in the file.
+   * <p>
+   * value: the chunk with uncompressed pages.
+   */
+  private LRULinkedHashMap<String, Chunk> lruCache;
+
+  private AtomicLong cacheHitNum = new AtomicLong();
+  private AtomicLong cacheRequestNum = new AtomicLong();
+
+  ChunkCache(long memoryThreshold) {
+    if (!cacheEnable) {
+      return;
+    }
+    lruCache = new LRULinkedHashMap<String, Chunk>(memoryThreshold, true) {
+      @Override
+      protected long calEntrySize(String key, Chunk value) {
+        return key.length() * 2 + value.getData().capacity() + ENTRY_OVERHEAD_IN_B;
+      }
+    };
+    JMXService.registerMBean(this, MBEAN_NAME);
+  }
+
+  public static ChunkCache getInstance() {
+    return ChunkCacheHolder.INSTANCE;
+  }
+
+  /**
+   * get the chunk of the given chunk metadata in the sealed file. THREAD SAFE.
+   *
+   * @param filePath the path of the sealed tsfile
+   * @param chunkMetaData the metadata of the chunk
+   * @param reader the reader of the tsfile, used when the chunk is not cached
+   * @return a chunk owned by the caller, whose deleted ranges are set from the chunk metadata
+   */
+  public Chunk get(String filePath, ChunkMetaData chunkMetaData, TsFileSequenceReader reader)
+      throws IOException {
+    if (!cacheEnable) {
+      Chunk chunk = reader.readMemChunk(chunkMetaData);
+      chunk.setDeleteIntervalList(chunkMetaData.getDeleteIntervalList());
+      chunk.setPageBloomFilters(chunkMetaData.getPageBloomFilters());
+      return chunk;
+    }
+
+    String key = filePath + KEY_SEPARATOR + chunkMetaData.getOffsetOfChunkHeader();
+    cacheRequestNum.incrementAndGet();
+    Chunk chunk;
+    synchronized (lruCache) {
+      chunk = lruCache.get(key);
+    }
+    if (chunk != null) {
+      cacheHitNum.incrementAndGet();
+      if (logger.isDebugEnabled()) {
+        logger.debug(
+            "Cache hit: the number of requests for cache is {}, "
+                + "the number of hints for cache is {}",
+            cacheRequestNum.get(), cacheHitNum.get());
+      }
+      return copyOf(chunk, chunkMetaData);
+    }
+
+    // loading outside the lock: two queries may load the same chunk, which is cheaper than
+    // serializing all the misses
+    chunk = reader.readMemChunk(chunkMetaData);
+    if (chunk.getHeader().getCompressionType() == CompressionType.UNCOMPRESSED
+        && !chunk.getData().hasArray()) {
+      // a view of a memory-mapped file, already served by the page cache without copies
+      chunk.setDeleteIntervalList(chunkMetaData.getDeleteIntervalList());
+      chunk.setPageBloomFilters(chunkMetaData.getPageBloomFilters());
+      return chunk;
+    }
+    chunk = uncompress(chunk);
+    synchronized (lruCache) {
+      if (!lruCache.containsKey(key)) {
+        lruCache.put(key, chunk);
+      }
+    }
+    return copyOf(chunk, chunkMetaData);
+  }
+
+  /**
+   * a chunk sharing the data of the cached one, with its own position and deleted ranges.
+   */
+  private Chunk copyOf(Chunk chunk, ChunkMetaData chunkMetaData) {
+    Chunk chunkRet = new Chunk(chunk.getHeader(), chunk.getData().duplicate());
+    chunkRet.setDeleteIntervalList(chunkMetaData.getDeleteIntervalList());
+    chunkRet.setPageBloomFilters(chunkMetaData.getPageBloomFilters());
+    return chunkRet;
+  }
+
+  /**
+   * rewrite a compressed chunk into an equivalent uncompressed one.
+   */
+  private Chunk uncompress(Chunk chunk) throws IOException {
+    ChunkHeader header = chunk.getHeader();
+    if (header.getCompressionType() == CompressionType.UNCOMPRESSED) {
+      return chunk;
+    }
+    IUnCompressor unCompressor = IUnCompressor.getUnCompressor(header.getCompressionType());
+    ByteBuffer data = chunk.getData();
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream(data.remaining() * 2);
+    while (data.hasRemaining()) {
+      PageHeader pageHeader = PageHeader.deserializeFrom(data, header.getDataType());
+      byte[] compressedPageBody = new byte[pageHeader.getCompressedSize()];
+      data.get(compressedPageBody);
+      byte[] pageBody = unCompressor.uncompress(compressedPageBody);
+      new PageHeader(pageBody.length, pageBody.length, pageHeader.getNumOfValues(),
+          pageHeader.getStatistics(), pageHeader.getMaxTimestamp(), pageHeader.getMinTimestamp())
+          .serializeTo(outputStream);
+      outputStream.write(pageBody);
+    }
+    ChunkHeader uncompressedHeader = new ChunkHeader(header.getMeasurementID(),
+        outputStream.size(), header.getDataType(), CompressionType.UNCOMPRESSED,
+        header.getEncodingType(), header.getNumOfPages());
+    uncompressedHeader.setMaxTombstoneTime(header.getMaxTombstoneTime());
+    return new Chunk(uncompressedHeader, ByteBuffer.wrap(outputStream.toByteArray()));
+  }
+
+  /**
+   * remove all the cached chunks of a file, which must be called when the file is deleted.
+   *
+   * @param filePath the path of the tsfile
+   */
+  public void remove(String filePath) {
+    if (!cacheEnable) {
+      return;
+    }
+    String keyPrefix = filePath + KEY_SEPARATOR;
+    synchronized (lruCache) {
+      List<String> keys = new ArrayList<>();
+      for (String key : lruCache.keySet()) {
+        if (key.startsWith(keyPrefix)) {
+          keys.add(key);
+        }
+      }
+      for (String key : keys) {
+        lruCache.remove(key);
+      }
+    }
+  }
+
+  /**
+   * clear LRUCache.
+   */
+  public void clear() {
+    if (!cacheEnable) {
+      return;
+    }
+    synchronized (lruCache) {
+      lruCache.clear();
+    }
+  }
+
+  @Override
+  public long getRequestNum() {
+    return cacheRequestNum.get();
+  }
+
+  @Override
+  public long getHitNum() {
+    return cacheHitNum.get();
+  }
+
+  @Override
+  public double getHitRatio() {
+    long requestNum = cacheRequestNum.get();
+    return requestNum == 0 ? 0 : cacheHitNum.get() * 1.0 / requestNum;
+  }
+
+  @Override
+  public int getCachedChunkNum() {
+    if (!cacheEnable) {
+      return 0;
+    }
+    synchronized (lruCache) {
+      return lruCache.size();
+    }
+  }
+
+  @Override
+  public double getUsedMemoryProportion() {
+    if (!cacheEnable) {
+      return 0;
+    }
+    synchronized (lruCache) {
+      return lruCache.getUsedMemoryProportion();
+    }
+  }
+
+  /**
+   * singleton pattern.
+   */
+  private static class ChunkCacheHolder {
+
+    private ChunkCacheHolder() {
+    }
+
+    private static final ChunkCache INSTANCE = new ChunkCache(MEMORY_THRESHOLD_IN_B);
+  }
+}
@@ -57,7 +57,27 @@ public abstract class LRULinkedHashMap<K, V> extends LinkedHashMap<K, V> {
   @Override
   public V put(K key, V value) {
     usedMemInB += calEntrySize(key, value);
-    return super.put(key, value);
+    V oldValue = super.put(key, value);
+    if (oldValue != null) {
+      usedMemInB -= calEntrySize(key, oldValue);
+    }
+    return oldValue;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V remove(Object key) {
+    V value = super.remove(key);
+    if (value != null) {
+      usedMemInB -= calEntrySize((K) key, value);
+    }
+    return value;
+  }
+
+  @Override
+  public void clear() {
+    super.clear();
+    usedMemInB = 0;
   }
 
   /**
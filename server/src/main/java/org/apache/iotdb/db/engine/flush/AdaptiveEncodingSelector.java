@@ -0,0 +1,162 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.flush;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.apache.iotdb.db.utils.datastructure.TVList;
+import org.apache.iotdb.tsfile.encoding.encoder.Encoder;
+import org.apache.iotdb.tsfile.encoding.encoder.TSEncodingBuilder;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Chooses the encoding of each chunk of a series whose encoding is ADAPTIVE. A few windows of the
+ * sorted points are encoded with every lossless candidate of the data type and the one taking the
+ * least space is used for the whole chunk. The chosen encoding is recorded in the chunk header, so
+ * readers need no change.
+ */
+public class AdaptiveEncodingSelector {
+
+  private static final Logger logger = LoggerFactory.getLogger(AdaptiveEncodingSelector.class);
+
+  /**
+   * consecutive points are sampled, as most encodings depend on the previous points.
+   */
+  static final int SAMPLE_WINDOW_SIZE = 1024;
+  static final int SAMPLE_WINDOW_NUM = 3;
+
+  // candidates in order of preference when their sizes are equal, RLE and TS_2DIFF are lossy for
+  // floating-point values so they are not candidates of FLOAT and DOUBLE
+  private static final TSEncoding[] BOOLEAN_CANDIDATES = {TSEncoding.RLE, TSEncoding.PLAIN};
+  private static final TSEncoding[] INTEGER_CANDIDATES = {TSEncoding.TS_2DIFF, TSEncoding.GORILLA,
+      TSEncoding.RLE, TSEncoding.PLAIN};
+  private static final TSEncoding[] FLOATING_CANDIDATES = {TSEncoding.CHIMP, TSEncoding.GORILLA,
+      TSEncoding.PLAIN};
+  private static final TSEncoding[] TEXT_CANDIDATES = {TSEncoding.PLAIN_DICTIONARY,
+      TSEncoding.PLAIN};
+
+  private AdaptiveEncodingSelector() {
+    // util class
+  }
+
+  /**
+   * @return the schema itself if its encoding is not ADAPTIVE, otherwise a copy of it using the
+   * encoding that takes the least space on the sampled points
+   */
+  public static MeasurementSchema select(MeasurementSchema schema, TVList tvList) {
+    if (schema.getEncodingType() != TSEncoding.ADAPTIVE) {
+      return schema;
+    }
+    TSEncoding[] candidates = getCandidates(schema.getType());
+    TSEncoding best = candidates[0];
+    if (tvList.size() == 0) {
+      // a deletion may remove every point of the series from the memtable, nothing to sample
+      return new MeasurementSchema(schema.getMeasurementId(), schema.getType(), best,
+          schema.getCompressor(), schema.getProps());
+    }
+    long bestSize = Long.MAX_VALUE;
+    for (TSEncoding candidate : candidates) {
+      long size = estimateSize(schema, candidate, tvList);
+      if (size < bestSize) {
+        best = candidate;
+        bestSize = size;
+      }
+    }
+    logger.debug("Chunk of {} with {} points is encoded by {}", schema.getMeasurementId(),
+        tvList.size(), best);
+    return new MeasurementSchema(schema.getMeasurementId(), schema.getType(), best,
+        schema.getCompressor(), schema.getProps());
+  }
+
+  static TSEncoding[] getCandidates(TSDataType dataType) {
+    switch (dataType) {
+      case BOOLEAN:
+        return BOOLEAN_CANDIDATES;
+      case INT32:
+      case INT64:
+        return INTEGER_CANDIDATES;
+      case FLOAT:
+      case DOUBLE:
+        return FLOATING_CANDIDATES;
+      case TEXT:
+        return TEXT_CANDIDATES;
+      default:
+        return new TSEncoding[]{TSEncoding.PLAIN};
+    }
+  }
+
+  /**
+   * encode the sample windows, one page each, spread evenly over the list.
+   */
+  private static long estimateSize(MeasurementSchema schema, TSEncoding encoding,
+      TVList tvList) {
+    TSEncodingBuilder builder = TSEncodingBuilder.getConverter(encoding);
+    builder.initFromProps(schema.getProps());
+    Encoder encoder = builder.getEncoder(schema.getType());
+
+    int size = tvList.size();
+    int windowSize = Math.min(SAMPLE_WINDOW_SIZE, size);
+    int windowNum = Math.min(SAMPLE_WINDOW_NUM, size / windowSize);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try {
+      for (int i = 0; i < windowNum; i++) {
+        int start = windowNum == 1 ? 0 : (int) ((long) (size - windowSize) * i / (windowNum - 1));
+        for (int j = start; j < start + windowSize; j++) {
+          encode(encoder, schema.getType(), tvList, j, out);
+        }
+        encoder.flush(out);
+      }
+    } catch (IOException e) {
+      logger.warn("Cannot estimate the size of {} encoded by {}", schema.getMeasurementId(),
+          encoding, e);
+      return Long.MAX_VALUE;
+    }
+    return out.size();
+  }
+
+  private static void encode(Encoder encoder, TSDataType dataType, TVList tvList, int index,
+      ByteArrayOutputStream out) {
+    switch (dataType) {
+      case BOOLEAN:
+        encoder.encode(tvList.getBoolean(index), out);
+        break;
+      case INT32:
+        encoder.encode(tvList.getInt(index), out);
+        break;
+      case INT64:
+        encoder.encode(tvList.getLong(index), out);
+        break;
+      case FLOAT:
+        encoder.encode(tvList.getFloat(index), out);
+        break;
+      case DOUBLE:
+        encoder.encode(tvList.getDouble(index), out);
+        break;
+      case TEXT:
+        encoder.encode(tvList.getBinary(index), out);
+        break;
+      default:
+        break;
+    }
+  }
+}
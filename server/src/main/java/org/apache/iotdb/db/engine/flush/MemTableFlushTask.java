@@ -22,6 +22,7 @@ import org.apache.iotdb.db.engine.flush.pool.FlushSubTaskPoolManager;
 import org.apache.iotdb.db.engine.memtable.ChunkBufferPool;
 import org.apache.iotdb.db.engine.memtable.IMemTable;
 import org.apache.iotdb.db.engine.memtable.IWritableMemChunk;
+import org.apache.iotdb.db.engine.rollup.RollupWriter;
 import org.apache.iotdb.db.exception.FlushRunTimeException;
 import org.apache.iotdb.db.utils.datastructure.TVList;
 import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
@@ -51,15 +52,25 @@ public class MemTableFlushTask {
 
   private IMemTable memTable;
   private Schema schema;
+  private RollupWriter rollupWriter;
 
   private volatile boolean noMoreEncodingTask = false;
   private volatile boolean noMoreIOTask = false;
 
   public MemTableFlushTask(IMemTable memTable, Schema schema, RestorableTsFileIOWriter writer, String storageGroup) {
+    this(memTable, schema, writer, storageGroup, null);
+  }
+
+  /**
+   * @param rollupWriter pre-aggregates the flushed series, null if the TsFile has no rollup file
+   */
+  public MemTableFlushTask(IMemTable memTable, Schema schema, RestorableTsFileIOWriter writer,
+      String storageGroup, RollupWriter rollupWriter) {
     this.memTable = memTable;
     this.schema = schema;
     this.writer = writer;
     this.storageGroup = storageGroup;
+    this.rollupWriter = rollupWriter;
     subTaskPoolManager.submit(encodingTask);
     this.ioTaskFuture = subTaskPoolManager.submit(ioTask);
     logger.debug("flush task of Storage group {} memtable {} is created ",
@@ -81,10 +92,17 @@ public class MemTableFlushTask {
         MeasurementSchema desc = schema.getMeasurementSchema(measurementId);
         TVList tvList = series.getSortedTVList();
         sortTime += System.currentTimeMillis() - startTime;
+        if (rollupWriter != null) {
+          rollupWriter.update(deviceId, desc, tvList);
+        }
         encodingTaskQueue.add(new Pair<>(tvList, desc));
       }
       encodingTaskQueue.add(new EndChunkGroupIoTask(memTable.getVersion()));
     }
+    if (rollupWriter != null) {
+      // only the open buckets of the series are kept in memory
+      rollupWriter.flush();
+    }
     noMoreEncodingTask = true;
     logger.debug(
         "Storage group {} memtable {}, flushing into disk: data sort time cost {} ms.",
@@ -166,11 +184,14 @@ public class MemTableFlushTask {
           } else {
             long starTime = System.currentTimeMillis();
             Pair<TVList, MeasurementSchema> encodingMessage = (Pair<TVList, MeasurementSchema>) task;
+            // an ADAPTIVE series gets the encoding that best fits the points of this chunk
+            MeasurementSchema chunkSchema = AdaptiveEncodingSelector
+                .select(encodingMessage.right, encodingMessage.left);
             ChunkBuffer chunkBuffer = ChunkBufferPool.getInstance()
-                .getEmptyChunkBuffer(this, encodingMessage.right);
-            IChunkWriter seriesWriter = new ChunkWriterImpl(encodingMessage.right, chunkBuffer,
+                .getEmptyChunkBuffer(this, chunkSchema);
+            IChunkWriter seriesWriter = new ChunkWriterImpl(chunkSchema, chunkBuffer,
                 PAGE_SIZE_THRESHOLD);
-            writeOneSeries(encodingMessage.left, seriesWriter, encodingMessage.right.getType());
+            writeOneSeries(encodingMessage.left, seriesWriter, chunkSchema.getType());
             ioTaskQueue.add(seriesWriter);
             memSerializeTime += System.currentTimeMillis() - starTime;
           }
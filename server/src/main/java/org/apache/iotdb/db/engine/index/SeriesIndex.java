@@ -0,0 +1,281 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.index;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.commons.io.FileUtils;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.tsfile.file.metadata.ChunkGroupMetaData;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * SeriesIndex keeps, for every series of a storage group, a {@link SeriesSummary} of the series in
+ * each sealed TsFile, so that a query can skip the TsFiles whose summary does not satisfy its
+ * filter without reading their metadata.
+ * <p>
+ * The summaries of a storage group are appended to a file in its folder under indexFileDir when a
+ * TsFile is sealed, one record per TsFile, and are loaded into memory when the storage group is
+ * queried for the first time. A TsFile that is not in the index, e.g. a loaded or recovered one, is
+ * never skipped.
+ */
+public class SeriesIndex {
+
+  private static final Logger logger = LoggerFactory.getLogger(SeriesIndex.class);
+  private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+
+  public static final String INDEX_FILE_NAME = "series.index";
+
+  /**
+   * storage group -> index of its sealed TsFiles.
+   */
+  private final Map<String, StorageGroupIndex> indexes = new ConcurrentHashMap<>();
+
+  private SeriesIndex() {
+  }
+
+  public static SeriesIndex getInstance() {
+    return SeriesIndexHolder.INSTANCE;
+  }
+
+  /**
+   * summarize the series of a TsFile that is just sealed and append them to the index of its
+   * storage group, which is the name of the folder of the TsFile.
+   *
+   * @param chunkGroupMetaDatas all the chunk group metadata of the TsFile
+   */
+  public void addSealedFile(File tsFile, List<ChunkGroupMetaData> chunkGroupMetaDatas)
+      throws IOException {
+    if (!config.isSeriesIndexEnable()) {
+      return;
+    }
+    Map<String, SeriesSummary> summaries = new HashMap<>();
+    for (ChunkGroupMetaData chunkGroupMetaData : chunkGroupMetaDatas) {
+      for (ChunkMetaData chunkMetaData : chunkGroupMetaData.getChunkMetaDataList()) {
+        String series = new Path(chunkGroupMetaData.getDeviceID(),
+            chunkMetaData.getMeasurementUid()).getFullPath();
+        summaries.computeIfAbsent(series, k -> new SeriesSummary(chunkMetaData.getTsDataType()))
+            .merge(chunkMetaData);
+      }
+    }
+    getIndex(tsFile.getParentFile().getName()).append(tsFile.getName(), summaries);
+  }
+
+  /**
+   * @param tsFile a sealed TsFile
+   * @param filter filter of the query, null if there is none
+   * @return true if the index tells that no point of the series in the TsFile satisfies the filter
+   */
+  public boolean canSkip(TsFileResource tsFile, Path seriesPath, Filter filter) {
+    if (!config.isSeriesIndexEnable()) {
+      return false;
+    }
+    File file = tsFile.getFile();
+    return getIndex(file.getParentFile().getName())
+        .canSkip(file.getName(), seriesPath.getFullPath(), filter);
+  }
+
+  /**
+   * @return summary of the series in a sealed TsFile, null if the TsFile is not in the index or
+   * does not contain the series
+   */
+  public SeriesSummary getSummary(String storageGroup, String tsFileName, String seriesPath) {
+    return getIndex(storageGroup).getSummary(tsFileName, seriesPath);
+  }
+
+  /**
+   * remove the index of a storage group whose TsFiles are all deleted.
+   */
+  public void deleteStorageGroup(String storageGroup) {
+    indexes.remove(storageGroup);
+    try {
+      FileUtils.deleteDirectory(new File(config.getIndexFileDir(), storageGroup));
+    } catch (IOException e) {
+      logger.error("Cannot delete the series index of storage group {}", storageGroup, e);
+    }
+  }
+
+  /**
+   * drop the loaded indexes, they are loaded again from the disk when used.
+   */
+  public void clear() {
+    indexes.clear();
+  }
+
+  private StorageGroupIndex getIndex(String storageGroup) {
+    return indexes.computeIfAbsent(storageGroup,
+        k -> new StorageGroupIndex(new File(config.getIndexFileDir(), storageGroup)));
+  }
+
+  private static class StorageGroupIndex {
+
+    private final File indexFile;
+
+    /**
+     * series -> TsFile name -> summary of the series in the TsFile.
+     */
+    private final Map<String, Map<String, SeriesSummary>> summaries = new HashMap<>();
+
+    /**
+     * names of the TsFiles in the index, a series not in the summaries of such a TsFile has no
+     * data in it.
+     */
+    private final Set<String> indexedFiles = new HashSet<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private StorageGroupIndex(File folder) {
+      this.indexFile = new File(folder, INDEX_FILE_NAME);
+      if (indexFile.exists()) {
+        load();
+      }
+    }
+
+    /**
+     * read the records of the index file, which are [record size][TsFile name][series
+     * number]([series path][summary])*. An incomplete record at the end, left by a crash while
+     * appending it, is truncated.
+     */
+    private void load() {
+      ByteBuffer buffer;
+      try {
+        buffer = ByteBuffer.wrap(Files.readAllBytes(indexFile.toPath()));
+      } catch (IOException e) {
+        logger.error("Cannot read the series index {}, it is ignored", indexFile, e);
+        return;
+      }
+      int validLength = 0;
+      try {
+        while (buffer.remaining() >= Integer.BYTES) {
+          int recordSize = buffer.getInt();
+          if (recordSize > buffer.remaining()) {
+            break;
+          }
+          ByteBuffer record = buffer.slice();
+          record.limit(recordSize);
+          buffer.position(buffer.position() + recordSize);
+
+          String tsFileName = ReadWriteIOUtils.readString(record);
+          int seriesNum = ReadWriteIOUtils.readInt(record);
+          Map<String, SeriesSummary> fileSummaries = new HashMap<>();
+          for (int i = 0; i < seriesNum; i++) {
+            String series = ReadWriteIOUtils.readString(record);
+            fileSummaries.put(series, SeriesSummary.deserializeFrom(record));
+          }
+          put(tsFileName, fileSummaries);
+          validLength = buffer.position();
+        }
+      } catch (BufferUnderflowException e) {
+        logger.warn("The last record of the series index {} is broken", indexFile, e);
+      }
+      if (validLength < buffer.capacity()) {
+        try (RandomAccessFile file = new RandomAccessFile(indexFile, "rw")) {
+          file.setLength(validLength);
+        } catch (IOException e) {
+          logger.error("Cannot truncate the series index {}", indexFile, e);
+        }
+      }
+    }
+
+    private void append(String tsFileName, Map<String, SeriesSummary> fileSummaries)
+        throws IOException {
+      ByteArrayOutputStream record = new ByteArrayOutputStream();
+      ReadWriteIOUtils.write(tsFileName, record);
+      ReadWriteIOUtils.write(fileSummaries.size(), record);
+      for (Entry<String, SeriesSummary> entry : fileSummaries.entrySet()) {
+        ReadWriteIOUtils.write(entry.getKey(), record);
+        entry.getValue().serializeTo(record);
+      }
+
+      lock.writeLock().lock();
+      try {
+        if (!indexFile.getParentFile().exists() && !indexFile.getParentFile().mkdirs()) {
+          throw new IOException("Cannot create folder " + indexFile.getParentFile());
+        }
+        try (OutputStream outputStream = new FileOutputStream(indexFile, true)) {
+          ReadWriteIOUtils.write(record.size(), outputStream);
+          record.writeTo(outputStream);
+        }
+        put(tsFileName, fileSummaries);
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    private void put(String tsFileName, Map<String, SeriesSummary> fileSummaries) {
+      indexedFiles.add(tsFileName);
+      for (Entry<String, SeriesSummary> entry : fileSummaries.entrySet()) {
+        summaries.computeIfAbsent(entry.getKey(), k -> new HashMap<>())
+            .put(tsFileName, entry.getValue());
+      }
+    }
+
+    private boolean canSkip(String tsFileName, String series, Filter filter) {
+      lock.readLock().lock();
+      try {
+        if (!indexedFiles.contains(tsFileName)) {
+          return false;
+        }
+        Map<String, SeriesSummary> fileSummaries = summaries.get(series);
+        SeriesSummary summary = fileSummaries == null ? null : fileSummaries.get(tsFileName);
+        return summary == null || !summary.satisfy(filter);
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    private SeriesSummary getSummary(String tsFileName, String series) {
+      lock.readLock().lock();
+      try {
+        Map<String, SeriesSummary> fileSummaries = summaries.get(series);
+        return fileSummaries == null ? null : fileSummaries.get(tsFileName);
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+  }
+
+  private static class SeriesIndexHolder {
+
+    private static final SeriesIndex INSTANCE = new SeriesIndex();
+  }
+}
@@ -0,0 +1,166 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.index;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import org.apache.iotdb.tsfile.common.constant.StatisticConstant;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.filter.DigestForFilter;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
+
+/**
+ * The time range, point number and value range of a series in one sealed TsFile, which is one time
+ * bucket of the series in {@link SeriesIndex}.
+ */
+public class SeriesSummary {
+
+  private TSDataType dataType;
+  private long startTime = Long.MAX_VALUE;
+  private long endTime = Long.MIN_VALUE;
+  private long count;
+  /**
+   * serialized min and max values as in the digest of a chunk, null if some chunk has no min or
+   * max value, then the summary cannot tell whether a value filter is satisfied.
+   */
+  private byte[] minValue;
+  private byte[] maxValue;
+  private boolean valueRangeUnknown;
+
+  SeriesSummary(TSDataType dataType) {
+    this.dataType = dataType;
+  }
+
+  private SeriesSummary(TSDataType dataType, long startTime, long endTime, long count,
+      byte[] minValue, byte[] maxValue) {
+    this.dataType = dataType;
+    this.startTime = startTime;
+    this.endTime = endTime;
+    this.count = count;
+    this.minValue = minValue;
+    this.maxValue = maxValue;
+    this.valueRangeUnknown = minValue == null;
+  }
+
+  /**
+   * add a chunk of the series into the summary.
+   */
+  void merge(ChunkMetaData chunkMetaData) {
+    startTime = Math.min(startTime, chunkMetaData.getStartTime());
+    endTime = Math.max(endTime, chunkMetaData.getEndTime());
+    count += chunkMetaData.getNumOfPoints();
+    if (valueRangeUnknown) {
+      return;
+    }
+
+    ByteBuffer chunkMin = chunkMetaData.getDigest() == null
+        || chunkMetaData.getDigest().getStatistics() == null ? null
+        : chunkMetaData.getDigest().getStatistics().get(StatisticConstant.MIN_VALUE);
+    ByteBuffer chunkMax = chunkMin == null ? null
+        : chunkMetaData.getDigest().getStatistics().get(StatisticConstant.MAX_VALUE);
+    if (chunkMax == null) {
+      valueRangeUnknown = true;
+      minValue = null;
+      maxValue = null;
+      return;
+    }
+    byte[] chunkMinValue = toBytes(chunkMin);
+    byte[] chunkMaxValue = toBytes(chunkMax);
+    if (minValue == null) {
+      minValue = chunkMinValue;
+      maxValue = chunkMaxValue;
+      return;
+    }
+    DigestForFilter current = new DigestForFilter(startTime, endTime, minValue, maxValue,
+        dataType);
+    DigestForFilter chunk = new DigestForFilter(startTime, endTime, chunkMinValue, chunkMaxValue,
+        dataType);
+    if (chunk.getMinValue().compareTo(current.getMinValue()) < 0) {
+      minValue = chunkMinValue;
+    }
+    if (chunk.getMaxValue().compareTo(current.getMaxValue()) > 0) {
+      maxValue = chunkMaxValue;
+    }
+  }
+
+  private static byte[] toBytes(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return bytes;
+  }
+
+  /**
+   * @param filter filter of a query, null if there is none
+   * @return false if no point of the series in the file can satisfy the filter
+   */
+  public boolean satisfy(Filter filter) {
+    if (filter == null) {
+      return true;
+    }
+    if (valueRangeUnknown) {
+      return filter.satisfyStartEndTime(startTime, endTime);
+    }
+    return filter.satisfy(new DigestForFilter(startTime, endTime, minValue, maxValue, dataType));
+  }
+
+  public TSDataType getDataType() {
+    return dataType;
+  }
+
+  public long getStartTime() {
+    return startTime;
+  }
+
+  public long getEndTime() {
+    return endTime;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  void serializeTo(OutputStream outputStream) throws IOException {
+    ReadWriteIOUtils.write(dataType, outputStream);
+    ReadWriteIOUtils.write(startTime, outputStream);
+    ReadWriteIOUtils.write(endTime, outputStream);
+    ReadWriteIOUtils.write(count, outputStream);
+    ReadWriteIOUtils.write(!valueRangeUnknown, outputStream);
+    if (!valueRangeUnknown) {
+      ReadWriteIOUtils.write(ByteBuffer.wrap(minValue), outputStream);
+      ReadWriteIOUtils.write(ByteBuffer.wrap(maxValue), outputStream);
+    }
+  }
+
+  static SeriesSummary deserializeFrom(ByteBuffer buffer) {
+    TSDataType dataType = ReadWriteIOUtils.readDataType(buffer);
+    long startTime = ReadWriteIOUtils.readLong(buffer);
+    long endTime = ReadWriteIOUtils.readLong(buffer);
+    long count = ReadWriteIOUtils.readLong(buffer);
+    byte[] minValue = null;
+    byte[] maxValue = null;
+    if (ReadWriteIOUtils.readBool(buffer)) {
+      minValue = ReadWriteIOUtils.readByteBufferWithSelfDescriptionLength(buffer).array();
+      maxValue = ReadWriteIOUtils.readByteBufferWithSelfDescriptionLength(buffer).array();
+    }
+    return new SeriesSummary(dataType, startTime, endTime, count, minValue, maxValue);
+  }
+}
@@ -149,39 +149,48 @@ public abstract class AbstractMemTable implements IMemTable {
     if (!checkPath(deviceId, measurement)) {
       return null;
     } else {
-      long undeletedTime = findUndeletedTime(deviceId, measurement);
       IWritableMemChunk memChunk = memTableMap.get(deviceId).get(measurement);
       IWritableMemChunk chunkCopy = new WritableMemChunk(dataType, memChunk.getTVList().clone());
-      chunkCopy.setTimeOffset(undeletedTime);
+      applyDeletions(deviceId, measurement, chunkCopy);
       sorter = chunkCopy;
     }
     return new ReadOnlyMemChunk(dataType, sorter, props);
   }
 
 
-  private long findUndeletedTime(String deviceId, String measurement) {
+  /**
+   * Apply the deletions recorded while this MemTable is flushing to a copy of one of its chunks.
+   * Deleting all the data before a time only moves the time offset of the copy, while a deleted
+   * range is removed from the copy.
+   */
+  private void applyDeletions(String deviceId, String measurement, IWritableMemChunk chunkCopy) {
     long undeletedTime = Long.MIN_VALUE;
     for (Modification modification : modifications) {
       if (modification instanceof Deletion) {
         Deletion deletion = (Deletion) modification;
-        if (deletion.getDevice().equals(deviceId) && deletion.getMeasurement().equals(measurement)
-            && deletion.getTimestamp() > undeletedTime) {
-          undeletedTime = deletion.getTimestamp();
+        if (!deletion.getDevice().equals(deviceId) || !deletion.getMeasurement()
+            .equals(measurement)) {
+          continue;
+        }
+        if (deletion.isDeletingBefore()) {
+          undeletedTime = Math.max(undeletedTime, deletion.getTimestamp());
+        } else {
+          chunkCopy.delete(deletion.getStartTime(), deletion.getTimestamp());
         }
       }
     }
-    return undeletedTime + 1;
+    chunkCopy.setTimeOffset(undeletedTime + 1);
   }
 
   @Override
-  public void delete(String deviceId, String measurementId, long timestamp) {
+  public void delete(String deviceId, String measurementId, long startTime, long endTime) {
     Map<String, IWritableMemChunk> deviceMap = memTableMap.get(deviceId);
     if (deviceMap != null) {
       IWritableMemChunk chunk = deviceMap.get(measurementId);
       if (chunk == null) {
         return;
       }
-      chunk.delete(timestamp);
+      chunk.delete(startTime, endTime);
     }
   }
 
@@ -76,5 +76,8 @@ public interface IWritableMemChunk extends TimeValuePairSorter {
     return Long.MIN_VALUE;
   }
 
-  void delete(long upperBound);
+  /**
+   * delete the data whose timestamp is in [lowerBound, upperBound].
+   */
+  void delete(long lowerBound, long upperBound);
 }
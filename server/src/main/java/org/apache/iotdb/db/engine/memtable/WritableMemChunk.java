@@ -280,7 +280,7 @@ public class WritableMemChunk implements IWritableMemChunk {
   }
 
   @Override
-  public void delete(long upperBound) {
-    list.delete(upperBound);
+  public void delete(long lowerBound, long upperBound) {
+    list.delete(lowerBound, upperBound);
   }
 }
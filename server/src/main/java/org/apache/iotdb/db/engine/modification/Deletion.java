@@ -27,16 +27,41 @@ import org.apache.iotdb.tsfile.read.common.Path;
  */
 public class Deletion extends Modification {
 
+  /**
+   * data whose timestamp >= this field and <= timestamp are to be deleted.
+   */
+  private long startTime;
+
   /**
    * data whose timestamp <= this field are to be deleted.
    */
   private long timestamp;
 
   public Deletion(Path path, long versionNum, long timestamp) {
+    this(path, versionNum, Long.MIN_VALUE, timestamp);
+  }
+
+  public Deletion(Path path, long versionNum, long startTime, long timestamp) {
     super(Type.DELETION, path, versionNum);
+    this.startTime = startTime;
     this.timestamp = timestamp;
   }
 
+  public long getStartTime() {
+    return startTime;
+  }
+
+  public void setStartTime(long startTime) {
+    this.startTime = startTime;
+  }
+
+  /**
+   * @return true if this deletion removes all the data not later than its timestamp
+   */
+  public boolean isDeletingBefore() {
+    return startTime == Long.MIN_VALUE;
+  }
+
   public long getTimestamp() {
     return timestamp;
   }
@@ -54,11 +79,12 @@ public class Deletion extends Modification {
       return false;
     }
     Deletion del = (Deletion) obj;
-    return super.equals(obj) && del.timestamp == this.timestamp;
+    return super.equals(obj) && del.startTime == this.startTime
+        && del.timestamp == this.timestamp;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(super.hashCode(), timestamp);
+    return Objects.hash(super.hashCode(), startTime, timestamp);
   }
 }
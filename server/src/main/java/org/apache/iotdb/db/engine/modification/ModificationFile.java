@@ -22,7 +22,10 @@ package org.apache.iotdb.db.engine.modification;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import org.apache.iotdb.db.engine.modification.io.LocalBinaryModificationAccessor;
 import org.apache.iotdb.db.engine.modification.io.LocalTextModificationAccessor;
 import org.apache.iotdb.db.engine.modification.io.ModificationReader;
 import org.apache.iotdb.db.engine.modification.io.ModificationWriter;
@@ -36,6 +39,11 @@ public class ModificationFile {
   public static final String FILE_SUFFIX = ".mods";
 
   private List<Modification> modifications;
+  /**
+   * Modifications of each timeseries, the key is the full path of a timeseries. It is built along
+   * with 'modifications' and updated when a modification is written or aborted.
+   */
+  private Map<String, List<Modification>> pathModifications;
   private ModificationWriter writer;
   private ModificationReader reader;
   private String filePath;
@@ -46,15 +54,27 @@ public class ModificationFile {
    * @param filePath the path of the storage file.
    */
   public ModificationFile(String filePath) {
-    LocalTextModificationAccessor accessor = new LocalTextModificationAccessor(filePath);
-    this.writer = accessor;
-    this.reader = accessor;
+    if (LocalBinaryModificationAccessor.isOtherFormat(filePath)) {
+      // written by an older version, keep appending to it in text
+      LocalTextModificationAccessor accessor = new LocalTextModificationAccessor(filePath);
+      this.writer = accessor;
+      this.reader = accessor;
+    } else {
+      LocalBinaryModificationAccessor accessor = new LocalBinaryModificationAccessor(filePath);
+      this.writer = accessor;
+      this.reader = accessor;
+    }
     this.filePath = filePath;
   }
 
   private void init() {
     synchronized (this) {
       modifications = (List<Modification>) reader.read();
+      pathModifications = new HashMap<>();
+      for (Modification modification : modifications) {
+        pathModifications.computeIfAbsent(modification.getPathString(), k -> new ArrayList<>())
+            .add(modification);
+      }
     }
   }
 
@@ -71,6 +91,7 @@ public class ModificationFile {
     synchronized (this) {
       writer.close();
       modifications = null;
+      pathModifications = null;
     }
   }
 
@@ -78,7 +99,10 @@ public class ModificationFile {
     synchronized (this) {
       if (!modifications.isEmpty()) {
         writer.abort();
-        modifications.remove(modifications.size() - 1);
+        Modification aborted = modifications.remove(modifications.size() - 1);
+        List<Modification> abortedPathModifications = pathModifications
+            .get(aborted.getPathString());
+        abortedPathModifications.remove(abortedPathModifications.size() - 1);
       }
     }
   }
@@ -95,6 +119,7 @@ public class ModificationFile {
       checkInit();
       writer.write(mod);
       modifications.add(mod);
+      pathModifications.computeIfAbsent(mod.getPathString(), k -> new ArrayList<>()).add(mod);
     }
   }
 
@@ -110,6 +135,20 @@ public class ModificationFile {
     }
   }
 
+  /**
+   * Get the modifications of a timeseries stored in this file.
+   *
+   * @param path the full path of the timeseries.
+   * @return an ArrayList of modifications in the order they were written.
+   */
+  public List<Modification> getModifications(String path) {
+    synchronized (this) {
+      checkInit();
+      List<Modification> modificationList = pathModifications.get(path);
+      return modificationList == null ? new ArrayList<>() : new ArrayList<>(modificationList);
+    }
+  }
+
   public String getFilePath() {
     return filePath;
   }
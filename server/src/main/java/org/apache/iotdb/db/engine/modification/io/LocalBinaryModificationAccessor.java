@@ -0,0 +1,209 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.modification.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import org.apache.iotdb.db.engine.modification.Deletion;
+import org.apache.iotdb.db.engine.modification.Modification;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * LocalBinaryModificationAccessor uses a file on local file system to store the modifications in
+ * binary format, and writes modifications by appending to the tail of the file.
+ * <br/>
+ * The file starts with a magic string, followed by records of a type byte and the fields of the
+ * type. A deletion is the path string, the version and the timestamp, a range deletion is
+ * followed by its start time as well, and an abort has no fields.
+ * A record broken by a crash at the tail of the file is ignored and overwritten by the next write.
+ */
+public class LocalBinaryModificationAccessor implements ModificationReader, ModificationWriter {
+
+  private static final Logger logger = LoggerFactory
+      .getLogger(LocalBinaryModificationAccessor.class);
+
+  private static final byte[] MAGIC_STRING = "IoTDBMods".getBytes(StandardCharsets.UTF_8);
+  private static final byte DELETION_MARK = 0;
+  private static final byte ABORT_MARK = 1;
+  private static final byte RANGE_DELETION_MARK = 2;
+
+  private String filePath;
+  private FileOutputStream outputStream;
+
+  /**
+   * Length of the complete records read by the last read(), -1 if the file has not been read.
+   */
+  private long validLength = -1;
+
+  /**
+   * Construct a LocalBinaryModificationAccessor using a file specified by filePath.
+   *
+   * @param filePath the path of the file that is used for storing modifications.
+   */
+  public LocalBinaryModificationAccessor(String filePath) {
+    this.filePath = filePath;
+  }
+
+  /**
+   * Check whether a file is a non-empty modification file written in another format, e.g., by
+   * LocalTextModificationAccessor.
+   */
+  public static boolean isOtherFormat(String filePath) {
+    File file = new File(filePath);
+    if (!file.exists() || file.length() == 0) {
+      return false;
+    }
+    if (file.length() < MAGIC_STRING.length) {
+      return true;
+    }
+    byte[] head = new byte[MAGIC_STRING.length];
+    try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+      raf.readFully(head);
+    } catch (IOException e) {
+      logger.error("Cannot read the head of modification file {}", filePath, e);
+      return false;
+    }
+    return !Arrays.equals(head, MAGIC_STRING);
+  }
+
+  @Override
+  public Collection<Modification> read() {
+    List<Modification> modificationList = new ArrayList<>();
+    if (!new File(filePath).exists()) {
+      logger.debug("No modification has been written to this file");
+      validLength = 0;
+      return modificationList;
+    }
+
+    ByteBuffer buffer;
+    try {
+      buffer = ByteBuffer.wrap(Files.readAllBytes(Paths.get(filePath)));
+    } catch (IOException e) {
+      logger.error("An error occurred when reading modifications, and the remaining modifications "
+          + "were ignored.", e);
+      return modificationList;
+    }
+    if (buffer.remaining() < MAGIC_STRING.length) {
+      validLength = 0;
+      return modificationList;
+    }
+    buffer.position(MAGIC_STRING.length);
+    validLength = buffer.position();
+    try {
+      while (buffer.hasRemaining()) {
+        byte type = buffer.get();
+        if (type == DELETION_MARK || type == RANGE_DELETION_MARK) {
+          int pathLength = buffer.getInt();
+          if (pathLength < 0 || pathLength > buffer.remaining()) {
+            throw new BufferUnderflowException();
+          }
+          byte[] pathBytes = new byte[pathLength];
+          buffer.get(pathBytes);
+          String path = new String(pathBytes, StandardCharsets.UTF_8);
+          long versionNum = buffer.getLong();
+          long timestamp = buffer.getLong();
+          long startTime = type == RANGE_DELETION_MARK ? buffer.getLong() : Long.MIN_VALUE;
+          modificationList.add(new Deletion(new Path(path), versionNum, startTime, timestamp));
+        } else if (type == ABORT_MARK) {
+          if (!modificationList.isEmpty()) {
+            modificationList.remove(modificationList.size() - 1);
+          }
+        } else {
+          logger.error("Unknown modification type {} in {}, the remaining modifications were "
+              + "ignored.", type, filePath);
+          break;
+        }
+        validLength = buffer.position();
+      }
+    } catch (BufferUnderflowException e) {
+      logger.warn("The last modification in {} is incomplete and ignored.", filePath);
+    }
+    return modificationList;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (outputStream != null) {
+      outputStream.close();
+      outputStream = null;
+    }
+  }
+
+  @Override
+  public void abort() throws IOException {
+    writeRecord(new byte[]{ABORT_MARK});
+  }
+
+  @Override
+  public void write(Modification mod) throws IOException {
+    ByteArrayOutputStream recordStream = new ByteArrayOutputStream();
+    if (mod instanceof Deletion) {
+      Deletion deletion = (Deletion) mod;
+      // a deletion of all the data before a time keeps the shorter record
+      ReadWriteIOUtils.write(deletion.isDeletingBefore() ? DELETION_MARK : RANGE_DELETION_MARK,
+          recordStream);
+      byte[] pathBytes = deletion.getPathString().getBytes(StandardCharsets.UTF_8);
+      ReadWriteIOUtils.write(pathBytes.length, recordStream);
+      recordStream.write(pathBytes);
+      ReadWriteIOUtils.write(deletion.getVersionNum(), recordStream);
+      ReadWriteIOUtils.write(deletion.getTimestamp(), recordStream);
+      if (!deletion.isDeletingBefore()) {
+        ReadWriteIOUtils.write(deletion.getStartTime(), recordStream);
+      }
+    } else {
+      throw new IOException("Unknown modification type: " + mod.getType());
+    }
+    writeRecord(recordStream.toByteArray());
+  }
+
+  /**
+   * Append a record with a single write so that a crash breaks at most the last record.
+   */
+  private void writeRecord(byte[] record) throws IOException {
+    if (outputStream == null) {
+      File file = new File(filePath);
+      outputStream = new FileOutputStream(file, true);
+      if (validLength >= 0 && file.length() > validLength && validLength >= MAGIC_STRING.length) {
+        // drop the broken record left by a crash
+        outputStream.getChannel().truncate(validLength);
+      } else if (file.length() < MAGIC_STRING.length) {
+        outputStream.getChannel().truncate(0);
+        outputStream.write(MAGIC_STRING);
+      }
+    }
+    outputStream.write(record);
+    outputStream.flush();
+    validLength = outputStream.getChannel().size();
+  }
+}
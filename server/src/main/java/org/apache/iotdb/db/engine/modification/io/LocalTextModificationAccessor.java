@@ -125,11 +125,12 @@ public class LocalTextModificationAccessor implements ModificationReader, Modifi
   private static String encodeDeletion(Deletion del) {
     return del.getType().toString() + SEPARATOR + del.getPathString()
         + SEPARATOR + del.getVersionNum() + SEPARATOR
-        + del.getTimestamp();
+        + del.getTimestamp()
+        + (del.isDeletingBefore() ? "" : SEPARATOR + del.getStartTime());
   }
 
   private static Deletion decodeDeletion(String[] fields) throws IOException {
-    if (fields.length != 4) {
+    if (fields.length != 4 && fields.length != 5) {
       throw new IOException("Incorrect deletion fields number: " + fields.length);
     }
 
@@ -146,7 +147,15 @@ public class LocalTextModificationAccessor implements ModificationReader, Modifi
     } catch (NumberFormatException e) {
       throw new IOException("Invalid timestamp: " + fields[3]);
     }
+    long startTime = Long.MIN_VALUE;
+    if (fields.length == 5) {
+      try {
+        startTime = Long.parseLong(fields[4]);
+      } catch (NumberFormatException e) {
+        throw new IOException("Invalid start time: " + fields[4]);
+      }
+    }
 
-    return new Deletion(new Path(path), versionNum, timestamp);
+    return new Deletion(new Path(path), versionNum, startTime, timestamp);
   }
 }
@@ -0,0 +1,194 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.rollup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.exception.ProcessorException;
+import org.apache.iotdb.db.query.aggregation.AggregateFunction;
+import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.tsfile.file.header.PageHeader;
+import org.apache.iotdb.tsfile.file.metadata.TsFileMetaData;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.read.ReadOnlyTsFile;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.common.RowRecord;
+import org.apache.iotdb.tsfile.read.expression.QueryExpression;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * RollupReader answers the aggregations of a series over the time ranges aligned to a rollup
+ * interval from the rollup files written by {@link RollupWriter}.
+ * <p>
+ * A range is answered only if all sequence TsFiles overlapping it are sealed, have no deletions of
+ * the series and have a rollup file, and no unsequence TsFile overlaps it. Otherwise the caller has
+ * to aggregate the raw data. Each bucket is fed to the aggregate function as a {@link PageHeader},
+ * so the functions need no change.
+ */
+public class RollupReader {
+
+  private static final Logger logger = LoggerFactory.getLogger(RollupReader.class);
+
+  private final Path seriesPath;
+  private final TSDataType dataType;
+  private final List<TsFileResource> seqResources;
+  private final List<TsFileResource> unseqResources;
+  private final QueryContext context;
+  private final Filter timeFilter;
+  private final long[] intervals;
+
+  /**
+   * rollup file -> interval -> buckets of the series by start time, or null if the rollup file
+   * cannot be read.
+   */
+  private final Map<File, Map<Long, NavigableMap<Long, PageHeader>>> rollupCache = new HashMap<>();
+
+  public RollupReader(Path seriesPath, TSDataType dataType, QueryDataSource queryDataSource,
+      QueryContext context, Filter timeFilter, long[] intervals) {
+    this.seriesPath = seriesPath;
+    this.dataType = dataType;
+    this.seqResources = queryDataSource.getSeqResources();
+    this.unseqResources = queryDataSource.getUnseqResources();
+    this.context = context;
+    this.timeFilter = timeFilter;
+    this.intervals = intervals;
+  }
+
+  /**
+   * aggregate the points of the series in [startTime, endTime) from the rollup files.
+   *
+   * @return false if the range cannot be answered from the rollup files, in which case the
+   * function is not changed
+   */
+  public boolean calculate(AggregateFunction function, long startTime, long endTime)
+      throws IOException, ProcessorException {
+    long interval = -1;
+    for (long candidate : intervals) {
+      if (candidate > interval && Math.floorMod(startTime, candidate) == 0
+          && Math.floorMod(endTime, candidate) == 0) {
+        interval = candidate;
+      }
+    }
+    if (interval == -1) {
+      return false;
+    }
+    if (timeFilter != null && !timeFilter.containStartEndTime(startTime, endTime - 1)) {
+      return false;
+    }
+
+    String deviceId = seriesPath.getDevice();
+    for (TsFileResource resource : unseqResources) {
+      if (overlaps(resource, deviceId, startTime, endTime)) {
+        return false;
+      }
+    }
+
+    List<NavigableMap<Long, PageHeader>> bucketsList = new ArrayList<>();
+    for (TsFileResource resource : seqResources) {
+      if (!overlaps(resource, deviceId, startTime, endTime)) {
+        continue;
+      }
+      if (!resource.isClosed() || !context
+          .getPathModifications(resource.getModFile(), seriesPath.getFullPath()).isEmpty()) {
+        return false;
+      }
+      NavigableMap<Long, PageHeader> buckets = getBuckets(resource.getFile(), interval);
+      if (buckets == null) {
+        return false;
+      }
+      bucketsList.add(buckets.subMap(startTime, true, endTime, false));
+    }
+
+    // the sequence TsFiles are in time order, so are the buckets
+    for (NavigableMap<Long, PageHeader> buckets : bucketsList) {
+      for (PageHeader bucket : buckets.values()) {
+        function.calculateValueFromPageHeader(bucket);
+      }
+    }
+    return true;
+  }
+
+  private boolean overlaps(TsFileResource resource, String deviceId, long startTime,
+      long endTime) {
+    Long resourceStartTime = resource.getStartTimeMap().get(deviceId);
+    if (resourceStartTime == null) {
+      return false;
+    }
+    long resourceEndTime = resource.getEndTimeMap().getOrDefault(deviceId, Long.MAX_VALUE);
+    return resourceStartTime < endTime && resourceEndTime >= startTime;
+  }
+
+  private NavigableMap<Long, PageHeader> getBuckets(File tsFile, long interval) {
+    Map<Long, NavigableMap<Long, PageHeader>> fileBuckets = rollupCache
+        .computeIfAbsent(tsFile, k -> new HashMap<>());
+    if (!fileBuckets.containsKey(interval)) {
+      fileBuckets.put(interval, loadBuckets(RollupWriter.getRollupFile(tsFile), interval));
+    }
+    return fileBuckets.get(interval);
+  }
+
+  private NavigableMap<Long, PageHeader> loadBuckets(File rollupFile, long interval) {
+    if (!rollupFile.exists()) {
+      return null;
+    }
+    String rollupMeasurement = RollupWriter
+        .getRollupMeasurement(seriesPath.getMeasurement(), interval);
+    NavigableMap<Long, PageHeader> buckets = new TreeMap<>();
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(rollupFile.getPath())) {
+      TsFileMetaData metaData = reader.readFileMetadata();
+      if (!metaData.containsMeasurement(rollupMeasurement)) {
+        // the series has no point in the TsFile
+        return buckets;
+      }
+      ReadOnlyTsFile readOnlyTsFile = new ReadOnlyTsFile(reader, metaData);
+      QueryDataSet dataSet = readOnlyTsFile.query(QueryExpression.create(Collections
+          .singletonList(new Path(seriesPath.getDevice(), rollupMeasurement)), null));
+      while (dataSet.hasNext()) {
+        RowRecord record = dataSet.next();
+        ByteBuffer buffer = ByteBuffer.wrap(record.getFields().get(0).getBinaryV().getValues());
+        long count = ReadWriteIOUtils.readLong(buffer);
+        long minTime = ReadWriteIOUtils.readLong(buffer);
+        long maxTime = ReadWriteIOUtils.readLong(buffer);
+        Statistics statistics = Statistics.deserialize(buffer, dataType);
+        buckets.put(record.getTimestamp(),
+            new PageHeader(0, 0, (int) count, statistics, maxTime, minTime));
+      }
+      return buckets;
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Cannot read the rollup file {}, read the raw data instead", rollupFile, e);
+      return null;
+    }
+  }
+}
@@ -0,0 +1,318 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.rollup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import org.apache.iotdb.db.utils.datastructure.TVList;
+import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
+import org.apache.iotdb.tsfile.write.TsFileWriter;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.record.datapoint.StringDataPoint;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * RollupWriter pre-aggregates the series of a sequence TsFile while its memtables are flushed, and
+ * writes the aggregations into the rollup file of the TsFile when it is sealed.
+ * <p>
+ * For each series and each interval, the points are put into buckets [k * interval, (k + 1) *
+ * interval). A bucket is written as one TEXT point of the measurement "measurementId#interval" at
+ * its start time, whose value holds the point number, the min and max timestamps and the
+ * serialized {@link Statistics} of the bucket. See {@link RollupReader} for the reading side.
+ * <p>
+ * The points of a series in a sequence TsFile arrive in time order, so a bucket is finished once a
+ * later one is started. Finished buckets are written into a temporary file at once and flushed to
+ * the disk after each memtable, only the open bucket of each series and interval stays in memory.
+ * If the rollups cannot be written, no rollup file is left and the TsFile is queried from the raw
+ * data.
+ */
+public class RollupWriter {
+
+  private static final Logger logger = LoggerFactory.getLogger(RollupWriter.class);
+
+  public static final String ROLLUP_SUFFIX = ".rollup";
+
+  private static final String SEPARATOR = "#";
+  private static final String TMP_SUFFIX = ".tmp";
+
+  private final File rollupFile;
+  private final File tmpFile;
+  private final long[] intervals;
+
+  /**
+   * device -> measurement -> interval -> the open bucket, i.e., the latest one.
+   */
+  private final Map<String, Map<String, Map<Long, Bucket>>> openBuckets = new HashMap<>();
+  /**
+   * the rollup measurements registered in the writer
+   */
+  private final Set<String> measurementIds = new HashSet<>();
+
+  /**
+   * writes the finished buckets into the temporary file, opened by the first update
+   */
+  private RollupFileWriter writer;
+  private boolean failed = false;
+
+  public RollupWriter(File tsFile, long[] intervals) {
+    this.rollupFile = getRollupFile(tsFile);
+    this.tmpFile = new File(rollupFile.getPath() + TMP_SUFFIX);
+    this.intervals = intervals;
+  }
+
+  public static File getRollupFile(File tsFile) {
+    return new File(tsFile.getPath() + ROLLUP_SUFFIX);
+  }
+
+  static String getRollupMeasurement(String measurementId, long interval) {
+    return measurementId + SEPARATOR + interval;
+  }
+
+  /**
+   * add the sorted points of a flushed series into the buckets. Like the flush task, only the last
+   * one of the points with the same timestamp is counted.
+   */
+  public synchronized void update(String deviceId, MeasurementSchema schema, TVList tvList) {
+    if (failed) {
+      return;
+    }
+    TSDataType dataType = schema.getType();
+    Map<Long, Bucket> seriesBuckets = openBuckets
+        .computeIfAbsent(deviceId, k -> new HashMap<>())
+        .computeIfAbsent(schema.getMeasurementId(), k -> new HashMap<>());
+    try {
+      for (long interval : intervals) {
+        Bucket bucket = seriesBuckets.get(interval);
+        for (int i = 0; i < tvList.size(); i++) {
+          long time = tvList.getTime(i);
+          if (i + 1 < tvList.size() && time == tvList.getTime(i + 1)) {
+            continue;
+          }
+          long bucketStart = Math.floorDiv(time, interval) * interval;
+          if (bucket == null || bucket.startTime != bucketStart) {
+            if (bucket != null) {
+              if (bucketStart < bucket.startTime) {
+                throw new IOException(String.format("Point %d of %s.%s is earlier than the "
+                        + "written buckets", time, deviceId, schema.getMeasurementId()));
+              }
+              write(deviceId, schema.getMeasurementId(), interval, bucket);
+            }
+            bucket = new Bucket(bucketStart, dataType);
+          }
+          bucket.update(time, tvList, i, dataType);
+        }
+        if (bucket != null) {
+          seriesBuckets.put(interval, bucket);
+        }
+      }
+    } catch (IOException | WriteProcessException | RuntimeException e) {
+      fail(e);
+    }
+  }
+
+  /**
+   * flush the finished buckets buffered by the writer to the disk, called after each memtable.
+   */
+  public synchronized void flush() {
+    if (failed || writer == null) {
+      return;
+    }
+    try {
+      writer.flush();
+    } catch (IOException | RuntimeException e) {
+      fail(e);
+    }
+  }
+
+  /**
+   * write the open buckets and complete the rollup file. The buckets are written into a temporary
+   * file which is renamed when it is complete, so that a query never reads a partial rollup file
+   * and reads the raw data of the TsFile instead.
+   */
+  public synchronized void close() throws IOException {
+    if (failed) {
+      throw new IOException("Cannot write the rollup file " + rollupFile);
+    }
+    try {
+      for (Entry<String, Map<String, Map<Long, Bucket>>> deviceEntry : openBuckets.entrySet()) {
+        for (Entry<String, Map<Long, Bucket>> seriesEntry : deviceEntry.getValue().entrySet()) {
+          for (Entry<Long, Bucket> intervalEntry : seriesEntry.getValue().entrySet()) {
+            write(deviceEntry.getKey(), seriesEntry.getKey(), intervalEntry.getKey(),
+                intervalEntry.getValue());
+          }
+        }
+      }
+      getWriter().close();
+    } catch (IOException | WriteProcessException | RuntimeException e) {
+      fail(e);
+      throw new IOException("Cannot write the rollup file " + rollupFile, e);
+    } finally {
+      openBuckets.clear();
+      measurementIds.clear();
+    }
+    Files.move(tmpFile.toPath(), rollupFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * give up the rollups, e.g., when the flush of a memtable fails and the TsFile is truncated.
+   */
+  public synchronized void abort() {
+    failed = true;
+    release();
+  }
+
+  /**
+   * @return the number of buckets held in memory, only for tests
+   */
+  synchronized int getOpenBucketNum() {
+    int bucketNum = 0;
+    for (Map<String, Map<Long, Bucket>> deviceBuckets : openBuckets.values()) {
+      for (Map<Long, Bucket> seriesBuckets : deviceBuckets.values()) {
+        bucketNum += seriesBuckets.size();
+      }
+    }
+    return bucketNum;
+  }
+
+  private RollupFileWriter getWriter() throws IOException {
+    if (writer == null) {
+      // left by a crash
+      Files.deleteIfExists(tmpFile.toPath());
+      writer = new RollupFileWriter(tmpFile);
+    }
+    return writer;
+  }
+
+  private void write(String deviceId, String measurementId, long interval, Bucket bucket)
+      throws IOException, WriteProcessException {
+    RollupFileWriter fileWriter = getWriter();
+    String rollupMeasurement = getRollupMeasurement(measurementId, interval);
+    if (measurementIds.add(rollupMeasurement)) {
+      fileWriter.addMeasurement(
+          new MeasurementSchema(rollupMeasurement, TSDataType.TEXT, TSEncoding.PLAIN));
+    }
+    TSRecord record = new TSRecord(bucket.startTime, deviceId);
+    record.addTuple(new StringDataPoint(rollupMeasurement, bucket.serialize()));
+    fileWriter.write(record);
+  }
+
+  private void fail(Exception e) {
+    logger.warn("Cannot write the rollup file {}, the TsFile will be queried from the raw data",
+        rollupFile, e);
+    abort();
+  }
+
+  private void release() {
+    openBuckets.clear();
+    measurementIds.clear();
+    if (writer != null) {
+      try {
+        writer.getIOWriter().close();
+      } catch (IOException e) {
+        logger.warn("Cannot close the rollup file {}", tmpFile, e);
+      }
+      writer = null;
+    }
+    try {
+      Files.deleteIfExists(tmpFile.toPath());
+    } catch (IOException e) {
+      logger.warn("Cannot delete the rollup file {}", tmpFile, e);
+    }
+  }
+
+  /**
+   * a TsFileWriter whose buffered chunk groups can be flushed at any time.
+   */
+  private static class RollupFileWriter extends TsFileWriter {
+
+    private RollupFileWriter(File file) throws IOException {
+      super(file);
+    }
+
+    private void flush() throws IOException {
+      flushAllChunkGroups();
+    }
+  }
+
+  private static class Bucket {
+
+    private final long startTime;
+    private long count = 0;
+    private long minTime = Long.MAX_VALUE;
+    private long maxTime = Long.MIN_VALUE;
+    private final Statistics<?> statistics;
+
+    private Bucket(long startTime, TSDataType dataType) {
+      this.startTime = startTime;
+      this.statistics = Statistics.getStatsByType(dataType);
+    }
+
+    private void update(long time, TVList tvList, int index, TSDataType dataType) {
+      count++;
+      minTime = Math.min(minTime, time);
+      maxTime = Math.max(maxTime, time);
+      switch (dataType) {
+        case BOOLEAN:
+          statistics.updateStats(tvList.getBoolean(index));
+          break;
+        case INT32:
+          statistics.updateStats(tvList.getInt(index));
+          break;
+        case INT64:
+          statistics.updateStats(tvList.getLong(index));
+          break;
+        case FLOAT:
+          statistics.updateStats(tvList.getFloat(index));
+          break;
+        case DOUBLE:
+          statistics.updateStats(tvList.getDouble(index));
+          break;
+        case TEXT:
+          statistics.updateStats(tvList.getBinary(index));
+          break;
+        default:
+          throw new UnsupportedOperationException(dataType.toString());
+      }
+    }
+
+    private Binary serialize() throws IOException {
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      ReadWriteIOUtils.write(count, outputStream);
+      ReadWriteIOUtils.write(minTime, outputStream);
+      ReadWriteIOUtils.write(maxTime, outputStream);
+      statistics.serialize(outputStream);
+      return new Binary(outputStream.toByteArray());
+    }
+  }
+}
@@ -22,7 +22,9 @@ import static org.apache.iotdb.tsfile.common.constant.TsFileConstant.TSFILE_SUFF
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -39,6 +41,8 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.apache.commons.io.FileUtils;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.conf.directories.DirectoryManager;
+import org.apache.iotdb.db.engine.cache.ChunkCache;
+import org.apache.iotdb.db.engine.index.SeriesIndex;
 import org.apache.iotdb.db.engine.modification.Deletion;
 import org.apache.iotdb.db.engine.modification.ModificationFile;
 import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
@@ -158,6 +162,12 @@ public class StorageGroupProcessor {
   private LinkedList<String> lruForSensorUsedInQuery = new LinkedList<>();
   private static final int MAX_CACHE_SENSORS = 5000;
 
+  /**
+   * suffix of a TsFile being copied or moved into the data folder by loadNewTsFile, the recovery
+   * does not take it as a TsFile
+   */
+  private static final String LOADING_SUFFIX = ".loading";
+
 
   public StorageGroupProcessor(String systemInfoDir, String storageGroupName)
       throws ProcessorException {
@@ -470,9 +480,11 @@ public class StorageGroupProcessor {
     try {
       for (TsFileResource tsFileResource : unSequenceFileList) {
         tsFileResource.close();
+        ChunkCache.getInstance().remove(tsFileResource.getFile().getPath());
       }
       for (TsFileResource tsFileResource : sequenceFileList) {
         tsFileResource.close();
+        ChunkCache.getInstance().remove(tsFileResource.getFile().getPath());
       }
       List<String> folder = DirectoryManager.getInstance().getAllSequenceFileFolders();
       folder.addAll(DirectoryManager.getInstance().getAllUnSequenceFileFolders());
@@ -486,6 +498,7 @@ public class StorageGroupProcessor {
           }
         }
       }
+      SeriesIndex.getInstance().deleteStorageGroup(storageGroupName);
       this.workSequenceTsFileProcessor = null;
       this.workUnSequenceTsFileProcessor = null;
       this.sequenceFileList.clear();
@@ -633,6 +646,21 @@ public class StorageGroupProcessor {
    * @param timestamp the delete range is (0, timestamp].
    */
   public void delete(String deviceId, String measurementId, long timestamp) throws IOException {
+    delete(deviceId, measurementId, Long.MIN_VALUE, timestamp);
+  }
+
+  /**
+   * Delete data whose timestamp is in [startTime, endTime] and belongs to the timeseries
+   * deviceId.measurementId.
+   *
+   * @param deviceId the deviceId of the timeseries to be deleted.
+   * @param measurementId the measurementId of the timeseries to be deleted.
+   * @param startTime the start of the delete range, Long.MIN_VALUE to delete all the data not
+   * later than endTime.
+   * @param endTime the end of the delete range.
+   */
+  public void delete(String deviceId, String measurementId, long startTime, long endTime)
+      throws IOException {
     // TODO: how to avoid partial deletion?
     writeLock();
 
@@ -650,17 +678,18 @@ public class StorageGroupProcessor {
       // write log
       if (IoTDBDescriptor.getInstance().getConfig().isEnableWal()) {
         if (workSequenceTsFileProcessor != null) {
-          workSequenceTsFileProcessor.getLogNode()
-              .write(new DeletePlan(timestamp, new Path(deviceId, measurementId)));
+          workSequenceTsFileProcessor.getLogNode().write(new DeletePlan(startTime, endTime,
+              Collections.singletonList(new Path(deviceId, measurementId))));
         }
         if (workUnSequenceTsFileProcessor != null) {
-          workUnSequenceTsFileProcessor.getLogNode()
-              .write(new DeletePlan(timestamp, new Path(deviceId, measurementId)));
+          workUnSequenceTsFileProcessor.getLogNode().write(new DeletePlan(startTime, endTime,
+              Collections.singletonList(new Path(deviceId, measurementId))));
         }
       }
 
       Path fullPath = new Path(deviceId, measurementId);
-      Deletion deletion = new Deletion(fullPath, versionController.nextVersion(), timestamp);
+      Deletion deletion = new Deletion(fullPath, versionController.nextVersion(), startTime,
+          endTime);
       if (mergingModification != null) {
         //TODO check me when implementing the merge process.
         mergingModification.write(deletion);
@@ -691,6 +720,11 @@ public class StorageGroupProcessor {
           deletion.getTimestamp() < tsFileResource.getStartTimeMap().get(deviceId)) {
         continue;
       }
+      // the end time of an unsealed file may still grow
+      Long endTime = tsFileResource.getEndTimeMap().get(deviceId);
+      if (tsFileResource.isClosed() && endTime != null && deletion.getStartTime() > endTime) {
+        continue;
+      }
 
       // write deletion into modification file
       tsFileResource.getModFile().write(deletion);
@@ -706,6 +740,179 @@ public class StorageGroupProcessor {
     }
   }
 
+  /**
+   * Attach a sealed TsFile produced outside this storage group (e.g., received by the sync
+   * receiver or given by a LOAD statement) without replaying its data through memtables and WAL.
+   * The .mods file of the TsFile, if any, is attached along with it. If every device in the file
+   * starts after the latest time of that device in this storage group, the file is appended to
+   * the sequence file list, otherwise it goes to the unsequence file list.
+   *
+   * @param newResource resource whose start and end time maps have been read from the file footer
+   * @param moveFile move the file into the data folder if true, otherwise copy it
+   */
+  public void loadNewTsFile(TsFileResource newResource, boolean moveFile)
+      throws StorageGroupProcessorException {
+    File sourceFile = newResource.getFile();
+    // deletions made on the file before it is loaded are kept with it
+    File sourceModFile = new File(sourceFile.getPath() + ModificationFile.FILE_SUFFIX);
+    boolean hasModFile = sourceModFile.exists();
+    boolean sequence;
+    writeLock();
+    try {
+      sequence = isSequence(newResource);
+    } finally {
+      writeUnlock();
+    }
+
+    // the file may be large, so it is copied or moved next to its target without holding the
+    // lock, under the lock it is only renamed
+    File loadingFile = null;
+    File loadingModFile = null;
+    File targetFile = null;
+    try {
+      while (true) {
+        String baseDir;
+        if (sequence) {
+          baseDir = DirectoryManager.getInstance().getNextFolderForSequenceFile();
+        } else {
+          baseDir = DirectoryManager.getInstance().getNextFolderForUnSequenceFile();
+        }
+        new File(baseDir, storageGroupName).mkdirs();
+        targetFile = new File(Paths.get(baseDir, storageGroupName,
+            System.currentTimeMillis() + "-" + versionController.nextVersion()).toString()
+            + TSFILE_SUFFIX);
+        File targetModFile = new File(targetFile.getPath() + ModificationFile.FILE_SUFFIX);
+
+        if (loadingFile == null) {
+          loadingFile = getLoadingFile(targetFile);
+          placeFile(sourceFile, loadingFile, moveFile);
+          if (hasModFile) {
+            loadingModFile = getLoadingFile(targetModFile);
+            placeFile(sourceModFile, loadingModFile, moveFile);
+          }
+        } else {
+          // the file has been placed in the other kind of folder
+          loadingFile = moveLoadingFile(loadingFile, getLoadingFile(targetFile));
+          if (hasModFile) {
+            loadingModFile = moveLoadingFile(loadingModFile, getLoadingFile(targetModFile));
+          }
+        }
+        TsFileResource loadedResource = new TsFileResource(targetFile,
+            newResource.getStartTimeMap(), newResource.getEndTimeMap());
+        loadedResource.serialize();
+
+        writeLock();
+        try {
+          if (sequence && !isSequence(newResource)) {
+            // data overlapping the file has been inserted meanwhile, the latest times never go
+            // back so this happens at most once
+            Files.deleteIfExists(
+                new File(targetFile.getPath() + TsFileResource.RESOURCE_SUFFIX).toPath());
+            sequence = false;
+            continue;
+          }
+          // seal the working sequence file before its end times are overtaken by the loaded
+          // file, so that the loaded file becomes the last one in the sequence list
+          if (sequence && workSequenceTsFileProcessor != null) {
+            moveOneWorkProcessorToClosingList(true);
+          }
+          if (hasModFile) {
+            Files.move(loadingModFile.toPath(), targetModFile.toPath(),
+                StandardCopyOption.ATOMIC_MOVE);
+          }
+          Files.move(loadingFile.toPath(), targetFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+
+          if (sequence) {
+            sequenceFileList.add(loadedResource);
+            for (Entry<String, Long> entry : loadedResource.getEndTimeMap().entrySet()) {
+              latestTimeForEachDevice.put(entry.getKey(), entry.getValue());
+              latestFlushedTimeForEachDevice.put(entry.getKey(), entry.getValue());
+            }
+          } else {
+            unSequenceFileList.add(loadedResource);
+          }
+        } finally {
+          writeUnlock();
+        }
+        logger.info("load {} into storage group {} as {} file {}", sourceFile, storageGroupName,
+            sequence ? "sequence" : "unsequence", targetFile);
+        return;
+      }
+    } catch (IOException | DiskSpaceInsufficientException e) {
+      cleanFailedLoading(sourceFile, loadingFile, sourceModFile, loadingModFile, targetFile,
+          moveFile);
+      throw new StorageGroupProcessorException(
+          String.format("Cannot load TsFile %s into storage group %s", newResource.getFile(),
+              storageGroupName), e);
+    }
+  }
+
+  /**
+   * @return true if every device of the file starts after its latest time in this storage group
+   */
+  private boolean isSequence(TsFileResource newResource) {
+    for (Entry<String, Long> entry : newResource.getStartTimeMap().entrySet()) {
+      Long latestTime = latestTimeForEachDevice.get(entry.getKey());
+      if (latestTime != null && entry.getValue() <= latestTime) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private File getLoadingFile(File file) {
+    return new File(file.getPath() + LOADING_SUFFIX);
+  }
+
+  private void placeFile(File sourceFile, File loadingFile, boolean moveFile) throws IOException {
+    if (moveFile) {
+      FileUtils.moveFile(sourceFile, loadingFile);
+    } else {
+      FileUtils.copyFile(sourceFile, loadingFile);
+    }
+  }
+
+  private File moveLoadingFile(File loadingFile, File newLoadingFile) throws IOException {
+    FileUtils.moveFile(loadingFile, newLoadingFile);
+    return newLoadingFile;
+  }
+
+  /**
+   * remove what a failed loading has left in the data folders. A moved file is moved back, so
+   * that the caller can retry.
+   */
+  private void cleanFailedLoading(File sourceFile, File loadingFile, File sourceModFile,
+      File loadingModFile, File targetFile, boolean moveFile) {
+    try {
+      if (targetFile != null) {
+        Files.deleteIfExists(
+            new File(targetFile.getPath() + TsFileResource.RESOURCE_SUFFIX).toPath());
+        // the .mods file is renamed before the TsFile
+        File targetModFile = new File(targetFile.getPath() + ModificationFile.FILE_SUFFIX);
+        if (loadingModFile != null && !loadingModFile.exists() && targetModFile.exists()) {
+          FileUtils.moveFile(targetModFile, loadingModFile);
+        }
+      }
+      restoreLoadingFile(sourceFile, loadingFile, moveFile);
+      restoreLoadingFile(sourceModFile, loadingModFile, moveFile);
+    } catch (IOException e) {
+      logger.error("Cannot clean the failed loading of {} into storage group {}", sourceFile,
+          storageGroupName, e);
+    }
+  }
+
+  private void restoreLoadingFile(File sourceFile, File loadingFile, boolean moveFile)
+      throws IOException {
+    if (loadingFile == null || !loadingFile.exists()) {
+      return;
+    }
+    if (moveFile && !sourceFile.exists()) {
+      FileUtils.moveFile(loadingFile, sourceFile);
+    } else {
+      Files.delete(loadingFile.toPath());
+    }
+  }
+
   /**
    * when close an TsFileProcessor, update its EndTimeMap immediately
    *
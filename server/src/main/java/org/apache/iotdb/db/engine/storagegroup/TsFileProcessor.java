@@ -28,12 +28,15 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Supplier;
+import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBConstant;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.conf.adapter.CompressionRatio;
 import org.apache.iotdb.db.engine.flush.FlushManager;
 import org.apache.iotdb.db.engine.flush.MemTableFlushTask;
 import org.apache.iotdb.db.engine.flush.NotifyFlushMemTable;
+import org.apache.iotdb.db.engine.index.SeriesIndex;
+import org.apache.iotdb.db.engine.rollup.RollupWriter;
 import org.apache.iotdb.db.engine.memtable.IMemTable;
 import org.apache.iotdb.db.engine.memtable.MemSeriesLazyMerger;
 import org.apache.iotdb.db.engine.modification.Deletion;
@@ -109,6 +112,11 @@ public class TsFileProcessor {
 
   private boolean sequence;
 
+  /**
+   * pre-aggregates the flushed data of a sequence TsFile, null if rollup is disabled or failed.
+   */
+  private RollupWriter rollupWriter;
+
   private long totalMemTableSize;
 
   TsFileProcessor(String storageGroupName, File tsfile, Schema schema,
@@ -124,6 +132,10 @@ public class TsFileProcessor {
     this.closeTsFileCallback = closeTsFileCallback;
     this.updateLatestFlushTimeCallback = updateLatestFlushTimeCallback;
     this.sequence = sequence;
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    if (sequence && config.isRollupEnable()) {
+      this.rollupWriter = new RollupWriter(tsfile, config.getRollupIntervals());
+    }
     logger.info("create a new tsfile processor {}", tsfile.getAbsolutePath());
   }
 
@@ -194,7 +206,7 @@ public class TsFileProcessor {
 
   /**
    * Delete data which belongs to the timeseries `deviceId.measurementId` and the timestamp of which
-   * <= 'timestamp' in the deletion. <br/>
+   * is in the time range of the deletion. <br/>
    *
    * Delete data in both working MemTable and flushing MemTables.
    */
@@ -202,8 +214,8 @@ public class TsFileProcessor {
     flushQueryLock.writeLock().lock();
     try {
       if (workMemTable != null) {
-        workMemTable
-            .delete(deletion.getDevice(), deletion.getMeasurement(), deletion.getTimestamp());
+        workMemTable.delete(deletion.getDevice(), deletion.getMeasurement(),
+            deletion.getStartTime(), deletion.getTimestamp());
       }
       // flushing memTables are immutable, only record this deletion in these memTables for query
       for (IMemTable memTable : flushingMemTables) {
@@ -400,13 +412,18 @@ public class TsFileProcessor {
     // signal memtable only may appear when calling asyncClose()
     if (!memTableToFlush.isSignalMemTable()) {
       MemTableFlushTask flushTask = new MemTableFlushTask(memTableToFlush, schema, writer,
-          storageGroupName);
+          storageGroupName, rollupWriter);
       try {
         writer.mark();
         flushTask.syncFlushMemTable();
       } catch (ExecutionException | InterruptedException | IOException e) {
         logger.error("meet error when flushing a memtable, change system mode to read-only", e);
         IoTDBDescriptor.getInstance().getConfig().setReadOnly(true);
+        // the rollups may contain the truncated data
+        if (rollupWriter != null) {
+          rollupWriter.abort();
+          rollupWriter = null;
+        }
         try {
           logger.error("IOTask meets error, truncate the corrupted data", e);
           writer.reset();
@@ -468,6 +485,24 @@ public class TsFileProcessor {
     tsFileResource.serialize();
     writer.endFile(schema);
 
+    // the file is queried without the index if its summaries cannot be saved
+    try {
+      SeriesIndex.getInstance()
+          .addSealedFile(tsFileResource.getFile(), writer.getChunkGroupMetaDatas());
+    } catch (IOException e) {
+      logger.error("Cannot add {} into the series index", tsFileResource.getFile(), e);
+    }
+
+    // the file is queried from the raw data if its rollups cannot be saved
+    if (rollupWriter != null) {
+      try {
+        rollupWriter.close();
+      } catch (IOException e) {
+        logger.error("Cannot write the rollups of {}", tsFileResource.getFile(), e);
+      }
+      rollupWriter = null;
+    }
+
     // remove this processor from Closing list in StorageGroupProcessor,
     // mark the TsFileResource closed, no need writer anymore
     closeTsFileCallback.call(this);
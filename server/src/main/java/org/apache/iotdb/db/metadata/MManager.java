@@ -76,6 +76,11 @@ public class MManager {
   private Map<String, Integer> seriesNumberInStorageGroups = new HashMap<>();
   private long maxSeriesNumberAmongStorageGroup;
   private boolean initialized;
+  /**
+   * increased by every change of the MTree, so that objects derived from the metadata (e.g.,
+   * cached query plans) can tell whether they are stale.
+   */
+  private volatile long metadataVersion = 0;
 
   private MManager() {
 
@@ -179,6 +184,7 @@ public class MManager {
     lock.writeLock().lock();
     try {
       this.mgraph = new MGraph(ROOT_NAME);
+      this.metadataVersion++;
       this.checkAndGetDataTypeCache.clear();
       this.mNodeCache.clear();
       this.seriesNumberInStorageGroups.clear();
@@ -351,6 +357,7 @@ public class MManager {
     lock.writeLock().lock();
     try {
       mgraph.addPathToMTree(path, dataType, encoding, compressor, props);
+      metadataVersion++;
       String storageName = mgraph.getStorageGroupNameByPath(path);
       int size = seriesNumberInStorageGroups.get(mgraph.getStorageGroupNameByPath(path));
       seriesNumberInStorageGroups
@@ -501,6 +508,7 @@ public class MManager {
       checkAndGetDataTypeCache.clear();
       mNodeCache.clear();
       String dataFileName = mgraph.deletePath(path);
+      metadataVersion++;
       if (writeToLog) {
         BufferedWriter writer = getLogWriter();
         writer.write(MetadataOperationType.DELETE_PATH_FROM_MTREE + "," + path);
@@ -537,6 +545,7 @@ public class MManager {
       mNodeCache.clear();
       IoTDBConfigDynamicAdapter.getInstance().addOrDeleteStorageGroup(1);
       mgraph.setStorageLevel(path);
+      metadataVersion++;
       seriesNumberInStorageGroups.put(path, 0);
       if (writeToLog) {
         BufferedWriter writer = getLogWriter();
@@ -1204,6 +1213,13 @@ public class MManager {
     return maxSeriesNumberAmongStorageGroup;
   }
 
+  /**
+   * @return a number that changes whenever timeseries or storage groups are added or removed
+   */
+  public long getMetadataVersion() {
+    return metadataVersion;
+  }
+
   private static class MManagerHolder {
 
     private MManagerHolder() {
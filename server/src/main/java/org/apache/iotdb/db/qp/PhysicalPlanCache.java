@@ -0,0 +1,151 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.qp;
+
+import java.time.ZoneId;
+import java.util.regex.Pattern;
+import org.apache.iotdb.db.engine.cache.LRULinkedHashMap;
+import org.apache.iotdb.db.metadata.MManager;
+import org.apache.iotdb.db.qp.physical.PhysicalPlan;
+import org.apache.iotdb.db.qp.physical.crud.QueryPlan;
+
+/**
+ * An LRU cache of the query plans generated from SQL statements, keyed by the statement with
+ * redundant whitespace removed and the time zone of the client. One instance is shared by all
+ * executions of the same statement, so the executors must not modify a QueryPlan or its
+ * expression, e.g., ExpressionOptimizer builds new expressions instead of changing its input.
+ *
+ * <p>Plans depend on the metadata (e.g., "*" is expanded to the existing timeseries), so each
+ * cached plan is tagged with the metadata version it was generated under and is dropped once the
+ * metadata changes. Statements referring to now() are never cached.</p>
+ */
+public class PhysicalPlanCache {
+
+  private static final Pattern NOW_FUNCTION = Pattern
+      .compile("now\\s*\\(", Pattern.CASE_INSENSITIVE);
+
+  private final int capacity;
+  private final LRULinkedHashMap<String, CachedPlan> cache;
+
+  public PhysicalPlanCache(int capacity) {
+    this.capacity = capacity;
+    this.cache = new LRULinkedHashMap<String, CachedPlan>(capacity, true) {
+      @Override
+      protected long calEntrySize(String key, CachedPlan value) {
+        return 1;
+      }
+    };
+  }
+
+  /**
+   * @return the key of the statement, or null if the plan of the statement should not be cached
+   */
+  public String getKey(String sqlStr, ZoneId zoneId) {
+    if (capacity <= 0 || sqlStr == null || NOW_FUNCTION.matcher(sqlStr).find()) {
+      return null;
+    }
+    return normalize(sqlStr) + '@' + zoneId;
+  }
+
+  /**
+   * @return the cached plan, or null if the key is absent or the plan is out of date
+   */
+  public PhysicalPlan get(String key) {
+    long currentVersion = MManager.getInstance().getMetadataVersion();
+    synchronized (cache) {
+      CachedPlan cachedPlan = cache.get(key);
+      if (cachedPlan == null) {
+        return null;
+      }
+      if (cachedPlan.metadataVersion != currentVersion) {
+        cache.remove(key);
+        return null;
+      }
+      return cachedPlan.plan;
+    }
+  }
+
+  /**
+   * cache the plan if it is a query plan.
+   *
+   * @param metadataVersion the metadata version read before the plan was generated
+   */
+  public void put(String key, PhysicalPlan plan, long metadataVersion) {
+    if (!(plan instanceof QueryPlan)) {
+      return;
+    }
+    synchronized (cache) {
+      cache.put(key, new CachedPlan(plan, metadataVersion));
+    }
+  }
+
+  public void clear() {
+    synchronized (cache) {
+      cache.clear();
+    }
+  }
+
+  public int size() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  /**
+   * trim the statement and replace each run of whitespace outside quotes with a single space.
+   */
+  static String normalize(String sqlStr) {
+    StringBuilder builder = new StringBuilder(sqlStr.length());
+    char quote = 0;
+    boolean pendingSpace = false;
+    for (int i = 0; i < sqlStr.length(); i++) {
+      char c = sqlStr.charAt(i);
+      if (quote == 0 && Character.isWhitespace(c)) {
+        pendingSpace = builder.length() > 0;
+        continue;
+      }
+      if (pendingSpace) {
+        builder.append(' ');
+        pendingSpace = false;
+      }
+      builder.append(c);
+      if (quote != 0 && c == '\\' && i + 1 < sqlStr.length()) {
+        // keep the escaped character as it is
+        builder.append(sqlStr.charAt(++i));
+      } else if (quote == 0 && (c == '\'' || c == '"')) {
+        quote = c;
+      } else if (c == quote) {
+        // a doubled quote is read as leaving and entering the string again
+        quote = 0;
+      }
+    }
+    return builder.toString();
+  }
+
+  private static class CachedPlan {
+
+    private final PhysicalPlan plan;
+    private final long metadataVersion;
+
+    private CachedPlan(PhysicalPlan plan, long metadataVersion) {
+      this.plan = plan;
+      this.metadataVersion = metadataVersion;
+    }
+  }
+}
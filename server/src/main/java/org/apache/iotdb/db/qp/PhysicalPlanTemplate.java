@@ -0,0 +1,170 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.qp;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.iotdb.db.exception.qp.LogicalOperatorException;
+import org.apache.iotdb.db.qp.physical.crud.InsertPlan;
+import org.apache.iotdb.db.qp.strategy.FastInsertParser;
+import org.apache.iotdb.db.qp.strategy.LogicalGenerator;
+
+/**
+ * A statement prepared on the server, in which each "?" outside quotes is a placeholder of a
+ * parameter.
+ *
+ * <p>If the statement is a plain insert statement whose timestamp and values may be placeholders,
+ * it is parsed only once into an InsertPlan template and each execution just fills the parameters
+ * into a copy of the template. Other statements are kept as text and the parameters are
+ * substituted into the text before parsing.</p>
+ */
+public class PhysicalPlanTemplate {
+
+  private static final char PLACEHOLDER = '?';
+
+  /**
+   * the statement split at the placeholders.
+   */
+  private final List<String> parts;
+
+  /**
+   * null if the statement is not a plain insert statement.
+   */
+  private final InsertPlan insertTemplate;
+
+  /**
+   * the index in the values of each parameter, or FastInsertParser.TIME_PARAMETER.
+   */
+  private final int[] parameterPositions;
+
+  public PhysicalPlanTemplate(String statement) {
+    this.parts = splitStatement(statement);
+    List<Integer> positions = new ArrayList<>();
+    InsertPlan plan = FastInsertParser.parseTemplate(statement, positions);
+    if (plan != null && positions.size() == getParameterCount()) {
+      this.insertTemplate = plan;
+      this.parameterPositions = new int[positions.size()];
+      for (int i = 0; i < parameterPositions.length; i++) {
+        parameterPositions[i] = positions.get(i);
+      }
+    } else {
+      this.insertTemplate = null;
+      this.parameterPositions = null;
+    }
+  }
+
+  public int getParameterCount() {
+    return parts.size() - 1;
+  }
+
+  /**
+   * @return the InsertPlan template of a plain insert statement, in which the placeholders are
+   * not filled, or null if the statement is not a plain insert statement
+   */
+  public InsertPlan getInsertTemplate() {
+    return insertTemplate;
+  }
+
+  /**
+   * fill the parameters into a new InsertPlan, the template itself is not modified.
+   *
+   * @param parameters parameter values in the form of SQL literals
+   * @param zoneId used when the timestamp is given as a datetime literal
+   * @return the InsertPlan, or null if a value is not a literal the fast insert parser accepts,
+   * then the statement must be bound by {@link #bindStatement(List)} and parsed by the full parser
+   * so that the value is checked the same as in a statement without placeholders
+   */
+  public InsertPlan bindInsert(List<String> parameters, ZoneId zoneId)
+      throws LogicalOperatorException {
+    checkParameterCount(parameters);
+    long time = insertTemplate.getTime();
+    String[] values = insertTemplate.getValues().clone();
+    for (int i = 0; i < parameterPositions.length; i++) {
+      String parameter = parameters.get(i);
+      if (parameterPositions[i] == FastInsertParser.TIME_PARAMETER) {
+        time = parseTime(parameter, zoneId);
+      } else if (FastInsertParser.isValue(parameter)) {
+        values[parameterPositions[i]] = parameter;
+      } else {
+        return null;
+      }
+    }
+    return new InsertPlan(insertTemplate.getDeviceId(), time, insertTemplate.getMeasurements(),
+        values);
+  }
+
+  /**
+   * substitute the parameters into the statement.
+   *
+   * @param parameters parameter values in the form of SQL literals
+   */
+  public String bindStatement(List<String> parameters) throws LogicalOperatorException {
+    checkParameterCount(parameters);
+    StringBuilder builder = new StringBuilder(parts.get(0));
+    for (int i = 1; i < parts.size(); i++) {
+      builder.append(parameters.get(i - 1)).append(parts.get(i));
+    }
+    return builder.toString();
+  }
+
+  private void checkParameterCount(List<String> parameters) throws LogicalOperatorException {
+    if (parameters.size() != getParameterCount()) {
+      throw new LogicalOperatorException(String
+          .format("The statement has %d parameters but %d are given", getParameterCount(),
+              parameters.size()));
+    }
+  }
+
+  private long parseTime(String parameter, ZoneId zoneId) throws LogicalOperatorException {
+    try {
+      return Long.parseLong(parameter);
+    } catch (NumberFormatException e) {
+      return new LogicalGenerator(zoneId).parseTimeFormat(parameter);
+    }
+  }
+
+  /**
+   * split the statement at the placeholders outside single quotes, in the same way as the JDBC
+   * driver does, so that a bound statement is the same as the one the driver generates.
+   */
+  private static List<String> splitStatement(String statement) {
+    List<String> parts = new ArrayList<>();
+    int apCount = 0;
+    int off = 0;
+    boolean skip = false;
+    for (int i = 0; i < statement.length(); i++) {
+      char c = statement.charAt(i);
+      if (skip) {
+        skip = false;
+        continue;
+      }
+      if (c == '\'') {
+        apCount++;
+      } else if (c == '\\') {
+        skip = true;
+      } else if (c == PLACEHOLDER && (apCount & 1) == 0) {
+        parts.add(statement.substring(off, i));
+        off = i + 1;
+      }
+    }
+    parts.add(statement.substring(off));
+    return parts;
+  }
+}
@@ -27,12 +27,15 @@ import org.apache.iotdb.db.exception.qp.IllegalASTFormatException;
 import org.apache.iotdb.db.exception.qp.LogicalOperatorException;
 import org.apache.iotdb.db.exception.qp.LogicalOptimizeException;
 import org.apache.iotdb.db.exception.qp.QueryProcessorException;
+import org.apache.iotdb.db.metadata.MManager;
 import org.apache.iotdb.db.qp.executor.IQueryProcessExecutor;
 import org.apache.iotdb.db.qp.logical.Operator;
 import org.apache.iotdb.db.qp.logical.RootOperator;
 import org.apache.iotdb.db.qp.logical.crud.FilterOperator;
 import org.apache.iotdb.db.qp.logical.crud.SFWOperator;
 import org.apache.iotdb.db.qp.physical.PhysicalPlan;
+import org.apache.iotdb.db.qp.physical.crud.InsertPlan;
+import org.apache.iotdb.db.qp.strategy.FastInsertParser;
 import org.apache.iotdb.db.qp.strategy.LogicalGenerator;
 import org.apache.iotdb.db.qp.strategy.PhysicalGenerator;
 import org.apache.iotdb.db.qp.strategy.optimizer.ConcatPathOptimizer;
@@ -50,9 +53,12 @@ import org.apache.iotdb.db.sql.parse.ParseUtils;
 public class QueryProcessor {
 
   private IQueryProcessExecutor executor;
+  private PhysicalPlanCache planCache;
 
   public QueryProcessor(IQueryProcessExecutor executor) {
     this.executor = executor;
+    this.planCache = new PhysicalPlanCache(
+        IoTDBDescriptor.getInstance().getConfig().getQueryPlanCacheSize());
   }
 
   public IQueryProcessExecutor getExecutor() {
@@ -66,17 +72,42 @@ public class QueryProcessor {
     return parseSQLToPhysicalPlan(sqlStr, config.getZoneID());
   }
 
+  /**
+   * Plain insert statements are parsed by {@code FastInsertParser} and query plans are served
+   * from the plan cache when possible, other statements go through the full parser.
+   */
   public PhysicalPlan parseSQLToPhysicalPlan(String sqlStr, ZoneId zoneId)
       throws QueryProcessorException, ArgsErrorException,
       MetadataErrorException {
+    InsertPlan insertPlan = FastInsertParser.parse(sqlStr);
+    if (insertPlan != null) {
+      return insertPlan;
+    }
+
+    String cacheKey = planCache.getKey(sqlStr, zoneId);
+    if (cacheKey != null) {
+      PhysicalPlan cachedPlan = planCache.get(cacheKey);
+      if (cachedPlan != null) {
+        return cachedPlan;
+      }
+    }
+    long metadataVersion = MManager.getInstance().getMetadataVersion();
+
     AstNode astNode = parseSQLToAST(sqlStr);
     Operator operator = parseASTToOperator(astNode, zoneId);
     operator = logicalOptimize(operator, executor);
     PhysicalGenerator physicalGenerator = new PhysicalGenerator(executor);
     PhysicalPlan qp = physicalGenerator.transformToPhysicalPlan(operator);
+    if (cacheKey != null) {
+      planCache.put(cacheKey, qp, metadataVersion);
+    }
     return qp;
   }
 
+  public PhysicalPlanCache getPlanCache() {
+    return planCache;
+  }
+
   /**
    * Convert ast tree to Operator which type maybe {@code SFWOperator} or {@code AuthorOperator}
    *
@@ -135,6 +166,7 @@ public class QueryProcessor {
       case DELETE_TIMESERIES:
       case PROPERTY:
       case LOADDATA:
+      case LOAD_FILE:
       case INSERT:
       case INDEX:
       case INDEXQUERY:
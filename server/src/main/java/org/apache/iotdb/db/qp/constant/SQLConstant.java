@@ -79,6 +79,7 @@ public class SQLConstant {
   public static final int TOK_AUTHOR_UPDATE_USER = 46;
 
   public static final int TOK_DATALOAD = 45;
+  public static final int TOK_LOAD_FILE = 47;
 
   public static final int TOK_METADATA_CREATE = 51;
   public static final int TOK_METADATA_DELETE = 52;
@@ -133,6 +134,7 @@ public class SQLConstant {
     tokenNames.put(TOK_AUTHOR_REVOKE, "TOK_AUTHOR_REVOKE");
     tokenNames.put(TOK_AUTHOR_UPDATE_USER, "TOK_AUTHOR_UPDATE_USER");
     tokenNames.put(TOK_DATALOAD, "TOK_DATALOAD");
+    tokenNames.put(TOK_LOAD_FILE, "TOK_LOAD_FILE");
 
     tokenNames.put(TOK_METADATA_CREATE, "TOK_METADATA_CREATE");
     tokenNames.put(TOK_METADATA_DELETE, "TOK_METADATA_DELETE");
@@ -64,26 +64,30 @@ public abstract class AbstractQueryProcessExecutor implements IQueryProcessExecu
 
   private QueryDataSet processDataQuery(QueryPlan queryPlan, QueryContext context)
       throws StorageEngineException, QueryFilterOptimizationException, PathErrorException, ProcessorException, IOException {
+    QueryDataSet dataSet;
     if (queryPlan instanceof GroupByPlan) {
       GroupByPlan groupByPlan = (GroupByPlan) queryPlan;
-      return groupBy(groupByPlan.getPaths(), groupByPlan.getAggregations(),
-          groupByPlan.getExpression(), groupByPlan.getUnit(), groupByPlan.getOrigin(),
-          groupByPlan.getIntervals(), context);
-    }
-
-    if (queryPlan instanceof AggregationPlan) {
-      return aggregate(queryPlan.getPaths(), queryPlan.getAggregations(),
+      dataSet = groupBy(groupByPlan.getPaths(), groupByPlan.getAggregations(),
+          groupByPlan.getExpression(), groupByPlan.getUnit(), groupByPlan.getSlidingStep(),
+          groupByPlan.getOrigin(), groupByPlan.getIntervals(), context);
+    } else if (queryPlan instanceof AggregationPlan) {
+      dataSet = aggregate(queryPlan.getPaths(), queryPlan.getAggregations(),
           queryPlan.getExpression(), context);
-    }
-
-    if (queryPlan instanceof FillQueryPlan) {
+    } else if (queryPlan instanceof FillQueryPlan) {
       FillQueryPlan fillQueryPlan = (FillQueryPlan) queryPlan;
-      return fill(queryPlan.getPaths(), fillQueryPlan.getQueryTime(),
+      dataSet = fill(queryPlan.getPaths(), fillQueryPlan.getQueryTime(),
           fillQueryPlan.getFillType(), context);
+    } else {
+      // raw data queries push LIMIT and OFFSET down to the readers
+      QueryExpression queryExpression = QueryExpression.create()
+          .setSelectSeries(queryPlan.getPaths()).setExpression(queryPlan.getExpression())
+          .setAscending(queryPlan.isAscending()).setRowLimit(queryPlan.getRowLimit())
+          .setRowOffset(queryPlan.getRowOffset());
+      return queryRouter.query(queryExpression, context);
     }
-    QueryExpression queryExpression = QueryExpression.create().setSelectSeries(queryPlan.getPaths())
-            .setExpression(queryPlan.getExpression());
-    return queryRouter.query(queryExpression, context);
+    dataSet.setRowLimit(queryPlan.getRowLimit());
+    dataSet.setRowOffset(queryPlan.getRowOffset());
+    return dataSet;
   }
 
 
@@ -106,7 +110,8 @@ public abstract class AbstractQueryProcessExecutor implements IQueryProcessExecu
         }
       }
       for (String path : existingPaths) {
-        result &= delete(new Path(path), deletePlan.getDeleteTime());
+        result &= delete(new Path(path), deletePlan.getDeleteStartTime(),
+            deletePlan.getDeleteTime());
       }
       return result;
     } catch (MetadataErrorException e) {
@@ -69,7 +69,8 @@ public interface IQueryProcessExecutor {
    * process group by plan of qp layer, construct queryDataSet.
    */
   QueryDataSet groupBy(List<Path> paths, List<String> aggres, IExpression expression,
-      long unit, long origin, List<Pair<Long, Long>> intervals, QueryContext context)
+      long unit, long slidingStep, long origin, List<Pair<Long, Long>> intervals,
+      QueryContext context)
       throws ProcessorException, IOException, PathErrorException, StorageEngineException, QueryFilterOptimizationException;
 
   /**
@@ -103,10 +104,11 @@ public interface IQueryProcessExecutor {
    * execute delete command and return whether the operator is successful.
    *
    * @param path : delete series seriesPath
+   * @param startTime start time in delete command, Long.MIN_VALUE if there is no start time
    * @param deleteTime end time in delete command
    * @return - whether the operator is successful.
    */
-  boolean delete(Path path, long deleteTime) throws ProcessorException;
+  boolean delete(Path path, long startTime, long deleteTime) throws ProcessorException;
 
   /**
    * execute insert command and return whether the operator is successful.
@@ -22,6 +22,7 @@ import static org.apache.iotdb.db.conf.IoTDBConstant.PRIVILEGE;
 import static org.apache.iotdb.db.conf.IoTDBConstant.ROLE;
 import static org.apache.iotdb.db.conf.IoTDBConstant.USER;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -51,6 +52,7 @@ import org.apache.iotdb.db.qp.physical.crud.DeletePlan;
 import org.apache.iotdb.db.qp.physical.crud.InsertPlan;
 import org.apache.iotdb.db.qp.physical.crud.UpdatePlan;
 import org.apache.iotdb.db.qp.physical.sys.AuthorPlan;
+import org.apache.iotdb.db.qp.physical.sys.LoadFilePlan;
 import org.apache.iotdb.db.qp.physical.sys.MetadataPlan;
 import org.apache.iotdb.db.qp.physical.sys.PropertyPlan;
 import org.apache.iotdb.db.query.context.QueryContext;
@@ -114,6 +116,8 @@ public class QueryProcessExecutor extends AbstractQueryProcessExecutor {
       case PROPERTY:
         PropertyPlan property = (PropertyPlan) plan;
         return operateProperty(property);
+      case LOAD_FILE:
+        return loadFile((LoadFilePlan) plan);
       default:
         throw new UnsupportedOperationException(
             String.format("operation %s does not support", plan.getOperatorType()));
@@ -156,10 +160,12 @@ public class QueryProcessExecutor extends AbstractQueryProcessExecutor {
 
   @Override
   public QueryDataSet groupBy(List<Path> paths, List<String> aggres, IExpression expression,
-      long unit, long origin, List<Pair<Long, Long>> intervals, QueryContext context)
+      long unit, long slidingStep, long origin, List<Pair<Long, Long>> intervals,
+      QueryContext context)
       throws ProcessorException, StorageEngineException, QueryFilterOptimizationException,
       PathErrorException, IOException {
-    return queryRouter.groupBy(paths, aggres, expression, unit, origin, intervals, context);
+    return queryRouter
+        .groupBy(paths, aggres, expression, unit, slidingStep, origin, intervals, context);
   }
 
   @Override
@@ -183,7 +189,7 @@ public class QueryProcessExecutor extends AbstractQueryProcessExecutor {
   }
 
   @Override
-  public boolean delete(Path path, long timestamp) throws ProcessorException {
+  public boolean delete(Path path, long startTime, long timestamp) throws ProcessorException {
     String deviceId = path.getDevice();
     String measurementId = path.getMeasurement();
     try {
@@ -192,7 +198,7 @@ public class QueryProcessExecutor extends AbstractQueryProcessExecutor {
             String.format("Time series %s does not exist.", path.getFullPath()));
       }
       mManager.getStorageGroupNameByPath(path.getFullPath());
-      storageEngine.delete(deviceId, measurementId, timestamp);
+      storageEngine.delete(deviceId, measurementId, startTime, timestamp);
       return true;
     } catch (PathErrorException | StorageEngineException e) {
       throw new ProcessorException(e);
@@ -200,6 +206,19 @@ public class QueryProcessExecutor extends AbstractQueryProcessExecutor {
   }
 
 
+  private boolean loadFile(LoadFilePlan plan) throws ProcessorException {
+    File file = new File(plan.getFilePath());
+    if (!file.isFile()) {
+      throw new ProcessorException(String.format("File %s does not exist.", plan.getFilePath()));
+    }
+    try {
+      storageEngine.loadNewTsFile(file, false);
+      return true;
+    } catch (StorageEngineException e) {
+      throw new ProcessorException(e);
+    }
+  }
+
   @Override
   public boolean insert(InsertPlan insertPlan) throws ProcessorException {
     try {
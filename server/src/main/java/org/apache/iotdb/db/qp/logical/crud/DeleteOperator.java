@@ -25,6 +25,7 @@ import org.apache.iotdb.db.qp.logical.Operator;
  */
 public class DeleteOperator extends SFWOperator {
 
+  private long startTime = Long.MIN_VALUE;
   private long time;
 
   public DeleteOperator(int tokenIntType) {
@@ -32,6 +33,14 @@ public class DeleteOperator extends SFWOperator {
     operatorType = Operator.OperatorType.DELETE;
   }
 
+  public long getStartTime() {
+    return startTime;
+  }
+
+  public void setStartTime(long startTime) {
+    this.startTime = startTime;
+  }
+
   public long getTime() {
     return time;
   }
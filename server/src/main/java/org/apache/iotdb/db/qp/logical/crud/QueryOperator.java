@@ -31,6 +31,7 @@ import org.apache.iotdb.tsfile.utils.Pair;
 public class QueryOperator extends SFWOperator {
 
   private long unit;
+  private long slidingStep;
   private long origin;
   private List<Pair<Long, Long>> intervals;
   private boolean isGroupBy = false;
@@ -39,6 +40,10 @@ public class QueryOperator extends SFWOperator {
   private int seriesLimit;
   private int seriesOffset;
   private boolean hasSlimit = false; // false if sql does not contain SLIMIT clause
+  private boolean ascending = true; // false if sql contains ORDER BY TIME DESC
+  private int rowLimit = 0; // 0 if sql does not contain LIMIT clause
+  private int rowOffset = 0;
+
   public QueryOperator(int tokenIntType) {
     super(tokenIntType);
     operatorType = Operator.OperatorType.QUERY;
@@ -93,6 +98,30 @@ public class QueryOperator extends SFWOperator {
     return hasSlimit;
   }
 
+  public int getRowLimit() {
+    return rowLimit;
+  }
+
+  public void setRowLimit(int rowLimit) {
+    this.rowLimit = rowLimit;
+  }
+
+  public int getRowOffset() {
+    return rowOffset;
+  }
+
+  public void setRowOffset(int rowOffset) {
+    this.rowOffset = rowOffset;
+  }
+
+  public boolean isAscending() {
+    return ascending;
+  }
+
+  public void setAscending(boolean ascending) {
+    this.ascending = ascending;
+  }
+
   public long getUnit() {
     return unit;
   }
@@ -101,6 +130,14 @@ public class QueryOperator extends SFWOperator {
     this.unit = unit;
   }
 
+  public long getSlidingStep() {
+    return slidingStep;
+  }
+
+  public void setSlidingStep(long slidingStep) {
+    this.slidingStep = slidingStep;
+  }
+
   public long getOrigin() {
     return origin;
   }
@@ -123,6 +123,10 @@ public abstract class PhysicalPlan {
           plan = new BatchInsertPlan();
           plan.deserializeFrom(buffer);
           break;
+        case RANGEDELETE:
+          plan = new DeletePlan();
+          ((DeletePlan) plan).deserializeRangeFrom(buffer);
+          break;
         default:
           throw new IOException("unrecognized log type " + type);
       }
@@ -130,8 +134,11 @@ public abstract class PhysicalPlan {
     }
   }
 
+  /**
+   * the ordinals are written into the WAL, so new types must be appended.
+   */
   public enum PhysicalPlanType {
-    INSERT, DELETE, BATCHINSERT
+    INSERT, DELETE, BATCHINSERT, RANGEDELETE
   }
 
 
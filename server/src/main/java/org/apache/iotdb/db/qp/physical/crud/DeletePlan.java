@@ -28,6 +28,11 @@ import org.apache.iotdb.tsfile.read.common.Path;
 
 public class DeletePlan extends PhysicalPlan {
 
+  /**
+   * data in [deleteStartTime, deleteTime] are deleted, deleteStartTime is Long.MIN_VALUE if all the
+   * data not later than deleteTime are deleted.
+   */
+  private long deleteStartTime = Long.MIN_VALUE;
   private long deleteTime;
   private List<Path> paths = new ArrayList<>();
 
@@ -59,6 +64,26 @@ public class DeletePlan extends PhysicalPlan {
     this.paths = paths;
   }
 
+  /**
+   * constructor of DeletePlan deleting a time range with multiple paths.
+   *
+   * @param deleteStartTime the start of the deleted time range
+   * @param deleteTime the end of the deleted time range
+   * @param paths time series paths in List structure
+   */
+  public DeletePlan(long deleteStartTime, long deleteTime, List<Path> paths) {
+    this(deleteTime, paths);
+    this.deleteStartTime = deleteStartTime;
+  }
+
+  public long getDeleteStartTime() {
+    return deleteStartTime;
+  }
+
+  public void setDeleteStartTime(long deleteStartTime) {
+    this.deleteStartTime = deleteStartTime;
+  }
+
   public long getDeleteTime() {
     return deleteTime;
   }
@@ -82,7 +107,7 @@ public class DeletePlan extends PhysicalPlan {
 
   @Override
   public int hashCode() {
-    return Objects.hash(deleteTime, paths);
+    return Objects.hash(deleteStartTime, deleteTime, paths);
   }
 
   @Override
@@ -94,15 +119,24 @@ public class DeletePlan extends PhysicalPlan {
       return false;
     }
     DeletePlan that = (DeletePlan) o;
-    return deleteTime == that.deleteTime && Objects.equals(paths, that.paths);
+    return deleteStartTime == that.deleteStartTime && deleteTime == that.deleteTime
+        && Objects.equals(paths, that.paths);
   }
 
+  /**
+   * a plan deleting all data not later than deleteTime keeps the layout of DELETE so that it can be
+   * read by older versions, a plan with a start time is written as RANGEDELETE.
+   */
   @Override
   public void serializeTo(ByteBuffer buffer) {
-    int type = PhysicalPlanType.DELETE.ordinal();
+    boolean isRange = deleteStartTime != Long.MIN_VALUE;
+    int type = isRange ? PhysicalPlanType.RANGEDELETE.ordinal() : PhysicalPlanType.DELETE.ordinal();
     buffer.put((byte) type);
     buffer.putLong(deleteTime);
     putString(buffer, paths.get(0).getFullPath());
+    if (isRange) {
+      buffer.putLong(deleteStartTime);
+    }
   }
 
   @Override
@@ -111,4 +145,12 @@ public class DeletePlan extends PhysicalPlan {
     this.paths = new ArrayList();
     this.paths.add(new Path(readString(buffer)));
   }
+
+  /**
+   * deserialize a plan of type RANGEDELETE.
+   */
+  public void deserializeRangeFrom(ByteBuffer buffer) {
+    deserializeFrom(buffer);
+    this.deleteStartTime = buffer.getLong();
+  }
 }
@@ -25,6 +25,7 @@ import org.apache.iotdb.tsfile.utils.Pair;
 public class GroupByPlan extends AggregationPlan {
 
   private long unit;
+  private long slidingStep;
   private long origin;
   private List<Pair<Long, Long>> intervals; // show intervals
 
@@ -41,6 +42,14 @@ public class GroupByPlan extends AggregationPlan {
     this.unit = unit;
   }
 
+  public long getSlidingStep() {
+    return slidingStep;
+  }
+
+  public void setSlidingStep(long slidingStep) {
+    this.slidingStep = slidingStep;
+  }
+
   public long getOrigin() {
     return origin;
   }
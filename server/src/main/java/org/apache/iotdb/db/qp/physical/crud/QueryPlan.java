@@ -30,6 +30,9 @@ public class QueryPlan extends PhysicalPlan {
 
   private List<Path> paths = null;
   private IExpression expression = null;
+  private boolean ascending = true;
+  private int rowLimit = 0; // 0 means no limit
+  private int rowOffset = 0;
 
   public QueryPlan() {
     super(true);
@@ -59,6 +62,30 @@ public class QueryPlan extends PhysicalPlan {
     this.expression = expression;
   }
 
+  public boolean isAscending() {
+    return ascending;
+  }
+
+  public void setAscending(boolean ascending) {
+    this.ascending = ascending;
+  }
+
+  public int getRowLimit() {
+    return rowLimit;
+  }
+
+  public void setRowLimit(int rowLimit) {
+    this.rowLimit = rowLimit;
+  }
+
+  public int getRowOffset() {
+    return rowOffset;
+  }
+
+  public void setRowOffset(int rowOffset) {
+    this.rowOffset = rowOffset;
+  }
+
   @Override
   public List<Path> getPaths() {
     return paths;
@@ -0,0 +1,355 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.qp.strategy;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.iotdb.db.qp.constant.SQLConstant;
+import org.apache.iotdb.db.qp.physical.crud.InsertPlan;
+import org.apache.iotdb.db.sql.parse.TSParser;
+import org.apache.iotdb.tsfile.common.constant.TsFileConstant;
+
+/**
+ * A hand-written parser for the plain form of the insert statement:
+ * <pre>
+ *   INSERT INTO root.a.b(timestamp, s1, s2) VALUES(1, 2.0, 'text')
+ * </pre>
+ * It builds an {@code InsertPlan} directly without going through the ANTLR parser, the AST and
+ * the logical operators, which dominate the cost of SQL-based ingestion. Whenever the statement
+ * falls outside this form (datetime timestamps, escaped strings, keywords used as node names,
+ * syntax errors and so on) {@link #parse(String)} returns null and the caller should fall back to
+ * the full parser, so that the result and the error messages stay exactly the same.
+ */
+public class FastInsertParser {
+
+  private static final String KEYWORD_PREFIX = "KW_";
+  /**
+   * words that the lexer never accepts as identifiers, in upper case.
+   */
+  private static final Set<String> RESERVED_WORDS = new HashSet<>();
+
+  static {
+    for (String tokenName : TSParser.tokenNames) {
+      if (tokenName.startsWith(KEYWORD_PREFIX)) {
+        RESERVED_WORDS.add(tokenName.substring(KEYWORD_PREFIX.length()));
+      }
+    }
+    RESERVED_WORDS.add("TRUE");
+    RESERVED_WORDS.add("FALSE");
+  }
+
+  /**
+   * index of the timestamp in the parameter positions.
+   */
+  public static final int TIME_PARAMETER = -1;
+  private static final char PLACEHOLDER = '?';
+
+  private final String sql;
+  private int pos;
+  /**
+   * null if placeholders are not allowed, otherwise the positions of the placeholders are appended
+   * to it in order.
+   */
+  private final List<Integer> parameterPositions;
+
+  private FastInsertParser(String sql, List<Integer> parameterPositions) {
+    this.sql = sql;
+    this.pos = 0;
+    this.parameterPositions = parameterPositions;
+  }
+
+  /**
+   * parse an insert statement.
+   *
+   * @param sql the statement
+   * @return the InsertPlan of the statement, or null if the statement is not a plain insert
+   * statement and must be handled by the full parser
+   */
+  public static InsertPlan parse(String sql) {
+    if (sql == null) {
+      return null;
+    }
+    return new FastInsertParser(sql, null).parseInsert();
+  }
+
+  /**
+   * parse an insert statement whose timestamp and values may be placeholders ("?") of a prepared
+   * statement.
+   *
+   * @param sql the statement
+   * @param parameterPositions the position of each placeholder is appended to it, which is the
+   * index in the values or {@link #TIME_PARAMETER}
+   * @return the InsertPlan of the statement with null (or 0 for the timestamp) in the place of the
+   * placeholders, or null if the statement is not a plain insert statement
+   */
+  public static InsertPlan parseTemplate(String sql, List<Integer> parameterPositions) {
+    if (sql == null) {
+      return null;
+    }
+    return new FastInsertParser(sql, parameterPositions).parseInsert();
+  }
+
+  /**
+   * check a value given apart from the statement, e.g. a parameter of a prepared statement.
+   *
+   * @param value the value in the form of a SQL literal
+   * @return true if the whole text is a single value that parse() accepts, false if it is not a
+   * value or has to be checked by the full parser
+   */
+  public static boolean isValue(String value) {
+    if (value == null) {
+      return false;
+    }
+    FastInsertParser parser = new FastInsertParser(value, null);
+    if (parser.parseValue() == null) {
+      return false;
+    }
+    parser.skipWhitespace();
+    return parser.pos == value.length();
+  }
+
+  private InsertPlan parseInsert() {
+    if (!acceptKeyword("INSERT") || !acceptKeyword("INTO")) {
+      return null;
+    }
+    String deviceId = parseDevice();
+    if (deviceId == null || !accept('(') || !acceptKeyword("TIMESTAMP")) {
+      return null;
+    }
+    List<String> measurements = new ArrayList<>();
+    while (accept(',')) {
+      String measurement = parseNodeName();
+      if (measurement == null) {
+        return null;
+      }
+      measurements.add(measurement);
+    }
+    if (!accept(')') || !acceptKeyword("VALUES") || !accept('(')) {
+      return null;
+    }
+
+    long time = 0;
+    if (acceptPlaceholder()) {
+      parameterPositions.add(TIME_PARAMETER);
+    } else {
+      String timeText = parseNumber();
+      if (timeText == null || timeText.indexOf('.') >= 0) {
+        return null;
+      }
+      try {
+        time = Long.parseLong(timeText);
+      } catch (NumberFormatException e) {
+        // let the full parser report the error
+        return null;
+      }
+    }
+
+    List<String> values = new ArrayList<>(measurements.size());
+    while (accept(',')) {
+      if (acceptPlaceholder()) {
+        parameterPositions.add(values.size());
+        values.add(null);
+        continue;
+      }
+      String value = parseValue();
+      if (value == null) {
+        return null;
+      }
+      values.add(value);
+    }
+    if (!accept(')')) {
+      return null;
+    }
+    skipWhitespace();
+    if (pos != sql.length() || values.size() != measurements.size()) {
+      return null;
+    }
+    return new InsertPlan(deviceId, time, measurements.toArray(new String[0]),
+        values.toArray(new String[0]));
+  }
+
+  /**
+   * parse "root.node1.node2...", at least one node after root is required.
+   */
+  private String parseDevice() {
+    if (!acceptKeyword(SQLConstant.ROOT)) {
+      return null;
+    }
+    StringBuilder builder = new StringBuilder(SQLConstant.ROOT);
+    int nodeNum = 0;
+    while (accept('.')) {
+      String node = parseNodeName();
+      if (node == null) {
+        return null;
+      }
+      builder.append(TsFileConstant.PATH_SEPARATOR).append(node);
+      nodeNum++;
+    }
+    return nodeNum > 0 ? builder.toString() : null;
+  }
+
+  /**
+   * parse an identifier which is not a reserved word, or an unsigned integer.
+   */
+  private String parseNodeName() {
+    skipWhitespace();
+    if (pos >= sql.length()) {
+      return null;
+    }
+    char c = sql.charAt(pos);
+    if (isIdentifierStart(c)) {
+      String word = readWord();
+      return RESERVED_WORDS.contains(word.toUpperCase()) ? null : word;
+    }
+    if (isDigit(c)) {
+      int start = pos;
+      skipDigits();
+      return sql.substring(start, pos);
+    }
+    return null;
+  }
+
+  /**
+   * parse a number, a boolean or a quoted string without escaped characters. The text is kept as
+   * it is in the statement, including the quotes of a string, the same as the full parser does.
+   */
+  private String parseValue() {
+    skipWhitespace();
+    if (pos >= sql.length()) {
+      return null;
+    }
+    char c = sql.charAt(pos);
+    if (c == '\'' || c == '"') {
+      int start = pos;
+      pos++;
+      while (pos < sql.length() && sql.charAt(pos) != c) {
+        if (sql.charAt(pos) == '\\') {
+          return null;
+        }
+        pos++;
+      }
+      if (pos >= sql.length()) {
+        return null;
+      }
+      pos++;
+      // a doubled quote is an escaped quote, leave it to the full parser
+      if (pos < sql.length() && sql.charAt(pos) == c) {
+        return null;
+      }
+      return sql.substring(start, pos);
+    }
+    if (isIdentifierStart(c)) {
+      String word = readWord();
+      return "true".equalsIgnoreCase(word) || "false".equalsIgnoreCase(word) ? word : null;
+    }
+    return parseNumber();
+  }
+
+  /**
+   * parse [+-]?digits(.digits([eE][+-]?digits)?)?
+   */
+  private String parseNumber() {
+    skipWhitespace();
+    int start = pos;
+    if (pos < sql.length() && (sql.charAt(pos) == '+' || sql.charAt(pos) == '-')) {
+      pos++;
+    }
+    if (!skipDigits()) {
+      return null;
+    }
+    if (pos < sql.length() && sql.charAt(pos) == '.') {
+      pos++;
+      if (!skipDigits()) {
+        return null;
+      }
+      if (pos < sql.length() && (sql.charAt(pos) == 'e' || sql.charAt(pos) == 'E')) {
+        pos++;
+        if (pos < sql.length() && (sql.charAt(pos) == '+' || sql.charAt(pos) == '-')) {
+          pos++;
+        }
+        if (!skipDigits()) {
+          return null;
+        }
+      }
+    }
+    return sql.substring(start, pos);
+  }
+
+  private boolean acceptKeyword(String keyword) {
+    skipWhitespace();
+    if (pos >= sql.length() || !isIdentifierStart(sql.charAt(pos))) {
+      return false;
+    }
+    return keyword.equalsIgnoreCase(readWord());
+  }
+
+  private boolean acceptPlaceholder() {
+    return parameterPositions != null && accept(PLACEHOLDER);
+  }
+
+  private boolean accept(char c) {
+    skipWhitespace();
+    if (pos < sql.length() && sql.charAt(pos) == c) {
+      pos++;
+      return true;
+    }
+    return false;
+  }
+
+  private String readWord() {
+    int start = pos;
+    pos++;
+    while (pos < sql.length() && isIdentifierPart(sql.charAt(pos))) {
+      pos++;
+    }
+    return sql.substring(start, pos);
+  }
+
+  private boolean skipDigits() {
+    int start = pos;
+    while (pos < sql.length() && isDigit(sql.charAt(pos))) {
+      pos++;
+    }
+    return pos > start;
+  }
+
+  private void skipWhitespace() {
+    while (pos < sql.length()) {
+      char c = sql.charAt(pos);
+      if (c != ' ' && c != '\t' && c != '\r' && c != '\n') {
+        return;
+      }
+      pos++;
+    }
+  }
+
+  private static boolean isIdentifierStart(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+  }
+
+  private static boolean isIdentifierPart(char c) {
+    return isIdentifierStart(c) || isDigit(c) || c == '-';
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+}
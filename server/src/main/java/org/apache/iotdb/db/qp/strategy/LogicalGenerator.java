@@ -18,6 +18,9 @@
  */
 package org.apache.iotdb.db.qp.strategy;
 
+import static org.apache.iotdb.db.qp.constant.SQLConstant.GREATERTHAN;
+import static org.apache.iotdb.db.qp.constant.SQLConstant.GREATERTHANOREQUALTO;
+import static org.apache.iotdb.db.qp.constant.SQLConstant.KW_AND;
 import static org.apache.iotdb.db.qp.constant.SQLConstant.LESSTHAN;
 import static org.apache.iotdb.db.qp.constant.SQLConstant.LESSTHANOREQUALTO;
 
@@ -48,6 +51,7 @@ import org.apache.iotdb.db.qp.logical.crud.SelectOperator;
 import org.apache.iotdb.db.qp.logical.crud.UpdateOperator;
 import org.apache.iotdb.db.qp.logical.sys.AuthorOperator;
 import org.apache.iotdb.db.qp.logical.sys.LoadDataOperator;
+import org.apache.iotdb.db.qp.logical.sys.LoadFileOperator;
 import org.apache.iotdb.db.qp.logical.sys.MetadataOperator;
 import org.apache.iotdb.db.qp.logical.sys.PropertyOperator;
 import org.apache.iotdb.db.query.fill.IFill;
@@ -72,6 +76,8 @@ public class LogicalGenerator {
 
   private static final String ERR_INCORRECT_AUTHOR_COMMAND = "illegal ast tree in grant author "
       + "command, please check you SQL statement";
+  private static final String DELETE_TIME_FILTER_ERROR = "For delete command, where clause must be "
+      + "like : time < XXX, time >= XXX or time >= XXX and time < XXX";
 
   private RootOperator initializedOperator = null;
   private ZoneId zoneId;
@@ -185,6 +191,9 @@ public class LogicalGenerator {
       case TSParser.TOK_LOAD:
         analyzeDataLoad(astNode);
         return;
+      case TSParser.TOK_LOAD_FILE:
+        analyzeLoadFile(astNode);
+        return;
       case TSParser.TOK_QUERY:
         // for TSParser.TOK_QUERY might appear in both query and insert
         // command. Thus, do
@@ -197,12 +206,18 @@ public class LogicalGenerator {
       case TSParser.TOK_LIMIT:
         analyzeLimit(astNode);
         return;
+      case TSParser.TOK_OFFSET:
+        analyzeOffset(astNode);
+        return;
       case TSParser.TOK_SLIMIT:
         analyzeSlimit(astNode);
         return;
       case TSParser.TOK_SOFFSET:
         analyzeSoffset(astNode);
         return;
+      case TSParser.TOK_ORDERBY:
+        analyzeOrderBy(astNode);
+        return;
       default:
         throw new QueryProcessorException("Not supported TSParser type" + tokenIntType);
     }
@@ -239,6 +254,13 @@ public class LogicalGenerator {
     }
   }
 
+  private void analyzeOrderBy(AstNode astNode) {
+    // ORDER BY TIME [ASC | DESC], ascending if the order is omitted
+    boolean ascending = astNode.getChildCount() == 0
+        || astNode.getChild(0).getType() != TSParser.KW_DESC;
+    ((QueryOperator) initializedOperator).setAscending(ascending);
+  }
+
   private void analyzeLimit(AstNode astNode) throws LogicalOperatorException {
     AstNode unit = astNode.getChild(0);
     int rowsLimit;
@@ -253,6 +275,18 @@ public class LogicalGenerator {
       throw new LogicalOperatorException(
           "LIMIT <N>: N must be a positive integer and can not be zero.");
     }
+    ((QueryOperator) initializedOperator).setRowLimit(rowsLimit);
+  }
+
+  private void analyzeOffset(AstNode astNode) throws LogicalOperatorException {
+    AstNode unit = astNode.getChild(0);
+    try {
+      // NOTE rowOffset is ensured to be a non negative integer after the lexical examination.
+      ((QueryOperator) initializedOperator)
+          .setRowOffset(Integer.parseInt(unit.getText().trim()));
+    } catch (NumberFormatException e) {
+      throw new LogicalOperatorException("OFFSET <OFFSETValue>: OFFSETValue should be Int32.");
+    }
   }
 
   private void analyzeList(AstNode astNode) {
@@ -509,31 +543,57 @@ public class LogicalGenerator {
     }
     ((SFWOperator) initializedOperator).setSelectOperator(selectOp);
     analyzeWhere(astNode.getChild(selChildCount));
-    long deleteTime = parseDeleteTimeFilter((DeleteOperator) initializedOperator);
-    ((DeleteOperator) initializedOperator).setTime(deleteTime);
+    parseDeleteTimeFilter((DeleteOperator) initializedOperator);
   }
 
   /**
-   * for delete command, time should only have an end time.
+   * for delete command, time should have an end time, a start time, or both of them connected by
+   * AND, and the deleted time range is set into the operator.
    *
    * @param operator delete logical plan
    */
-  private long parseDeleteTimeFilter(DeleteOperator operator) throws LogicalOperatorException {
+  private void parseDeleteTimeFilter(DeleteOperator operator) throws LogicalOperatorException {
     FilterOperator filterOperator = operator.getFilterOperator();
-    if (!(filterOperator.isLeaf())) {
-      throw new LogicalOperatorException(
-          "For delete command, where clause must be like : time < XXX or time <= XXX");
+    List<FilterOperator> bounds = new ArrayList<>();
+    if (filterOperator.isLeaf()) {
+      bounds.add(filterOperator);
+    } else if (filterOperator.getTokenIntType() == KW_AND) {
+      bounds.addAll(filterOperator.getChildren());
+    } else {
+      throw new LogicalOperatorException(DELETE_TIME_FILTER_ERROR);
     }
-    if (filterOperator.getTokenIntType() != LESSTHAN
-        && filterOperator.getTokenIntType() != LESSTHANOREQUALTO) {
-      throw new LogicalOperatorException(
-          "For delete command, where clause must be like : time < XXX or time <= XXX");
+
+    long startTime = Long.MIN_VALUE;
+    long endTime = Long.MAX_VALUE;
+    for (FilterOperator bound : bounds) {
+      if (!bound.isLeaf()) {
+        throw new LogicalOperatorException(DELETE_TIME_FILTER_ERROR);
+      }
+      long time = Long.parseLong(((BasicFunctionOperator) bound).getValue());
+      switch (bound.getTokenIntType()) {
+        case LESSTHAN:
+          endTime = Math.min(endTime, time - 1);
+          break;
+        case LESSTHANOREQUALTO:
+          endTime = Math.min(endTime, time);
+          break;
+        case GREATERTHAN:
+          startTime = Math.max(startTime, time + 1);
+          break;
+        case GREATERTHANOREQUALTO:
+          startTime = Math.max(startTime, time);
+          break;
+        default:
+          throw new LogicalOperatorException(DELETE_TIME_FILTER_ERROR);
+      }
     }
-    long time = Long.parseLong(((BasicFunctionOperator) filterOperator).getValue());
-    if (filterOperator.getTokenIntType() == LESSTHAN) {
-      time = time - 1;
+    if (startTime > endTime) {
+      throw new LogicalOperatorException(
+          String.format("For delete command, the time range [%d, %d] is empty", startTime,
+              endTime));
     }
-    return time;
+    operator.setStartTime(startTime);
+    operator.setTime(endTime);
   }
 
   private void analyzeFrom(AstNode node) throws LogicalOperatorException {
@@ -683,18 +743,23 @@ public class LogicalGenerator {
 
     ((QueryOperator) initializedOperator).setIntervals(intervals);
 
-    // parse time origin
-    long originTime;
-    if (childCount == 3) {
-      AstNode originNode = astNode.getChild(1).getChild(0);
-      if (originNode.getType() == TSParser.TOK_DATETIME) {
-        originTime = Long.valueOf(parseTokenTime(originNode));
-      } else {
-        originTime = Long.valueOf(originNode.getText());
+    // parse sliding step and time origin, both optional
+    long slidingStep = value;
+    long originTime = parseTimeFormat(SQLConstant.START_TIME_STR);
+    for (int i = 1; i < childCount - 1; i++) {
+      AstNode child = astNode.getChild(i);
+      if (child.getType() == TSParser.TOK_SLIDINGSTEP) {
+        slidingStep = parseTimeUnit(child);
+      } else if (child.getType() == TSParser.TOK_TIMEORIGIN) {
+        AstNode originNode = child.getChild(0);
+        if (originNode.getType() == TSParser.TOK_DATETIME) {
+          originTime = Long.valueOf(parseTokenTime(originNode));
+        } else {
+          originTime = Long.valueOf(originNode.getText());
+        }
       }
-    } else {
-      originTime = parseTimeFormat(SQLConstant.START_TIME_STR);
     }
+    ((QueryOperator) initializedOperator).setSlidingStep(slidingStep);
     ((QueryOperator) initializedOperator).setOrigin(originTime);
   }
 
@@ -936,6 +1001,11 @@ public class LogicalGenerator {
         sc.toString());
   }
 
+  private void analyzeLoadFile(AstNode astNode) throws IllegalASTFormatException {
+    String filePath = parseStringWithQuoto(astNode.getChild(0).getText());
+    initializedOperator = new LoadFileOperator(SQLConstant.TOK_LOAD_FILE, filePath);
+  }
+
   private void analyzeAuthorCreate(AstNode astNode) throws IllegalASTFormatException {
     int childCount = astNode.getChildCount();
     AuthorOperator authorOperator;
@@ -1115,17 +1185,29 @@ public class LogicalGenerator {
       throw new MetadataErrorException(String.format("encoding %s is not support", encoding));
     }
 
+    CompressionType compressionType;
     try {
-      CompressionType.valueOf(compressor);
+      compressionType = CompressionType.valueOf(compressor);
     } catch (Exception e) {
       throw new MetadataErrorException(String.format("compressor %s is not support", compressor));
     }
+    if (compressionType == CompressionType.SDT || compressionType == CompressionType.PAA
+        || compressionType == CompressionType.PLA) {
+      // lossy approximations work on values, so they are provided as encodings
+      throw new MetadataErrorException(String.format(
+          "compressor %s is not support, use ENCODING=%s with MAX_ERROR instead", compressor,
+          compressor));
+    }
 
     checkDataTypeEncoding(tsDataType, tsEncoding);
   }
 
   private void checkDataTypeEncoding(TSDataType tsDataType, TSEncoding tsEncoding)
       throws MetadataErrorException {
+    if (tsEncoding.equals(TSEncoding.ADAPTIVE)) {
+      // resolved to an encoding supported by the data type when each chunk is flushed
+      return;
+    }
     boolean throwExp = false;
     switch (tsDataType) {
       case BOOLEAN:
@@ -1136,19 +1218,22 @@ public class LogicalGenerator {
       case INT32:
       case INT64:
         if (!(tsEncoding.equals(TSEncoding.RLE) || tsEncoding.equals(TSEncoding.PLAIN)
-            || tsEncoding.equals(TSEncoding.TS_2DIFF))) {
+            || tsEncoding.equals(TSEncoding.TS_2DIFF) || tsEncoding.equals(TSEncoding.GORILLA)
+            || isPiecewise(tsEncoding))) {
           throwExp = true;
         }
         break;
       case FLOAT:
       case DOUBLE:
         if (!(tsEncoding.equals(TSEncoding.RLE) || tsEncoding.equals(TSEncoding.PLAIN)
-            || tsEncoding.equals(TSEncoding.TS_2DIFF) || tsEncoding.equals(TSEncoding.GORILLA))) {
+            || tsEncoding.equals(TSEncoding.TS_2DIFF) || tsEncoding.equals(TSEncoding.GORILLA)
+            || tsEncoding.equals(TSEncoding.CHIMP) || isPiecewise(tsEncoding))) {
           throwExp = true;
         }
         break;
       case TEXT:
-        if (!tsEncoding.equals(TSEncoding.PLAIN)) {
+        if (!(tsEncoding.equals(TSEncoding.PLAIN)
+            || tsEncoding.equals(TSEncoding.PLAIN_DICTIONARY))) {
           throwExp = true;
         }
         break;
@@ -1160,4 +1245,12 @@ public class LogicalGenerator {
           String.format("encoding %s does not support %s", tsEncoding, tsDataType));
     }
   }
+
+  /**
+   * lossy encodings bounded by MAX_ERROR.
+   */
+  private boolean isPiecewise(TSEncoding tsEncoding) {
+    return tsEncoding.equals(TSEncoding.SDT) || tsEncoding.equals(TSEncoding.PAA)
+        || tsEncoding.equals(TSEncoding.PLA);
+  }
 }
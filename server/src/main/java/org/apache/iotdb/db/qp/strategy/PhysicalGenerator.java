@@ -32,6 +32,7 @@ import org.apache.iotdb.db.qp.logical.crud.InsertOperator;
 import org.apache.iotdb.db.qp.logical.crud.QueryOperator;
 import org.apache.iotdb.db.qp.logical.sys.AuthorOperator;
 import org.apache.iotdb.db.qp.logical.sys.LoadDataOperator;
+import org.apache.iotdb.db.qp.logical.sys.LoadFileOperator;
 import org.apache.iotdb.db.qp.logical.sys.MetadataOperator;
 import org.apache.iotdb.db.qp.logical.sys.PropertyOperator;
 import org.apache.iotdb.db.qp.physical.PhysicalPlan;
@@ -43,6 +44,7 @@ import org.apache.iotdb.db.qp.physical.crud.InsertPlan;
 import org.apache.iotdb.db.qp.physical.crud.QueryPlan;
 import org.apache.iotdb.db.qp.physical.sys.AuthorPlan;
 import org.apache.iotdb.db.qp.physical.sys.LoadDataPlan;
+import org.apache.iotdb.db.qp.physical.sys.LoadFilePlan;
 import org.apache.iotdb.db.qp.physical.sys.MetadataPlan;
 import org.apache.iotdb.db.qp.physical.sys.PropertyPlan;
 import org.apache.iotdb.tsfile.read.common.Path;
@@ -75,6 +77,8 @@ public class PhysicalGenerator {
       case LOADDATA:
         LoadDataOperator loadData = (LoadDataOperator) operator;
         return new LoadDataPlan(loadData.getInputFilePath(), loadData.getMeasureType());
+      case LOAD_FILE:
+        return new LoadFilePlan(((LoadFileOperator) operator).getFilePath());
       case SET_STORAGE_GROUP:
       case CREATE_TIMESERIES:
       case DELETE_TIMESERIES:
@@ -90,7 +94,7 @@ public class PhysicalGenerator {
       case DELETE:
         DeleteOperator delete = (DeleteOperator) operator;
         paths = delete.getSelectedPaths();
-        return new DeletePlan(delete.getTime(), paths);
+        return new DeletePlan(delete.getStartTime(), delete.getTime(), paths);
       case INSERT:
         InsertOperator insert = (InsertOperator) operator;
         paths = insert.getSelectedPaths();
@@ -228,9 +232,16 @@ public class PhysicalGenerator {
 
     QueryPlan queryPlan;
 
+    if (!queryOperator.isAscending() && (queryOperator.isGroupBy() || queryOperator.isFill()
+        || queryOperator.hasAggregation())) {
+      throw new QueryProcessorException(
+          "ORDER BY TIME DESC is only supported in raw data queries");
+    }
+
     if (queryOperator.isGroupBy()) {
       queryPlan = new GroupByPlan();
       ((GroupByPlan) queryPlan).setUnit(queryOperator.getUnit());
+      ((GroupByPlan) queryPlan).setSlidingStep(queryOperator.getSlidingStep());
       ((GroupByPlan) queryPlan).setOrigin(queryOperator.getOrigin());
       ((GroupByPlan) queryPlan).setIntervals(queryOperator.getIntervals());
       ((GroupByPlan) queryPlan).setAggregations(queryOperator.getSelectOperator().getAggregations());
@@ -249,11 +260,14 @@ public class PhysicalGenerator {
           .setAggregations(queryOperator.getSelectOperator().getAggregations());
     } else {
       queryPlan = new QueryPlan();
+      queryPlan.setAscending(queryOperator.isAscending());
     }
 
     // set selected paths
     List<Path> paths = queryOperator.getSelectedPaths();
     queryPlan.setPaths(paths);
+    queryPlan.setRowLimit(queryOperator.getRowLimit());
+    queryPlan.setRowOffset(queryOperator.getRowOffset());
 
     // transform filter operator to expression
     FilterOperator filterOperator = queryOperator.getFilterOperator();
@@ -117,6 +117,18 @@ public abstract class AggregateFunction {
   public abstract void calcAggregationUsingTimestamps(long[] timestamps, int length,
       IReaderByTimestamp dataReader) throws IOException;
 
+  /**
+   * <p>
+   * Merge the partial aggregation of another function into this one. Sliding group by aggregates
+   * every pane once and builds the result of a window by merging its panes in time order, so
+   * <code>another</code> covers a later time range than the data already aggregated here, and its
+   * result must not have been fetched by <method>getResult</method> yet.
+   * </p>
+   *
+   * @param another an aggregate function of the same class
+   */
+  public abstract void merge(AggregateFunction another);
+
   /**
    * Judge if aggregation results have been calculated. In other words, if the aggregated result
    * does not need to compute the remaining data, it returns true.
@@ -148,6 +148,11 @@ public class CountAggrFunc extends AggregateFunction {
     resultData.setLongRet(preValue);
   }
 
+  @Override
+  public void merge(AggregateFunction another) {
+    resultData.setLongRet(resultData.getLongRet() + another.getResult().getLongRet());
+  }
+
   @Override
   public boolean isCalculatedAggregationResult() {
     return false;
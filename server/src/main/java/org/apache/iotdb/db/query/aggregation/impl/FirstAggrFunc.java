@@ -147,6 +147,14 @@ public class FirstAggrFunc extends AggregateFunction {
     }
   }
 
+  @Override
+  public void merge(AggregateFunction another) {
+    AggreResultData anotherResult = another.getResult();
+    if (!resultData.isSetValue() && anotherResult.isSetValue()) {
+      resultData.putTimeAndValue(0, anotherResult.getValue());
+    }
+  }
+
   @Override
   public boolean isCalculatedAggregationResult() {
     return resultData.isSetTime();
@@ -133,6 +133,15 @@ public class LastAggrFunc extends AggregateFunction {
     }
   }
 
+  @Override
+  public void merge(AggregateFunction another) {
+    // getResult() of another would reset the timestamp needed here
+    AggreResultData anotherResult = ((LastAggrFunc) another).resultData;
+    if (anotherResult.isSetTime()) {
+      updateLastResult(anotherResult.getTimestamp(), anotherResult.getValue());
+    }
+  }
+
   @Override
   public boolean isCalculatedAggregationResult() {
     return false;
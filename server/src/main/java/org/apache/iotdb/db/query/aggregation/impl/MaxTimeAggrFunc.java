@@ -121,6 +121,14 @@ public class MaxTimeAggrFunc extends AggregateFunction {
     updateMaxTimeResult(0, time);
   }
 
+  @Override
+  public void merge(AggregateFunction another) {
+    AggreResultData anotherResult = another.getResult();
+    if (anotherResult.isSetValue()) {
+      updateMaxTimeResult(0, anotherResult.getLongRet());
+    }
+  }
+
   @Override
   public boolean isCalculatedAggregationResult() {
     return false;
@@ -154,6 +154,15 @@ public class MaxValueAggrFunc extends AggregateFunction {
     updateResult(maxVal);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public void merge(AggregateFunction another) {
+    AggreResultData anotherResult = another.getResult();
+    if (anotherResult.isSetValue()) {
+      updateResult((Comparable<Object>) anotherResult.getValue());
+    }
+  }
+
   @Override
   public boolean isCalculatedAggregationResult() {
     return false;
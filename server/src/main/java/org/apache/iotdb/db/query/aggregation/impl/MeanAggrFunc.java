@@ -158,6 +158,13 @@ public class MeanAggrFunc extends AggregateFunction {
     }
   }
 
+  @Override
+  public void merge(AggregateFunction another) {
+    MeanAggrFunc anotherMean = (MeanAggrFunc) another;
+    sum += anotherMean.sum;
+    cnt += anotherMean.cnt;
+  }
+
   @Override
   public boolean isCalculatedAggregationResult() {
     return false;
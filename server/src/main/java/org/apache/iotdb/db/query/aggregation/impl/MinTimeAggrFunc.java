@@ -148,6 +148,15 @@ public class MinTimeAggrFunc extends AggregateFunction {
     }
   }
 
+  @Override
+  public void merge(AggregateFunction another) {
+    AggreResultData anotherResult = another.getResult();
+    if (!resultData.isSetValue() && anotherResult.isSetValue()) {
+      resultData.setTimestamp(0);
+      resultData.setLongRet(anotherResult.getLongRet());
+    }
+  }
+
   @Override
   public boolean isCalculatedAggregationResult() {
     return resultData.isSetValue();
@@ -149,6 +149,15 @@ public class MinValueAggrFunc extends AggregateFunction {
     updateResult(minVal);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public void merge(AggregateFunction another) {
+    AggreResultData anotherResult = another.getResult();
+    if (anotherResult.isSetValue()) {
+      updateResult((Comparable<Object>) anotherResult.getValue());
+    }
+  }
+
   @Override
   public boolean isCalculatedAggregationResult() {
     return false;
@@ -19,12 +19,12 @@
 
 package org.apache.iotdb.db.query.context;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.apache.iotdb.db.engine.modification.Modification;
 import org.apache.iotdb.db.engine.modification.ModificationFile;
+import org.apache.iotdb.db.exception.QueryInterruptedException;
 
 /**
  * QueryContext contains the shared information with in a query.
@@ -33,17 +33,22 @@ public class QueryContext {
 
   /**
    * The outer key is the path of a ModificationFile, the inner key in the name of a timeseries and
-   * the value is the Modifications of a timeseries in this file.
+   * the value is the Modifications of a timeseries in this file. The modifications are cached so
+   * that a query sees the same modifications of a file even if new ones are written meanwhile.
    */
   private Map<String, Map<String, List<Modification>>> filePathModCache = new HashMap<>();
+
+  private long jobId;
+
   /**
-   * The key is the path of a ModificationFile and the value is all Modifications in this file. We
-   * use this field because each call of Modification.getModifications() return a copy of the
-   * Modifications, and we do not want it to create multiple copies within a query.
+   * The time in ms after which the query is stopped, Long.MAX_VALUE if the query never times out.
    */
-  private Map<String, List<Modification>> fileModCache = new HashMap<>();
+  private long deadline = Long.MAX_VALUE;
 
-  private long jobId;
+  /**
+   * Set by another thread to stop the query at the next check of the readers.
+   */
+  private volatile boolean cancelled = false;
 
   public QueryContext() {
   }
@@ -53,38 +58,58 @@ public class QueryContext {
   }
 
   /**
-   * Find the modifications of timeseries 'path' in 'modFile'. If they are not in the cache, read
-   * them from 'modFile' and put then into the cache.
+   * Find the modifications of timeseries 'path' in 'modFile'. If they are not in the cache, get
+   * them from the index of 'modFile' and put then into the cache.
    */
   public List<Modification> getPathModifications(ModificationFile modFile, String path) {
-
     Map<String, List<Modification>> fileModifications =
         filePathModCache.computeIfAbsent(modFile.getFilePath(), k -> new HashMap<>());
-    List<Modification> pathModifications = fileModifications.get(path);
-
-    if (pathModifications == null) {
-      List<Modification> allModifications = fileModCache.get(modFile.getFilePath());
-      if (allModifications == null) {
-        allModifications = (List<Modification>) modFile.getModifications();
-        fileModCache.put(modFile.getFilePath(), allModifications);
-      }
-      pathModifications = new ArrayList<>();
-      if (!allModifications.isEmpty()) {
-        List<Modification> finalPathModifications = pathModifications;
-        allModifications.forEach(modification -> {
-          if (modification.getPathString().equals(path)) {
-            finalPathModifications.add(modification);
-          }
-        });
-      }
-      fileModifications.put(path, pathModifications);
-    }
-
-    return pathModifications;
+    return fileModifications.computeIfAbsent(path, modFile::getModifications);
   }
 
   public long getJobId() {
     return jobId;
   }
 
+  public long getDeadline() {
+    return deadline;
+  }
+
+  /**
+   * Let the query time out after 'timeoutInMs' from now. A non-positive timeout means no limit.
+   */
+  public void setTimeout(long timeoutInMs) {
+    if (timeoutInMs <= 0) {
+      deadline = Long.MAX_VALUE;
+    } else {
+      long now = System.currentTimeMillis();
+      deadline = timeoutInMs > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + timeoutInMs;
+    }
+  }
+
+  public void cancel() {
+    cancelled = true;
+  }
+
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Called by the loops of the readers so that a cancelled or timed out query stops reading the
+   * files as soon as possible.
+   *
+   * @throws QueryInterruptedException if the query is cancelled or exceeds its deadline
+   */
+  public void checkAlive() {
+    if (cancelled) {
+      throw new QueryInterruptedException(
+          String.format("Query %d has been cancelled", jobId));
+    }
+    if (deadline != Long.MAX_VALUE && System.currentTimeMillis() > deadline) {
+      throw new QueryInterruptedException(
+          String.format("Query %d has exceeded its deadline", jobId));
+    }
+  }
+
 }
@@ -18,18 +18,23 @@
  */
 package org.apache.iotdb.db.query.control;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.iotdb.db.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.cache.ChunkCache;
 import org.apache.iotdb.db.service.IService;
 import org.apache.iotdb.db.service.ServiceType;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.UnClosedTsFileReader;
+import org.apache.iotdb.tsfile.read.reader.MMapTsFileInput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -137,7 +142,7 @@ public class FileReaderManager implements IService {
       }
 
       TsFileSequenceReader tsFileReader = !isClosed ? new UnClosedTsFileReader(filePath)
-          : new TsFileSequenceReader(filePath);
+          : createClosedFileReader(filePath);
 
       readerMap.put(filePath, tsFileReader);
       return tsFileReader;
@@ -146,6 +151,20 @@ public class FileReaderManager implements IService {
     return readerMap.get(filePath);
   }
 
+  /**
+   * Create the reader of a sealed file. Large sealed files are memory-mapped if enabled, which is
+   * safe because their content never changes, and the reader is only closed when its reference
+   * count drops to zero (the mapping itself outlives the reader until no chunk refers to it).
+   */
+  private TsFileSequenceReader createClosedFileReader(String filePath) throws IOException {
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    if (config.isEnableMmapRead()
+        && new File(filePath).length() >= config.getMmapReadFileSizeThreshold()) {
+      return new TsFileSequenceReader(filePath, new MMapTsFileInput(Paths.get(filePath)));
+    }
+    return new TsFileSequenceReader(filePath);
+  }
+
   /**
    * Increase the reference count of the reader specified by filePath. Only when the reference count
    * of a reader equals zero, the reader can be closed and removed.
@@ -176,6 +195,7 @@ public class FileReaderManager implements IService {
    */
   public synchronized void closeFileAndRemoveReader(String filePath)
       throws IOException {
+    ChunkCache.getInstance().remove(filePath);
     if (unclosedFileReaderMap.containsKey(filePath)) {
       unclosedReferenceMap.remove(filePath);
       unclosedFileReaderMap.get(filePath).close();
@@ -213,6 +233,22 @@ public class FileReaderManager implements IService {
         || (!isClosed && unclosedFileReaderMap.containsKey(filePath));
   }
 
+  /**
+   * This method is only for unit tests.
+   *
+   * @return the sum of the reference counts of all the readers
+   */
+  public synchronized int getReferenceNum() {
+    int referenceNum = 0;
+    for (AtomicInteger reference : closedReferenceMap.values()) {
+      referenceNum += reference.get();
+    }
+    for (AtomicInteger reference : unclosedReferenceMap.values()) {
+      referenceNum += reference.get();
+    }
+    return referenceNum;
+  }
+
   @Override
   public void start() {
     // Do nothing
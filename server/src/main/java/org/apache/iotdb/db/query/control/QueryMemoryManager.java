@@ -0,0 +1,263 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.control;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.cache.DeviceMetaDataCache;
+import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.exception.QueryMemoryExceededException;
+import org.apache.iotdb.db.service.JMXService;
+import org.apache.iotdb.db.utils.MemUtils;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * QueryMemoryManager reserves the memory that each running query is estimated to use against the
+ * memory for queries, so that a few wide queries cannot exhaust the heap together.
+ * <p>
+ * The memory of a series is estimated when its data source is obtained by QueryResourceManager:
+ * the results of one fetch, one sequence chunk at a time, and all the unsequence chunks, which are
+ * merged together. A chunk is estimated from its number of points, once as read from the file and
+ * once as decoded. When the memory is exhausted, a query that holds no memory yet waits for
+ * other queries to release theirs for at most queryMemoryWaitTimeInMs and is rejected after that.
+ * A query that already holds memory is rejected at once instead of waiting, as two queries each
+ * holding part of the memory would otherwise wait for each other. A query that needs more than all
+ * the memory for queries is rejected at once. All the memory of a query is released when the
+ * query ends.
+ */
+public class QueryMemoryManager implements QueryMemoryManagerMBean {
+
+  private static final Logger logger = LoggerFactory.getLogger(QueryMemoryManager.class);
+  private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+
+  private static final String MBEAN_NAME =
+      "org.apache.iotdb.db.query.control:type=Query Memory Manager";
+
+  private final long memoryBudget;
+
+  /**
+   * the memory reserved by all the running queries, guarded by this.
+   */
+  private long reservedMemory = 0;
+
+  /**
+   * Map&lt;jobId, reserved memory&gt;, guarded by this.
+   */
+  private Map<Long, Long> jobMemoryMap = new HashMap<>();
+
+  private int waitingQueryNum = 0;
+  private long rejectedQueryNum = 0;
+
+  QueryMemoryManager(long memoryBudget) {
+    this.memoryBudget = memoryBudget;
+  }
+
+  public static QueryMemoryManager getInstance() {
+    return QueryMemoryManagerHolder.INSTANCE;
+  }
+
+  /**
+   * estimate the memory needed to read the series of the data source.
+   */
+  public long estimateSeriesMemory(QueryDataSource dataSource) throws IOException {
+    String seriesPath = dataSource.getSeriesPath().getFullPath();
+    TSDataType dataType = null;
+
+    // the sequence chunks are read one by one, the newest file tells how large they are
+    long maxSeqChunkMemory = 0;
+    List<TsFileResource> seqResources = dataSource.getSeqResources();
+    for (int i = seqResources.size() - 1; i >= 0; i--) {
+      TsFileResource resource = seqResources.get(i);
+      for (ChunkMetaData chunkMetaData : getChunkMetaData(resource, dataSource)) {
+        maxSeqChunkMemory = Math.max(maxSeqChunkMemory, estimateChunkMemory(chunkMetaData));
+        dataType = chunkMetaData.getTsDataType();
+      }
+      if (resource.isClosed()) {
+        break;
+      }
+    }
+
+    // the unsequence chunks are all opened to be merged
+    long unseqChunkMemory = 0;
+    for (TsFileResource resource : dataSource.getUnseqResources()) {
+      for (ChunkMetaData chunkMetaData : getChunkMetaData(resource, dataSource)) {
+        unseqChunkMemory += estimateChunkMemory(chunkMetaData);
+        dataType = chunkMetaData.getTsDataType();
+      }
+    }
+
+    long fetchMemory = config.getFetchSize() * MemUtils
+        .getPointSize(dataType == null ? TSDataType.INT64 : dataType);
+    long memory = fetchMemory + maxSeqChunkMemory + unseqChunkMemory;
+    logger.debug("The memory of series {} is estimated as {} bytes", seriesPath, memory);
+    return memory;
+  }
+
+  private List<ChunkMetaData> getChunkMetaData(TsFileResource resource,
+      QueryDataSource dataSource) throws IOException {
+    if (!resource.isClosed()) {
+      return resource.getChunkMetaDatas() == null ? new ArrayList<>()
+          : resource.getChunkMetaDatas();
+    }
+    return DeviceMetaDataCache.getInstance()
+        .get(resource.getFile().getPath(), dataSource.getSeriesPath());
+  }
+
+  private long estimateChunkMemory(ChunkMetaData chunkMetaData) {
+    return 2 * chunkMetaData.getNumOfPoints() * MemUtils
+        .getPointSize(chunkMetaData.getTsDataType());
+  }
+
+  /**
+   * reserve memory for the given job. Only a job holding no memory waits for other jobs to release
+   * memory, so that no job waits while holding memory that others are waiting for.
+   *
+   * @throws QueryMemoryExceededException if the memory cannot be reserved
+   */
+  public synchronized void reserve(long jobId, long memory) throws QueryMemoryExceededException {
+    long jobMemory = jobMemoryMap.getOrDefault(jobId, 0L);
+    if (jobMemory + memory > memoryBudget) {
+      rejectedQueryNum++;
+      throw new QueryMemoryExceededException(String.format("Query %d needs %d bytes of memory, "
+          + "more than the memory for queries (%d bytes), please query fewer series or less data",
+          jobId, jobMemory + memory, memoryBudget));
+    }
+
+    if (jobMemory > 0 && reservedMemory + memory > memoryBudget) {
+      rejectedQueryNum++;
+      throw new QueryMemoryExceededException(String.format("Query %d holds %d bytes of memory and "
+              + "cannot get %d more bytes, the server is too busy with other queries", jobId,
+          jobMemory, memory));
+    }
+
+    if (reservedMemory + memory > memoryBudget) {
+      long deadline = System.currentTimeMillis() + config.getQueryMemoryWaitTimeInMs();
+      waitingQueryNum++;
+      try {
+        while (reservedMemory + memory > memoryBudget) {
+          long waitTime = deadline - System.currentTimeMillis();
+          if (waitTime <= 0) {
+            rejectedQueryNum++;
+            throw new QueryMemoryExceededException(String.format("Query %d cannot get %d bytes of "
+                    + "memory in %d ms, the server is too busy with other queries", jobId, memory,
+                config.getQueryMemoryWaitTimeInMs()));
+          }
+          wait(waitTime);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        rejectedQueryNum++;
+        throw new QueryMemoryExceededException(
+            String.format("Query %d is interrupted while waiting for memory", jobId));
+      } finally {
+        waitingQueryNum--;
+      }
+    }
+
+    reservedMemory += memory;
+    jobMemoryMap.put(jobId, jobMemory + memory);
+  }
+
+  /**
+   * release all the memory reserved by the given job.
+   */
+  public synchronized void release(long jobId) {
+    Long jobMemory = jobMemoryMap.remove(jobId);
+    if (jobMemory != null) {
+      reservedMemory -= jobMemory;
+      notifyAll();
+    }
+  }
+
+  /**
+   * release the memory of all the jobs.
+   */
+  public synchronized void clear() {
+    jobMemoryMap.clear();
+    reservedMemory = 0;
+    notifyAll();
+  }
+
+  public synchronized long getJobMemory(long jobId) {
+    return jobMemoryMap.getOrDefault(jobId, 0L);
+  }
+
+  @Override
+  public long getMemoryBudget() {
+    return memoryBudget;
+  }
+
+  @Override
+  public synchronized long getReservedMemory() {
+    return reservedMemory;
+  }
+
+  @Override
+  public synchronized double getUsedMemoryProportion() {
+    return memoryBudget > 0 ? (double) reservedMemory / memoryBudget : 0;
+  }
+
+  @Override
+  public synchronized int getRunningQueryNum() {
+    return jobMemoryMap.size();
+  }
+
+  @Override
+  public synchronized int getWaitingQueryNum() {
+    return waitingQueryNum;
+  }
+
+  @Override
+  public synchronized long getRejectedQueryNum() {
+    return rejectedQueryNum;
+  }
+
+  @Override
+  public synchronized String[] getQueryMemoryUsage() {
+    String[] usage = new String[jobMemoryMap.size()];
+    int i = 0;
+    for (Entry<Long, Long> entry : jobMemoryMap.entrySet()) {
+      usage[i++] = entry.getKey() + ": " + entry.getValue();
+    }
+    return usage;
+  }
+
+  private static class QueryMemoryManagerHolder {
+
+    private static final QueryMemoryManager INSTANCE = new QueryMemoryManager(
+        config.getAllocateMemoryForQuery());
+
+    static {
+      JMXService.registerMBean(INSTANCE, MBEAN_NAME);
+    }
+
+    private QueryMemoryManagerHolder() {
+    }
+  }
+}
@@ -18,6 +18,7 @@
  */
 package org.apache.iotdb.db.query.control;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -37,13 +38,14 @@ import org.apache.iotdb.tsfile.read.expression.impl.SingleSeriesExpression;
 
 /**
  * <p>
- * QueryResourceManager manages resource (file streams) used by each query job, and assign Ids to the jobs.
+ * QueryResourceManager manages resource (file streams and memory) used by each query job, and assign Ids to the jobs.
  * During the life cycle of a query, the following methods must be called in strict order:
  * 1. assignJobId - get an Id for the new job.
  * 2. beginQueryOfGivenQueryPaths - remind StorageEngine that some files are being used
  * 3. (if using filter)beginQueryOfGivenExpression
  *     - remind StorageEngine that some files are being used
- * 4. getQueryDataSource - open files for the job or reuse existing readers.
+ * 4. getQueryDataSource - open files for the job or reuse existing readers, and reserve the memory
+ *     needed to read them.
  * 5. endQueryForGivenJob - putBack the resource used by this job.
  * </p>
  */
@@ -166,6 +168,15 @@ public class QueryResourceManager {
     // add used files to current thread request cached map
     filePathsManager.addUsedFilesForGivenJob(context.getJobId(), queryDataSource);
 
+    // queue or reject the query if there is not enough memory to read the series
+    long memory;
+    try {
+      memory = QueryMemoryManager.getInstance().estimateSeriesMemory(queryDataSource);
+    } catch (IOException e) {
+      throw new StorageEngineException(e);
+    }
+    QueryMemoryManager.getInstance().reserve(context.getJobId(), memory);
+
     return queryDataSource;
   }
 
@@ -174,6 +185,7 @@ public class QueryResourceManager {
    * query tokens created by this jdbc request must be cleared.
    */
   public void endQueryForGivenJob(long jobId) throws StorageEngineException {
+    QueryMemoryManager.getInstance().release(jobId);
     if (queryTokensMap.get(jobId) == null) {
       // no resource need to be released.
       return;
@@ -38,12 +38,12 @@ public class AuthDataSet extends QueryDataSet {
   }
 
   @Override
-  public boolean hasNext() throws IOException {
+  protected boolean hasNextWithoutConstraint() throws IOException {
     return index < records.size();
   }
 
   @Override
-  public RowRecord next() {
+  protected RowRecord nextWithoutConstraint() {
     return records.get(index++);
   }
 
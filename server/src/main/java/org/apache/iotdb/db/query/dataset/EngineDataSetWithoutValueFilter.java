@@ -20,6 +20,7 @@
 package org.apache.iotdb.db.query.dataset;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.PriorityQueue;
@@ -58,14 +59,30 @@ public class EngineDataSetWithoutValueFilter extends QueryDataSet {
   public EngineDataSetWithoutValueFilter(List<Path> paths, List<TSDataType> dataTypes,
                                          List<IPointReader> readers)
       throws IOException {
+    this(paths, dataTypes, readers, true);
+  }
+
+  /**
+   * constructor of EngineDataSetWithoutValueFilter.
+   *
+   * @param paths paths in List structure
+   * @param dataTypes time series data type
+   * @param readers readers in List(IPointReader) structure
+   * @param ascending True to output rows in ascending time order; False in descending order, in
+   * which case all readers must return data in descending time order.
+   * @throws IOException IOException
+   */
+  public EngineDataSetWithoutValueFilter(List<Path> paths, List<TSDataType> dataTypes,
+      List<IPointReader> readers, boolean ascending)
+      throws IOException {
     super(paths, dataTypes);
     this.seriesReaderWithoutValueFilterList = readers;
-    initHeap();
+    initHeap(ascending);
   }
 
-  private void initHeap() throws IOException {
+  private void initHeap(boolean ascending) throws IOException {
     timeSet = new HashSet<>();
-    timeHeap = new PriorityQueue<>();
+    timeHeap = ascending ? new PriorityQueue<>() : new PriorityQueue<>(Collections.reverseOrder());
     cacheTimeValueList = new TimeValuePair[seriesReaderWithoutValueFilterList.size()];
 
     for (int i = 0; i < seriesReaderWithoutValueFilterList.size(); i++) {
@@ -79,12 +96,12 @@ public class EngineDataSetWithoutValueFilter extends QueryDataSet {
   }
 
   @Override
-  public boolean hasNext() {
+  protected boolean hasNextWithoutConstraint() {
     return !timeHeap.isEmpty();
   }
 
   @Override
-  public RowRecord next() throws IOException {
+  protected RowRecord nextWithoutConstraint() throws IOException {
     long minTime = timeHeapGet();
 
     RowRecord record = new RowRecord(minTime);
@@ -19,11 +19,15 @@
 
 package org.apache.iotdb.db.query.dataset.groupby;
 
+import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import org.apache.iotdb.db.exception.PathErrorException;
 import org.apache.iotdb.db.exception.ProcessorException;
 import org.apache.iotdb.db.metadata.MManager;
+import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.query.factory.AggreFuncFactory;
 import org.apache.iotdb.db.query.aggregation.AggreResultData;
 import org.apache.iotdb.db.query.aggregation.AggregateFunction;
@@ -37,26 +41,55 @@ import org.apache.iotdb.tsfile.utils.Pair;
 public abstract class GroupByEngineDataSet extends QueryDataSet {
 
   protected long jobId;
+  /**
+   * set by initGroupBy() of the subclasses, null before the readers are initialized
+   */
+  protected QueryContext context;
   protected List<Path> selectedSeries;
   private long unit;
+  private long slidingStep;
   private long origin;
   private List<Pair<Long, Long>> mergedIntervals;
 
   protected long startTime;
   protected long endTime;
+  /**
+   * start time of the partition after the current one, aligned to origin by slidingStep.
+   */
+  private long nextStartTime;
   private int usedIndex;
   protected List<AggregateFunction> functions;
   protected boolean hasCachedTimeInterval;
 
+  /**
+   * used only when slidingStep differs from unit. Apart from interval start times, every partition
+   * boundary is a multiple of paneUnit away from origin, so the data is aggregated once per pane
+   * and the panes are merged into each overlapping partition.
+   */
+  private long paneUnit;
+  private Deque<Pane> panes;
+  private long paneEndTime;
+  private List<String> aggres;
+  protected List<TSDataType> seriesTypes;
+
   /**
    * groupBy query.
    */
   public GroupByEngineDataSet(long jobId, List<Path> paths, long unit, long origin,
       List<Pair<Long, Long>> mergedIntervals) {
+    this(jobId, paths, unit, unit, origin, mergedIntervals);
+  }
+
+  /**
+   * groupBy query with partitions of length unit starting every slidingStep.
+   */
+  public GroupByEngineDataSet(long jobId, List<Path> paths, long unit, long slidingStep,
+      long origin, List<Pair<Long, Long>> mergedIntervals) {
     super(paths);
     this.jobId = jobId;
     this.selectedSeries = paths;
     this.unit = unit;
+    this.slidingStep = slidingStep;
     this.origin = origin;
     this.mergedIntervals = mergedIntervals;
     this.functions = new ArrayList<>();
@@ -65,12 +98,19 @@ public abstract class GroupByEngineDataSet extends QueryDataSet {
     this.usedIndex = 0;
     this.hasCachedTimeInterval = false;
     this.endTime = -1;
+    this.nextStartTime = -1;
+
+    this.paneUnit = gcd(unit, slidingStep);
+    this.panes = new ArrayDeque<>();
+    this.paneEndTime = Long.MIN_VALUE;
   }
 
   protected void initAggreFuction(List<String> aggres)
       throws PathErrorException, ProcessorException {
 
     List<TSDataType> types = new ArrayList<>();
+    this.aggres = aggres;
+    this.seriesTypes = new ArrayList<>();
     // construct AggregateFunctions
     for (int i = 0; i < paths.size(); i++) {
       TSDataType tsDataType = MManager.getInstance()
@@ -78,49 +118,135 @@ public abstract class GroupByEngineDataSet extends QueryDataSet {
       AggregateFunction function = AggreFuncFactory.getAggrFuncByName(aggres.get(i), tsDataType);
       function.init();
       functions.add(function);
+      seriesTypes.add(tsDataType);
       types.add(function.getResultDataType());
     }
     super.setDataTypes(types);
   }
 
+  /**
+   * aggregate the data of every series with timestamps in [rangeStartTime, rangeEndTime) into the
+   * given initialized functions, one for each series. The ranges of successive calls never
+   * overlap and are in ascending order.
+   */
+  protected abstract void calculateRange(List<AggregateFunction> rangeFunctions,
+      long rangeStartTime, long rangeEndTime) throws IOException;
+
+  /**
+   * calculate the aggregations of the current partition [startTime, endTime) into functions.
+   */
+  protected void calculateTimePartition() throws IOException {
+    if (slidingStep == unit) {
+      for (AggregateFunction function : functions) {
+        function.init();
+      }
+      calculateRange(functions, startTime, endTime);
+      return;
+    }
+
+    // drop the panes before the current partition
+    while (!panes.isEmpty() && panes.peekFirst().endTime <= startTime) {
+      panes.pollFirst();
+    }
+    // aggregate the panes not calculated by the previous partitions
+    long paneStartTime = Math.max(paneEndTime, startTime);
+    while (paneStartTime < endTime) {
+      Pane pane = new Pane(nextPaneBoundary(paneStartTime));
+      try {
+        for (int i = 0; i < selectedSeries.size(); i++) {
+          AggregateFunction function = AggreFuncFactory
+              .getAggrFuncByName(aggres.get(i), seriesTypes.get(i));
+          function.init();
+          pane.functions.add(function);
+        }
+      } catch (ProcessorException e) {
+        throw new IOException(e);
+      }
+      calculateRange(pane.functions, paneStartTime, pane.endTime);
+      panes.addLast(pane);
+      paneStartTime = pane.endTime;
+    }
+    paneEndTime = Math.max(paneEndTime, paneStartTime);
+
+    for (int i = 0; i < functions.size(); i++) {
+      AggregateFunction function = functions.get(i);
+      function.init();
+      for (Pane pane : panes) {
+        function.merge(pane.functions.get(i));
+      }
+    }
+  }
+
+  /**
+   * the end of the pane starting at paneStartTime: the next multiple of paneUnit from origin, or
+   * the start of the next interval, whichever comes first, since the first partition of an
+   * interval starts at the interval rather than at a multiple of paneUnit.
+   */
+  private long nextPaneBoundary(long paneStartTime) {
+    long boundary = origin + Math.floorDiv(paneStartTime - origin, paneUnit) * paneUnit + paneUnit;
+    for (int i = usedIndex; i < mergedIntervals.size(); i++) {
+      long intervalStartTime = mergedIntervals.get(i).left;
+      if (intervalStartTime > paneStartTime) {
+        return Math.min(boundary, intervalStartTime);
+      }
+    }
+    return boundary;
+  }
+
+  private static long gcd(long a, long b) {
+    while (b != 0) {
+      long tmp = a % b;
+      a = b;
+      b = tmp;
+    }
+    return a;
+  }
+
   @Override
-  public boolean hasNext() {
+  protected boolean hasNextWithoutConstraint() {
     // has cached
     if (hasCachedTimeInterval) {
       return true;
     }
 
-    // skip the intervals in coverage of last time-partition
-    while (usedIndex < mergedIntervals.size() && mergedIntervals.get(usedIndex).right < endTime) {
-      usedIndex++;
+    // stop between two intervals if the query is cancelled or times out
+    if (context != null) {
+      context.checkAlive();
     }
 
-    // end
-    if (usedIndex >= mergedIntervals.size()) {
-      return false;
-    }
+    while (true) {
+      // skip the intervals ending before the next time-partition starts
+      while (usedIndex < mergedIntervals.size()
+          && mergedIntervals.get(usedIndex).right < nextStartTime) {
+        usedIndex++;
+      }
 
-    // initialize the start-end time of next interval
-    if (endTime < mergedIntervals.get(usedIndex).left) {
-      // interval start time
-      startTime = mergedIntervals.get(usedIndex).left;
-      if (origin > startTime) {
-        endTime = origin - (origin - startTime) / unit * unit;
-      } else {
-        endTime = origin + (startTime - origin) / unit * unit + unit;
+      // end
+      if (usedIndex >= mergedIntervals.size()) {
+        return false;
       }
-      hasCachedTimeInterval = true;
-      return true;
-    }
 
-    // current interval is not covered yet
-    if (endTime <= mergedIntervals.get(usedIndex).right) {
-      startTime = endTime;
-      endTime += unit;
+      if (nextStartTime < mergedIntervals.get(usedIndex).left) {
+        // the first time-partition of an interval starts at the interval start time and ends with
+        // the partition aligned to origin that covers it
+        startTime = mergedIntervals.get(usedIndex).left;
+        long alignedStartTime =
+            origin + Math.floorDiv(startTime - origin, slidingStep) * slidingStep;
+        endTime = alignedStartTime + unit;
+        nextStartTime = alignedStartTime + slidingStep;
+        if (endTime <= startTime) {
+          // the interval starts between two partitions when slidingStep is greater than unit
+          continue;
+        }
+      } else {
+        // current interval is not covered yet
+        startTime = nextStartTime;
+        endTime = startTime + unit;
+        nextStartTime += slidingStep;
+      }
       hasCachedTimeInterval = true;
       return true;
     }
-    return false;
   }
 
   /**
@@ -161,4 +287,14 @@ public abstract class GroupByEngineDataSet extends QueryDataSet {
     return field;
   }
 
+  private static class Pane {
+
+    private long endTime;
+    private List<AggregateFunction> functions;
+
+    private Pane(long endTime) {
+      this.endTime = endTime;
+      this.functions = new ArrayList<>();
+    }
+  }
 }
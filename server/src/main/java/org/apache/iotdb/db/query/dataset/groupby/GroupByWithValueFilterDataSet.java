@@ -61,7 +61,15 @@ public class GroupByWithValueFilterDataSet extends GroupByEngineDataSet {
    */
   public GroupByWithValueFilterDataSet(long jobId, List<Path> paths, long unit, long origin,
       List<Pair<Long, Long>> mergedIntervals) {
-    super(jobId, paths, unit, origin, mergedIntervals);
+    this(jobId, paths, unit, unit, origin, mergedIntervals);
+  }
+
+  /**
+   * constructor of sliding group by.
+   */
+  public GroupByWithValueFilterDataSet(long jobId, List<Path> paths, long unit, long slidingStep,
+      long origin, List<Pair<Long, Long>> mergedIntervals) {
+    super(jobId, paths, unit, slidingStep, origin, mergedIntervals);
     this.allDataReaderList = new ArrayList<>();
     this.timeStampFetchSize = 10 * IoTDBDescriptor.getInstance().getConfig().getFetchSize();
   }
@@ -71,6 +79,7 @@ public class GroupByWithValueFilterDataSet extends GroupByEngineDataSet {
    */
   public void initGroupBy(QueryContext context, List<String> aggres, IExpression expression)
       throws StorageEngineException, PathErrorException, ProcessorException, IOException {
+    this.context = context;
     initAggreFuction(aggres);
 
     QueryResourceManager.getInstance().beginQueryOfGivenExpression(context.getJobId(), expression);
@@ -85,40 +94,47 @@ public class GroupByWithValueFilterDataSet extends GroupByEngineDataSet {
   }
 
   @Override
-  public RowRecord next() throws IOException {
+  protected RowRecord nextWithoutConstraint() throws IOException {
     if (!hasCachedTimeInterval) {
       throw new IOException("need to call hasNext() before calling next()"
           + " in GroupByWithoutValueFilterDataSet.");
     }
     hasCachedTimeInterval = false;
-    for (AggregateFunction function : functions) {
-      function.init();
-    }
+    calculateTimePartition();
+    return constructRowRecord();
+  }
 
+  @Override
+  protected void calculateRange(List<AggregateFunction> rangeFunctions, long rangeStartTime,
+      long rangeEndTime) throws IOException {
     long[] timestampArray = new long[timeStampFetchSize];
     int timeArrayLength = 0;
     if (hasCachedTimestamp) {
-      if (timestamp < endTime) {
+      if (timestamp < rangeEndTime) {
         hasCachedTimestamp = false;
-        timestampArray[timeArrayLength++] = timestamp;
+        if (timestamp >= rangeStartTime) {
+          timestampArray[timeArrayLength++] = timestamp;
+        }
       } else {
-        return constructRowRecord();
+        return;
       }
     }
 
     while (timestampGenerator.hasNext()) {
+      context.checkAlive();
       // construct timestamp array
-      timeArrayLength = constructTimeArrayForOneCal(timestampArray, timeArrayLength);
+      timeArrayLength = constructTimeArrayForOneCal(timestampArray, timeArrayLength,
+          rangeStartTime, rangeEndTime);
 
       // cal result using timestamp array
       for (int i = 0; i < selectedSeries.size(); i++) {
-        functions.get(i).calcAggregationUsingTimestamps(
+        rangeFunctions.get(i).calcAggregationUsingTimestamps(
             timestampArray, timeArrayLength, allDataReaderList.get(i));
       }
 
       timeArrayLength = 0;
       // judge if it's end
-      if (timestamp >= endTime) {
+      if (timestamp >= rangeEndTime) {
         hasCachedTimestamp = true;
         break;
       }
@@ -127,11 +143,10 @@ public class GroupByWithValueFilterDataSet extends GroupByEngineDataSet {
     if (timeArrayLength > 0) {
       // cal result using timestamp array
       for (int i = 0; i < selectedSeries.size(); i++) {
-        functions.get(i).calcAggregationUsingTimestamps(
+        rangeFunctions.get(i).calcAggregationUsingTimestamps(
             timestampArray, timeArrayLength, allDataReaderList.get(i));
       }
     }
-    return constructRowRecord();
   }
 
   /**
@@ -139,13 +154,18 @@ public class GroupByWithValueFilterDataSet extends GroupByEngineDataSet {
    *
    * @param timestampArray timestamp array
    * @param timeArrayLength the current size of timestamp array
+   * @param rangeStartTime timestamps less than it are skipped
+   * @param rangeEndTime the batch ends at the first timestamp not less than it
    * @return time array size
    */
-  private int constructTimeArrayForOneCal(long[] timestampArray, int timeArrayLength)
-      throws IOException {
+  private int constructTimeArrayForOneCal(long[] timestampArray, int timeArrayLength,
+      long rangeStartTime, long rangeEndTime) throws IOException {
     for (int cnt = 1; cnt < timeStampFetchSize && timestampGenerator.hasNext(); cnt++) {
       timestamp = timestampGenerator.next();
-      if (timestamp < endTime) {
+      if (timestamp < rangeStartTime) {
+        continue;
+      }
+      if (timestamp < rangeEndTime) {
         timestampArray[timeArrayLength++] = timestamp;
       } else {
         hasCachedTimestamp = true;
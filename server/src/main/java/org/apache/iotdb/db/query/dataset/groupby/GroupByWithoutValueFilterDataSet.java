@@ -22,11 +22,13 @@ package org.apache.iotdb.db.query.dataset.groupby;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
+import org.apache.iotdb.db.engine.rollup.RollupReader;
 import org.apache.iotdb.db.exception.PathErrorException;
 import org.apache.iotdb.db.exception.ProcessorException;
 import org.apache.iotdb.db.exception.StorageEngineException;
-import org.apache.iotdb.db.query.aggregation.AggreResultData;
 import org.apache.iotdb.db.query.aggregation.AggregateFunction;
 import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.query.control.QueryResourceManager;
@@ -36,7 +38,6 @@ import org.apache.iotdb.db.query.reader.resourceRelated.SeqResourceIterateReader
 import org.apache.iotdb.db.query.reader.resourceRelated.UnseqResourceMergeReader;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
 import org.apache.iotdb.tsfile.read.common.BatchData;
-import org.apache.iotdb.tsfile.read.common.Field;
 import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.read.common.RowRecord;
 import org.apache.iotdb.tsfile.read.expression.IExpression;
@@ -51,18 +52,38 @@ public class GroupByWithoutValueFilterDataSet extends GroupByEngineDataSet {
   private List<BatchData> batchDataList;
   private List<Boolean> hasCachedSequenceDataList;
   private Filter timeFilter;
+  /**
+   * the rollup reader of each series, empty if rollup is disabled.
+   */
+  private List<RollupReader> rollupReaderList;
+  /**
+   * the start time of the last range of each series aggregated from the raw data. The sequence
+   * chunks ending before it are dropped without being loaded, which matters after ranges answered
+   * by the rollups, as their raw data is not read at all.
+   */
+  private long[] rawStartTimes;
 
   /**
    * constructor.
    */
   public GroupByWithoutValueFilterDataSet(long jobId, List<Path> paths, long unit,
                                           long origin, List<Pair<Long, Long>> mergedIntervals) {
-    super(jobId, paths, unit, origin, mergedIntervals);
+    this(jobId, paths, unit, unit, origin, mergedIntervals);
+  }
+
+  /**
+   * constructor of sliding group by.
+   */
+  public GroupByWithoutValueFilterDataSet(long jobId, List<Path> paths, long unit,
+      long slidingStep, long origin, List<Pair<Long, Long>> mergedIntervals) {
+    super(jobId, paths, unit, slidingStep, origin, mergedIntervals);
     this.unSequenceReaderList = new ArrayList<>();
     this.sequenceReaderList = new ArrayList<>();
     this.timeFilter = null;
     this.hasCachedSequenceDataList = new ArrayList<>();
     this.batchDataList = new ArrayList<>();
+    this.rollupReaderList = new ArrayList<>();
+    this.rawStartTimes = new long[paths.size()];
     for (int i = 0; i < paths.size(); i++) {
       hasCachedSequenceDataList.add(false);
       batchDataList.add(null);
@@ -74,20 +95,31 @@ public class GroupByWithoutValueFilterDataSet extends GroupByEngineDataSet {
    */
   public void initGroupBy(QueryContext context, List<String> aggres, IExpression expression)
       throws StorageEngineException, PathErrorException, ProcessorException, IOException {
+    this.context = context;
     initAggreFuction(aggres);
     // init reader
     QueryResourceManager.getInstance().beginQueryOfGivenQueryPaths(jobId, selectedSeries);
     if (expression != null) {
       timeFilter = ((GlobalTimeExpression) expression).getFilter();
     }
-    for (Path path : selectedSeries) {
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    for (int i = 0; i < selectedSeries.size(); i++) {
+      Path path = selectedSeries.get(i);
       QueryDataSource queryDataSource = QueryResourceManager.getInstance()
           .getQueryDataSource(path, context);
+      if (config.isRollupEnable()) {
+        rollupReaderList.add(new RollupReader(path, seriesTypes.get(i), queryDataSource, context,
+            timeFilter, config.getRollupIntervals()));
+      }
 
       // sequence reader for sealed tsfile, unsealed tsfile, memory
-      IAggregateReader seqResourceIterateReader = new SeqResourceIterateReader(
+      SeqResourceIterateReader seqResourceIterateReader = new SeqResourceIterateReader(
           queryDataSource.getSeriesPath(), queryDataSource.getSeqResources(), timeFilter, context,
           false);
+      int idx = i;
+      rawStartTimes[idx] = Long.MIN_VALUE;
+      seqResourceIterateReader
+          .setChunkSkipper(chunkMetaData -> chunkMetaData.getEndTime() < rawStartTimes[idx]);
 
       // unseq reader for all chunk groups in unSeqFile, memory
       IPointReader unseqResourceMergeReader = new UnseqResourceMergeReader(
@@ -101,49 +133,60 @@ public class GroupByWithoutValueFilterDataSet extends GroupByEngineDataSet {
   }
 
   @Override
-  public RowRecord next() throws IOException {
+  protected RowRecord nextWithoutConstraint() throws IOException {
     if (!hasCachedTimeInterval) {
       throw new IOException("need to call hasNext() before calling next() "
           + "in GroupByWithoutValueFilterDataSet.");
     }
     hasCachedTimeInterval = false;
+    calculateTimePartition();
     RowRecord record = new RowRecord(startTime);
-    for (int i = 0; i < functions.size(); i++) {
-      AggreResultData res;
+    for (AggregateFunction function : functions) {
+      record.addField(getField(function.getResult()));
+    }
+    return record;
+  }
+
+  @Override
+  protected void calculateRange(List<AggregateFunction> rangeFunctions, long rangeStartTime,
+      long rangeEndTime) throws IOException {
+    for (int i = 0; i < rangeFunctions.size(); i++) {
       try {
-        res = nextSeries(i);
+        calculateSeries(i, rangeFunctions.get(i), rangeStartTime, rangeEndTime);
       } catch (ProcessorException e) {
         throw new IOException(e);
       }
-      if (res == null) {
-        record.addField(new Field(null));
-      } else {
-        record.addField(getField(res));
-      }
     }
-    return record;
   }
 
   /**
-   * calculate the group by result of the series indexed by idx.
+   * calculate the aggregation of the series indexed by idx in [rangeStartTime, rangeEndTime).
    *
    * @param idx series id
    */
-  private AggreResultData nextSeries(int idx) throws IOException, ProcessorException {
+  private void calculateSeries(int idx, AggregateFunction function, long rangeStartTime,
+      long rangeEndTime) throws IOException, ProcessorException {
+    // a range aligned to a rollup interval over sealed data is answered by the rollups, and the
+    // raw data in it is skipped when the next range is calculated
+    if (!rollupReaderList.isEmpty() && rollupReaderList.get(idx)
+        .calculate(function, rangeStartTime, rangeEndTime)) {
+      return;
+    }
+    rawStartTimes[idx] = rangeStartTime;
+
     IPointReader unsequenceReader = unSequenceReaderList.get(idx);
     IAggregateReader sequenceReader = sequenceReaderList.get(idx);
-    AggregateFunction function = functions.get(idx);
-    function.init();
 
-    // skip the points with timestamp less than startTime
-    skipBeforeStartTimeData(idx, sequenceReader, unsequenceReader);
+    // skip the points with timestamp less than rangeStartTime
+    skipBeforeStartTimeData(idx, sequenceReader, unsequenceReader, rangeStartTime);
 
     // cal group by in batch data
-    boolean finishCheckSequenceData = calGroupByInBatchData(idx, function, unsequenceReader);
+    boolean finishCheckSequenceData = calGroupByInBatchData(idx, function, unsequenceReader,
+        rangeEndTime);
     if (finishCheckSequenceData) {
       // check unsequence data
-      function.calculateValueFromUnsequenceReader(unsequenceReader, endTime);
-      return function.getResult().deepCopy();
+      function.calculateValueFromUnsequenceReader(unsequenceReader, rangeEndTime);
+      return;
     }
 
     // continue checking sequence data
@@ -154,15 +197,17 @@ public class GroupByWithoutValueFilterDataSet extends GroupByEngineDataSet {
       if (pageHeader == null) {
         batchDataList.set(idx, sequenceReader.nextBatch());
         hasCachedSequenceDataList.set(idx, true);
-        finishCheckSequenceData = calGroupByInBatchData(idx, function, unsequenceReader);
+        finishCheckSequenceData = calGroupByInBatchData(idx, function, unsequenceReader,
+            rangeEndTime);
       } else {
         // page data
         long minTime = pageHeader.getMinTimestamp();
         long maxTime = pageHeader.getMaxTimestamp();
-        // no point in sequence data with a timestamp less than endTime
-        if (minTime >= endTime) {
+        // no point in sequence data with a timestamp less than rangeEndTime
+        if (minTime >= rangeEndTime) {
           finishCheckSequenceData = true;
-        } else if (canUseHeader(minTime, maxTime, unsequenceReader, function)) {
+        } else if (maxTime < rangeEndTime && !pageHeader.isModified()
+            && canUseHeader(minTime, maxTime, unsequenceReader, function)) {
           // cal using page header
           function.calculateValueFromPageHeader(pageHeader);
           sequenceReader.skipPageData();
@@ -170,7 +215,8 @@ public class GroupByWithoutValueFilterDataSet extends GroupByEngineDataSet {
           // cal using page data
           batchDataList.set(idx, sequenceReader.nextBatch());
           hasCachedSequenceDataList.set(idx, true);
-          finishCheckSequenceData = calGroupByInBatchData(idx, function, unsequenceReader);
+          finishCheckSequenceData = calGroupByInBatchData(idx, function, unsequenceReader,
+              rangeEndTime);
         }
 
         if (finishCheckSequenceData) {
@@ -179,8 +225,7 @@ public class GroupByWithoutValueFilterDataSet extends GroupByEngineDataSet {
       }
     }
     // cal using unsequence data
-    function.calculateValueFromUnsequenceReader(unsequenceReader, endTime);
-    return function.getResult().deepCopy();
+    function.calculateValueFromUnsequenceReader(unsequenceReader, rangeEndTime);
   }
 
   /**
@@ -189,17 +234,18 @@ public class GroupByWithoutValueFilterDataSet extends GroupByEngineDataSet {
    * @param idx series index
    * @param function aggregate function of the series
    * @param unsequenceReader unsequence reader of the series
+   * @param rangeEndTime the time upper bound of the aggregated range
    * @return if all sequential data been computed
    */
   private boolean calGroupByInBatchData(int idx, AggregateFunction function,
-      IPointReader unsequenceReader)
+      IPointReader unsequenceReader, long rangeEndTime)
       throws IOException, ProcessorException {
     BatchData batchData = batchDataList.get(idx);
     boolean hasCachedSequenceData = hasCachedSequenceDataList.get(idx);
     boolean finishCheckSequenceData = false;
     // there was unprocessed data in last batch
     if (hasCachedSequenceData && batchData.hasNext()) {
-      function.calculateValueFromPageData(batchData, unsequenceReader, endTime);
+      function.calculateValueFromPageData(batchData, unsequenceReader, rangeEndTime);
     }
 
     if (hasCachedSequenceData && batchData.hasNext()) {
@@ -213,50 +259,52 @@ public class GroupByWithoutValueFilterDataSet extends GroupByEngineDataSet {
   }
 
   /**
-   * skip the points with timestamp less than startTime.
+   * skip the points with timestamp less than rangeStartTime.
    *
    * @param idx the index of series
    * @param sequenceReader sequence Reader
    * @param unsequenceReader unsequence Reader
+   * @param rangeStartTime the time lower bound of the aggregated range
    * @throws IOException exception when reading file
    */
   private void skipBeforeStartTimeData(int idx, IAggregateReader sequenceReader,
-      IPointReader unsequenceReader)
+      IPointReader unsequenceReader, long rangeStartTime)
       throws IOException {
 
-    // skip the unsequenceReader points with timestamp less than startTime
-    skipPointInUnsequenceData(unsequenceReader);
+    // skip the unsequenceReader points with timestamp less than rangeStartTime
+    skipPointInUnsequenceData(unsequenceReader, rangeStartTime);
 
-    // skip the cached batch data points with timestamp less than startTime
-    if (skipPointInBatchData(idx)) {
+    // skip the cached batch data points with timestamp less than rangeStartTime
+    if (skipPointInBatchData(idx, rangeStartTime)) {
       return;
     }
 
-    // skip the points in sequenceReader data whose timestamp are less than startTime
+    // skip the points in sequenceReader data whose timestamp are less than rangeStartTime
     while (sequenceReader.hasNext()) {
       PageHeader pageHeader = sequenceReader.nextPageHeader();
       // memory data
       if (pageHeader == null) {
         batchDataList.set(idx, sequenceReader.nextBatch());
         hasCachedSequenceDataList.set(idx, true);
-        if (skipPointInBatchData(idx)) {
+        if (skipPointInBatchData(idx, rangeStartTime)) {
           return;
         }
       } else {
         // page data
 
-        // timestamps of all points in the page are less than startTime
-        if (pageHeader.getMaxTimestamp() < startTime) {
+        // timestamps of all points in the page are less than rangeStartTime
+        if (pageHeader.getMaxTimestamp() < rangeStartTime) {
           sequenceReader.skipPageData();
           continue;
-        } else if (pageHeader.getMinTimestamp() >= startTime) {
-          // timestamps of all points in the page are greater or equal to startTime, needn't to skip
+        } else if (pageHeader.getMinTimestamp() >= rangeStartTime) {
+          // timestamps of all points in the page are greater or equal to rangeStartTime, needn't to
+          // skip
           return;
         }
-        // the page has overlap with startTime
+        // the page has overlap with rangeStartTime
         batchDataList.set(idx, sequenceReader.nextBatch());
         hasCachedSequenceDataList.set(idx, true);
-        if (skipPointInBatchData(idx)) {
+        if (skipPointInBatchData(idx, rangeStartTime)) {
           return;
         }
       }
@@ -264,31 +312,33 @@ public class GroupByWithoutValueFilterDataSet extends GroupByEngineDataSet {
   }
 
   /**
-   * skip points in unsequence reader whose timestamp is less than startTime.
+   * skip points in unsequence reader whose timestamp is less than rangeStartTime.
    *
    * @param unsequenceReader unsequence reader
    */
-  private void skipPointInUnsequenceData(IPointReader unsequenceReader) throws IOException {
-    while (unsequenceReader.hasNext() && unsequenceReader.current().getTimestamp() < startTime) {
+  private void skipPointInUnsequenceData(IPointReader unsequenceReader, long rangeStartTime)
+      throws IOException {
+    while (unsequenceReader.hasNext()
+        && unsequenceReader.current().getTimestamp() < rangeStartTime) {
       unsequenceReader.next();
     }
   }
 
   /**
-   * skip points in batch data whose timestamp is less than startTime.
+   * skip points in batch data whose timestamp is less than rangeStartTime.
    *
    * @param idx series index
    * @return whether has next in batch data
    */
-  private boolean skipPointInBatchData(int idx) {
+  private boolean skipPointInBatchData(int idx, long rangeStartTime) {
     BatchData batchData = batchDataList.get(idx);
     boolean hasCachedSequenceData = hasCachedSequenceDataList.get(idx);
     if (!hasCachedSequenceData) {
       return false;
     }
 
-    // skip the cached batch data points with timestamp less than startTime
-    while (batchData.hasNext() && batchData.currentTime() < startTime) {
+    // skip the cached batch data points with timestamp less than rangeStartTime
+    while (batchData.hasNext() && batchData.currentTime() < rangeStartTime) {
       batchData.next();
     }
     batchDataList.set(idx, batchData);
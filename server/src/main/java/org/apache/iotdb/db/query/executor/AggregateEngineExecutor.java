@@ -124,7 +124,7 @@ public class AggregateEngineExecutor {
     //TODO use multi-thread
     for (int i = 0; i < selectedSeries.size(); i++) {
       AggreResultData aggreResultData = aggregateWithoutValueFilter(aggregateFunctions.get(i),
-          readersOfSequenceData.get(i), readersOfUnSequenceData.get(i), timeFilter);
+          readersOfSequenceData.get(i), readersOfUnSequenceData.get(i), timeFilter, context);
       aggreResultDataList.add(aggreResultData);
     }
     return constructDataSet(aggreResultDataList);
@@ -137,17 +137,19 @@ public class AggregateEngineExecutor {
    * @param sequenceReader sequence data reader
    * @param unSequenceReader unsequence data reader
    * @param filter time filter or null
+   * @param context query context, checked before every page
    * @return one series aggregate result data
    */
   private AggreResultData aggregateWithoutValueFilter(AggregateFunction function,
-      IAggregateReader sequenceReader, IPointReader unSequenceReader, Filter filter)
-      throws IOException, ProcessorException {
+      IAggregateReader sequenceReader, IPointReader unSequenceReader, Filter filter,
+      QueryContext context) throws IOException, ProcessorException {
     if (function instanceof MaxTimeAggrFunc || function instanceof LastAggrFunc) {
       return handleLastMaxTimeWithOutTimeGenerator(function, sequenceReader, unSequenceReader,
-          filter);
+          filter, context);
     }
 
     while (sequenceReader.hasNext()) {
+      context.checkAlive();
       PageHeader pageHeader = sequenceReader.nextPageHeader();
       // judge if overlap with unsequence data
       if (canUseHeader(function, pageHeader, unSequenceReader, filter)) {
@@ -182,6 +184,11 @@ public class AggregateEngineExecutor {
       return false;
     }
 
+    // the statistics of a partially deleted page no longer describe the page
+    if (pageHeader.isModified()) {
+      return false;
+    }
+
     long minTime = pageHeader.getMinTimestamp();
     long maxTime = pageHeader.getMaxTimestamp();
 
@@ -204,14 +211,16 @@ public class AggregateEngineExecutor {
    * @param function aggregate function
    * @param sequenceReader sequence data reader
    * @param unSequenceReader unsequence data reader
+   * @param context query context, checked before every page
    * @return BatchData-aggregate result
    */
   private AggreResultData handleLastMaxTimeWithOutTimeGenerator(AggregateFunction function,
-      IAggregateReader sequenceReader, IPointReader unSequenceReader, Filter timeFilter)
-      throws IOException, ProcessorException {
+      IAggregateReader sequenceReader, IPointReader unSequenceReader, Filter timeFilter,
+      QueryContext context) throws IOException, ProcessorException {
     long lastBatchTimeStamp = Long.MIN_VALUE;
     boolean isChunkEnd = false;
     while (sequenceReader.hasNext()) {
+      context.checkAlive();
       PageHeader pageHeader = sequenceReader.nextPageHeader();
       // judge if overlap with unsequence data
       if (canUseHeader(function, pageHeader, unSequenceReader, timeFilter)) {
@@ -278,7 +287,7 @@ public class AggregateEngineExecutor {
     }
     List<AggreResultData> batchDataList = aggregateWithValueFilter(aggregateFunctions,
         timestampGenerator,
-        readersOfSelectedSeries);
+        readersOfSelectedSeries, context);
     return constructDataSet(batchDataList);
   }
 
@@ -288,10 +297,11 @@ public class AggregateEngineExecutor {
   private List<AggreResultData> aggregateWithValueFilter(
       List<AggregateFunction> aggregateFunctions,
       EngineTimeGenerator timestampGenerator,
-      List<IReaderByTimestamp> readersOfSelectedSeries)
+      List<IReaderByTimestamp> readersOfSelectedSeries, QueryContext context)
       throws IOException {
 
     while (timestampGenerator.hasNext()) {
+      context.checkAlive();
 
       // generate timestamps for aggregate
       long[] timeArray = new long[aggregateFetchSize];
@@ -74,13 +74,24 @@ public class EngineExecutor {
         throw new StorageEngineException(e);
       }
 
-      IPointReader reader = new SeriesReaderWithoutValueFilter(path, timeFilter, context);
+      IPointReader reader = new SeriesReaderWithoutValueFilter(path, timeFilter, context, true,
+          queryExpression.isAscending());
       readersOfSelectedSeries.add(reader);
     }
 
     try {
-      return new EngineDataSetWithoutValueFilter(queryExpression.getSelectedSeries(), dataTypes,
-          readersOfSelectedSeries);
+      int rowOffset = queryExpression.getRowOffset();
+      if (rowOffset > 0 && readersOfSelectedSeries.size() == 1) {
+        // every point of a single series is a row, so OFFSET skips whole chunks and pages
+        rowOffset -= (int) ((SeriesReaderWithoutValueFilter) readersOfSelectedSeries.get(0))
+            .skipPoints(rowOffset);
+      }
+      QueryDataSet dataSet = new EngineDataSetWithoutValueFilter(
+          queryExpression.getSelectedSeries(), dataTypes, readersOfSelectedSeries,
+          queryExpression.isAscending());
+      dataSet.setRowLimit(queryExpression.getRowLimit());
+      dataSet.setRowOffset(rowOffset);
+      return dataSet;
     } catch (IOException e) {
       throw new StorageEngineException(e);
     }
@@ -115,9 +126,11 @@ public class EngineExecutor {
       SeriesReaderByTimestamp seriesReaderByTimestamp = new SeriesReaderByTimestamp(path, context);
       readersOfSelectedSeries.add(seriesReaderByTimestamp);
     }
-    return new EngineDataSetWithValueFilter(queryExpression.getSelectedSeries(), dataTypes,
-        timestampGenerator,
-        readersOfSelectedSeries);
+    QueryDataSet dataSet = new EngineDataSetWithValueFilter(queryExpression.getSelectedSeries(),
+        dataTypes, timestampGenerator, readersOfSelectedSeries);
+    dataSet.setRowLimit(queryExpression.getRowLimit());
+    dataSet.setRowOffset(queryExpression.getRowOffset());
+    return dataSet;
   }
 
 }
@@ -63,6 +63,10 @@ public class EngineQueryRouter implements IEngineQueryRouter {
         if (optimizedExpression.getType() == ExpressionType.GLOBAL_TIME) {
           return engineExecutor.executeWithoutValueFilter(context);
         } else {
+          if (!queryExpression.isAscending()) {
+            throw new StorageEngineException(
+                "ORDER BY TIME DESC is not supported in queries with value filters");
+          }
           return engineExecutor.executeWithValueFilter(context);
         }
 
@@ -104,13 +108,19 @@ public class EngineQueryRouter implements IEngineQueryRouter {
 
   @Override
   public QueryDataSet groupBy(List<Path> selectedSeries, List<String> aggres,
-      IExpression expression, long unit, long origin, List<Pair<Long, Long>> intervals,
+      IExpression expression, long unit, long slidingStep, long origin,
+      List<Pair<Long, Long>> intervals,
       QueryContext context)
       throws ProcessorException, QueryFilterOptimizationException, StorageEngineException,
       PathErrorException, IOException {
 
     long nextJobId = context.getJobId();
 
+    if (unit <= 0 || slidingStep <= 0) {
+      throw new ProcessorException(String.format(
+          "Time unit %d and sliding step %d must be greater than 0.", unit, slidingStep));
+    }
+
     // check the legitimacy of intervals
     for (Pair<Long, Long> pair : intervals) {
       if (!(pair.left > 0 && pair.right > 0)) {
@@ -150,13 +160,13 @@ public class EngineQueryRouter implements IEngineQueryRouter {
         .optimize(expression, selectedSeries);
     if (optimizedExpression.getType() == ExpressionType.GLOBAL_TIME) {
       GroupByWithoutValueFilterDataSet groupByEngine = new GroupByWithoutValueFilterDataSet(
-          nextJobId, selectedSeries, unit, origin, mergedIntervalList);
+          nextJobId, selectedSeries, unit, slidingStep, origin, mergedIntervalList);
       groupByEngine.initGroupBy(context, aggres, optimizedExpression);
       return groupByEngine;
     } else {
       GroupByWithValueFilterDataSet groupByEngine = new GroupByWithValueFilterDataSet(
           nextJobId,
-          selectedSeries, unit, origin, mergedIntervalList);
+          selectedSeries, unit, slidingStep, origin, mergedIntervalList);
       groupByEngine.initGroupBy(context, aggres, optimizedExpression);
       return groupByEngine;
     }
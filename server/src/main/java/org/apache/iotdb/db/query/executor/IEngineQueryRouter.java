@@ -56,12 +56,15 @@ public interface IEngineQueryRouter {
    * @param aggres aggregation name list
    * @param expression filter expression
    * @param unit time granularity for interval partitioning, unit is ms.
+   * @param slidingStep distance between the start times of two adjacent partitions, unit is ms.
+   * Partitions overlap when it is less than unit and are tumbling when it equals unit.
    * @param origin the datum time point for interval division is divided into a time interval for
    * each TimeUnit time from this point forward and backward.
    * @param intervals time intervals, closed interval.
    */
   QueryDataSet groupBy(List<Path> selectedSeries, List<String> aggres,
-      IExpression expression, long unit, long origin, List<Pair<Long, Long>> intervals,
+      IExpression expression, long unit, long slidingStep, long origin,
+      List<Pair<Long, Long>> intervals,
       QueryContext context)
       throws ProcessorException, QueryFilterOptimizationException, StorageEngineException,
       PathErrorException, IOException;
@@ -46,7 +46,19 @@ public class MemChunkReader implements IPointReader, IAggregateReader {
   private TSDataType dataType;
 
   public MemChunkReader(ReadOnlyMemChunk readableChunk, Filter filter) {
-    timeValuePairIterator = readableChunk.getIterator();
+    this(readableChunk, filter, true);
+  }
+
+  /**
+   * Constructor function.
+   *
+   * @param readableChunk the data source in memory
+   * @param filter filter condition. Null if no filter.
+   * @param ascending True to read the data in ascending time order; False in descending order.
+   */
+  public MemChunkReader(ReadOnlyMemChunk readableChunk, Filter filter, boolean ascending) {
+    timeValuePairIterator = ascending ? readableChunk.getIterator()
+        : readableChunk.getDescendingIterator();
     this.filter = filter;
     this.dataType = readableChunk.getDataType();
   }
@@ -57,6 +57,12 @@ public class UnSealedTsFileIterateReader extends IterateReader {
    */
   private boolean enableReverse;
 
+  /**
+   * True to read the points inside every chunk in chronological order; False in reverse
+   * chronological order.
+   */
+  private boolean ascending;
+
   /**
    * Constructor function.
    * <p>
@@ -73,8 +79,23 @@ public class UnSealedTsFileIterateReader extends IterateReader {
    */
   public UnSealedTsFileIterateReader(TsFileResource unsealedTsFile, Filter filter,
       boolean isReverse) {
+    this(unsealedTsFile, filter, isReverse, true);
+  }
+
+  /**
+   * Constructor function.
+   *
+   * @param unsealedTsFile the TsFileResource corresponding to the unsealed TsFile
+   * @param filter filter condition
+   * @param isReverse True to iterate over chunk data in reverse chronological order
+   * @param ascending False to return every point in reverse chronological order, which implies
+   * <code>isReverse</code>
+   */
+  public UnSealedTsFileIterateReader(TsFileResource unsealedTsFile, Filter filter,
+      boolean isReverse, boolean ascending) {
     super(2);
-    this.enableReverse = isReverse;
+    this.enableReverse = isReverse || !ascending;
+    this.ascending = ascending;
     this.unsealedTsFile = unsealedTsFile;
     this.filter = filter;
   }
@@ -84,7 +105,8 @@ public class UnSealedTsFileIterateReader extends IterateReader {
     if (idx == 0) {
       if (enableReverse) {
         // data in memory first if it is to iterate over chunk data in reverse chronological order
-        currentSeriesReader = new MemChunkReader(unsealedTsFile.getReadOnlyMemChunk(), filter);
+        currentSeriesReader = new MemChunkReader(unsealedTsFile.getReadOnlyMemChunk(), filter,
+            ascending);
       } else {
         // data on disk first if it is to iterate over chunk data in chronological order
         currentSeriesReader = initUnSealedTsFileDiskReader(unsealedTsFile, filter);
@@ -93,7 +115,8 @@ public class UnSealedTsFileIterateReader extends IterateReader {
       if (enableReverse) {
         currentSeriesReader = initUnSealedTsFileDiskReader(unsealedTsFile, filter);
       } else {
-        currentSeriesReader = new MemChunkReader(unsealedTsFile.getReadOnlyMemChunk(), filter);
+        currentSeriesReader = new MemChunkReader(unsealedTsFile.getReadOnlyMemChunk(), filter,
+            ascending);
       }
     }
     return true;
@@ -108,7 +131,8 @@ public class UnSealedTsFileIterateReader extends IterateReader {
 
     // prepare metaDataList
     List<ChunkMetaData> metaDataList = unSealedTsFile.getChunkMetaDatas();
-    if (enableReverse && metaDataList != null && !metaDataList.isEmpty()) {
+    // a descending FileSeriesReader walks the chunk list backwards by itself
+    if (enableReverse && ascending && metaDataList != null && !metaDataList.isEmpty()) {
       Collections.reverse(metaDataList);
     }
 
@@ -120,9 +144,11 @@ public class UnSealedTsFileIterateReader extends IterateReader {
     // init fileSeriesReader
     FileSeriesReader fileSeriesReader;
     if (filter == null) {
-      fileSeriesReader = new FileSeriesReaderWithoutFilter(chunkLoader, metaDataList);
+      fileSeriesReader = new FileSeriesReaderWithoutFilter(chunkLoader, metaDataList,
+          ascending);
     } else {
-      fileSeriesReader = new FileSeriesReaderWithFilter(chunkLoader, metaDataList, filter);
+      fileSeriesReader = new FileSeriesReaderWithFilter(chunkLoader, metaDataList, filter,
+          ascending);
     }
 
     return new FileSeriesReaderAdapter(fileSeriesReader);
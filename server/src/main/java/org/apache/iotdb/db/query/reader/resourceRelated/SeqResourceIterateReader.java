@@ -21,11 +21,14 @@ package org.apache.iotdb.db.query.reader.resourceRelated;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Predicate;
 import org.apache.iotdb.db.engine.cache.DeviceMetaDataCache;
+import org.apache.iotdb.db.engine.index.SeriesIndex;
 import org.apache.iotdb.db.engine.modification.Modification;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.query.control.FileReaderManager;
+import org.apache.iotdb.db.query.reader.chunkRelated.CachedChunkLoader;
 import org.apache.iotdb.db.query.reader.IAggregateReader;
 import org.apache.iotdb.db.query.reader.fileRelated.FileSeriesReaderAdapter;
 import org.apache.iotdb.db.query.reader.fileRelated.UnSealedTsFileIterateReader;
@@ -35,7 +38,6 @@ import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.read.controller.ChunkLoader;
-import org.apache.iotdb.tsfile.read.controller.ChunkLoaderImpl;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.reader.series.FileSeriesReader;
 import org.apache.iotdb.tsfile.read.reader.series.FileSeriesReaderWithFilter;
@@ -65,10 +67,22 @@ public class SeqResourceIterateReader extends IterateReader {
    */
   private boolean enableReverse;
 
+  /**
+   * True to read the points inside every chunk in chronological order; False to also read them in
+   * reverse chronological order, which makes the whole reader return data from newest to oldest.
+   */
+  private boolean ascending;
+
   private List<TsFileResource> seqResources;
   private Filter filter;
   private QueryContext context;
 
+  /**
+   * Decides whether a chunk of a sealed TsFile can be dropped without being loaded, null to read
+   * every chunk. It is asked when the reader reaches the chunk, so it may change between chunks.
+   */
+  private Predicate<ChunkMetaData> chunkSkipper;
+
   /**
    * Constructor function.
    * <p>
@@ -86,10 +100,27 @@ public class SeqResourceIterateReader extends IterateReader {
    */
   public SeqResourceIterateReader(Path seriesPath, List<TsFileResource> seqResources,
       Filter filter, QueryContext context, boolean isReverse) {
+    this(seriesPath, seqResources, filter, context, isReverse, true);
+  }
+
+  /**
+   * Constructor function.
+   *
+   * @param seriesPath the path of the series data
+   * @param seqResources a list of sequence TsFile resources in chronological order
+   * @param filter filter condition. Null if no filter.
+   * @param context query context
+   * @param isReverse True to iterate over TsFiles and chunks in reverse chronological order
+   * @param ascending False to return every point in reverse chronological order, which implies
+   * <code>isReverse</code>
+   */
+  public SeqResourceIterateReader(Path seriesPath, List<TsFileResource> seqResources,
+      Filter filter, QueryContext context, boolean isReverse, boolean ascending) {
     super(seqResources.size());
     this.seriesPath = seriesPath;
-    this.enableReverse = isReverse;
-    if (isReverse) {
+    this.enableReverse = isReverse || !ascending;
+    this.ascending = ascending;
+    if (enableReverse) {
       Collections.reverse(seqResources);
     }
     this.seqResources = seqResources;
@@ -102,6 +133,17 @@ public class SeqResourceIterateReader extends IterateReader {
     this(seriesPath, seqResources, timeFilter, context, false);
   }
 
+  public void setChunkSkipper(Predicate<ChunkMetaData> chunkSkipper) {
+    this.chunkSkipper = chunkSkipper;
+  }
+
+  @Override
+  public boolean hasNext() throws IOException {
+    // checked once per batch or page, before the next one is read from the disk
+    context.checkAlive();
+    return super.hasNext();
+  }
+
   /**
    * If the idx-th TsFile in the <code>seqResources</code> might satisfy this <code>filter</code>,
    * then construct <code>IAggregateReader</code> for it, assign to <code>currentSeriesReader</code>
@@ -114,7 +156,8 @@ public class SeqResourceIterateReader extends IterateReader {
   public boolean constructNextReader(int idx) throws IOException {
     TsFileResource tsFileResource = seqResources.get(idx);
     if (tsFileResource.isClosed()) {
-      if (isTsFileNotSatisfied(tsFileResource, filter)) {
+      if (isTsFileNotSatisfied(tsFileResource, filter)
+          || SeriesIndex.getInstance().canSkip(tsFileResource, seriesPath, filter)) {
         return false;
       }
       currentSeriesReader = initSealedTsFileReader(tsFileResource, filter, context);
@@ -129,7 +172,7 @@ public class SeqResourceIterateReader extends IterateReader {
         }
       }
       currentSeriesReader = new UnSealedTsFileIterateReader(tsFileResource, filter,
-          enableReverse);
+          enableReverse, ascending);
       return true;
     }
   }
@@ -167,21 +210,30 @@ public class SeqResourceIterateReader extends IterateReader {
       QueryUtils.modifyChunkMetaData(metaDataList, pathModifications);
     }
 
-    if (enableReverse) {
+    // a descending FileSeriesReader walks the chunk list backwards by itself
+    if (enableReverse && ascending) {
       Collections.reverse(metaDataList);
     }
     // prepare chunkLoader
     TsFileSequenceReader tsFileReader = FileReaderManager.getInstance()
         .get(sealedTsFile.getFile().getPath(), true);
-    ChunkLoader chunkLoader = new ChunkLoaderImpl(tsFileReader);
+    ChunkLoader chunkLoader = new CachedChunkLoader(sealedTsFile.getFile().getPath(),
+        tsFileReader);
 
     // init fileSeriesReader
     FileSeriesReader fileSeriesReader;
     if (filter == null) {
-      fileSeriesReader = new FileSeriesReaderWithoutFilter(chunkLoader, metaDataList);
+      fileSeriesReader = new FileSeriesReaderWithoutFilter(chunkLoader, metaDataList,
+          ascending);
     } else {
-      fileSeriesReader = new FileSeriesReaderWithFilter(chunkLoader, metaDataList, filter);
+      fileSeriesReader = new FileSeriesReaderWithFilter(chunkLoader, metaDataList, filter,
+          ascending);
     }
+    fileSeriesReader.setChunkSkipper(this::skipChunk);
     return new FileSeriesReaderAdapter(fileSeriesReader);
   }
-}
\ No newline at end of file
+
+  private boolean skipChunk(ChunkMetaData chunkMetaData) {
+    return chunkSkipper != null && chunkSkipper.test(chunkMetaData);
+  }
+}
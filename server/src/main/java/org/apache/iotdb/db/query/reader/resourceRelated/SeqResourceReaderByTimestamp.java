@@ -25,6 +25,7 @@ import org.apache.iotdb.db.engine.modification.Modification;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.query.control.FileReaderManager;
+import org.apache.iotdb.db.query.reader.chunkRelated.CachedChunkLoader;
 import org.apache.iotdb.db.query.reader.IReaderByTimestamp;
 import org.apache.iotdb.db.query.reader.fileRelated.FileSeriesReaderByTimestampAdapter;
 import org.apache.iotdb.db.query.reader.fileRelated.UnSealedTsFileReaderByTimestamp;
@@ -33,7 +34,6 @@ import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.read.controller.ChunkLoader;
-import org.apache.iotdb.tsfile.read.controller.ChunkLoaderImpl;
 import org.apache.iotdb.tsfile.read.reader.series.FileSeriesReaderByTimestamp;
 
 /**
@@ -182,7 +182,8 @@ public class SeqResourceReaderByTimestamp implements IReaderByTimestamp {
     // prepare chunkLoader
     TsFileSequenceReader tsFileReader = FileReaderManager.getInstance()
         .get(sealedTsFile.getFile().getPath(), true);
-    ChunkLoader chunkLoader = new ChunkLoaderImpl(tsFileReader);
+    ChunkLoader chunkLoader = new CachedChunkLoader(sealedTsFile.getFile().getPath(),
+        tsFileReader);
 
     return new FileSeriesReaderByTimestampAdapter(
         new FileSeriesReaderByTimestamp(chunkLoader, metaDataList));
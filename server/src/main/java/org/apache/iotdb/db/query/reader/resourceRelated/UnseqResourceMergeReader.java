@@ -21,10 +21,12 @@ package org.apache.iotdb.db.query.reader.resourceRelated;
 import java.io.IOException;
 import java.util.List;
 import org.apache.iotdb.db.engine.cache.DeviceMetaDataCache;
+import org.apache.iotdb.db.engine.index.SeriesIndex;
 import org.apache.iotdb.db.engine.modification.Modification;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.query.control.FileReaderManager;
+import org.apache.iotdb.db.query.reader.chunkRelated.CachedChunkLoader;
 import org.apache.iotdb.db.query.reader.chunkRelated.DiskChunkReader;
 import org.apache.iotdb.db.query.reader.chunkRelated.MemChunkReader;
 import org.apache.iotdb.db.query.reader.universal.PriorityMergeReader;
@@ -34,6 +36,7 @@ import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.common.Chunk;
 import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.controller.ChunkLoader;
 import org.apache.iotdb.tsfile.read.controller.ChunkLoaderImpl;
 import org.apache.iotdb.tsfile.read.filter.DigestForFilter;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
@@ -57,15 +60,33 @@ public class UnseqResourceMergeReader extends PriorityMergeReader {
 
   public UnseqResourceMergeReader(Path seriesPath, List<TsFileResource> unseqResources,
       QueryContext context, Filter filter) throws IOException {
+    this(seriesPath, unseqResources, context, filter, true);
+  }
+
+  /**
+   * Constructor function.
+   *
+   * @param seriesPath the path of the series data
+   * @param unseqResources unsequence TsFile resources
+   * @param context query context
+   * @param filter filter condition. Null if no filter.
+   * @param ascending True to merge the data in ascending time order; False in descending order.
+   */
+  public UnseqResourceMergeReader(Path seriesPath, List<TsFileResource> unseqResources,
+      QueryContext context, Filter filter, boolean ascending) throws IOException {
+    super(ascending);
     this.seriesPath = seriesPath;
+    setContext(context);
 
     int priorityValue = 1;
     for (TsFileResource tsFileResource : unseqResources) {
+      context.checkAlive();
 
       // prepare metaDataList
       List<ChunkMetaData> metaDataList;
       if (tsFileResource.isClosed()) {
-        if (isTsFileNotSatisfied(tsFileResource, filter)) {
+        if (isTsFileNotSatisfied(tsFileResource, filter)
+            || SeriesIndex.getInstance().canSkip(tsFileResource, seriesPath, filter)) {
           continue;
         }
         metaDataList = DeviceMetaDataCache.getInstance()
@@ -84,12 +105,14 @@ public class UnseqResourceMergeReader extends PriorityMergeReader {
         metaDataList = tsFileResource.getChunkMetaDatas();
       }
 
-      ChunkLoaderImpl chunkLoader = null;
+      ChunkLoader chunkLoader = null;
       if (!metaDataList.isEmpty()) {
         // create and add ChunkReader with priority
         TsFileSequenceReader tsFileReader = FileReaderManager.getInstance()
             .get(tsFileResource.getFile().getPath(), tsFileResource.isClosed());
-        chunkLoader = new ChunkLoaderImpl(tsFileReader);
+        // only the chunks of sealed files are shared through the chunk cache
+        chunkLoader = tsFileResource.isClosed() ? new CachedChunkLoader(
+            tsFileResource.getFile().getPath(), tsFileReader) : new ChunkLoaderImpl(tsFileReader);
       }
 
       for (ChunkMetaData chunkMetaData : metaDataList) {
@@ -100,14 +123,15 @@ public class UnseqResourceMergeReader extends PriorityMergeReader {
               chunkMetaData.getDigest().getStatistics().get(StatisticConstant.MIN_VALUE),
               chunkMetaData.getDigest().getStatistics().get(StatisticConstant.MAX_VALUE),
               chunkMetaData.getTsDataType());
+          digest.setBloomFilter(chunkMetaData.getBloomFilter());
           if (!filter.satisfy(digest)) {
             continue;
           }
         }
 
         Chunk chunk = chunkLoader.getChunk(chunkMetaData);
-        ChunkReader chunkReader = filter != null ? new ChunkReaderWithFilter(chunk, filter)
-            : new ChunkReaderWithoutFilter(chunk);
+        ChunkReader chunkReader = filter != null ? new ChunkReaderWithFilter(chunk, filter,
+            ascending) : new ChunkReaderWithoutFilter(chunk, ascending);
 
         addReaderWithPriority(new DiskChunkReader(chunkReader), priorityValue++);
       }
@@ -115,7 +139,8 @@ public class UnseqResourceMergeReader extends PriorityMergeReader {
       if (!tsFileResource.isClosed()) {
         // create and add MemChunkReader with priority
         addReaderWithPriority(
-            new MemChunkReader(tsFileResource.getReadOnlyMemChunk(), filter), priorityValue++);
+            new MemChunkReader(tsFileResource.getReadOnlyMemChunk(), filter, ascending),
+            priorityValue++);
       }
     }
   }
@@ -25,6 +25,7 @@ import org.apache.iotdb.db.engine.modification.Modification;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.query.control.FileReaderManager;
+import org.apache.iotdb.db.query.reader.chunkRelated.CachedChunkLoader;
 import org.apache.iotdb.db.query.reader.chunkRelated.DiskChunkReaderByTimestamp;
 import org.apache.iotdb.db.query.reader.chunkRelated.MemChunkReaderByTimestamp;
 import org.apache.iotdb.db.query.reader.universal.PriorityMergeReaderByTimestamp;
@@ -33,6 +34,7 @@ import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.common.Chunk;
 import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.controller.ChunkLoader;
 import org.apache.iotdb.tsfile.read.controller.ChunkLoaderImpl;
 import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReaderByTimestamp;
 
@@ -67,12 +69,14 @@ public class UnseqResourceReaderByTimestamp extends PriorityMergeReaderByTimesta
         metaDataList = tsFileResource.getChunkMetaDatas();
       }
 
-      ChunkLoaderImpl chunkLoader = null;
+      ChunkLoader chunkLoader = null;
       if (!metaDataList.isEmpty()) {
         // create and add ChunkReader with priority
         TsFileSequenceReader tsFileReader = FileReaderManager.getInstance()
             .get(tsFileResource.getFile().getPath(), tsFileResource.isClosed());
-        chunkLoader = new ChunkLoaderImpl(tsFileReader);
+        // only the chunks of sealed files are shared through the chunk cache
+        chunkLoader = tsFileResource.isClosed() ? new CachedChunkLoader(
+            tsFileResource.getFile().getPath(), tsFileReader) : new ChunkLoaderImpl(tsFileReader);
       }
       for (ChunkMetaData chunkMetaData : metaDataList) {
 
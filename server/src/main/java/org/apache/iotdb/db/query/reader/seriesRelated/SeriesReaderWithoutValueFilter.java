@@ -29,6 +29,8 @@ import org.apache.iotdb.db.query.reader.resourceRelated.SeqResourceIterateReader
 import org.apache.iotdb.db.query.reader.resourceRelated.UnseqResourceMergeReader;
 import org.apache.iotdb.db.utils.TimeValuePair;
 import org.apache.iotdb.db.utils.TimeValuePairUtils;
+import org.apache.iotdb.tsfile.file.header.PageHeader;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
 import org.apache.iotdb.tsfile.read.common.BatchData;
 import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
@@ -48,11 +50,37 @@ public class SeriesReaderWithoutValueFilter implements IPointReader {
   private IBatchReader seqResourceIterateReader;
   private IPointReader unseqResourceMergeReader;
 
+  /**
+   * True if both readers return data in ascending time order; False if both return data in
+   * descending time order.
+   */
+  private boolean ascending;
+
+  /**
+   * the filter of the readers, null if there is no filter
+   */
+  private Filter filter;
+
+  /**
+   * the number of points that skipPoints() may still skip
+   */
+  private long pointsToSkip;
+
   public SeriesReaderWithoutValueFilter(IBatchReader seqResourceIterateReader,
       IPointReader unseqResourceMergeReader) {
+    this(seqResourceIterateReader, unseqResourceMergeReader, true);
+  }
+
+  /**
+   * @param ascending True if both readers return data in ascending time order; False if both
+   * return data in descending time order.
+   */
+  public SeriesReaderWithoutValueFilter(IBatchReader seqResourceIterateReader,
+      IPointReader unseqResourceMergeReader, boolean ascending) {
     this.seqResourceIterateReader = seqResourceIterateReader;
     this.unseqResourceMergeReader = unseqResourceMergeReader;
     this.hasCachedBatchData = false;
+    this.ascending = ascending;
   }
 
   public SeriesReaderWithoutValueFilter(Path seriesPath, Filter timeFilter, QueryContext context)
@@ -71,26 +99,118 @@ public class SeriesReaderWithoutValueFilter implements IPointReader {
    */
   protected SeriesReaderWithoutValueFilter(Path seriesPath, Filter filter, QueryContext context,
       boolean pushdownUnseq) throws StorageEngineException, IOException {
+    this(seriesPath, filter, context, pushdownUnseq, true);
+  }
+
+  /**
+   * Constructor function.
+   *
+   * @param seriesPath the path of the series data
+   * @param filter filter condition
+   * @param context query context
+   * @param pushdownUnseq True to push down the filter on the unsequence TsFile resource; False not
+   * to.
+   * @param ascending True to return data in ascending time order; False in descending order.
+   */
+  public SeriesReaderWithoutValueFilter(Path seriesPath, Filter filter, QueryContext context,
+      boolean pushdownUnseq, boolean ascending) throws StorageEngineException, IOException {
     QueryDataSource queryDataSource = QueryResourceManager.getInstance()
         .getQueryDataSource(seriesPath, context);
 
     // reader for sequence resources
     IBatchReader seqResourceIterateReader = new SeqResourceIterateReader(
-        queryDataSource.getSeriesPath(), queryDataSource.getSeqResources(), filter, context);
+        queryDataSource.getSeriesPath(), queryDataSource.getSeqResources(), filter, context,
+        !ascending, ascending);
 
     // reader for unsequence resources
     IPointReader unseqResourceMergeReader;
     if (pushdownUnseq) {
       unseqResourceMergeReader = new UnseqResourceMergeReader(seriesPath,
-          queryDataSource.getUnseqResources(), context, filter);
+          queryDataSource.getUnseqResources(), context, filter, ascending);
     } else {
       unseqResourceMergeReader = new UnseqResourceMergeReader(seriesPath,
-          queryDataSource.getUnseqResources(), context, null);
+          queryDataSource.getUnseqResources(), context, null, ascending);
     }
 
     this.seqResourceIterateReader = seqResourceIterateReader;
     this.unseqResourceMergeReader = unseqResourceMergeReader;
     this.hasCachedBatchData = false;
+    this.ascending = ascending;
+    this.filter = filter;
+  }
+
+  /**
+   * Skip at most 'n' leading points without reading or decoding them, using the numbers of points
+   * in the metadata of the sequence chunks and the headers of the sequence pages. A chunk or page
+   * is only skipped if none of its points is deleted, the filter keeps all of them and no
+   * unsequence point comes before or among them, so that the skipped points are exactly the first
+   * points this reader would return. It must be called before any point is read.
+   *
+   * @param n the maximum number of points to skip
+   * @return the number of skipped points
+   */
+  public long skipPoints(long n) throws IOException {
+    if (!(seqResourceIterateReader instanceof SeqResourceIterateReader)) {
+      return 0;
+    }
+    SeqResourceIterateReader seqReader = (SeqResourceIterateReader) seqResourceIterateReader;
+    pointsToSkip = n;
+    // whole chunks are dropped when a sealed TsFile is opened, before its pages are read
+    seqReader.setChunkSkipper(this::skipChunk);
+    try {
+      while (pointsToSkip > 0 && seqReader.hasNext()) {
+        PageHeader pageHeader = seqReader.nextPageHeader();
+        // the header is null for data in memory
+        if (pageHeader != null && canSkip(pageHeader.getMinTimestamp(),
+            pageHeader.getMaxTimestamp(), pageHeader.getNumOfValues(), pageHeader.isModified())) {
+          seqReader.skipPageData();
+          pointsToSkip -= pageHeader.getNumOfValues();
+        } else {
+          // the page is returned as usual
+          batchData = seqReader.nextBatch();
+          hasCachedBatchData = true;
+          break;
+        }
+      }
+    } finally {
+      seqReader.setChunkSkipper(null);
+    }
+    return n - pointsToSkip;
+  }
+
+  private boolean skipChunk(ChunkMetaData chunkMetaData) {
+    if (filter != null && !filter
+        .satisfyStartEndTime(chunkMetaData.getStartTime(), chunkMetaData.getEndTime())) {
+      // no point of the chunk is returned, the file reader would drop it as well
+      return true;
+    }
+    try {
+      if (canSkip(chunkMetaData.getStartTime(), chunkMetaData.getEndTime(),
+          chunkMetaData.getNumOfPoints(), chunkMetaData.getDeleteIntervalList() != null)) {
+        pointsToSkip -= chunkMetaData.getNumOfPoints();
+        return true;
+      }
+    } catch (IOException e) {
+      // the unsequence reader can not be peeked, reading the chunk is always correct
+      return false;
+    }
+    return false;
+  }
+
+  private boolean canSkip(long startTime, long endTime, long numOfPoints, boolean modified)
+      throws IOException {
+    if (modified || numOfPoints > pointsToSkip) {
+      return false;
+    }
+    if (filter != null && !filter.containStartEndTime(startTime, endTime)) {
+      return false;
+    }
+    if (unseqResourceMergeReader != null && unseqResourceMergeReader.hasNext()) {
+      // an unsequence point before or among the points would be returned before some of them
+      long unseqTime = unseqResourceMergeReader.current().getTimestamp();
+      return ascending ? unseqTime > endTime : unseqTime < startTime;
+    }
+    return true;
   }
 
   @Override
@@ -110,7 +230,7 @@ public class SeriesReaderWithoutValueFilter implements IPointReader {
     if (hasNextBatch && hasNextPoint) {
       long timeInPointReader = unseqResourceMergeReader.current().getTimestamp();
       long timeInBatchData = batchData.currentTime();
-      if (timeInPointReader > timeInBatchData) {
+      if (ascending ? timeInPointReader > timeInBatchData : timeInPointReader < timeInBatchData) {
         TimeValuePair timeValuePair = TimeValuePairUtils.getCurrentTimeValuePair(batchData);
         batchData.next();
         return timeValuePair;
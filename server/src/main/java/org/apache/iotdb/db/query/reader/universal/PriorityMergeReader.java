@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.PriorityQueue;
+import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.query.reader.IPointReader;
 import org.apache.iotdb.db.utils.TimeValuePair;
 
@@ -32,7 +33,47 @@ public class PriorityMergeReader implements IPointReader {
 
   private List<IPointReader> readerList = new ArrayList<>();
   private List<Integer> priorityList = new ArrayList<>();
-  private PriorityQueue<Element> heap = new PriorityQueue<>();
+  private PriorityQueue<Element> heap;
+
+  /**
+   * the query is checked once every 4096 points, a mask instead of a modulo keeps it cheap
+   */
+  private static final int CHECK_ALIVE_MASK = 0xfff;
+  /**
+   * null if the reader is not bound to a query
+   */
+  private QueryContext context;
+  private int pointCount = 0;
+
+  public PriorityMergeReader() {
+    this(true);
+  }
+
+  /**
+   * Constructor function.
+   *
+   * @param ascending True to merge the readers in ascending time order; False in descending time
+   * order, in which case every added reader must also return its data in descending time order.
+   */
+  public PriorityMergeReader(boolean ascending) {
+    if (ascending) {
+      heap = new PriorityQueue<>();
+    } else {
+      // the newest time first, and the higher priority first for the same time
+      heap = new PriorityQueue<>((o1, o2) -> {
+        int timeCompare = Long
+            .compare(o2.timeValuePair.getTimestamp(), o1.timeValuePair.getTimestamp());
+        return timeCompare != 0 ? timeCompare : o2.priority.compareTo(o1.priority);
+      });
+    }
+  }
+
+  /**
+   * Bind the reader to a query so that it stops when the query is cancelled or times out.
+   */
+  public void setContext(QueryContext context) {
+    this.context = context;
+  }
 
   public void addReaderWithPriority(IPointReader reader, int priority) throws IOException {
     if (reader.hasNext()) {
@@ -49,6 +90,9 @@ public class PriorityMergeReader implements IPointReader {
 
   @Override
   public TimeValuePair next() throws IOException {
+    if (context != null && (++pointCount & CHECK_ALIVE_MASK) == 0) {
+      context.checkAlive();
+    }
     Element top = heap.peek();
     updateHeap(top);
     return top.timeValuePair;
@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.service;
+
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.iotdb.db.qp.PhysicalPlanTemplate;
+import org.apache.iotdb.db.qp.physical.PhysicalPlan;
+import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+import org.apache.thrift.server.ServerContext;
+
+/**
+ * ClientSession keeps the state of one client connection of the JDBC service, i.e., the login user,
+ * the time zone, the query timeout and the queries being fetched. It is created when a connection
+ * is accepted and is bound to the thread serving each request of the connection, so that the
+ * requests of one connection can be served by any thread of a bounded worker pool. Requests of
+ * one connection are served one after another, so the state is not thread-safe.
+ */
+public class ClientSession implements ServerContext {
+
+  private final long sessionId;
+
+  /**
+   * null if the client has not logged in or the login failed.
+   */
+  private String username;
+
+  private ZoneId zoneId;
+
+  /**
+   * timeout in ms of the queries whose statements do not set one, 0 means no limit
+   */
+  private long queryTimeoutInMs;
+
+  /**
+   * statement -> physical plan of the queries executed in this session
+   */
+  private final Map<String, PhysicalPlan> queryStatus = new HashMap<>();
+
+  /**
+   * statement -> timeout in ms of the queries executed in this session
+   */
+  private final Map<String, Long> queryTimeouts = new HashMap<>();
+
+  /**
+   * statement -> data set of the queries being fetched in this session
+   */
+  private final Map<String, QueryDataSet> queryRet = new HashMap<>();
+
+  /**
+   * query id -> context of the queries being fetched in this session
+   */
+  private final Map<Long, QueryContext> contextMap = new HashMap<>();
+
+  /**
+   * statement id -> statements prepared in this session
+   */
+  private final Map<Long, PhysicalPlanTemplate> preparedStatements = new HashMap<>();
+
+  public ClientSession(long sessionId) {
+    this.sessionId = sessionId;
+  }
+
+  public long getSessionId() {
+    return sessionId;
+  }
+
+  public String getUsername() {
+    return username;
+  }
+
+  public void setUsername(String username) {
+    this.username = username;
+  }
+
+  public ZoneId getZoneId() {
+    return zoneId;
+  }
+
+  public void setZoneId(ZoneId zoneId) {
+    this.zoneId = zoneId;
+  }
+
+  public long getQueryTimeoutInMs() {
+    return queryTimeoutInMs;
+  }
+
+  public void setQueryTimeoutInMs(long queryTimeoutInMs) {
+    this.queryTimeoutInMs = queryTimeoutInMs;
+  }
+
+  public Map<String, PhysicalPlan> getQueryStatus() {
+    return queryStatus;
+  }
+
+  public Map<String, Long> getQueryTimeouts() {
+    return queryTimeouts;
+  }
+
+  public Map<String, QueryDataSet> getQueryRet() {
+    return queryRet;
+  }
+
+  public Map<Long, QueryContext> getContextMap() {
+    return contextMap;
+  }
+
+  public Map<Long, PhysicalPlanTemplate> getPreparedStatements() {
+    return preparedStatements;
+  }
+}
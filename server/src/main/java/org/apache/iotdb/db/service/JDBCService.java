@@ -34,7 +34,11 @@ import org.apache.thrift.protocol.TCompactProtocol;
 import org.apache.thrift.protocol.TProtocolFactory;
 import org.apache.thrift.server.TServer;
 import org.apache.thrift.server.TThreadPoolServer;
+import org.apache.thrift.server.TThreadedSelectorServer;
+import org.apache.thrift.transport.TFramedTransport;
+import org.apache.thrift.transport.TNonblockingServerSocket;
 import org.apache.thrift.transport.TServerSocket;
+import org.apache.thrift.transport.TServerTransport;
 import org.apache.thrift.transport.TTransportException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,7 +57,6 @@ public class JDBCService implements JDBCServiceMBean, IService {
   private Thread jdbcServiceThread;
   private TProtocolFactory protocolFactory;
   private Processor<TSIService.Iface> processor;
-  private TThreadPoolServer.Args poolArgs;
   private TSServiceImpl impl;
   private CountDownLatch startLatch;
   private CountDownLatch stopLatch;
@@ -93,6 +96,11 @@ public class JDBCService implements JDBCServiceMBean, IService {
     return config.getRpcPort();
   }
 
+  @Override
+  public int getSessionNum() {
+    return impl == null ? 0 : impl.getSessionNum();
+  }
+
   @Override
   public void start() throws StartupException {
     try {
@@ -183,7 +191,7 @@ public class JDBCService implements JDBCServiceMBean, IService {
 
   private class JDBCServiceThread extends Thread {
 
-    private TServerSocket serverTransport;
+    private TServerTransport serverTransport;
     private TServer poolServer;
     private CountDownLatch threadStartLatch;
     private CountDownLatch threadStopLatch;
@@ -208,15 +216,11 @@ public class JDBCService implements JDBCServiceMBean, IService {
     public void run() {
       try {
         IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
-        serverTransport = new TServerSocket(new InetSocketAddress(config.getRpcAddress(),
-            config.getRpcPort()));
-        poolArgs = new TThreadPoolServer.Args(serverTransport).maxWorkerThreads(IoTDBDescriptor.
-            getInstance().getConfig().getMaxConcurrentClientNum()).minWorkerThreads(1);
-        poolArgs.executorService = IoTDBThreadPoolFactory.createThriftRpcClientThreadPool(poolArgs,
-            ThreadName.JDBC_CLIENT.getName());
-        poolArgs.processor(processor);
-        poolArgs.protocolFactory(protocolFactory);
-        poolServer = new TThreadPoolServer(poolArgs);
+        if (config.isRpcSelectorServerEnable()) {
+          poolServer = createSelectorServer(config);
+        } else {
+          poolServer = createThreadPoolServer(config);
+        }
         poolServer.setServerEventHandler(new JDBCServiceEventHandler(impl, threadStartLatch));
         poolServer.serve();
       } catch (TTransportException e) {
@@ -237,12 +241,45 @@ public class JDBCService implements JDBCServiceMBean, IService {
         if (threadStopLatch != null && threadStopLatch.getCount() == 1) {
           threadStopLatch.countDown();
         }
-        logger.info("{}: close TThreadPoolServer and TServerSocket for {}",
+        logger.info("{}: close RPC server and server transport for {}",
             IoTDBConstant.GLOBAL_DB_NAME,
             getID().getName());
       }
     }
 
+    /**
+     * one thread serves one connection for its whole lifetime.
+     */
+    private TServer createThreadPoolServer(IoTDBConfig config) throws TTransportException {
+      serverTransport = new TServerSocket(new InetSocketAddress(config.getRpcAddress(),
+          config.getRpcPort()));
+      TThreadPoolServer.Args poolArgs = new TThreadPoolServer.Args(serverTransport)
+          .maxWorkerThreads(config.getMaxConcurrentClientNum()).minWorkerThreads(1);
+      poolArgs.executorService = IoTDBThreadPoolFactory.createThriftRpcClientThreadPool(poolArgs,
+          ThreadName.JDBC_CLIENT.getName());
+      poolArgs.processor(processor);
+      poolArgs.protocolFactory(protocolFactory);
+      return new TThreadPoolServer(poolArgs);
+    }
+
+    /**
+     * a few selector threads watch all connections and hand the framed requests to a bounded
+     * worker pool, so the number of threads does not grow with the number of connections.
+     */
+    private TServer createSelectorServer(IoTDBConfig config) throws TTransportException {
+      TNonblockingServerSocket nonblockingServerTransport = new TNonblockingServerSocket(
+          new InetSocketAddress(config.getRpcAddress(), config.getRpcPort()));
+      serverTransport = nonblockingServerTransport;
+      TThreadedSelectorServer.Args selectorArgs = new TThreadedSelectorServer.Args(
+          nonblockingServerTransport).selectorThreads(config.getRpcSelectorThreadNum());
+      selectorArgs.executorService(IoTDBThreadPoolFactory
+          .newFixedThreadPool(config.getRpcWorkerThreadNum(), ThreadName.JDBC_CLIENT.getName()));
+      selectorArgs.processor(processor);
+      selectorArgs.protocolFactory(protocolFactory);
+      selectorArgs.transportFactory(new TFramedTransport.Factory());
+      return new TThreadedSelectorServer(selectorArgs);
+    }
+
     private synchronized void close() {
       if (poolServer != null) {
         poolServer.stop();
@@ -39,16 +39,18 @@ public class JDBCServiceEventHandler implements TServerEventHandler {
     this.startLatch = startLatch;
   }
 
+  /**
+   * a new connection is accepted, create a session for it.
+   */
   @Override
   public ServerContext createContext(TProtocol arg0, TProtocol arg1) {
-    // TODO Auto-generated method stub
-    return null;
+    return serviceImpl.createSession();
   }
 
   @Override
   public void deleteContext(ServerContext arg0, TProtocol arg1, TProtocol arg2) {
     try {
-      serviceImpl.handleClientExit();
+      serviceImpl.handleClientExit((ClientSession) arg0);
     } catch (TException e) {
       logger.error("failed to clear client status", e);
     }
@@ -59,10 +61,13 @@ public class JDBCServiceEventHandler implements TServerEventHandler {
     this.startLatch.countDown();
   }
 
+  /**
+   * a request of the connection is going to be served by the current thread, which may differ from
+   * the thread that served the previous request in the selector-based server.
+   */
   @Override
   public void processContext(ServerContext arg0, TTransport arg1, TTransport arg2) {
-    // TODO Auto-generated method stub
-
+    serviceImpl.bindSession((ClientSession) arg0);
   }
 
 }
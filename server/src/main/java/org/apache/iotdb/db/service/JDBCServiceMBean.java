@@ -26,6 +26,8 @@ public interface JDBCServiceMBean {
 
   int getRPCPort();
 
+  int getSessionNum();
+
   void startService() throws StartupException;
 
   void restartService() throws StartupException;
@@ -29,7 +29,6 @@ import java.sql.Statement;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -54,11 +53,13 @@ import org.apache.iotdb.db.exception.MetadataErrorException;
 import org.apache.iotdb.db.exception.PathErrorException;
 import org.apache.iotdb.db.exception.ProcessorException;
 import org.apache.iotdb.db.exception.QueryInBatchStmtException;
+import org.apache.iotdb.db.exception.QueryInterruptedException;
 import org.apache.iotdb.db.exception.StorageEngineException;
 import org.apache.iotdb.db.exception.qp.IllegalASTFormatException;
 import org.apache.iotdb.db.exception.qp.QueryProcessorException;
 import org.apache.iotdb.db.metadata.MManager;
 import org.apache.iotdb.db.metadata.Metadata;
+import org.apache.iotdb.db.qp.PhysicalPlanTemplate;
 import org.apache.iotdb.db.qp.QueryProcessor;
 import org.apache.iotdb.db.qp.executor.QueryProcessExecutor;
 import org.apache.iotdb.db.qp.physical.PhysicalPlan;
@@ -78,6 +79,7 @@ import org.apache.iotdb.service.rpc.thrift.TSCloseSessionReq;
 import org.apache.iotdb.service.rpc.thrift.TSCloseSessionResp;
 import org.apache.iotdb.service.rpc.thrift.TSExecuteBatchStatementReq;
 import org.apache.iotdb.service.rpc.thrift.TSExecuteBatchStatementResp;
+import org.apache.iotdb.service.rpc.thrift.TSExecutePreparedReq;
 import org.apache.iotdb.service.rpc.thrift.TSExecuteStatementReq;
 import org.apache.iotdb.service.rpc.thrift.TSExecuteStatementResp;
 import org.apache.iotdb.service.rpc.thrift.TSFetchMetadataReq;
@@ -91,6 +93,8 @@ import org.apache.iotdb.service.rpc.thrift.TSInsertionReq;
 import org.apache.iotdb.service.rpc.thrift.TSOpenSessionReq;
 import org.apache.iotdb.service.rpc.thrift.TSOpenSessionResp;
 import org.apache.iotdb.service.rpc.thrift.TSOperationHandle;
+import org.apache.iotdb.service.rpc.thrift.TSPrepareStatementReq;
+import org.apache.iotdb.service.rpc.thrift.TSPrepareStatementResp;
 import org.apache.iotdb.service.rpc.thrift.TSProtocolVersion;
 import org.apache.iotdb.service.rpc.thrift.TSQueryDataSet;
 import org.apache.iotdb.service.rpc.thrift.TSSetTimeZoneReq;
@@ -117,16 +121,16 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
   private static final Logger logger = LoggerFactory.getLogger(TSServiceImpl.class);
   private static final String INFO_NOT_LOGIN = "{}: Not login.";
   private static final String ERROR_NOT_LOGIN = "Not login";
+  private static final String ERROR_NO_SESSION = "No session is bound to the connection";
 
   protected QueryProcessor processor;
-  // Record the username for every rpc connection. Username.get() is null if
-  // login is failed.
-  protected ThreadLocal<String> username = new ThreadLocal<>();
-  private ThreadLocal<HashMap<String, PhysicalPlan>> queryStatus = new ThreadLocal<>();
-  private ThreadLocal<HashMap<String, QueryDataSet>> queryRet = new ThreadLocal<>();
-  private ThreadLocal<ZoneId> zoneIds = new ThreadLocal<>();
+  // (sessionId) -> (session) of every client connection
+  private Map<Long, ClientSession> sessionMap = new ConcurrentHashMap<>();
+  private AtomicLong globalSessionId = new AtomicLong(0L);
+  // the session of the request that the current thread is serving, it is bound by
+  // JDBCServiceEventHandler before every request
+  private ThreadLocal<ClientSession> currSession = new ThreadLocal<>();
   private IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
-  private ThreadLocal<Map<Long, QueryContext>> contextMapLocal = new ThreadLocal<>();
 
   private AtomicLong globalStmtId = new AtomicLong(0L);
   // (statementId) -> (statement)
@@ -137,10 +141,45 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
     processor = new QueryProcessor(new QueryProcessExecutor());
   }
 
+  /**
+   * create and register the session of a new client connection.
+   */
+  ClientSession createSession() {
+    ClientSession session = new ClientSession(globalSessionId.incrementAndGet());
+    sessionMap.put(session.getSessionId(), session);
+    return session;
+  }
+
+  /**
+   * bind the session to the current thread, the following requests served by the thread belong to
+   * this session.
+   */
+  void bindSession(ClientSession session) {
+    currSession.set(session);
+  }
+
+  /**
+   * @return the session bound to the current thread, or null if the request does not come from a
+   * connection of JDBCService
+   */
+  private ClientSession getSession() {
+    return currSession.get();
+  }
+
+  public int getSessionNum() {
+    return sessionMap.size();
+  }
+
   @Override
   public TSOpenSessionResp openSession(TSOpenSessionReq req) throws TException {
     logger.info("{}: receive open session request from username {}", IoTDBConstant.GLOBAL_DB_NAME,
         req.getUsername());
+    ClientSession session = getSession();
+    if (session == null) {
+      logger.warn("{}: {}", IoTDBConstant.GLOBAL_DB_NAME, ERROR_NO_SESSION);
+      return new TSOpenSessionResp(getErrorStatus(ERROR_NO_SESSION),
+          TSProtocolVersion.IOTDB_SERVICE_PROTOCOL_V1);
+    }
 
     boolean status;
     IAuthorizer authorizer;
@@ -159,18 +198,19 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
     if (status) {
       tsStatus = new TS_Status(TS_StatusCode.SUCCESS_STATUS);
       tsStatus.setErrorMessage("login successfully.");
-      username.set(req.getUsername());
-      zoneIds.set(config.getZoneID());
-      initForOneSession();
+      session.setUsername(req.getUsername());
+      session.setZoneId(config.getZoneID());
+      session.setQueryTimeoutInMs(config.getDefaultQueryTimeoutInMs());
+      initForOneSession(session);
     } else {
       tsStatus = new TS_Status(TS_StatusCode.ERROR_STATUS);
       tsStatus.setErrorMessage("login failed. Username or password is wrong.");
     }
     TSOpenSessionResp resp = new TSOpenSessionResp(tsStatus,
         TSProtocolVersion.IOTDB_SERVICE_PROTOCOL_V1);
-    resp.setSessionHandle(
-        new TS_SessionHandle(new TSHandleIdentifier(ByteBuffer.wrap(req.getUsername().getBytes()),
-            ByteBuffer.wrap(req.getPassword().getBytes()))));
+    resp.setSessionHandle(new TS_SessionHandle(new TSHandleIdentifier(
+        ByteBuffer.wrap(Long.toString(session.getSessionId()).getBytes()),
+        ByteBuffer.wrap(req.getPassword().getBytes()))));
     logger.info("{}: Login status: {}. User : {}", IoTDBConstant.GLOBAL_DB_NAME,
         tsStatus.getErrorMessage(),
         req.getUsername());
@@ -178,44 +218,76 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
     return resp;
   }
 
-  private void initForOneSession() {
-    queryStatus.set(new HashMap<>());
-    queryRet.set(new HashMap<>());
+  private void initForOneSession(ClientSession session) {
+    session.getQueryStatus().clear();
+    session.getQueryTimeouts().clear();
+    session.getQueryRet().clear();
   }
 
   @Override
   public TSCloseSessionResp closeSession(TSCloseSessionReq req) {
     logger.info("{}: receive close session", IoTDBConstant.GLOBAL_DB_NAME);
     TS_Status tsStatus;
-    if (username.get() == null) {
+    ClientSession session = getSession();
+    if (session == null || session.getUsername() == null) {
       tsStatus = new TS_Status(TS_StatusCode.ERROR_STATUS);
       tsStatus.setErrorMessage("Has not logged in");
-      if (zoneIds.get() != null) {
-        zoneIds.remove();
-      }
-    } else {
-      tsStatus = new TS_Status(TS_StatusCode.SUCCESS_STATUS);
-      username.remove();
-      if (zoneIds.get() != null) {
-        zoneIds.remove();
-      }
+      return new TSCloseSessionResp(tsStatus);
     }
+    tsStatus = new TS_Status(TS_StatusCode.SUCCESS_STATUS);
+    session.setUsername(null);
+    session.setZoneId(null);
     return new TSCloseSessionResp(tsStatus);
   }
 
   @Override
   public TSCancelOperationResp cancelOperation(TSCancelOperationReq req) {
+    logger.info("{}: receive cancel operation", IoTDBConstant.GLOBAL_DB_NAME);
+    if (!checkLogin()) {
+      logger.info(INFO_NOT_LOGIN, IoTDBConstant.GLOBAL_DB_NAME);
+      return new TSCancelOperationResp(getErrorStatus(ERROR_NOT_LOGIN));
+    }
+    Map<Long, QueryContext> contextMap = getSession().getContextMap();
+    try {
+      if (req.isSetQueryId()) {
+        QueryContext context = contextMap.remove(req.getQueryId());
+        if (context != null) {
+          cancelQuery(context);
+        }
+      } else {
+        for (QueryContext context : contextMap.values()) {
+          cancelQuery(context);
+        }
+        contextMap.clear();
+      }
+    } catch (StorageEngineException e) {
+      logger.error("Error in cancelOperation : ", e);
+      return new TSCancelOperationResp(getErrorStatus(e.getMessage()));
+    }
     return new TSCancelOperationResp(new TS_Status(TS_StatusCode.SUCCESS_STATUS));
   }
 
+  /**
+   * Stop the readers of the query and release its files and memory. The data set of the query is
+   * still kept by the session, its next fetch fails when the readers check the cancelled context.
+   */
+  private void cancelQuery(QueryContext context) throws StorageEngineException {
+    context.cancel();
+    QueryResourceManager.getInstance().endQueryForGivenJob(context.getJobId());
+  }
+
   @Override
   public TSCloseOperationResp closeOperation(TSCloseOperationReq req) {
     logger.info("{}: receive close operation", IoTDBConstant.GLOBAL_DB_NAME);
+    if (getSession() == null) {
+      return new TSCloseOperationResp(getErrorStatus(ERROR_NO_SESSION));
+    }
     try {
 
       if (req != null && req.isSetStmtId()) {
         long stmtId = req.getStmtId();
         idStmtMap.remove(stmtId);
+        getSession().getPreparedStatements().remove(stmtId);
       }
 
       releaseQueryResource(req);
@@ -228,29 +300,26 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
   }
 
   private void releaseQueryResource(TSCloseOperationReq req) throws StorageEngineException {
-    Map<Long, QueryContext> contextMap = contextMapLocal.get();
-    if (contextMap == null) {
-      return;
-    }
+    Map<Long, QueryContext> contextMap = getSession().getContextMap();
     if (req == null || req.queryId == -1) {
-      // end query for all the query tokens created by current thread
+      // end query for all the query tokens created by current session
       for (QueryContext context : contextMap.values()) {
         QueryResourceManager.getInstance().endQueryForGivenJob(context.getJobId());
       }
-      contextMapLocal.set(new HashMap<>());
+      contextMap.clear();
     } else {
-      QueryResourceManager.getInstance()
-          .endQueryForGivenJob(contextMap.remove(req.queryId).getJobId());
+      // the query may have been cancelled, timed out or failed, which releases it already
+      QueryContext context = contextMap.remove(req.queryId);
+      if (context != null) {
+        QueryResourceManager.getInstance().endQueryForGivenJob(context.getJobId());
+      }
     }
   }
 
   private void clearAllStatusForCurrentRequest() {
-    if (this.queryRet.get() != null) {
-      this.queryRet.get().clear();
-    }
-    if (this.queryStatus.get() != null) {
-      this.queryStatus.get().clear();
-    }
+    getSession().getQueryRet().clear();
+    getSession().getQueryStatus().clear();
+    getSession().getQueryTimeouts().clear();
   }
 
   private TS_Status getErrorStatus(String message) {
@@ -395,7 +464,7 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
    * @throws IOException exception
    */
   private boolean execAdminCommand(String statement) {
-    if (!"root".equals(username.get())) {
+    if (!"root".equals(getSession().getUsername())) {
       return false;
     }
     if (statement == null) {
@@ -456,7 +525,8 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
   private boolean executeStatementInBatch(String statement, StringBuilder batchErrorMessage,
       List<Integer> result) {
     try {
-      PhysicalPlan physicalPlan = processor.parseSQLToPhysicalPlan(statement, zoneIds.get());
+      PhysicalPlan physicalPlan = processor
+          .parseSQLToPhysicalPlan(statement, getSession().getZoneId());
       if (physicalPlan.isQuery()) {
         throw new QueryInBatchStmtException("Query statement not allowed in batch: " + statement);
       }
@@ -524,9 +594,9 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
       }
 
       PhysicalPlan physicalPlan;
-      physicalPlan = processor.parseSQLToPhysicalPlan(statement, zoneIds.get());
+      physicalPlan = processor.parseSQLToPhysicalPlan(statement, getSession().getZoneId());
       if (physicalPlan.isQuery()) {
-        return executeQueryStatement(statement, physicalPlan);
+        return executeQueryStatement(statement, physicalPlan, getQueryTimeout(req));
       } else {
         return executeUpdateStatement(physicalPlan);
       }
@@ -586,7 +656,15 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
     }
   }
 
-  private TSExecuteStatementResp executeQueryStatement(String statement, PhysicalPlan plan) {
+  /**
+   * @return the timeout in ms set by the statement, or the default of the session if not set
+   */
+  private long getQueryTimeout(TSExecuteStatementReq req) {
+    return req.isSetTimeout() ? req.getTimeout() : getSession().getQueryTimeoutInMs();
+  }
+
+  private TSExecuteStatementResp executeQueryStatement(String statement, PhysicalPlan plan,
+      long timeoutInMs) {
     long t1 = System.currentTimeMillis();
     try {
       TSExecuteStatementResp resp;
@@ -600,11 +678,12 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
       resp.setDataTypeList(queryColumnsType(columns));
       resp.setOperationType(plan.getOperatorType().toString());
       TSHandleIdentifier operationId = new TSHandleIdentifier(
-          ByteBuffer.wrap(username.get().getBytes()), ByteBuffer.wrap("PASS".getBytes()));
+          ByteBuffer.wrap(getSession().getUsername().getBytes()),
+          ByteBuffer.wrap("PASS".getBytes()));
       TSOperationHandle operationHandle = new TSOperationHandle(operationId, true);
       resp.setOperationHandle(operationHandle);
 
-      recordANewQuery(statement, plan);
+      recordANewQuery(statement, plan, timeoutInMs);
       return resp;
     } catch (Exception e) {
       logger.error("{}: Internal server error: ", IoTDBConstant.GLOBAL_DB_NAME, e);
@@ -624,7 +703,7 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
     String statement = req.getStatement();
     PhysicalPlan physicalPlan;
     try {
-      physicalPlan = processor.parseSQLToPhysicalPlan(statement, zoneIds.get());
+      physicalPlan = processor.parseSQLToPhysicalPlan(statement, getSession().getZoneId());
     } catch (QueryProcessorException | ArgsErrorException | MetadataErrorException e) {
       logger.error("meet error while parsing SQL to physical plan!", e);
       return getTSExecuteStatementResp(TS_StatusCode.ERROR_STATUS, e.getMessage());
@@ -634,7 +713,7 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
       return getTSExecuteStatementResp(TS_StatusCode.ERROR_STATUS,
           "Statement is not a query statement.");
     }
-    return executeQueryStatement(statement, physicalPlan);
+    return executeQueryStatement(statement, physicalPlan, getQueryTimeout(req));
   }
 
   private List<String> queryColumnsType(List<String> columns) throws PathErrorException {
@@ -739,15 +818,16 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
       }
 
       String statement = req.getStatement();
-      if (!queryStatus.get().containsKey(statement)) {
+      Map<String, QueryDataSet> queryRet = getSession().getQueryRet();
+      if (!getSession().getQueryStatus().containsKey(statement)) {
         return getTSFetchResultsResp(TS_StatusCode.ERROR_STATUS, "Has not executed statement");
       }
 
       QueryDataSet queryDataSet;
-      if (!queryRet.get().containsKey(statement)) {
+      if (!queryRet.containsKey(statement)) {
         queryDataSet = createNewDataSet(statement, req);
       } else {
-        queryDataSet = queryRet.get().get(statement);
+        queryDataSet = queryRet.get(statement);
       }
 
       int fetchSize = req.getFetch_size();
@@ -755,8 +835,8 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
           .convertQueryDataSetByFetchSize(queryDataSet, fetchSize);
 
       boolean hasResultSet = !result.getRecords().isEmpty();
-      if (!hasResultSet && queryRet.get() != null) {
-        queryRet.get().remove(statement);
+      if (!hasResultSet) {
+        queryRet.remove(statement);
       }
 
       TSFetchResultsResp resp = getTSFetchResultsResp(TS_StatusCode.SUCCESS_STATUS,
@@ -764,6 +844,13 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
       resp.setHasResultSet(hasResultSet);
       resp.setQueryDataSet(result);
       return resp;
+    } catch (QueryInterruptedException e) {
+      logger.info("{}: stop fetching {}: {}", IoTDBConstant.GLOBAL_DB_NAME, req.getStatement(),
+          e.getMessage());
+      // the data set can not be fetched any more, release its resources at once
+      getSession().getQueryRet().remove(req.getStatement());
+      releaseInterruptedQuery(req.queryId);
+      return getTSFetchResultsResp(TS_StatusCode.ERROR_STATUS, e.getMessage());
     } catch (Exception e) {
       logger.error("{}: Internal server error: ", IoTDBConstant.GLOBAL_DB_NAME, e);
       return getTSFetchResultsResp(TS_StatusCode.ERROR_STATUS, e.getMessage());
@@ -773,26 +860,40 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
   private QueryDataSet createNewDataSet(String statement, TSFetchResultsReq req)
       throws PathErrorException, QueryFilterOptimizationException, StorageEngineException,
       ProcessorException, IOException {
-    PhysicalPlan physicalPlan = queryStatus.get().get(statement);
+    PhysicalPlan physicalPlan = getSession().getQueryStatus().get(statement);
 
     QueryDataSet queryDataSet;
     QueryContext context = new QueryContext(QueryResourceManager.getInstance().assignJobId());
+    // the query starts running when it is first fetched
+    context.setTimeout(getSession().getQueryTimeouts()
+        .getOrDefault(statement, getSession().getQueryTimeoutInMs()));
 
-    initContextMap();
-    contextMapLocal.get().put(req.queryId, context);
+    getSession().getContextMap().put(req.queryId, context);
 
-    queryDataSet = processor.getExecutor().processQuery(physicalPlan,
-        context);
+    try {
+      queryDataSet = processor.getExecutor().processQuery(physicalPlan,
+          context);
+    } catch (Exception e) {
+      // release the files and memory of a failed query at once instead of when it is closed
+      getSession().getContextMap().remove(req.queryId);
+      QueryResourceManager.getInstance().endQueryForGivenJob(context.getJobId());
+      throw e;
+    }
 
-    queryRet.get().put(statement, queryDataSet);
+    getSession().getQueryRet().put(statement, queryDataSet);
     return queryDataSet;
   }
 
-  private void initContextMap() {
-    Map<Long, QueryContext> contextMap = contextMapLocal.get();
-    if (contextMap == null) {
-      contextMap = new HashMap<>();
-      contextMapLocal.set(contextMap);
+  private void releaseInterruptedQuery(long queryId) {
+    QueryContext context = getSession().getContextMap().remove(queryId);
+    if (context == null) {
+      // cancelled, the resources are released by cancelOperation
+      return;
+    }
+    try {
+      QueryResourceManager.getInstance().endQueryForGivenJob(context.getJobId());
+    } catch (StorageEngineException e) {
+      logger.error("Error in releasing the resources of query {} : ", queryId, e);
     }
   }
 
@@ -838,7 +939,7 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
     String msg = execRet ? "Execute successfully" : "Execute statement error.";
     TSExecuteStatementResp resp = getTSExecuteStatementResp(statusCode, msg);
     TSHandleIdentifier operationId = new TSHandleIdentifier(
-        ByteBuffer.wrap(username.get().getBytes()),
+        ByteBuffer.wrap(getSession().getUsername().getBytes()),
         ByteBuffer.wrap("PASS".getBytes()));
     TSOperationHandle operationHandle;
     operationHandle = new TSOperationHandle(operationId, false);
@@ -858,7 +959,7 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
 
     PhysicalPlan physicalPlan;
     try {
-      physicalPlan = processor.parseSQLToPhysicalPlan(statement, zoneIds.get());
+      physicalPlan = processor.parseSQLToPhysicalPlan(statement, getSession().getZoneId());
     } catch (QueryProcessorException | ArgsErrorException | MetadataErrorException e) {
       logger.error("meet error while parsing SQL to physical plan!", e);
       return getTSExecuteStatementResp(TS_StatusCode.ERROR_STATUS, e.getMessage());
@@ -872,10 +973,11 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
     return executeUpdateStatement(physicalPlan);
   }
 
-  private void recordANewQuery(String statement, PhysicalPlan physicalPlan) {
-    queryStatus.get().put(statement, physicalPlan);
+  private void recordANewQuery(String statement, PhysicalPlan physicalPlan, long timeoutInMs) {
+    getSession().getQueryStatus().put(statement, physicalPlan);
+    getSession().getQueryTimeouts().put(statement, timeoutInMs);
     // refresh current queryRet for statement
-    queryRet.get().remove(statement);
+    getSession().getQueryRet().remove(statement);
   }
 
   /**
@@ -884,7 +986,7 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
    * @return true: If logged in; false: If not logged in
    */
   private boolean checkLogin() {
-    return username.get() != null;
+    return getSession() != null && getSession().getUsername() != null;
   }
 
   private boolean checkAuthorization(List<Path> paths, PhysicalPlan plan) throws AuthException {
@@ -892,7 +994,8 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
     if (plan instanceof AuthorPlan) {
       targetUser = ((AuthorPlan) plan).getUserName();
     }
-    return AuthorityChecker.check(username.get(), paths, plan.getOperatorType(), targetUser);
+    return AuthorityChecker
+        .check(getSession().getUsername(), paths, plan.getOperatorType(), targetUser);
   }
 
   private TSExecuteStatementResp getTSExecuteStatementResp(TS_StatusCode code, String msg) {
@@ -901,7 +1004,7 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
     tsStatus.setErrorMessage(msg);
     resp.setStatus(tsStatus);
     TSHandleIdentifier operationId = new TSHandleIdentifier(
-        ByteBuffer.wrap(username.get().getBytes()),
+        ByteBuffer.wrap(getSession().getUsername().getBytes()),
         ByteBuffer.wrap("PASS".getBytes()));
     TSOperationHandle operationHandle = new TSOperationHandle(operationId, false);
     resp.setOperationHandle(operationHandle);
@@ -927,18 +1030,28 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
     return resp;
   }
 
-  void handleClientExit() throws TException {
-    closeOperation(null);
-    closeSession(null);
+  void handleClientExit(ClientSession session) throws TException {
+    bindSession(session);
+    try {
+      closeOperation(null);
+      closeSession(null);
+    } finally {
+      sessionMap.remove(session.getSessionId());
+      currSession.remove();
+    }
   }
 
   @Override
   public TSGetTimeZoneResp getTimeZone() {
     TS_Status tsStatus;
     TSGetTimeZoneResp resp;
+    if (!checkLogin()) {
+      logger.info(INFO_NOT_LOGIN, IoTDBConstant.GLOBAL_DB_NAME);
+      return new TSGetTimeZoneResp(getErrorStatus(ERROR_NOT_LOGIN), "Unknown time zone");
+    }
     try {
       tsStatus = new TS_Status(TS_StatusCode.SUCCESS_STATUS);
-      resp = new TSGetTimeZoneResp(tsStatus, zoneIds.get().toString());
+      resp = new TSGetTimeZoneResp(tsStatus, getSession().getZoneId().toString());
     } catch (Exception e) {
       logger.error("meet error while generating time zone.", e);
       tsStatus = new TS_Status(TS_StatusCode.ERROR_STATUS);
@@ -951,9 +1064,13 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
   @Override
   public TSSetTimeZoneResp setTimeZone(TSSetTimeZoneReq req) {
     TS_Status tsStatus;
+    if (!checkLogin()) {
+      logger.info(INFO_NOT_LOGIN, IoTDBConstant.GLOBAL_DB_NAME);
+      return new TSSetTimeZoneResp(getErrorStatus(ERROR_NOT_LOGIN));
+    }
     try {
       String timeZoneID = req.getTimeZone();
-      zoneIds.set(ZoneId.of(timeZoneID));
+      getSession().setZoneId(ZoneId.of(timeZoneID));
       tsStatus = new TS_Status(TS_StatusCode.SUCCESS_STATUS);
     } catch (Exception e) {
       logger.error("meet error while setting time zone.", e);
@@ -1067,5 +1184,72 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
   public long requestStatementId() {
     return globalStmtId.incrementAndGet();
   }
+
+  @Override
+  public TSPrepareStatementResp prepareStatement(TSPrepareStatementReq req) {
+    if (!checkLogin()) {
+      logger.info(INFO_NOT_LOGIN, IoTDBConstant.GLOBAL_DB_NAME);
+      return new TSPrepareStatementResp(getErrorStatus(ERROR_NOT_LOGIN));
+    }
+
+    PhysicalPlanTemplate template = new PhysicalPlanTemplate(req.getStatement());
+    InsertPlan insertTemplate = template.getInsertTemplate();
+    // the paths of an insert template are fixed, so a statement without the permissions fails
+    // early here, they are checked again by each execution as they may be revoked meanwhile
+    if (insertTemplate != null) {
+      try {
+        if (!checkAuthorization(insertTemplate.getPaths(), insertTemplate)) {
+          return new TSPrepareStatementResp(getErrorStatus(
+              "No permissions for this operation " + insertTemplate.getOperatorType()));
+        }
+      } catch (AuthException e) {
+        logger.error("meet error while checking authorization.", e);
+        return new TSPrepareStatementResp(
+            getErrorStatus("Uninitialized authorizer " + e.getMessage()));
+      }
+    }
+    getSession().getPreparedStatements().put(req.getStmtId(), template);
+
+    TSPrepareStatementResp resp = new TSPrepareStatementResp(
+        new TS_Status(TS_StatusCode.SUCCESS_STATUS));
+    resp.setParameterCount(template.getParameterCount());
+    return resp;
+  }
+
+  @Override
+  public TSExecuteStatementResp executePrepared(TSExecutePreparedReq req) {
+    if (!checkLogin()) {
+      logger.info(INFO_NOT_LOGIN, IoTDBConstant.GLOBAL_DB_NAME);
+      return getTSExecuteStatementResp(TS_StatusCode.ERROR_STATUS, ERROR_NOT_LOGIN);
+    }
+
+    PhysicalPlanTemplate template = getSession().getPreparedStatements().get(req.getStmtId());
+    if (template == null) {
+      return getTSExecuteStatementResp(TS_StatusCode.ERROR_STATUS,
+          "Statement " + req.getStmtId() + " has not been prepared");
+    }
+    try {
+      if (template.getInsertTemplate() != null) {
+        // the privileges may have been revoked since the statement was prepared
+        InsertPlan plan = template.bindInsert(req.getParameters(), getSession().getZoneId());
+        if (plan != null) {
+          return executeUpdateStatement(plan);
+        }
+      }
+
+      String statement = template.bindStatement(req.getParameters());
+      PhysicalPlan physicalPlan = processor
+          .parseSQLToPhysicalPlan(statement, getSession().getZoneId());
+      if (physicalPlan.isQuery()) {
+        return executeQueryStatement(statement, physicalPlan,
+            getSession().getQueryTimeoutInMs());
+      } else {
+        return executeUpdateStatement(physicalPlan);
+      }
+    } catch (Exception e) {
+      logger.info("meet error while executing prepared statement {}", req.getStmtId(), e);
+      return getTSExecuteStatementResp(TS_StatusCode.ERROR_STATUS, e.getMessage());
+    }
+  }
 }
 
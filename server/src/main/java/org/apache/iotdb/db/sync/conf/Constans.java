@@ -34,11 +34,28 @@ public class Constans {
 
   public static final String BACK_UP_DIRECTORY_NAME = "backup";
 
+  /**
+   * Name of the file in which the sender sends the deletions on synchronized data of a storage
+   * group.
+   */
+  public static final String DELETION_FILE_NAME = "deletions.mods";
+
   /**
    * Split data file , block size at each transmission
    **/
   public static final int DATA_CHUNK_SIZE = 64 * 1024 * 1024;
 
+  /**
+   * Block size of each transmission of a file, a file is resumed from the last received block when
+   * its transmission fails.
+   */
+  public static final int DATA_BLOCK_SIZE = 4 * 1024 * 1024;
+
+  /**
+   * Suffix of a file that the receiver has not received completely.
+   */
+  public static final String RECEIVING_FILE_SUFFIX = ".receiving";
+
   /**
    * Max try when syncing the same file to receiver fails.
    */
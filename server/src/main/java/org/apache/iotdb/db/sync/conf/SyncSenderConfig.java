@@ -46,6 +46,11 @@ public class SyncSenderConfig {
 
   private int syncPeriodInSecond = 10;
 
+  /**
+   * The number of files transferred to the receiver in parallel, each over its own connection.
+   */
+  private int syncThreadNum = 4;
+
   /**
    * Init path
    */
@@ -143,6 +148,14 @@ public class SyncSenderConfig {
     this.syncPeriodInSecond = syncPeriodInSecond;
   }
 
+  public int getSyncThreadNum() {
+    return syncThreadNum;
+  }
+
+  public void setSyncThreadNum(int syncThreadNum) {
+    this.syncThreadNum = syncThreadNum;
+  }
+
   public String getLockFilePath() {
     return lockFilePath;
   }
@@ -90,6 +90,11 @@ public class SyncSenderDescriptor {
       conf.setSyncPeriodInSecond(Integer.parseInt(properties
           .getProperty("sync_period_in_second",
               Integer.toString(conf.getSyncPeriodInSecond()))));
+      conf.setSyncThreadNum(Integer.parseInt(properties
+          .getProperty("sync_thread_num", Integer.toString(conf.getSyncThreadNum()))));
+      if (conf.getSyncThreadNum() <= 0) {
+        conf.setSyncThreadNum(1);
+      }
       conf.setSchemaPath(properties.getProperty("iotdb_schema_directory", conf.getSchemaPath()));
       conf.setDataDirectory(
           properties.getProperty("iotdb_bufferWrite_directory", conf.getDataDirectory()));
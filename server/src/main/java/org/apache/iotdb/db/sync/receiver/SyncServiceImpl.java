@@ -24,6 +24,7 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
@@ -31,48 +32,39 @@ import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.iotdb.db.concurrent.ThreadName;
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
-import org.apache.iotdb.db.conf.directories.DirectoryManager;
 import org.apache.iotdb.db.engine.StorageEngine;
-import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.engine.modification.Deletion;
+import org.apache.iotdb.db.engine.modification.Modification;
+import org.apache.iotdb.db.engine.modification.ModificationFile;
 import org.apache.iotdb.db.exception.StorageEngineException;
 import org.apache.iotdb.db.exception.MetadataErrorException;
 import org.apache.iotdb.db.exception.PathErrorException;
-import org.apache.iotdb.db.exception.ProcessorException;
 import org.apache.iotdb.db.metadata.MManager;
 import org.apache.iotdb.db.metadata.MetadataConstant;
 import org.apache.iotdb.db.metadata.MetadataOperationType;
-import org.apache.iotdb.db.qp.executor.QueryProcessExecutor;
-import org.apache.iotdb.db.qp.physical.crud.InsertPlan;
 import org.apache.iotdb.db.sync.conf.Constans;
 import org.apache.iotdb.db.utils.FilePathUtils;
 import org.apache.iotdb.db.utils.SyncUtils;
 import org.apache.iotdb.service.sync.thrift.SyncDataStatus;
 import org.apache.iotdb.service.sync.thrift.SyncService;
-import org.apache.iotdb.tsfile.file.metadata.ChunkGroupMetaData;
-import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
-import org.apache.iotdb.tsfile.file.metadata.TsDeviceMetadata;
 import org.apache.iotdb.tsfile.file.metadata.TsDeviceMetadataIndex;
 import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
-import org.apache.iotdb.tsfile.read.ReadOnlyTsFile;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
-import org.apache.iotdb.tsfile.read.common.Field;
 import org.apache.iotdb.tsfile.read.common.Path;
-import org.apache.iotdb.tsfile.read.common.RowRecord;
-import org.apache.iotdb.tsfile.read.expression.QueryExpression;
-import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -104,9 +96,10 @@ public class SyncServiceImpl implements SyncService.Iface {
   private ThreadLocal<Map<String, Map<String, Long>>> fileNodeEndTime = new ThreadLocal<>();
 
   /**
-   * Total num of files that needs to be loaded
+   * Total num of files that needs to be loaded, by uuid of sender. The files are received by the
+   * connections of several threads of a sender, so the count is shared among them.
    */
-  private ThreadLocal<Integer> fileNum = new ThreadLocal<>();
+  private Map<String, AtomicInteger> fileNums = new ConcurrentHashMap<>();
 
   /**
    * IoTDB config
@@ -131,12 +124,12 @@ public class SyncServiceImpl implements SyncService.Iface {
   /**
    * Sync folder path of server
    **/
-  private String syncFolderPath;
+  private ThreadLocal<String> syncFolderPath = new ThreadLocal<>();
 
   /**
    * Sync data path of server
    */
-  private String syncDataPath;
+  private ThreadLocal<String> syncDataPath = new ThreadLocal<>();
 
   /**
    * Init threadLocal variable and delete old useless files.
@@ -144,15 +137,19 @@ public class SyncServiceImpl implements SyncService.Iface {
   @Override
   public boolean init(String storageGroup) {
     logger.info("Sync process starts to receive data of storage group {}", storageGroup);
-    fileNum.set(0);
+    fileNums.put(uuid.get(), new AtomicInteger());
     fileNodeMap.set(new HashMap<>());
     fileNodeStartTime.set(new HashMap<>());
     fileNodeEndTime.set(new HashMap<>());
-    try {
-      FileUtils.deleteDirectory(new File(syncDataPath));
-    } catch (IOException e) {
-      logger.error("cannot delete directory {} ", syncFolderPath);
-      return false;
+    // partially received files are kept so that the sender can resume them
+    File syncDataDirectory = new File(syncDataPath.get());
+    if (syncDataDirectory.exists()) {
+      for (File file : FileUtils.listFiles(syncDataDirectory, null, true)) {
+        if (!file.getName().endsWith(Constans.RECEIVING_FILE_SUFFIX) && !file.delete()) {
+          logger.error("cannot delete file {} ", file.getPath());
+          return false;
+        }
+      }
     }
     for (String bufferWritePath : bufferWritePaths) {
       bufferWritePath = FilePathUtils.regularizePath(bufferWritePath);
@@ -162,7 +159,7 @@ public class SyncServiceImpl implements SyncService.Iface {
         try {
           FileUtils.deleteDirectory(backupDirectory);
         } catch (IOException e) {
-          logger.error("cannot delete directory {} ", syncFolderPath);
+          logger.error("cannot delete directory {} ", backupDirectory.getPath());
           return false;
         }
       }
@@ -186,10 +183,11 @@ public class SyncServiceImpl implements SyncService.Iface {
    */
   private void initPath() {
     baseDir = FilePathUtils.regularizePath(baseDir);
-    syncFolderPath = baseDir + SYNC_SERVER + File.separatorChar + this.uuid.get();
-    syncDataPath = syncFolderPath + File.separatorChar + Constans.DATA_SNAPSHOT_NAME;
+    syncFolderPath.set(baseDir + SYNC_SERVER + File.separatorChar + this.uuid.get());
+    syncDataPath.set(FilePathUtils.regularizePath(
+        syncFolderPath.get() + File.separatorChar + Constans.DATA_SNAPSHOT_NAME));
     schemaFromSenderPath
-        .set(syncFolderPath + File.separator + MetadataConstant.METADATA_LOG);
+        .set(syncFolderPath.get() + File.separator + MetadataConstant.METADATA_LOG);
   }
 
   /**
@@ -327,9 +325,7 @@ public class SyncServiceImpl implements SyncService.Iface {
     String md5OfReceiver = Boolean.toString(Boolean.TRUE);
     FileChannel channel;
     /** Recombination File Path **/
-    String filePath = StringUtils.join(filePathSplit, File.separatorChar);
-    syncDataPath = FilePathUtils.regularizePath(syncDataPath);
-    filePath = syncDataPath + filePath;
+    String filePath = getReceivedFilePath(filePathSplit);
     if (status == SyncDataStatus.PROCESSING_STATUS) { // there are still data stream to add
       File file = new File(filePath);
       if (!file.getParentFile().exists()) {
@@ -359,9 +355,9 @@ public class SyncServiceImpl implements SyncService.Iface {
         }
         md5OfReceiver = (new BigInteger(1, md.digest())).toString(16);
         if (md5OfSender.equals(md5OfReceiver)) {
-          fileNum.set(fileNum.get() + 1);
+          int receivedNum = getFileNum().incrementAndGet();
 
-          logger.info(String.format("Receiver has received %d files from sender", fileNum.get()));
+          logger.info(String.format("Receiver has received %d files from sender", receivedNum));
         } else {
           FileUtils.forceDelete(new File(filePath));
         }
@@ -373,10 +369,101 @@ public class SyncServiceImpl implements SyncService.Iface {
   }
 
 
+  /**
+   * Get the length of a file received so far, the sender resumes sending the file from it.
+   */
+  @Override
+  public long getReceivedLength(List<String> filePathSplit) {
+    return new File(getReceivedFilePath(filePathSplit) + Constans.RECEIVING_FILE_SUFFIX).length();
+  }
+
+  /**
+   * Write a block of a file. The block is dropped if its checksum does not match or it does not
+   * follow the received part of the file, in either case the sender can tell it from the returned
+   * length and resend from there.
+   *
+   * @param offset the position of the block in the file
+   * @param checksum CRC32 of the block
+   * @return the length of the file received so far, or -1 if the block cannot be written
+   */
+  @Override
+  public long syncDataBlock(List<String> filePathSplit, long offset, ByteBuffer dataToReceive,
+      long checksum) {
+    File file = new File(getReceivedFilePath(filePathSplit) + Constans.RECEIVING_FILE_SUFFIX);
+    if (!file.getParentFile().exists() && !file.getParentFile().mkdirs()) {
+      logger.error("cannot make directory {}", file.getParentFile().getPath());
+      return -1;
+    }
+    CRC32 crc32 = new CRC32();
+    crc32.update(dataToReceive.duplicate());
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      FileChannel channel = raf.getChannel();
+      if (crc32.getValue() != checksum) {
+        logger.warn("checksum of the block at {} of {} mismatches, drop it", offset,
+            file.getPath());
+        return channel.size();
+      }
+      if (offset > channel.size()) {
+        return channel.size();
+      }
+      // the sender is resending data that has been received, overwrite it
+      channel.truncate(offset);
+      channel.position(offset);
+      while (dataToReceive.hasRemaining()) {
+        channel.write(dataToReceive);
+      }
+      return channel.size();
+    } catch (IOException e) {
+      logger.error("cannot write data to file {}", file.getPath(), e);
+      return -1;
+    }
+  }
+
+  /**
+   * Mark a file as completely received, so that it will be loaded.
+   *
+   * @param length the length of the file on the sender
+   */
+  @Override
+  public boolean finishFile(List<String> filePathSplit, long length) {
+    String filePath = getReceivedFilePath(filePathSplit);
+    File receivingFile = new File(filePath + Constans.RECEIVING_FILE_SUFFIX);
+    if (receivingFile.length() != length) {
+      logger.warn("Receiver has received {} bytes of {}, but the length of it is {}",
+          receivingFile.length(), filePath, length);
+      return false;
+    }
+    File receivedFile = new File(filePath);
+    try {
+      if (receivedFile.exists()) {
+        FileUtils.forceDelete(receivedFile);
+      }
+      FileUtils.moveFile(receivingFile, receivedFile);
+    } catch (IOException e) {
+      logger.error("cannot rename the received file {}", filePath, e);
+      return false;
+    }
+    getFileNum().incrementAndGet();
+    logger.info("Receiver has received file {}", filePath);
+    return true;
+  }
+
+  /**
+   * Get the num of files received from the sender of the current connection.
+   */
+  AtomicInteger getFileNum() {
+    return fileNums.computeIfAbsent(uuid.get(), k -> new AtomicInteger());
+  }
+
+  private String getReceivedFilePath(List<String> filePathSplit) {
+    return syncDataPath.get() + StringUtils.join(filePathSplit, File.separatorChar);
+  }
+
   @Override
   public boolean load() {
     try {
       getFileNodeInfo();
+      loadDeletions();
       loadData();
     } catch (Exception e) {
       logger.error("fail to load data", e);
@@ -389,13 +476,24 @@ public class SyncServiceImpl implements SyncService.Iface {
    * Get all tsfiles' info which are sent from sender, it is preparing for merging these data
    */
   public void getFileNodeInfo() throws IOException {
-    File dataFileRoot = new File(syncDataPath);
+    File dataFileRoot = new File(syncDataPath.get());
     File[] files = dataFileRoot.listFiles();
+    if (files == null) {
+      return;
+    }
     int processedNum = 0;
     for (File storageGroupPB : files) {
       List<String> filesPath = new ArrayList<>();
       File[] filesSG = storageGroupPB.listFiles();
       for (File fileTF : filesSG) { // fileTF means TsFiles
+        if (fileTF.getName().endsWith(Constans.RECEIVING_FILE_SUFFIX)) {
+          // not received completely
+          continue;
+        }
+        if (fileTF.getName().endsWith(ModificationFile.FILE_SUFFIX)) {
+          // deletions are loaded with their tsfiles or by loadDeletions()
+          continue;
+        }
         Map<String, Long> startTimeMap = new HashMap<>();
         Map<String, Long> endTimeMap = new HashMap<>();
         TsFileSequenceReader reader = null;
@@ -427,7 +525,7 @@ public class SyncServiceImpl implements SyncService.Iface {
         filesPath.add(fileTF.getPath());
         processedNum++;
         logger.info(String
-            .format("Get tsfile info has complete : %d/%d", processedNum, fileNum.get()));
+            .format("Get tsfile info has complete : %d/%d", processedNum, getFileNum().get()));
         fileNodeMap.get().put(storageGroupPB.getName(), filesPath);
       }
     }
@@ -435,12 +533,45 @@ public class SyncServiceImpl implements SyncService.Iface {
 
 
   /**
-   * It is to merge data. If data in the tsfile is new, append the tsfile to the storage group
-   * directly. If data in the tsfile is old, it has two strategy to merge.It depends on the
-   * possibility of updating historical data.
+   * Apply the deletions that the sender has made on the data synchronized in previous rounds. They
+   * are applied before the new tsfiles are loaded, whose own deletions come in their .mods files.
+   */
+  public void loadDeletions() throws StorageEngineException {
+    File[] storageGroupDirs = new File(syncDataPath.get()).listFiles();
+    if (storageGroupDirs == null) {
+      return;
+    }
+    for (File storageGroupDir : storageGroupDirs) {
+      File deletionFile = new File(storageGroupDir, Constans.DELETION_FILE_NAME);
+      if (!deletionFile.exists()) {
+        continue;
+      }
+      ModificationFile modificationFile = new ModificationFile(deletionFile.getPath());
+      int deletionNum = 0;
+      for (Modification modification : modificationFile.getModifications()) {
+        if (modification instanceof Deletion) {
+          Deletion deletion = (Deletion) modification;
+          STORAGE_GROUP_MANAGER.delete(deletion.getDevice(), deletion.getMeasurement(),
+              deletion.getStartTime(), deletion.getTimestamp());
+          deletionNum++;
+        }
+      }
+      try {
+        modificationFile.close();
+      } catch (IOException e) {
+        logger.error("Cannot close deletion file {}", deletionFile.getPath(), e);
+      }
+      logger.info("Receiver has applied {} deletions of storage group {}", deletionNum,
+          storageGroupDir.getName());
+    }
+  }
+
+  /**
+   * It is to merge data. Every tsfile is attached to its storage group directly. If data in the
+   * tsfile is new, it becomes a sequence file of the storage group, otherwise an unsequence file
+   * whose data is merged with the existing data when queried.
    */
   public void loadData() throws StorageEngineException {
-    syncDataPath = FilePathUtils.regularizePath(syncDataPath);
     int processedNum = 0;
     for (String storageGroup : fileNodeMap.get().keySet()) {
       List<String> filesPath = fileNodeMap.get().get(storageGroup);
@@ -461,248 +592,17 @@ public class SyncServiceImpl implements SyncService.Iface {
       });
 
       for (String path : filesPath) {
-        // get startTimeMap and endTimeMap
-        Map<String, Long> startTimeMap = fileNodeStartTime.get().get(path);
-        Map<String, Long> endTimeMap = fileNodeEndTime.get().get(path);
-
-        // create a new fileNode
-        String header = syncDataPath;
-        String relativePath = path.substring(header.length());
-        TsFileResource fileNode = new TsFileResource(
-            new File(DirectoryManager.getInstance().getNextFolderIndexForSequenceFile() +
-                File.separator + relativePath), startTimeMap, endTimeMap
-        );
         // call interface of load external file
         try {
-          if (!STORAGE_GROUP_MANAGER.appendFileToStorageGroupProcessor(storageGroup, fileNode, path)) {
-            // it is a file with unsequence data
-            if (config.isUpdateHistoricalDataPossibility()) {
-              loadOldData(path);
-            } else {
-              List<String> overlapFiles = STORAGE_GROUP_MANAGER.getOverlapFiles(
-                  storageGroup,
-                  fileNode, uuid.get());
-              if (overlapFiles.isEmpty()) {
-                loadOldData(path);
-              } else {
-                loadOldData(path, overlapFiles);
-              }
-            }
-          }
-        } catch (StorageEngineException | IOException | ProcessorException e) {
+          STORAGE_GROUP_MANAGER.loadNewTsFile(new File(path), true);
+        } catch (StorageEngineException e) {
           logger.error("Can not load external file {}", path);
-          throw new StorageEngineException(e);
+          throw e;
         }
         processedNum++;
         logger.info(String
-            .format("Merging files has completed : %d/%d", processedNum, fileNum.get()));
-      }
-    }
-  }
-
-  /**
-   * Insert all data in the tsfile into IoTDB.
-   */
-  public void loadOldData(String filePath) throws IOException, ProcessorException {
-    Set<String> timeseriesSet = new HashSet<>();
-    TsFileSequenceReader reader = null;
-    QueryProcessExecutor insertExecutor = new QueryProcessExecutor();
-    try {
-      /** use tsfile reader to get data **/
-      reader = new TsFileSequenceReader(filePath);
-      Map<String, TsDeviceMetadataIndex> deviceIdMap = reader.readFileMetadata().getDeviceMap();
-      Iterator<Entry<String, TsDeviceMetadataIndex>> entryIterator = deviceIdMap.entrySet()
-          .iterator();
-      while (entryIterator.hasNext()) {
-        Entry<String, TsDeviceMetadataIndex> deviceMIEntry = entryIterator.next();
-        String deviceId = deviceMIEntry.getKey();
-        TsDeviceMetadataIndex deviceMI = deviceMIEntry.getValue();
-        TsDeviceMetadata deviceMetadata = reader.readTsDeviceMetaData(deviceMI);
-        List<ChunkGroupMetaData> rowGroupMetadataList = deviceMetadata.getChunkGroupMetaDataList();
-        timeseriesSet.clear();
-        /** firstly, get all timeseries in the same device **/
-        for (ChunkGroupMetaData chunkGroupMetaData : rowGroupMetadataList) {
-          List<ChunkMetaData> chunkMetaDataList = chunkGroupMetaData
-              .getChunkMetaDataList();
-          for (ChunkMetaData chunkMetaData : chunkMetaDataList) {
-            String measurementUID = chunkMetaData.getMeasurementUid();
-            measurementUID = deviceId + "." + measurementUID;
-            timeseriesSet.add(measurementUID);
-          }
-        }
-        /** Secondly, use tsFile Reader to form InsertPlan **/
-        ReadOnlyTsFile readTsFile = new ReadOnlyTsFile(reader);
-        List<Path> paths = new ArrayList<>();
-        paths.clear();
-        for (String timeseries : timeseriesSet) {
-          paths.add(new Path(timeseries));
-        }
-        QueryExpression queryExpression = QueryExpression.create(paths, null);
-        QueryDataSet queryDataSet = readTsFile.query(queryExpression);
-        while (queryDataSet.hasNext()) {
-          RowRecord record = queryDataSet.next();
-          List<Field> fields = record.getFields();
-          List<String> measurementList = new ArrayList<>();
-          List<String> insertValues = new ArrayList<>();
-          for (int i = 0; i < fields.size(); i++) {
-            Field field = fields.get(i);
-            if (!field.isNull()) {
-              measurementList.add(paths.get(i).getMeasurement());
-              if (fields.get(i).getDataType() == TSDataType.TEXT) {
-                insertValues.add(String.format("'%s'", field.toString()));
-              } else {
-                insertValues.add(String.format("%s", field.toString()));
-              }
-            }
-          }
-          if (insertExecutor.insert(new InsertPlan(deviceId, record.getTimestamp(),
-              measurementList.toArray(new String[0]), insertValues.toArray(new String[0])))) {
-            throw new IOException("Inserting series data to IoTDB engine has failed.");
-          }
-        }
-      }
-    } catch (IOException e) {
-      logger.error("Can not parse tsfile into SQL", e);
-      throw new IOException(e);
-    } catch (ProcessorException e) {
-      logger.error("Meet error while processing non-query.");
-      throw new ProcessorException(e);
-    } finally {
-      try {
-        if (reader != null) {
-          reader.close();
-        }
-      } catch (IOException e) {
-        logger.error("Cannot close file stream {}", filePath, e);
-      }
-    }
-  }
-
-  /**
-   * Insert those valid data in the tsfile into IoTDB
-   *
-   * @param overlapFiles:files which are conflict with the sync file
-   */
-  public void loadOldData(String filePath, List<String> overlapFiles)
-      throws IOException, ProcessorException {
-    Set<String> timeseriesList = new HashSet<>();
-    QueryProcessExecutor insertExecutor = new QueryProcessExecutor();
-    Map<String, ReadOnlyTsFile> tsfilesReaders = openReaders(filePath, overlapFiles);
-    try {
-      TsFileSequenceReader reader = new TsFileSequenceReader(filePath);
-      Map<String, TsDeviceMetadataIndex> deviceIdMap = reader.readFileMetadata().getDeviceMap();
-      Iterator<String> it = deviceIdMap.keySet().iterator();
-      while (it.hasNext()) {
-        String deviceID = it.next();
-        TsDeviceMetadataIndex deviceMI = deviceIdMap.get(deviceID);
-        TsDeviceMetadata deviceMetadata = reader.readTsDeviceMetaData(deviceMI);
-        List<ChunkGroupMetaData> chunkGroupMetaDataList = deviceMetadata
-            .getChunkGroupMetaDataList();
-        timeseriesList.clear();
-        /** firstly, get all timeseries in the same device **/
-        for (ChunkGroupMetaData chunkGroupMetaData : chunkGroupMetaDataList) {
-          List<ChunkMetaData> chunkMetaDataList = chunkGroupMetaData.getChunkMetaDataList();
-          for (ChunkMetaData timeSeriesChunkMetaData : chunkMetaDataList) {
-            String measurementUID = timeSeriesChunkMetaData.getMeasurementUid();
-            measurementUID = deviceID + "." + measurementUID;
-            timeseriesList.add(measurementUID);
-          }
-        }
-        reader.close();
-
-        /** secondly, use tsFile Reader to form SQL **/
-        ReadOnlyTsFile readOnlyTsFile = tsfilesReaders.get(filePath);
-        List<Path> paths = new ArrayList<>();
-        /** compare data with one timeseries in a round to get valid data **/
-        for (String timeseries : timeseriesList) {
-          paths.clear();
-          paths.add(new Path(timeseries));
-          Set<InsertPlan> originDataPoints = new HashSet<>();
-          QueryExpression queryExpression = QueryExpression.create(paths, null);
-          QueryDataSet queryDataSet = readOnlyTsFile.query(queryExpression);
-          Set<InsertPlan> newDataPoints = convertToInserPlans(queryDataSet, paths, deviceID);
-
-          /** get all data with the timeseries in all overlap files. **/
-          for (String overlapFile : overlapFiles) {
-            ReadOnlyTsFile readTsFileOverlap = tsfilesReaders.get(overlapFile);
-            QueryDataSet queryDataSetOverlap = readTsFileOverlap.query(queryExpression);
-            originDataPoints.addAll(convertToInserPlans(queryDataSetOverlap, paths, deviceID));
-          }
-
-          /** If there has no overlap data with the timeseries, inserting all data in the sync file **/
-          if (originDataPoints.isEmpty()) {
-            for (InsertPlan insertPlan : newDataPoints) {
-              if (insertExecutor.insert(insertPlan)) {
-                throw new IOException("Inserting series data to IoTDB engine has failed.");
-              }
-            }
-          } else {
-            /** Compare every data to get valid data **/
-            for (InsertPlan insertPlan : newDataPoints) {
-              if (!originDataPoints.contains(insertPlan)) {
-                if (insertExecutor.insert(insertPlan)) {
-                  throw new IOException("Inserting series data to IoTDB engine has failed.");
-                }
-              }
-            }
-          }
-        }
+            .format("Merging files has completed : %d/%d", processedNum, getFileNum().get()));
       }
-    } catch (IOException e) {
-      logger.error("Can not parse tsfile into SQL", e);
-      throw new IOException(e);
-    } catch (ProcessorException e) {
-      logger.error("Meet error while processing non-query.", e);
-      throw new ProcessorException(e);
-    } finally {
-      try {
-        closeReaders(tsfilesReaders);
-      } catch (IOException e) {
-        logger.error("Cannot close file stream {}", filePath, e);
-      }
-    }
-  }
-
-  private Set<InsertPlan> convertToInserPlans(QueryDataSet queryDataSet, List<Path> paths, String deviceID) throws IOException {
-    Set<InsertPlan> plans = new HashSet<>();
-    while (queryDataSet.hasNext()) {
-      RowRecord record = queryDataSet.next();
-      List<Field> fields = record.getFields();
-      /** get all data with the timeseries in the sync file **/
-      for (int i = 0; i < fields.size(); i++) {
-        Field field = fields.get(i);
-        String[] measurementList = new String[1];
-        if (!field.isNull()) {
-          measurementList[0] = paths.get(i).getMeasurement();
-          InsertPlan insertPlan = new InsertPlan(deviceID, record.getTimestamp(),
-              measurementList, new String[]{field.getDataType() == TSDataType.TEXT ? String.format("'%s'", field.toString())
-              : field.toString()});
-          plans.add(insertPlan);
-        }
-      }
-    }
-    return plans;
-  }
-
-  /**
-   * Open all tsfile reader and cache
-   */
-  private Map<String, ReadOnlyTsFile> openReaders(String filePath, List<String> overlapFiles)
-      throws IOException {
-    Map<String, ReadOnlyTsFile> tsfileReaders = new HashMap<>();
-    tsfileReaders.put(filePath, new ReadOnlyTsFile(new TsFileSequenceReader(filePath)));
-    for (String overlapFile : overlapFiles) {
-      tsfileReaders.put(overlapFile, new ReadOnlyTsFile(new TsFileSequenceReader(overlapFile)));
-    }
-    return tsfileReaders;
-  }
-
-  /**
-   * Close all tsfile reader
-   */
-  private void closeReaders(Map<String, ReadOnlyTsFile> readers) throws IOException {
-    for (ReadOnlyTsFile tsfileReader : readers.values()) {
-      tsfileReader.close();
     }
   }
 
@@ -711,17 +611,19 @@ public class SyncServiceImpl implements SyncService.Iface {
    */
   @Override
   public void cleanUp() {
+    fileNums.remove(uuid.get());
     uuid.remove();
-    fileNum.remove();
     fileNodeMap.remove();
     fileNodeStartTime.remove();
     fileNodeEndTime.remove();
     schemaFromSenderPath.remove();
     try {
-      FileUtils.deleteDirectory(new File(syncFolderPath));
+      FileUtils.deleteDirectory(new File(syncFolderPath.get()));
     } catch (IOException e) {
-      logger.error("can not delete directory {}", syncFolderPath, e);
+      logger.error("can not delete directory {}", syncFolderPath.get(), e);
     }
+    syncFolderPath.remove();
+    syncDataPath.remove();
     logger.info("Synchronization has finished!");
   }
 
@@ -18,19 +18,29 @@
  */
 package org.apache.iotdb.db.sync.sender;
 
+import static org.apache.iotdb.tsfile.common.constant.TsFileConstant.TSFILE_SUFFIX;
+
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import org.apache.iotdb.db.conf.IoTDBConfig;
-import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import java.util.TreeMap;
+import org.apache.iotdb.db.conf.directories.DirectoryManager;
+import org.apache.iotdb.db.engine.modification.Deletion;
+import org.apache.iotdb.db.engine.modification.Modification;
+import org.apache.iotdb.db.engine.modification.ModificationFile;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.sync.conf.Constans;
 import org.apache.iotdb.db.sync.conf.SyncSenderConfig;
 import org.apache.iotdb.db.sync.conf.SyncSenderDescriptor;
@@ -38,32 +48,43 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * SyncFileManager is used to pick up those tsfiles need to sync.
+ * SyncFileManager is used to pick up those tsfiles and deletions need to sync. For each storage
+ * group it records the largest version of the synchronized tsfiles and deletions, so that a sync
+ * round only sends the sealed tsfiles above it and the deletions made since the last round.
  */
 public class SyncFileManager {
 
   private static final Logger logger = LoggerFactory.getLogger(SyncFileManager.class);
 
   /**
-   * Files that need to be synchronized
+   * Some file systems keep the modification time of a file in seconds.
+   */
+  private static final long MODIFIED_TIME_PRECISION_MS = 1000;
+
+  private static final String PROGRESS_SEPARATOR = ",";
+
+  /**
+   * Sealed tsfiles that need to be synchronized, key means storage group
    **/
   private Map<String, Set<String>> validAllFiles = new HashMap<>();
 
   /**
-   * All tsfiles in last synchronization process
+   * Deletions made on the synchronized tsfiles since the last synchronization, in the order of
+   * their versions, key means storage group
    **/
-  private Set<String> lastLocalFiles = new HashSet<>();
+  private Map<String, List<Deletion>> validDeletions = new HashMap<>();
 
   /**
-   * All tsfiles in data directory
+   * Progress of the last synchronization of each storage group
    **/
-  private Map<String, Set<String>> currentLocalFiles = new HashMap<>();
-
-  private SyncSenderConfig syncConfig = SyncSenderDescriptor.getInstance().getConfig();
+  private Map<String, SyncProgress> lastSyncProgress = new HashMap<>();
 
-  private IoTDBConfig systemConfig = IoTDBDescriptor.getInstance().getConfig();
+  /**
+   * Progress of each storage group once the current synchronization succeeds
+   **/
+  private Map<String, SyncProgress> currentSyncProgress = new HashMap<>();
 
-  private static final String RESTORE_SUFFIX = ".restore";
+  private SyncSenderConfig syncConfig = SyncSenderDescriptor.getInstance().getConfig();
 
   private SyncFileManager() {
   }
@@ -76,112 +97,199 @@ public class SyncFileManager {
    * Initialize SyncFileManager.
    */
   public void init() throws IOException {
-    validAllFiles.clear();
-    lastLocalFiles.clear();
-    currentLocalFiles.clear();
-    getLastLocalFileList(syncConfig.getLastFileInfo());
-    getCurrentLocalFileList(systemConfig.getDataDirs());
-    getValidFileList();
+    getLastSyncProgress(syncConfig.getLastFileInfo());
+    List<String> dataFolders = new ArrayList<>(
+        DirectoryManager.getInstance().getAllSequenceFileFolders());
+    dataFolders.addAll(DirectoryManager.getInstance().getAllUnSequenceFileFolders());
+    getValidFiles(dataFolders, System.currentTimeMillis());
   }
 
   /**
-   * get files that needs to be synchronized
+   * Get tsfiles and deletions that need to be synchronized.
+   *
+   * @param dataFolders sequence and unsequence data folders, which contain a directory for each
+   * storage group
+   * @param syncTime start time of this synchronization
    */
-  public void getValidFileList() {
-    for (Entry<String, Set<String>> entry : currentLocalFiles.entrySet()) {
-      for (String path : entry.getValue()) {
-        if (!lastLocalFiles.contains(path)) {
-          validAllFiles.get(entry.getKey()).add(path);
+  public void getValidFiles(List<String> dataFolders, long syncTime) {
+    validAllFiles.clear();
+    validDeletions.clear();
+    currentSyncProgress.clear();
+    Map<String, List<File>> storageGroupFiles = new HashMap<>();
+    for (String dataFolder : dataFolders) {
+      File[] storageGroups = new File(dataFolder).getAbsoluteFile().listFiles();
+      if (storageGroups == null) {
+        continue;
+      }
+      for (File storageGroup : storageGroups) {
+        if (!storageGroup.isDirectory() || storageGroup.getName().equals(Constans.SYNC_CLIENT)) {
+          continue;
+        }
+        File[] tsFiles = storageGroup.listFiles(file -> file.getName().endsWith(TSFILE_SUFFIX));
+        List<File> files = storageGroupFiles
+            .computeIfAbsent(storageGroup.getName(), k -> new ArrayList<>());
+        if (tsFiles != null) {
+          Collections.addAll(files, tsFiles);
         }
       }
     }
+    for (Entry<String, List<File>> entry : storageGroupFiles.entrySet()) {
+      getStorageGroupValidFiles(entry.getKey(), entry.getValue(), syncTime);
+    }
     logger.info("Acquire list of valid files.");
-    for (Entry<String, Set<String>> entry : validAllFiles.entrySet()) {
-      for (String path : entry.getValue()) {
-        currentLocalFiles.get(entry.getKey()).remove(path);
+  }
+
+  private void getStorageGroupValidFiles(String storageGroup, List<File> tsFiles, long syncTime) {
+    SyncProgress lastProgress = lastSyncProgress
+        .getOrDefault(storageGroup, new SyncProgress(-1, -1, 0));
+    // A tsfile may be sealed later than another one with a larger version. Files from the smallest
+    // unsealed version on wait for the next synchronization, so that no file is left behind the
+    // recorded version.
+    long minUnsealedVersion = Long.MAX_VALUE;
+    Map<File, Long> fileVersions = new HashMap<>();
+    for (File tsFile : tsFiles) {
+      long version = getFileVersion(tsFile);
+      if (version < 0) {
+        logger.warn("Cannot get the version of tsfile {}, skip it", tsFile.getPath());
+        continue;
+      }
+      fileVersions.put(tsFile, version);
+      if (!new File(tsFile.getPath() + TsFileResource.RESOURCE_SUFFIX).exists()) {
+        minUnsealedVersion = Math.min(minUnsealedVersion, version);
+      }
+    }
+
+    SyncProgress currentProgress = new SyncProgress(lastProgress.fileVersion,
+        lastProgress.deletionVersion, syncTime);
+    Set<String> files = new HashSet<>();
+    Map<Long, Deletion> deletions = new TreeMap<>();
+    for (Entry<File, Long> entry : fileVersions.entrySet()) {
+      File tsFile = entry.getKey();
+      long version = entry.getValue();
+      File modFile = new File(tsFile.getPath() + ModificationFile.FILE_SUFFIX);
+      if (version > lastProgress.fileVersion) {
+        if (version < minUnsealedVersion) {
+          files.add(tsFile.getPath());
+          currentProgress.fileVersion = Math.max(currentProgress.fileVersion, version);
+          // deletions in the .mods file are sent along with the tsfile
+          for (Modification modification : readModifications(modFile)) {
+            currentProgress.deletionVersion = Math
+                .max(currentProgress.deletionVersion, modification.getVersionNum());
+          }
+        }
+      } else if (modFile.exists()
+          && modFile.lastModified() >= lastProgress.syncTime - MODIFIED_TIME_PRECISION_MS) {
+        // the same deletion is written to every tsfile it involves, the version identifies it
+        for (Modification modification : readModifications(modFile)) {
+          if (modification instanceof Deletion
+              && modification.getVersionNum() > lastProgress.deletionVersion) {
+            deletions.put(modification.getVersionNum(), (Deletion) modification);
+          }
+        }
       }
     }
+    for (Long deletionVersion : deletions.keySet()) {
+      currentProgress.deletionVersion = Math.max(currentProgress.deletionVersion, deletionVersion);
+    }
+    validAllFiles.put(storageGroup, files);
+    validDeletions.put(storageGroup, new ArrayList<>(deletions.values()));
+    currentSyncProgress.put(storageGroup, currentProgress);
+  }
+
+  private Collection<Modification> readModifications(File modFile) {
+    if (!modFile.exists()) {
+      return Collections.emptyList();
+    }
+    ModificationFile modificationFile = new ModificationFile(modFile.getPath());
+    Collection<Modification> modifications = modificationFile.getModifications();
+    try {
+      modificationFile.close();
+    } catch (IOException e) {
+      logger.error("Cannot close modification file {}", modFile.getPath(), e);
+    }
+    return modifications;
+  }
+
+  /**
+   * Get the version of a tsfile from its name ({systemTime}-{versionNum}.tsfile).
+   *
+   * @return the version, or -1 if the name is not in the form
+   */
+  private long getFileVersion(File tsFile) {
+    String[] items = tsFile.getName().replace(TSFILE_SUFFIX, "").split("-");
+    if (items.length != 2) {
+      return -1;
+    }
+    try {
+      return Long.parseLong(items[1]);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
   }
 
   /**
-   * get last local file list.
+   * Get the progress of the last synchronization. Each line of the file is
+   * "storageGroup,fileVersion,deletionVersion,syncTime", lines not in the form are ignored.
    *
    * @param path path
    */
-  public void getLastLocalFileList(String path) throws IOException {
-    Set<String> fileList = new HashSet<>();
+  public void getLastSyncProgress(String path) throws IOException {
+    Map<String, SyncProgress> progressMap = new HashMap<>();
     File file = new File(path);
     if (!file.exists()) {
       try {
         file.createNewFile();
       } catch (IOException e) {
-        throw new IOException("Cannot get last local file list", e);
+        throw new IOException("Cannot get last sync progress", e);
       }
     } else {
       try (BufferedReader bf = new BufferedReader(new FileReader(file))) {
-        String fileName;
-        while ((fileName = bf.readLine()) != null) {
-          fileList.add(fileName);
+        String line;
+        while ((line = bf.readLine()) != null) {
+          String[] items = line.split(PROGRESS_SEPARATOR);
+          if (items.length != 4) {
+            continue;
+          }
+          try {
+            progressMap.put(items[0], new SyncProgress(Long.parseLong(items[1]),
+                Long.parseLong(items[2]), Long.parseLong(items[3])));
+          } catch (NumberFormatException e) {
+            logger.warn("Ignore illegal sync progress {}", line);
+          }
         }
       } catch (IOException e) {
-        logger.error("Cannot get last local file list when reading file {}.",
-            syncConfig.getLastFileInfo());
+        logger.error("Cannot get last sync progress when reading file {}.", path);
         throw new IOException(e);
       }
     }
-    lastLocalFiles = fileList;
+    lastSyncProgress = progressMap;
   }
 
   /**
-   * get current local file list.
-   *
-   * @param paths paths in String[] structure
+   * Record that the files and deletions of a storage group have been synchronized.
    */
-  public void getCurrentLocalFileList(String[] paths) {
-    for (String path : paths) {
-      if (!new File(path).exists()) {
-        continue;
-      }
-      File[] listFiles = new File(path).listFiles();
-      for (File storageGroup : listFiles) {
-        if (!storageGroup.isDirectory() || storageGroup.getName().equals(Constans.SYNC_CLIENT)) {
-          continue;
-        }
-        getStorageGroupFiles(storageGroup);
-      }
-    }
-  }
-
-  private void getStorageGroupFiles(File storageGroup) {
-    if (!currentLocalFiles.containsKey(storageGroup.getName())) {
-      currentLocalFiles.put(storageGroup.getName(), new HashSet<>());
-    }
-    if (!validAllFiles.containsKey(storageGroup.getName())) {
-      validAllFiles.put(storageGroup.getName(), new HashSet<>());
-    }
-    File[] files = storageGroup.listFiles();
-    for (File file : files) {
-      if (!file.getPath().endsWith(RESTORE_SUFFIX) && !new File(
-          file.getPath() + RESTORE_SUFFIX).exists()) {
-        currentLocalFiles.get(storageGroup.getName()).add(file.getPath());
-      }
+  public void finishStorageGroup(String storageGroup) {
+    SyncProgress progress = currentSyncProgress.get(storageGroup);
+    if (progress != null) {
+      lastSyncProgress.put(storageGroup, progress);
     }
   }
 
   /**
-   * backup current local file information.
+   * backup the progress of synchronization.
    *
    * @param backupFile backup file path
    */
-  public void backupNowLocalFileInfo(String backupFile) {
+  public void backupSyncProgress(String backupFile) {
     try (BufferedWriter bufferedWriter = new BufferedWriter(new FileWriter(backupFile))) {
-      for (Entry<String, Set<String>> entry : currentLocalFiles.entrySet()) {
-        for (String file : entry.getValue()) {
-          bufferedWriter.write(file + "\n");
-        }
+      for (Entry<String, SyncProgress> entry : lastSyncProgress.entrySet()) {
+        SyncProgress progress = entry.getValue();
+        bufferedWriter.write(entry.getKey() + PROGRESS_SEPARATOR + progress.fileVersion
+            + PROGRESS_SEPARATOR + progress.deletionVersion + PROGRESS_SEPARATOR
+            + progress.syncTime + "\n");
       }
     } catch (IOException e) {
-      logger.error("Cannot back up current local file info", e);
+      logger.error("Cannot back up sync progress", e);
     }
   }
 
@@ -189,20 +297,41 @@ public class SyncFileManager {
     return validAllFiles;
   }
 
-  public Set<String> getLastLocalFiles() {
-    return lastLocalFiles;
+  public Map<String, List<Deletion>> getValidDeletions() {
+    return validDeletions;
+  }
+
+  /**
+   * @return the largest version of the synchronized tsfiles of a storage group, or -1 if none
+   */
+  public long getSyncedFileVersion(String storageGroup) {
+    SyncProgress progress = lastSyncProgress.get(storageGroup);
+    return progress == null ? -1 : progress.fileVersion;
   }
 
-  public Map<String, Set<String>> getCurrentLocalFiles() {
-    return currentLocalFiles;
+  /**
+   * @return the largest version of the synchronized deletions of a storage group, or -1 if none
+   */
+  public long getSyncedDeletionVersion(String storageGroup) {
+    SyncProgress progress = lastSyncProgress.get(storageGroup);
+    return progress == null ? -1 : progress.deletionVersion;
   }
 
-  public void setCurrentLocalFiles(Map<String, Set<String>> newNowLocalFiles) {
-    currentLocalFiles = newNowLocalFiles;
+  private static class SyncProgress {
+
+    private long fileVersion;
+    private long deletionVersion;
+    private long syncTime;
+
+    private SyncProgress(long fileVersion, long deletionVersion, long syncTime) {
+      this.fileVersion = fileVersion;
+      this.deletionVersion = deletionVersion;
+      this.syncTime = syncTime;
+    }
   }
 
   private static class FileManagerHolder {
 
     private static final SyncFileManager INSTANCE = new SyncFileManager();
   }
-}
\ No newline at end of file
+}
@@ -28,6 +28,7 @@ import java.io.RandomAccessFile;
 import java.math.BigInteger;
 import java.net.InetAddress;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
@@ -39,14 +40,23 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
 import org.apache.commons.io.FileUtils;
 import org.apache.iotdb.db.concurrent.IoTDBThreadPoolFactory;
 import org.apache.iotdb.db.concurrent.ThreadName;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.modification.Deletion;
+import org.apache.iotdb.db.engine.modification.ModificationFile;
 import org.apache.iotdb.db.exception.SyncConnectionException;
 import org.apache.iotdb.db.sync.conf.Constans;
 import org.apache.iotdb.db.sync.conf.SyncSenderConfig;
@@ -85,9 +95,9 @@ public class SyncSenderImpl implements SyncSender {
   private Map<String, Set<String>> validAllFiles;
 
   /**
-   * All tsfiles in data directory
+   * Deletions on synchronized files that need to be synchronized
    **/
-  private Map<String, Set<String>> currentLocalFiles;
+  private Map<String, List<Deletion>> validDeletions;
 
   /**
    * If true, sync is in execution.
@@ -180,8 +190,9 @@ public class SyncSenderImpl implements SyncSender {
     // 2. Acquire valid files and check
     syncFileManager.init();
     validAllFiles = syncFileManager.getValidAllFiles();
-    currentLocalFiles = syncFileManager.getCurrentLocalFiles();
-    if (SyncUtils.isEmpty(validAllFiles)) {
+    validDeletions = syncFileManager.getValidDeletions();
+    if (SyncUtils.isEmpty(validAllFiles) && validDeletions.values().stream()
+        .allMatch(List::isEmpty)) {
       logger.info("There has no file to sync !");
       return;
     }
@@ -194,8 +205,14 @@ public class SyncSenderImpl implements SyncSender {
     }
 
     // 4. Create snapshot
+    validFileSnapshot.clear();
     for (Entry<String, Set<String>> entry : validAllFiles.entrySet()) {
-      validFileSnapshot.put(entry.getKey(), makeFileSnapshot(entry.getValue()));
+      Set<String> snapshot = makeFileSnapshot(entry.getValue());
+      List<Deletion> deletions = validDeletions.get(entry.getKey());
+      if (deletions != null && !deletions.isEmpty()) {
+        snapshot.add(makeDeletionSnapshot(entry.getKey(), deletions));
+      }
+      validFileSnapshot.put(entry.getKey(), snapshot);
     }
 
     syncStatus = true;
@@ -231,10 +248,11 @@ public class SyncSenderImpl implements SyncSender {
 
   @Override
   public void syncAllData() throws SyncConnectionException {
-    for (Entry<String, Set<String>> entry : validAllFiles.entrySet()) {
-      Set<String> validFiles = entry.getValue();
-      Set<String> validSnapshot = validFileSnapshot.get(entry.getKey());
+    for (Entry<String, Set<String>> entry : validFileSnapshot.entrySet()) {
+      Set<String> validSnapshot = entry.getValue();
       if (validSnapshot.isEmpty()) {
+        // nothing to send, only the time of synchronization moves on
+        syncFileManager.finishStorageGroup(entry.getKey());
         continue;
       }
       logger.info("Sync process starts to transfer data of storage group {}", entry.getKey());
@@ -247,15 +265,15 @@ public class SyncSenderImpl implements SyncSender {
       }
       syncData(validSnapshot);
       if (afterSynchronization()) {
-        currentLocalFiles.get(entry.getKey()).addAll(validFiles);
-        syncFileManager.setCurrentLocalFiles(currentLocalFiles);
-        syncFileManager.backupNowLocalFileInfo(config.getLastFileInfo());
+        syncFileManager.finishStorageGroup(entry.getKey());
+        syncFileManager.backupSyncProgress(config.getLastFileInfo());
         logger.info("Sync process has finished storage group {}.", entry.getKey());
       } else {
         logger.error("Receiver cannot sync data, abandon this synchronization of storage group {}",
             entry.getKey());
       }
     }
+    syncFileManager.backupSyncProgress(config.getLastFileInfo());
   }
 
   /**
@@ -267,14 +285,7 @@ public class SyncSenderImpl implements SyncSender {
   @Override
   public void establishConnection(String serverIp, int serverPort) throws SyncConnectionException {
     transport = new TSocket(serverIp, serverPort);
-    TProtocol protocol;
-    if(IoTDBDescriptor.getInstance().getConfig().isRpcThriftCompressionEnable()) {
-      protocol = new TCompactProtocol(transport);
-    }
-    else {
-      protocol = new TBinaryProtocol(transport);
-    }
-    serviceClient = new SyncService.Client(protocol);
+    serviceClient = new SyncService.Client(createProtocol(transport));
     try {
       transport.open();
     } catch (TTransportException e) {
@@ -284,11 +295,34 @@ public class SyncSenderImpl implements SyncSender {
     }
   }
 
+  private TProtocol createProtocol(TTransport transport) {
+    if (IoTDBDescriptor.getInstance().getConfig().isRpcThriftCompressionEnable()) {
+      return new TCompactProtocol(transport);
+    }
+    return new TBinaryProtocol(transport);
+  }
+
   /**
    * UUID marks the identity of sender for receiver.
    */
   @Override
   public boolean confirmIdentity(String uuidPath) throws SyncConnectionException, IOException {
+    String uuid = getUUID(uuidPath);
+    boolean legalConnection;
+    try {
+      legalConnection = serviceClient.checkIdentity(uuid,
+          InetAddress.getLocalHost().getHostAddress());
+    } catch (Exception e) {
+      logger.error("Cannot confirm identity with receiver");
+      throw new SyncConnectionException(e);
+    }
+    return legalConnection;
+  }
+
+  /**
+   * Read the UUID of the sender, it is generated at the first time.
+   */
+  private String getUUID(String uuidPath) throws IOException {
     File file = new File(uuidPath);
     /** Mark the identity of sender **/
     String uuid;
@@ -312,15 +346,7 @@ public class SyncSenderImpl implements SyncSender {
         throw new IOException(e);
       }
     }
-    boolean legalConnection;
-    try {
-      legalConnection = serviceClient.checkIdentity(uuid,
-          InetAddress.getLocalHost().getHostAddress());
-    } catch (Exception e) {
-      logger.error("Cannot confirm identity with receiver");
-      throw new SyncConnectionException(e);
-    }
-    return legalConnection;
+    return uuid;
   }
 
   private String generateUUID() {
@@ -344,6 +370,13 @@ public class SyncSenderImpl implements SyncSender {
         Path link = FileSystems.getDefault().getPath(snapshotFilePath);
         Path target = FileSystems.getDefault().getPath(filePath);
         Files.createLink(link, target);
+        // the .mods file is still appended by deletions, so it is copied instead of linked
+        File modFile = new File(filePath + ModificationFile.FILE_SUFFIX);
+        if (modFile.exists()) {
+          String modSnapshotPath = snapshotFilePath + ModificationFile.FILE_SUFFIX;
+          FileUtils.copyFile(modFile, new File(modSnapshotPath));
+          validFilesSnapshot.add(modSnapshotPath);
+        }
       }
     } catch (IOException e) {
       logger.error("Can not make fileSnapshot");
@@ -353,72 +386,188 @@ public class SyncSenderImpl implements SyncSender {
   }
 
   /**
-   * Transfer data of a storage group to receiver.
+   * Write deletions of a storage group into a file in the snapshot directory, they are sent and
+   * applied by the receiver before the new tsfiles are loaded.
+   *
+   * @return path of the file
+   */
+  private String makeDeletionSnapshot(String storageGroup, List<Deletion> deletions)
+      throws IOException {
+    File deletionFile = new File(config.getSnapshotPaths()[0] + storageGroup + File.separator
+        + Constans.DELETION_FILE_NAME);
+    if (!deletionFile.getParentFile().exists()) {
+      deletionFile.getParentFile().mkdirs();
+    }
+    ModificationFile modificationFile = new ModificationFile(deletionFile.getPath());
+    try {
+      for (Deletion deletion : deletions) {
+        modificationFile.write(deletion);
+      }
+    } finally {
+      modificationFile.close();
+    }
+    return deletionFile.getPath();
+  }
+
+  /**
+   * Transfer data of a storage group to receiver. Files are transferred in parallel by
+   * config.getSyncThreadNum() threads, each of which has its own connection to the receiver.
    *
    * @param fileSnapshotList list of sending snapshot files in a storage group.
    */
   public void syncData(Set<String> fileSnapshotList) throws SyncConnectionException {
+    Queue<String> fileQueue = new ConcurrentLinkedQueue<>(fileSnapshotList);
+    AtomicInteger successNum = new AtomicInteger();
+    int threadNum = Math.max(1, Math.min(config.getSyncThreadNum(), fileSnapshotList.size()));
+    ExecutorService syncDataPool = IoTDBThreadPoolFactory
+        .newFixedThreadPool(threadNum, ThreadName.SYNC_CLIENT.getName());
+    List<Future<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < threadNum; i++) {
+      futures.add(syncDataPool.submit(() -> {
+        syncFiles(fileQueue, successNum, fileSnapshotList.size());
+        return null;
+      }));
+    }
     try {
-      int successNum = 0;
-      for (String snapshotFilePath : fileSnapshotList) {
-        successNum++;
-        File file = new File(snapshotFilePath);
-        List<String> filePathSplit = new ArrayList<>();
-        String os = System.getProperty("os.name");
-        if (os.toLowerCase().startsWith("windows")) {
-          String[] name = snapshotFilePath.split(File.separator + File.separator);
-          filePathSplit.add(name[name.length - 2]);
-          filePathSplit.add(name[name.length - 1]);
-        } else {
-          String[] name = snapshotFilePath.split(File.separator);
-          filePathSplit.add(name[name.length - 2]);
-          filePathSplit.add(name[name.length - 1]);
-        }
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SyncConnectionException("Interrupted when syncing data with receiver.", e);
+    } catch (ExecutionException e) {
+      throw new SyncConnectionException("Cannot sync data with receiver.", e.getCause());
+    } finally {
+      syncDataPool.shutdownNow();
+    }
+  }
+
+  /**
+   * Transfer files in the queue until it is empty over a new connection. When the connection
+   * fails, it is re-established and the file is resumed from the length the receiver has got.
+   */
+  private void syncFiles(Queue<String> fileQueue, AtomicInteger successNum, int totalNum)
+      throws SyncConnectionException, IOException {
+    // thrift writes a binary from the backing array, so a heap buffer is reused for all blocks
+    ByteBuffer buffer = ByteBuffer.allocate(Constans.DATA_BLOCK_SIZE);
+    TTransport fileTransport = null;
+    SyncService.Client fileClient = null;
+    try {
+      String snapshotFilePath;
+      while ((snapshotFilePath = fileQueue.poll()) != null) {
         int retryCount = 0;
-        // Get md5 of the file.
-        MessageDigest md = MessageDigest.getInstance("MD5");
-        outer:
         while (true) {
-          retryCount++;
-          // Sync all data to receiver
-          if (retryCount > Constans.MAX_SYNC_FILE_TRY) {
-            throw new SyncConnectionException(String
-                .format("can not sync file %s after %s tries.", snapshotFilePath,
-                    Constans.MAX_SYNC_FILE_TRY));
-          }
-          md.reset();
-          byte[] buffer = new byte[Constans.DATA_CHUNK_SIZE];
-          int dataLength;
-          try (FileInputStream fis = new FileInputStream(file);
-              ByteArrayOutputStream bos = new ByteArrayOutputStream(Constans.DATA_CHUNK_SIZE)) {
-            while ((dataLength = fis.read(buffer)) != -1) { // cut the file into pieces to send
-              bos.write(buffer, 0, dataLength);
-              md.update(buffer, 0, dataLength);
-              ByteBuffer buffToSend = ByteBuffer.wrap(bos.toByteArray());
-              bos.reset();
-              if (!Boolean.parseBoolean(serviceClient
-                  .syncData(null, filePathSplit, buffToSend, SyncDataStatus.PROCESSING_STATUS))) {
-                logger.info("Receiver failed to receive data from {}, retry.", snapshotFilePath);
-                continue outer;
+          try {
+            if (fileClient == null) {
+              fileTransport = new TSocket(config.getServerIp(), config.getServerPort());
+              fileClient = new SyncService.Client(createProtocol(fileTransport));
+              fileTransport.open();
+              if (!fileClient.checkIdentity(getUUID(config.getUuidPath()),
+                  InetAddress.getLocalHost().getHostAddress())) {
+                throw new SyncConnectionException("Receiver refused the connection.");
               }
             }
+            syncFile(fileClient, snapshotFilePath, buffer);
+            break;
+          } catch (TException e) {
+            retryCount++;
+            if (retryCount > Constans.MAX_SYNC_FILE_TRY) {
+              throw new SyncConnectionException(String
+                  .format("can not sync file %s after %s tries.", snapshotFilePath,
+                      Constans.MAX_SYNC_FILE_TRY), e);
+            }
+            logger.warn("Connection to receiver failed when syncing {}, reconnect and resume.",
+                snapshotFilePath, e);
+            if (fileTransport != null) {
+              fileTransport.close();
+            }
+            fileClient = null;
           }
+        }
+        logger.info(String.format("Task of synchronization has completed %d/%d.",
+            successNum.incrementAndGet(), totalNum));
+      }
+    } catch (SyncConnectionException | IOException e) {
+      // stop the other threads after their current files
+      fileQueue.clear();
+      throw e;
+    } finally {
+      if (fileTransport != null) {
+        fileTransport.close();
+      }
+    }
+  }
 
-          // the file is sent successfully
-          String md5OfSender = (new BigInteger(1, md.digest())).toString(16);
-          String md5OfReceiver = serviceClient.syncData(md5OfSender, filePathSplit,
-              null, SyncDataStatus.FINISH_STATUS);
-          if (md5OfSender.equals(md5OfReceiver)) {
-            logger.info("Receiver has received {} successfully.", snapshotFilePath);
-            break;
+  /**
+   * Transfer a file block by block from the length the receiver has got. Each block carries its
+   * CRC32, a corrupted block is dropped by the receiver and resent.
+   */
+  private void syncFile(SyncService.Client fileClient, String snapshotFilePath, ByteBuffer buffer)
+      throws TException, IOException, SyncConnectionException {
+    List<String> filePathSplit = getFilePathSplit(snapshotFilePath);
+    CRC32 crc32 = new CRC32();
+    try (FileChannel channel = new FileInputStream(snapshotFilePath).getChannel()) {
+      long length = channel.size();
+      long offset = fileClient.getReceivedLength(filePathSplit);
+      if (offset > length) {
+        // left by an obsolete transmission, an empty block at 0 makes the receiver drop it
+        offset = fileClient.syncDataBlock(filePathSplit, 0, ByteBuffer.allocate(0), 0);
+      }
+      if (offset > 0) {
+        logger.info("Resume syncing {} from {}/{}.", snapshotFilePath, offset, length);
+      }
+      int failureCount = 0;
+      while (offset < length) {
+        buffer.clear();
+        while (buffer.hasRemaining()
+            && channel.read(buffer, offset + buffer.position()) != -1) {
+          // read until the buffer is full or the end of the file
+        }
+        buffer.flip();
+        crc32.reset();
+        crc32.update(buffer.array(), buffer.arrayOffset(), buffer.limit());
+        long receivedLength = fileClient
+            .syncDataBlock(filePathSplit, offset, buffer, crc32.getValue());
+        if (receivedLength < 0) {
+          throw new SyncConnectionException(
+              String.format("Receiver cannot write file %s.", snapshotFilePath));
+        }
+        if (receivedLength != offset + buffer.limit()) {
+          failureCount++;
+          if (failureCount > Constans.MAX_SYNC_FILE_TRY) {
+            throw new SyncConnectionException(String
+                .format("can not sync file %s after %s tries.", snapshotFilePath,
+                    Constans.MAX_SYNC_FILE_TRY));
           }
+          logger.info("Receiver failed to receive data from {} at {}, retry.", snapshotFilePath,
+              offset);
         }
-        logger.info(String.format("Task of synchronization has completed %d/%d.", successNum,
-            fileSnapshotList.size()));
+        offset = Math.min(receivedLength, length);
       }
-    } catch (Exception e) {
-      throw new SyncConnectionException("Cannot sync data with receiver.", e);
+      if (!fileClient.finishFile(filePathSplit, length)) {
+        throw new SyncConnectionException(
+            String.format("Receiver cannot finish file %s.", snapshotFilePath));
+      }
+    }
+    logger.info("Receiver has received {} successfully.", snapshotFilePath);
+  }
+
+  /**
+   * Get the storage group directory and the name of a snapshot file, which locate the file on
+   * the receiver.
+   */
+  private List<String> getFilePathSplit(String snapshotFilePath) {
+    List<String> filePathSplit = new ArrayList<>();
+    String os = System.getProperty("os.name");
+    String[] name;
+    if (os.toLowerCase().startsWith("windows")) {
+      name = snapshotFilePath.split(File.separator + File.separator);
+    } else {
+      name = snapshotFilePath.split(File.separator);
     }
+    filePathSplit.add(name[name.length - 2]);
+    filePathSplit.add(name[name.length - 1]);
+    return filePathSplit;
   }
 
   /**
@@ -21,6 +21,7 @@ package org.apache.iotdb.db.utils;
 import org.apache.iotdb.db.conf.IoTDBConstant;
 import org.apache.iotdb.db.qp.physical.crud.BatchInsertPlan;
 import org.apache.iotdb.db.qp.physical.crud.InsertPlan;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.write.record.TSRecord;
 import org.apache.iotdb.tsfile.write.record.datapoint.BooleanDataPoint;
@@ -95,6 +96,27 @@ public class MemUtils {
     return memSize;
   }
 
+  /**
+   * estimated size of a timestamp and a value of the given type when they are held in memory. The
+   * size of a TEXT value is unknown before it is read, so a short string is assumed.
+   */
+  public static long getPointSize(TSDataType dataType) {
+    switch (dataType) {
+      case INT32:
+      case FLOAT:
+        return 8L + 4L;
+      case INT64:
+      case DOUBLE:
+        return 8L + 8L;
+      case BOOLEAN:
+        return 8L + 1L;
+      case TEXT:
+        return 8L + 8L + 32L;
+      default:
+        return 8L + 8L;
+    }
+  }
+
   /**
    * Calculate how much memory will be used if the given record is written to sequence file.
    */
@@ -41,36 +41,26 @@ public class QueryUtils {
    */
   public static void modifyChunkMetaData(List<ChunkMetaData> chunkMetaData,
                                          List<Modification> modifications) {
-    int modIndex = 0;
-
-    for (int metaIndex = 0; metaIndex < chunkMetaData.size(); metaIndex++) {
-      ChunkMetaData metaData = chunkMetaData.get(metaIndex);
-      for (int j = modIndex; j < modifications.size(); j++) {
-        // iterate each modification to find the max deletion time
-        Modification modification = modifications.get(j);
+    for (ChunkMetaData metaData : chunkMetaData) {
+      for (Modification modification : modifications) {
+        // only the modifications after the Chunk can modify it
         if (modification.getVersionNum() > metaData.getVersion()) {
-          // this modification is after the Chunk, try modifying the chunk
-          // if this modification succeeds, update modIndex so in the next loop the previous
-          // modifications will not be examined
-          modIndex = doModifyChunkMetaData(modification, metaData)? j : modIndex;
-        } else {
-          // skip old modifications for next metadata
-          modIndex++;
+          doModifyChunkMetaData(modification, metaData);
         }
       }
     }
-    // remove chunks that are completely deleted
-    chunkMetaData.removeIf(metaData -> metaData.getDeletedAt() >= metaData.getEndTime());
+    // remove chunks that are completely deleted, so they are neither loaded nor decoded
+    chunkMetaData.removeIf(ChunkMetaData::isFullyDeleted);
   }
 
-  private static boolean doModifyChunkMetaData(Modification modification, ChunkMetaData metaData) {
+  private static void doModifyChunkMetaData(Modification modification, ChunkMetaData metaData) {
     if (modification instanceof Deletion) {
       Deletion deletion = (Deletion) modification;
-      if (metaData.getDeletedAt() < deletion.getTimestamp()) {
-        metaData.setDeletedAt(deletion.getTimestamp());
-        return true;
+      // a deletion not overlapping the chunk would only slow down the checks of its pages
+      if (deletion.getStartTime() <= metaData.getEndTime()
+          && deletion.getTimestamp() >= metaData.getStartTime()) {
+        metaData.insertIntoSortedDeletions(deletion.getStartTime(), deletion.getTimestamp());
       }
     }
-    return false;
   }
 }
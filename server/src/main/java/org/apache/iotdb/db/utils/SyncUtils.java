@@ -32,6 +32,9 @@ public class SyncUtils {
   private static String[] snapshotPaths = SyncSenderDescriptor.getInstance()
       .getConfig().getSnapshotPaths();
 
+  private static String[] dataDirectories = SyncSenderDescriptor.getInstance()
+      .getConfig().getSeqFileDirectory();
+
   private SyncUtils() {
   }
 
@@ -51,14 +54,12 @@ public class SyncUtils {
       name = filePath.split(File.separator);
       relativeFilePath = name[name.length - 2] + File.separator + name[name.length - 1];
     }
-    String bufferWritePath = name[0];
-    for (int i = 1; i < name.length - 2; i++) {
-      bufferWritePath = bufferWritePath + File.separatorChar + name[i];
-    }
-    for (String snapshotPath : snapshotPaths) {
-      if (snapshotPath.startsWith(bufferWritePath)) {
+    for (int i = 0; i < dataDirectories.length; i++) {
+      // the file is in sequence or unsequence folder of the data directory
+      if (filePath.startsWith(dataDirectories[i])) {
+        String snapshotPath = snapshotPaths[i];
         if (!new File(snapshotPath).exists()) {
-          new File(snapshotPath).mkdir();
+          new File(snapshotPath).mkdirs();
         }
         if (snapshotPath.length() > 0
             && snapshotPath.charAt(snapshotPath.length() - 1) != File.separatorChar) {
@@ -0,0 +1,186 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.common.Chunk;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.common.TimeRange;
+import org.apache.iotdb.tsfile.read.controller.MetadataQuerierByFileImpl;
+import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReaderWithoutFilter;
+import org.apache.iotdb.tsfile.write.TsFileWriter;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.record.datapoint.LongDataPoint;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+import org.apache.iotdb.tsfile.write.schema.Schema;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ChunkCacheTest {
+
+  private static final String DEVICE = "root.sg.d1";
+  private static final int SENSOR_NUM = 3;
+  private static final int POINT_NUM = 100;
+
+  private File file = new File("chunk-cache-test.tsfile");
+  private String filePath = file.getPath();
+  private TsFileSequenceReader reader;
+  private ChunkMetaData[] chunkMetaDatas = new ChunkMetaData[SENSOR_NUM];
+
+  @Before
+  public void setUp() throws IOException, WriteProcessException {
+    Schema schema = new Schema();
+    for (int i = 0; i < SENSOR_NUM; i++) {
+      // every chunk has the same size, so does every cache entry
+      schema.registerMeasurement(new MeasurementSchema("s" + i, TSDataType.INT64,
+          TSEncoding.PLAIN, i == 0 ? CompressionType.SNAPPY : CompressionType.UNCOMPRESSED));
+    }
+    TsFileWriter writer = new TsFileWriter(file, schema);
+    for (long time = 0; time < POINT_NUM; time++) {
+      TSRecord record = new TSRecord(time, DEVICE);
+      for (int i = 0; i < SENSOR_NUM; i++) {
+        record.addTuple(new LongDataPoint("s" + i, time * 10 + i));
+      }
+      writer.write(record);
+    }
+    writer.close();
+
+    reader = new TsFileSequenceReader(filePath);
+    MetadataQuerierByFileImpl metadataQuerier = new MetadataQuerierByFileImpl(reader);
+    for (int i = 0; i < SENSOR_NUM; i++) {
+      List<ChunkMetaData> metaDataList = metadataQuerier
+          .getChunkMetaDataList(new Path(DEVICE, "s" + i));
+      assertEquals(1, metaDataList.size());
+      chunkMetaDatas[i] = metaDataList.get(0);
+    }
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    reader.close();
+    if (file.exists()) {
+      assertTrue(file.delete());
+    }
+  }
+
+  private long entrySize(int sensor) throws IOException {
+    String key = filePath + '#' + chunkMetaDatas[sensor].getOffsetOfChunkHeader();
+    // the uncompressed chunk of s1 is as large as the cached one of s0
+    Chunk chunk = reader.readMemChunk(chunkMetaDatas[1]);
+    return key.length() * 2L + chunk.getData().capacity() + 128;
+  }
+
+  private void checkPoints(Chunk chunk, int sensor, long deletedBefore) throws IOException {
+    ChunkReaderWithoutFilter chunkReader = new ChunkReaderWithoutFilter(chunk);
+    long time = Math.max(0, deletedBefore + 1);
+    while (chunkReader.hasNextBatch()) {
+      BatchData batchData = chunkReader.nextBatch();
+      while (batchData.hasNext()) {
+        assertEquals(time, batchData.currentTime());
+        assertEquals(time * 10 + sensor, batchData.getLong());
+        batchData.next();
+        time++;
+      }
+    }
+    assertEquals(POINT_NUM, time);
+  }
+
+  @Test
+  public void testHit() throws IOException {
+    ChunkCache cache = new ChunkCache(Long.MAX_VALUE);
+    long requestNum = cache.getRequestNum();
+    long hitNum = cache.getHitNum();
+    for (int i = 0; i < SENSOR_NUM; i++) {
+      checkPoints(cache.get(filePath, chunkMetaDatas[i], reader), i, -1);
+    }
+    assertEquals(SENSOR_NUM, cache.getCachedChunkNum());
+    assertEquals(hitNum, cache.getHitNum());
+
+    // the cached chunks are shared, each query reads its own copy from the start
+    for (int i = 0; i < SENSOR_NUM; i++) {
+      checkPoints(cache.get(filePath, chunkMetaDatas[i], reader), i, -1);
+      checkPoints(cache.get(filePath, chunkMetaDatas[i], reader), i, -1);
+    }
+    assertEquals(requestNum + SENSOR_NUM * 3, cache.getRequestNum());
+    assertEquals(hitNum + SENSOR_NUM * 2, cache.getHitNum());
+  }
+
+  @Test
+  public void testEvictionByMemory() throws IOException {
+    // room for two chunks
+    ChunkCache cache = new ChunkCache(entrySize(0) * 5 / 2);
+    cache.get(filePath, chunkMetaDatas[0], reader);
+    cache.get(filePath, chunkMetaDatas[1], reader);
+    assertEquals(2, cache.getCachedChunkNum());
+    // s0 is the most recently used
+    cache.get(filePath, chunkMetaDatas[0], reader);
+
+    long hitNum = cache.getHitNum();
+    cache.get(filePath, chunkMetaDatas[2], reader);
+    assertEquals(2, cache.getCachedChunkNum());
+    assertTrue(cache.getUsedMemoryProportion() <= 1);
+
+    // s1 is evicted
+    checkPoints(cache.get(filePath, chunkMetaDatas[0], reader), 0, -1);
+    checkPoints(cache.get(filePath, chunkMetaDatas[2], reader), 2, -1);
+    assertEquals(hitNum + 2, cache.getHitNum());
+    checkPoints(cache.get(filePath, chunkMetaDatas[1], reader), 1, -1);
+    assertEquals(hitNum + 2, cache.getHitNum());
+  }
+
+  @Test
+  public void testDeletion() throws IOException {
+    ChunkCache cache = new ChunkCache(Long.MAX_VALUE);
+    Chunk chunkBeforeDeletion = cache.get(filePath, chunkMetaDatas[0], reader);
+    assertNull(chunkBeforeDeletion.getDeleteIntervalList());
+
+    // a deletion after the chunk is cached applies to the cached chunk
+    chunkMetaDatas[0].setDeleteIntervalList(
+        Collections.singletonList(new TimeRange(Long.MIN_VALUE, 49)));
+    long hitNum = cache.getHitNum();
+    checkPoints(cache.get(filePath, chunkMetaDatas[0], reader), 0, 49);
+    assertEquals(hitNum + 1, cache.getHitNum());
+    // but not to the chunks the queries started before have got
+    checkPoints(chunkBeforeDeletion, 0, -1);
+
+    // the chunks of a deleted file are dropped
+    cache.get(filePath, chunkMetaDatas[1], reader);
+    cache.get("another.tsfile", chunkMetaDatas[1], reader);
+    assertEquals(3, cache.getCachedChunkNum());
+    cache.remove(filePath);
+    assertEquals(1, cache.getCachedChunkNum());
+    cache.get(filePath, chunkMetaDatas[0], reader);
+    assertEquals(hitNum + 1, cache.getHitNum());
+  }
+}
@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.flush;
+
+import org.apache.iotdb.db.utils.datastructure.TVList;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AdaptiveEncodingSelectorTest {
+
+  @Test
+  public void testNotAdaptive() {
+    MeasurementSchema schema = new MeasurementSchema("s1", TSDataType.INT64, TSEncoding.RLE);
+    TVList tvList = TVList.newList(TSDataType.INT64);
+    tvList.putLong(1, 1);
+    Assert.assertSame(schema, AdaptiveEncodingSelector.select(schema, tvList));
+  }
+
+  @Test
+  public void testCounter() {
+    TVList tvList = TVList.newList(TSDataType.INT64);
+    for (int i = 0; i < 5000; i++) {
+      tvList.putLong(i, 1000L + i * 10);
+    }
+    TSEncoding encoding = select(TSDataType.INT64, tvList);
+    Assert.assertTrue(encoding == TSEncoding.TS_2DIFF || encoding == TSEncoding.GORILLA);
+  }
+
+  @Test
+  public void testDouble() {
+    TVList tvList = TVList.newList(TSDataType.DOUBLE);
+    for (int i = 0; i < 5000; i++) {
+      tvList.putDouble(i, 20.5 + (i % 7) * 0.25);
+    }
+    Assert.assertNotEquals(TSEncoding.PLAIN, select(TSDataType.DOUBLE, tvList));
+  }
+
+  @Test
+  public void testText() {
+    TVList tvList = TVList.newList(TSDataType.TEXT);
+    String[] states = {"running", "stopped", "maintenance"};
+    for (int i = 0; i < 100; i++) {
+      tvList.putBinary(i, new Binary(states[i % states.length]));
+    }
+    Assert.assertEquals(TSEncoding.PLAIN_DICTIONARY, select(TSDataType.TEXT, tvList));
+  }
+
+  @Test
+  public void testBoolean() {
+    TVList tvList = TVList.newList(TSDataType.BOOLEAN);
+    for (int i = 0; i < 3000; i++) {
+      tvList.putBoolean(i, i < 1500);
+    }
+    Assert.assertEquals(TSEncoding.RLE, select(TSDataType.BOOLEAN, tvList));
+  }
+
+  @Test
+  public void testEmpty() {
+    // a deletion removes every point of the series from the memtable before it is flushed
+    TVList tvList = TVList.newList(TSDataType.INT64);
+    for (int i = 0; i < 100; i++) {
+      tvList.putLong(i, i);
+    }
+    tvList.delete(0, 99);
+    Assert.assertEquals(0, tvList.size());
+    Assert.assertEquals(TSEncoding.TS_2DIFF, select(TSDataType.INT64, tvList));
+    Assert.assertEquals(TSEncoding.CHIMP,
+        select(TSDataType.DOUBLE, TVList.newList(TSDataType.DOUBLE)));
+  }
+
+  private TSEncoding select(TSDataType dataType, TVList tvList) {
+    MeasurementSchema schema = new MeasurementSchema("s1", dataType, TSEncoding.ADAPTIVE,
+        CompressionType.SNAPPY);
+    MeasurementSchema chunkSchema = AdaptiveEncodingSelector.select(schema, tvList);
+    Assert.assertEquals(dataType, chunkSchema.getType());
+    Assert.assertEquals(CompressionType.SNAPPY, chunkSchema.getCompressor());
+    return chunkSchema.getEncodingType();
+  }
+}
@@ -0,0 +1,158 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.tsfile.common.constant.StatisticConstant;
+import org.apache.iotdb.tsfile.file.metadata.ChunkGroupMetaData;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
+import org.apache.iotdb.tsfile.file.metadata.TsDigest;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter;
+import org.apache.iotdb.tsfile.read.filter.ValueFilter;
+import org.apache.iotdb.tsfile.read.filter.factory.FilterFactory;
+import org.apache.iotdb.tsfile.utils.BytesUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SeriesIndexTest {
+
+  private static final String STORAGE_GROUP = "root.index";
+  private static final Path TEMPERATURE = new Path("root.index.d1", "temperature");
+  private static final Path HUMIDITY = new Path("root.index.d1", "humidity");
+
+  private SeriesIndex index = SeriesIndex.getInstance();
+  private TsFileResource file1;
+  private TsFileResource file2;
+
+  @Before
+  public void setUp() throws IOException {
+    file1 = new TsFileResource(new File(STORAGE_GROUP, "1-1.tsfile"));
+    file2 = new TsFileResource(new File(STORAGE_GROUP, "2-2.tsfile"));
+
+    // file1: temperature in [20, 80] over two chunks
+    index.addSealedFile(file1.getFile(), Collections.singletonList(
+        new ChunkGroupMetaData("root.index.d1", Arrays.asList(
+            chunk("temperature", 0, 99, 20.0, 50.0), chunk("temperature", 100, 199, 30.0, 80.0)),
+            0)));
+    // file2: temperature in [60, 95], humidity in [40, 60]
+    index.addSealedFile(file2.getFile(), Collections.singletonList(
+        new ChunkGroupMetaData("root.index.d1", Arrays.asList(
+            chunk("temperature", 200, 299, 60.0, 95.0), chunk("humidity", 200, 299, 40.0, 60.0)),
+            0)));
+  }
+
+  @After
+  public void tearDown() {
+    index.deleteStorageGroup(STORAGE_GROUP);
+  }
+
+  private ChunkMetaData chunk(String measurement, long startTime, long endTime, double min,
+      double max) {
+    ChunkMetaData chunkMetaData = new ChunkMetaData(measurement, TSDataType.DOUBLE, 0, startTime,
+        endTime);
+    chunkMetaData.setNumOfPoints(endTime - startTime + 1);
+    TsDigest digest = new TsDigest();
+    digest.addStatistics(StatisticConstant.MIN_VALUE, ByteBuffer.wrap(BytesUtils.doubleToBytes(min)));
+    digest.addStatistics(StatisticConstant.MAX_VALUE, ByteBuffer.wrap(BytesUtils.doubleToBytes(max)));
+    chunkMetaData.setDigest(digest);
+    return chunkMetaData;
+  }
+
+  @Test
+  public void testSummary() {
+    SeriesSummary summary = index.getSummary(STORAGE_GROUP, "1-1.tsfile",
+        TEMPERATURE.getFullPath());
+    assertEquals(0, summary.getStartTime());
+    assertEquals(199, summary.getEndTime());
+    assertEquals(200, summary.getCount());
+    assertNull(index.getSummary(STORAGE_GROUP, "1-1.tsfile", HUMIDITY.getFullPath()));
+  }
+
+  @Test
+  public void testValueFilter() {
+    assertTrue(index.canSkip(file1, TEMPERATURE, ValueFilter.gt(90.0)));
+    assertFalse(index.canSkip(file2, TEMPERATURE, ValueFilter.gt(90.0)));
+    assertFalse(index.canSkip(file1, TEMPERATURE, ValueFilter.lt(25.0)));
+    assertTrue(index.canSkip(file2, TEMPERATURE, ValueFilter.lt(25.0)));
+    assertTrue(index.canSkip(file2, TEMPERATURE, FilterFactory
+        .and(ValueFilter.gt(90.0), TimeFilter.lt(200L))));
+    assertFalse(index.canSkip(file1, TEMPERATURE, null));
+  }
+
+  @Test
+  public void testAbsentSeries() {
+    // file1 is indexed but has no humidity
+    assertTrue(index.canSkip(file1, HUMIDITY, null));
+    assertFalse(index.canSkip(file2, HUMIDITY, null));
+  }
+
+  @Test
+  public void testUnindexedFile() {
+    TsFileResource file3 = new TsFileResource(new File(STORAGE_GROUP, "3-3.tsfile"));
+    assertFalse(index.canSkip(file3, TEMPERATURE, ValueFilter.gt(1000.0)));
+  }
+
+  @Test
+  public void testReload() {
+    index.clear();
+    assertTrue(index.canSkip(file1, TEMPERATURE, ValueFilter.gt(90.0)));
+    assertFalse(index.canSkip(file2, TEMPERATURE, ValueFilter.gt(90.0)));
+  }
+
+  @Test
+  public void testBrokenRecord() throws IOException {
+    File indexFile = new File(new File(IoTDBDescriptor.getInstance().getConfig().getIndexFileDir(),
+        STORAGE_GROUP), SeriesIndex.INDEX_FILE_NAME);
+    long length = indexFile.length();
+    // a record whose size is written but not its content
+    try (OutputStream outputStream = new FileOutputStream(indexFile, true)) {
+      outputStream.write(new byte[]{0, 0, 1, 0, 1, 2});
+    }
+    index.clear();
+    assertTrue(index.canSkip(file1, TEMPERATURE, ValueFilter.gt(90.0)));
+    assertEquals(length, indexFile.length());
+
+    // records appended after the truncation are read
+    List<ChunkMetaData> chunks = new ArrayList<>();
+    chunks.add(chunk("temperature", 300, 399, 0.0, 10.0));
+    TsFileResource file3 = new TsFileResource(new File(STORAGE_GROUP, "3-3.tsfile"));
+    index.addSealedFile(file3.getFile(),
+        Collections.singletonList(new ChunkGroupMetaData("root.index.d1", chunks, 0)));
+    index.clear();
+    assertTrue(index.canSkip(file3, TEMPERATURE, ValueFilter.gt(90.0)));
+  }
+}
@@ -31,7 +31,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import org.apache.iotdb.db.conf.directories.DirectoryManager;
 import org.apache.iotdb.db.engine.StorageEngine;
-import org.apache.iotdb.db.engine.modification.io.LocalTextModificationAccessor;
+import org.apache.iotdb.db.engine.modification.io.LocalBinaryModificationAccessor;
 import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
 import org.apache.iotdb.db.exception.StorageEngineException;
 import org.apache.iotdb.db.exception.MetadataErrorException;
@@ -151,8 +151,8 @@ public class DeletionFileNodeTest {
         -> name.endsWith(ModificationFile.FILE_SUFFIX));
     assertEquals(1, modFiles.length);
 
-    LocalTextModificationAccessor accessor =
-        new LocalTextModificationAccessor(modFiles[0].getPath());
+    LocalBinaryModificationAccessor accessor =
+        new LocalBinaryModificationAccessor(modFiles[0].getPath());
     try {
       Collection<Modification> modifications = accessor.read();
       assertEquals(3, modifications.size());
@@ -247,8 +247,8 @@ public class DeletionFileNodeTest {
         -> name.endsWith(ModificationFile.FILE_SUFFIX));
     assertEquals(1, modFiles.length);
 
-    LocalTextModificationAccessor accessor =
-        new LocalTextModificationAccessor(modFiles[0].getPath());
+    LocalBinaryModificationAccessor accessor =
+        new LocalBinaryModificationAccessor(modFiles[0].getPath());
     Collection<Modification> modifications = accessor.read();
     assertEquals( 3, modifications.size());
     int i = 0;
@@ -25,6 +25,7 @@ import static org.junit.Assert.fail;
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
+import org.apache.iotdb.db.engine.modification.io.LocalTextModificationAccessor;
 import org.apache.iotdb.tsfile.read.common.Path;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -100,4 +101,68 @@ public class ModificationFileTest {
       new File(tempFileName).delete();
     }
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testPathModifications() {
+    String tempFileName = "mod.temp";
+    Modification[] modifications = new Modification[]{
+        new Deletion(new Path("d1", "s1"), 1, 1),
+        new Deletion(new Path("d1", "s2"), 2, 2),
+        new Deletion(new Path("d1", "s1"), 3, 3),
+        new Deletion(new Path("d1", "s1"), 4, 4),
+    };
+    try {
+      ModificationFile mFile = new ModificationFile(tempFileName);
+      for (Modification modification : modifications) {
+        mFile.write(modification);
+      }
+      mFile.abort();
+      List<Modification> modificationList = mFile.getModifications("d1.s1");
+      assertEquals(2, modificationList.size());
+      assertEquals(modifications[0], modificationList.get(0));
+      assertEquals(modifications[2], modificationList.get(1));
+      assertEquals(1, mFile.getModifications("d1.s2").size());
+      assertEquals(0, mFile.getModifications("d1.s3").size());
+      mFile.close();
+
+      // the index is rebuilt from the file
+      mFile = new ModificationFile(tempFileName);
+      assertEquals(modificationList, mFile.getModifications("d1.s1"));
+      mFile.close();
+    } catch (IOException e) {
+      fail(e.getMessage());
+    } finally {
+      new File(tempFileName).delete();
+    }
+  }
+
+  @Test
+  public void readTextFile() {
+    String tempFileName = "mod.temp";
+    Modification[] modifications = new Modification[]{
+        new Deletion(new Path("d1", "s1"), 1, 1),
+        new Deletion(new Path("d1", "s2"), 2, 2),
+    };
+    try {
+      // a file written by an older version
+      LocalTextModificationAccessor accessor = new LocalTextModificationAccessor(tempFileName);
+      accessor.write(modifications[0]);
+      accessor.close();
+
+      ModificationFile mFile = new ModificationFile(tempFileName);
+      mFile.write(modifications[1]);
+      mFile.close();
+      mFile = new ModificationFile(tempFileName);
+      List<Modification> modificationList = (List<Modification>) mFile.getModifications();
+      assertEquals(2, modificationList.size());
+      for (int i = 0; i < 2; i++) {
+        assertEquals(modifications[i], modificationList.get(i));
+      }
+      mFile.close();
+    } catch (IOException e) {
+      fail(e.getMessage());
+    } finally {
+      new File(tempFileName).delete();
+    }
+  }
+}
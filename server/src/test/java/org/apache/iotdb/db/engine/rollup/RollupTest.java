@@ -0,0 +1,172 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.rollup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.commons.io.FileUtils;
+import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.exception.ProcessorException;
+import org.apache.iotdb.db.query.aggregation.AggregateFunction;
+import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.db.query.factory.AggreFuncFactory;
+import org.apache.iotdb.db.utils.datastructure.TVList;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RollupTest {
+
+  private static final String DEVICE = "root.rollup.d1";
+  private static final Path PATH = new Path(DEVICE, "s1");
+  private static final long[] INTERVALS = {60_000L, 3_600_000L};
+
+  private File dir = new File("rollup-test");
+  private File tsFile = new File(dir, "1-1.tsfile");
+
+  @Before
+  public void setUp() throws IOException {
+    FileUtils.deleteDirectory(dir);
+    dir.mkdirs();
+
+    // one point per second in [0, 180s) with value time / 1000, flushed in two memtables
+    RollupWriter writer = new RollupWriter(tsFile, INTERVALS);
+    MeasurementSchema schema = new MeasurementSchema("s1", TSDataType.DOUBLE, TSEncoding.RLE);
+    writer.update(DEVICE, schema, points(0, 90));
+    writer.flush();
+    // the bucket [60s, 120s) is open across the memtables, only one bucket per interval is kept
+    assertEquals(INTERVALS.length, writer.getOpenBucketNum());
+    writer.update(DEVICE, schema, points(90, 180));
+    writer.flush();
+    assertEquals(INTERVALS.length, writer.getOpenBucketNum());
+    writer.close();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    FileUtils.deleteDirectory(dir);
+  }
+
+  private TVList points(int startSecond, int endSecond) {
+    TVList tvList = TVList.newList(TSDataType.DOUBLE);
+    for (int i = startSecond; i < endSecond; i++) {
+      tvList.putDouble(i * 1000L, i);
+    }
+    // a duplicated timestamp is counted once
+    tvList.putDouble(startSecond * 1000L, startSecond);
+    tvList.sort();
+    return tvList;
+  }
+
+  private TsFileResource resource(File file, long startTime, long endTime) {
+    Map<String, Long> startTimeMap = new HashMap<>();
+    Map<String, Long> endTimeMap = new HashMap<>();
+    startTimeMap.put(DEVICE, startTime);
+    endTimeMap.put(DEVICE, endTime);
+    return new TsFileResource(file, startTimeMap, endTimeMap);
+  }
+
+  private RollupReader reader(TsFileResource seqResource, TsFileResource unseqResource) {
+    QueryDataSource dataSource = new QueryDataSource(PATH,
+        Collections.singletonList(seqResource), unseqResource == null ? Collections.emptyList()
+        : Collections.singletonList(unseqResource));
+    return new RollupReader(PATH, TSDataType.DOUBLE, dataSource, new QueryContext(), null,
+        INTERVALS);
+  }
+
+  private AggregateFunction function(String name) throws ProcessorException {
+    AggregateFunction function = AggreFuncFactory.getAggrFuncByName(name, TSDataType.DOUBLE);
+    function.init();
+    return function;
+  }
+
+  @Test
+  public void testAlignedRange() throws IOException, ProcessorException {
+    assertTrue(RollupWriter.getRollupFile(tsFile).exists());
+    RollupReader reader = reader(resource(tsFile, 0, 179_000), null);
+
+    AggregateFunction count = function("count");
+    assertTrue(reader.calculate(count, 60_000, 180_000));
+    assertEquals(120, count.getResult().getLongRet());
+
+    AggregateFunction mean = function("mean");
+    assertTrue(reader.calculate(mean, 0, 60_000));
+    assertEquals(29.5, mean.getResult().getDoubleRet(), 0.0001);
+
+    AggregateFunction max = function("max_value");
+    assertTrue(reader.calculate(max, 0, 3_600_000));
+    assertEquals(179.0, (double) max.getResult().getValue(), 0.0001);
+
+    AggregateFunction first = function("first");
+    assertTrue(reader.calculate(first, 120_000, 180_000));
+    assertEquals(120.0, (double) first.getResult().getValue(), 0.0001);
+
+    AggregateFunction maxTime = function("max_time");
+    assertTrue(reader.calculate(maxTime, 0, 120_000));
+    assertEquals(119_000, maxTime.getResult().getLongRet());
+  }
+
+  @Test
+  public void testOutOfOrder() throws IOException {
+    // a point before the written buckets cannot be aggregated, the rollup file is given up
+    File otherTsFile = new File(dir, "4-4.tsfile");
+    RollupWriter writer = new RollupWriter(otherTsFile, INTERVALS);
+    MeasurementSchema schema = new MeasurementSchema("s1", TSDataType.DOUBLE, TSEncoding.RLE);
+    writer.update(DEVICE, schema, points(90, 180));
+    writer.update(DEVICE, schema, points(0, 10));
+    try {
+      writer.close();
+      fail("the rollup file should be given up");
+    } catch (IOException e) {
+      // expected
+    }
+    assertFalse(RollupWriter.getRollupFile(otherTsFile).exists());
+    assertEquals(1, dir.listFiles().length);
+  }
+
+  @Test
+  public void testFallback() throws IOException, ProcessorException {
+    // not aligned to an interval
+    AggregateFunction count = function("count");
+    assertFalse(reader(resource(tsFile, 0, 179_000), null).calculate(count, 30_000, 90_000));
+
+    // overlapped by unsequence data
+    TsFileResource unseq = resource(new File(dir, "2-2.tsfile"), 61_000, 61_000);
+    assertFalse(reader(resource(tsFile, 0, 179_000), unseq).calculate(count, 60_000, 120_000));
+    assertTrue(reader(resource(tsFile, 0, 179_000), unseq).calculate(count, 0, 60_000));
+
+    // no rollup file
+    TsFileResource noRollup = resource(new File(dir, "3-3.tsfile"), 0, 179_000);
+    assertFalse(reader(noRollup, null).calculate(count, 0, 60_000));
+    assertEquals(60, count.getResult().getLongRet());
+  }
+}
@@ -18,17 +18,29 @@
  */
 package org.apache.iotdb.db.engine.storagegroup;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.iotdb.db.engine.MetadataManagerHelper;
+import org.apache.iotdb.db.engine.StorageEngine;
 import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
+import org.apache.iotdb.db.exception.StorageEngineException;
+import org.apache.iotdb.db.exception.StorageGroupProcessorException;
 import org.apache.iotdb.db.qp.physical.crud.BatchInsertPlan;
 import org.apache.iotdb.db.qp.physical.crud.InsertPlan;
 import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.write.TsFileWriter;
 import org.apache.iotdb.tsfile.write.record.TSRecord;
 import org.apache.iotdb.tsfile.write.record.datapoint.DataPoint;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+import org.apache.iotdb.tsfile.write.schema.Schema;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -161,4 +173,98 @@ public class StorageGroupProcessorTest {
     }
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testLoadNewTsFile() throws Exception {
+    for (int j = 21; j <= 30; j++) {
+      TSRecord record = new TSRecord(j, deviceId);
+      record.addTuple(DataPoint.getDataPoint(TSDataType.INT32, measurementId, String.valueOf(j)));
+      processor.insert(new InsertPlan(record));
+    }
+    processor.waitForAllCurrentTsFileProcessorsClosed();
+
+    // newer than the storage group, becomes a sequence file
+    processor.loadNewTsFile(writeExternalTsFile("data/external1.tsfile", 31, 40), true);
+    // overlaps the storage group, becomes an unsequence file
+    processor.loadNewTsFile(writeExternalTsFile("data/external2.tsfile", 1, 25), false);
+
+    QueryDataSource queryDataSource = processor.query(deviceId, measurementId, context);
+    Assert.assertEquals(2, queryDataSource.getSeqResources().size());
+    Assert.assertEquals(1, queryDataSource.getUnseqResources().size());
+    Assert.assertEquals(40,
+        (long) queryDataSource.getSeqResources().get(1).getEndTimeMap().get(deviceId));
+    Assert.assertEquals(1,
+        (long) queryDataSource.getUnseqResources().get(0).getStartTimeMap().get(deviceId));
+    Assert.assertFalse(new File("data/external1.tsfile").exists());
+    Assert.assertTrue(new File("data/external2.tsfile").exists());
+    // the files are placed under a temporary name and renamed once they are complete
+    for (TsFileResource resource : queryDataSource.getUnseqResources()) {
+      Assert.assertTrue(resource.getFile().exists());
+      Assert.assertFalse(new File(resource.getFile().getPath() + ".loading").exists());
+    }
+    Assert.assertTrue(queryDataSource.getSeqResources().get(1).getFile().exists());
+
+    // data later than the loaded sequence file goes into a new sequence file
+    TSRecord record = new TSRecord(41, deviceId);
+    record.addTuple(DataPoint.getDataPoint(TSDataType.INT32, measurementId, "41"));
+    processor.insert(new InsertPlan(record));
+    queryDataSource = processor.query(deviceId, measurementId, context);
+    Assert.assertEquals(3, queryDataSource.getSeqResources().size());
+  }
+
+  @Test
+  public void testLoadMissingTsFile() throws Exception {
+    Map<String, Long> timeMap = new HashMap<>();
+    timeMap.put(deviceId, 1L);
+    try {
+      processor.loadNewTsFile(new TsFileResource(new File("data/missing.tsfile"), timeMap,
+          timeMap), false);
+      Assert.fail("a missing TsFile cannot be loaded");
+    } catch (StorageGroupProcessorException e) {
+      // expected
+    }
+    QueryDataSource queryDataSource = processor.query(deviceId, measurementId, context);
+    Assert.assertTrue(queryDataSource.getSeqResources().isEmpty());
+    Assert.assertTrue(queryDataSource.getUnseqResources().isEmpty());
+  }
+
+  @Test
+  public void testLoadNewTsFileWithMismatchedType() throws Exception {
+    // root.vehicle.d0.s0 is registered as INT32
+    File file = writeExternalTsFile("data/external3.tsfile", 1, 10, TSDataType.INT64).getFile();
+    try {
+      StorageEngine.getInstance().loadNewTsFile(file, true);
+      Assert.fail("a TsFile whose data type differs from the registered one should be rejected");
+    } catch (StorageEngineException e) {
+      Assert.assertEquals("Time series root.vehicle.d0.s0 is registered as INT32 "
+          + "but its data in the TsFile is INT64", e.getMessage());
+    }
+    Assert.assertTrue(file.exists());
+  }
+
+  private TsFileResource writeExternalTsFile(String path, long startTime, long endTime)
+      throws IOException, WriteProcessException {
+    return writeExternalTsFile(path, startTime, endTime, TSDataType.INT32);
+  }
+
+  private TsFileResource writeExternalTsFile(String path, long startTime, long endTime,
+      TSDataType dataType) throws IOException, WriteProcessException {
+    File file = new File(path);
+    Schema schema = new Schema();
+    schema.registerMeasurement(
+        new MeasurementSchema(measurementId, dataType, TSEncoding.PLAIN));
+    TsFileWriter writer = new TsFileWriter(file, schema);
+    Map<String, Long> startTimeMap = new HashMap<>();
+    Map<String, Long> endTimeMap = new HashMap<>();
+    for (long time = startTime; time <= endTime; time++) {
+      TSRecord record = new TSRecord(time, deviceId);
+      record.addTuple(
+          DataPoint.getDataPoint(dataType, measurementId, String.valueOf(time)));
+      writer.write(record);
+    }
+    writer.close();
+    startTimeMap.put(deviceId, startTime);
+    endTimeMap.put(deviceId, endTime);
+    return new TsFileResource(file, startTimeMap, endTimeMap);
+  }
+
+}
@@ -500,6 +500,80 @@ public class IOTDBGroupByIT {
     }
   }
 
+  @Test
+  public void slidingWindowTest() throws SQLException {
+    String[] retArray1 = new String[]{
+        "1,5,4.4,30.3,30",
+        "20,4,20.2,50.5,50",
+        "40,2,40.4,50.5,50",
+        "60,0,null,null,null",
+        "80,1,100.1,100.1,100",
+        "100,1,100.1,100.1,100"
+    };
+    String[] retArray2 = new String[]{
+        "1,6,3.3,30.3,30",
+        "20,4,20.2,50.5,50",
+        "40,2,40.4,50.5,50",
+        "60,0,null,null,null",
+        "80,1,100.1,100.1,100",
+        "100,1,100.1,100.1,100"
+    };
+    Connection connection = null;
+    try {
+      connection = DriverManager.
+          getConnection("jdbc:iotdb://127.0.0.1:6667/", "root", "root");
+      Statement statement = connection.createStatement();
+      boolean hasResultSet = statement.execute(
+          "select count(temperature), first(temperature), last(temperature), max_time(temperature) "
+              + "from root.ln.wf01.wt01 where time > 3 "
+              + "GROUP BY (40ms, 20ms, 0, [1, 100])");
+
+      Assert.assertTrue(hasResultSet);
+      ResultSet resultSet = statement.getResultSet();
+      int cnt = 0;
+      while (resultSet.next()) {
+        String ans = resultSet.getString(TIMESTAMP_STR) + "," + resultSet
+            .getString(count("root.ln.wf01.wt01.temperature"))
+            + "," + resultSet.getString(first("root.ln.wf01.wt01.temperature")) + ","
+            + resultSet.getString(last("root.ln.wf01.wt01.temperature")) + ","
+            + resultSet.getString(max_time("root.ln.wf01.wt01.temperature"));
+        Assert.assertEquals(retArray1[cnt], ans);
+        cnt++;
+      }
+      Assert.assertEquals(retArray1.length, cnt);
+      statement.close();
+
+      statement = connection.createStatement();
+      hasResultSet = statement.execute(
+          "select count(temperature), first(temperature), last(temperature), max_time(temperature) "
+              + "from root.ln.wf01.wt01 where temperature > 3 "
+              + "GROUP BY (40ms, 20ms, 0, [1, 100])");
+
+      Assert.assertTrue(hasResultSet);
+      resultSet = statement.getResultSet();
+      cnt = 0;
+      while (resultSet.next()) {
+        String ans = resultSet.getString(TIMESTAMP_STR) + "," + resultSet
+            .getString(count("root.ln.wf01.wt01.temperature"))
+            + "," + resultSet.getString(first("root.ln.wf01.wt01.temperature")) + ","
+            + resultSet.getString(last("root.ln.wf01.wt01.temperature")) + ","
+            + resultSet.getString(max_time("root.ln.wf01.wt01.temperature"));
+        Assert.assertEquals(retArray2[cnt], ans);
+        cnt++;
+      }
+      Assert.assertEquals(retArray2.length, cnt);
+      statement.close();
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail(e.getMessage());
+    } finally {
+      if (connection != null) {
+        connection.close();
+      }
+    }
+  }
+
   public void prepareData() throws SQLException {
     Connection connection = null;
     try {
@@ -0,0 +1,237 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.integration;
+
+import static org.apache.iotdb.db.integration.Constant.TIMESTAMP_STR;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import org.apache.iotdb.db.service.IoTDB;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.jdbc.Config;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * ORDER BY TIME DESC must return the same rows as the ascending query in reverse order, over
+ * sequence and unsequence data, deletions and data in memory.
+ */
+public class IoTDBOrderByTimeDescIT {
+
+  private static final String S1 = "root.desc.d1.s1";
+  private static final String S2 = "root.desc.d1.s2";
+
+  private static IoTDB daemon;
+
+  /**
+   * the expected points of root.desc.d1.s1 and root.desc.d1.s2, kept in step with the inserts
+   */
+  private TreeMap<Long, Long> s1Points = new TreeMap<>();
+  private TreeMap<Long, Long> s2Points = new TreeMap<>();
+
+  @Before
+  public void setUp() throws Exception {
+    EnvironmentUtils.closeStatMonitor();
+    daemon = IoTDB.getInstance();
+    daemon.active();
+    EnvironmentUtils.envSetUp();
+    Class.forName(Config.JDBC_DRIVER_NAME);
+    prepareData();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    daemon.stop();
+    EnvironmentUtils.cleanEnv();
+  }
+
+  private void prepareData() throws SQLException {
+    try (Connection connection = DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+        Statement statement = connection.createStatement()) {
+      statement.execute("SET STORAGE GROUP TO root.desc");
+      statement.execute("CREATE TIMESERIES root.desc.d1.s1 WITH DATATYPE=INT64, ENCODING=RLE");
+      statement.execute("CREATE TIMESERIES root.desc.d1.s2 WITH DATATYPE=INT64, ENCODING=RLE");
+      // two sealed sequence files with the even timestamps in [0, 200)
+      for (int file = 0; file < 2; file++) {
+        for (long time = file * 100; time < (file + 1) * 100; time += 2) {
+          insert(statement, time, time);
+        }
+        statement.execute("flush");
+      }
+      // unsequence data overwriting points and adding odd timestamps in both files
+      insert(statement, 60, -60);
+      insert(statement, 61, -61);
+      insert(statement, 150, -150);
+      insert(statement, 151, -151);
+      statement.execute("flush");
+      // a deletion of s1 across a sequence point and an unsequence point
+      statement.execute("DELETE FROM root.desc.d1.s1 WHERE time >= 140 AND time <= 151");
+      s1Points.subMap(140L, true, 151L, true).clear();
+      // data in memory, one unsequence point and newer sequence points
+      insert(statement, 31, -31);
+      for (long time = 200; time < 220; time++) {
+        insert(statement, time, time);
+      }
+    }
+  }
+
+  /**
+   * s1 gets every point, s2 only the points whose timestamp is a multiple of 3
+   */
+  private void insert(Statement statement, long time, long value) throws SQLException {
+    statement.execute(String
+        .format("INSERT INTO root.desc.d1(timestamp,s1) VALUES(%d,%d)", time, value));
+    s1Points.put(time, value);
+    if (time % 3 == 0) {
+      statement.execute(String
+          .format("INSERT INTO root.desc.d1(timestamp,s2) VALUES(%d,%d)", time, value * 10));
+      s2Points.put(time, value * 10);
+    }
+  }
+
+  @Test
+  public void singleSeriesTest() throws SQLException {
+    List<String> expected = new ArrayList<>();
+    for (Entry<Long, Long> entry : s1Points.descendingMap().entrySet()) {
+      expected.add(entry.getKey() + "," + entry.getValue());
+    }
+    List<String> result = query("select s1 from root.desc.d1 order by time desc", S1);
+    assertEquals(expected, result);
+    assertDescending(result);
+    // the unsequence values win, the deleted points are gone
+    assertFalse(result.contains("151,-151"));
+    assertFalse(result.contains("140,140"));
+    assertTrue(result.contains("61,-61"));
+    assertTrue(result.contains("60,-60"));
+    assertTrue(result.contains("31,-31"));
+
+    List<String> ascending = query("select s1 from root.desc.d1 order by time asc", S1);
+    Collections.reverse(ascending);
+    assertEquals(result, ascending);
+  }
+
+  @Test
+  public void multiSeriesTest() throws SQLException {
+    List<String> ascending = query("select s1, s2 from root.desc.d1", S1, S2);
+    List<String> result = query("select s1, s2 from root.desc.d1 order by time desc", S1, S2);
+    assertDescending(result);
+    Collections.reverse(ascending);
+    assertEquals(ascending, result);
+
+    TreeMap<Long, String> expected = new TreeMap<>();
+    for (Long time : s1Points.keySet()) {
+      expected.put(time, time + "," + s1Points.get(time) + "," + s2Points.get(time));
+    }
+    for (Long time : s2Points.keySet()) {
+      expected.put(time, time + "," + s1Points.get(time) + "," + s2Points.get(time));
+    }
+    assertEquals(new ArrayList<>(expected.descendingMap().values()), result);
+    // s2 keeps the point at 150 deleted from s1
+    assertTrue(result.contains("150,null,-1500"));
+  }
+
+  @Test
+  public void timeFilterTest() throws SQLException {
+    List<String> expected = new ArrayList<>();
+    for (Entry<Long, Long> entry : s1Points.subMap(40L, true, 160L, false).descendingMap()
+        .entrySet()) {
+      expected.add(entry.getKey() + "," + entry.getValue());
+    }
+    assertEquals(expected,
+        query("select s1 from root.desc.d1 where time >= 40 and time < 160 order by time desc",
+            S1));
+  }
+
+  @Test
+  public void limitOffsetTest() throws SQLException {
+    List<String> all = query("select s1 from root.desc.d1 order by time desc", S1);
+    assertEquals(all.subList(10, 15),
+        query("select s1 from root.desc.d1 order by time desc limit 5 offset 10", S1));
+    // the newest points are the first ones
+    assertEquals(all.subList(0, 3),
+        query("select s1 from root.desc.d1 order by time desc limit 3", S1));
+    assertEquals("219,219", all.get(0));
+    // a page running into the deleted points
+    int offset = all.indexOf("152,152");
+    assertEquals(all.subList(offset, offset + 4), query(
+        "select s1 from root.desc.d1 order by time desc limit 4 offset " + offset, S1));
+    // an offset past the end
+    assertTrue(query("select s1 from root.desc.d1 order by time desc limit 5 offset "
+        + all.size(), S1).isEmpty());
+
+    List<String> filtered = query(
+        "select s1 from root.desc.d1 where time < 100 order by time desc limit 10 offset 20", S1);
+    assertEquals(10, filtered.size());
+    assertDescending(filtered);
+    assertEquals(new ArrayList<>(s1Points.headMap(100L).descendingMap().keySet()).get(20)
+        .toString(), filtered.get(0).split(",")[0]);
+  }
+
+  @Test
+  public void valueFilterTest() throws SQLException {
+    try (Connection connection = DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+        Statement statement = connection.createStatement()) {
+      statement.execute("select s1 from root.desc.d1 where s1 > 0 order by time desc");
+      fail("ORDER BY TIME DESC with a value filter should be rejected");
+    } catch (SQLException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains("ORDER BY TIME DESC is not supported"));
+    }
+  }
+
+  private void assertDescending(List<String> rows) {
+    for (int i = 1; i < rows.size(); i++) {
+      assertTrue(rows.get(i - 1) + " before " + rows.get(i),
+          Long.parseLong(rows.get(i - 1).split(",")[0]) > Long
+              .parseLong(rows.get(i).split(",")[0]));
+    }
+  }
+
+  private List<String> query(String sql, String... columns) throws SQLException {
+    List<String> result = new ArrayList<>();
+    try (Connection connection = DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+        Statement statement = connection.createStatement()) {
+      assertTrue(statement.execute(sql));
+      ResultSet resultSet = statement.getResultSet();
+      while (resultSet.next()) {
+        StringBuilder builder = new StringBuilder(resultSet.getString(TIMESTAMP_STR));
+        for (String column : columns) {
+          builder.append(",").append(resultSet.getString(column));
+        }
+        result.add(builder.toString());
+      }
+    }
+    return result;
+  }
+}
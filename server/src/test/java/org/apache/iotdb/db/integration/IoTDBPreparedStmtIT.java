@@ -20,9 +20,12 @@
 package org.apache.iotdb.db.integration;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -131,6 +134,47 @@ public class IoTDBPreparedStmtIT {
     }
   }
 
+  @Test
+  public void testRevokedPrivilege() throws SQLException {
+    try (Connection adminConnection = DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+        Statement adminStmt = adminConnection.createStatement()) {
+      adminStmt.execute("CREATE USER prepareduser preparedpw");
+      adminStmt.execute("GRANT USER prepareduser PRIVILEGES 'INSERT_TIMESERIES' on root.device2");
+      try (Connection userConnection = DriverManager
+          .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "prepareduser",
+              "preparedpw");
+          PreparedStatement statement = userConnection
+              .prepareStatement("INSERT INTO root.device2(timestamp,sensor0) VALUES (?,?)")) {
+        statement.setLong(1, 10);
+        statement.setDouble(2, 10.0);
+        statement.execute();
+
+        // the statement prepared before the privilege is revoked cannot run any more
+        adminStmt.execute(
+            "REVOKE USER prepareduser PRIVILEGES 'INSERT_TIMESERIES' on root.device2");
+        statement.setLong(1, 11);
+        statement.setDouble(2, 11.0);
+        try {
+          statement.execute();
+          fail("the privilege has been revoked");
+        } catch (SQLException e) {
+          assertTrue(e.getMessage(), e.getMessage().contains("No permissions"));
+        }
+      }
+
+      ResultSet resultSet = adminStmt
+          .executeQuery("SELECT sensor0 FROM root.device2 WHERE time >= 10");
+      int cnt = 0;
+      while (resultSet.next()) {
+        assertEquals(10, resultSet.getLong(1));
+        cnt++;
+      }
+      assertEquals(1, cnt);
+      resultSet.close();
+    }
+  }
+
   @Ignore
   @Test
   public void testPreparedInsertionPerf() throws SQLException {
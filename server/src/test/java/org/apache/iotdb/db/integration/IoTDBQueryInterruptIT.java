@@ -0,0 +1,214 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.integration;
+
+import static org.apache.iotdb.db.integration.Constant.TIMESTAMP_STR;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.query.control.FileReaderManager;
+import org.apache.iotdb.db.query.control.QueryMemoryManager;
+import org.apache.iotdb.db.service.IoTDB;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.jdbc.Config;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A query that times out or is cancelled while it is being fetched must fail at the next fetch
+ * and release its files and memory.
+ */
+public class IoTDBQueryInterruptIT {
+
+  private static final String SQL = "select s1 from root.interrupt.d1";
+  private static final int FILE_NUM = 10;
+  private static final int POINT_NUM_PER_FILE = 100;
+
+  private static IoTDB daemon;
+  private IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+  private long defaultQueryTimeoutInMs;
+
+  @Before
+  public void setUp() throws Exception {
+    defaultQueryTimeoutInMs = config.getDefaultQueryTimeoutInMs();
+    EnvironmentUtils.closeStatMonitor();
+    daemon = IoTDB.getInstance();
+    daemon.active();
+    EnvironmentUtils.envSetUp();
+    Class.forName(Config.JDBC_DRIVER_NAME);
+    prepareData();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    daemon.stop();
+    EnvironmentUtils.cleanEnv();
+    config.setDefaultQueryTimeoutInMs(defaultQueryTimeoutInMs);
+  }
+
+  private void prepareData() throws SQLException {
+    try (Connection connection = DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+        Statement statement = connection.createStatement()) {
+      statement.execute("SET STORAGE GROUP TO root.interrupt");
+      statement.execute("CREATE TIMESERIES root.interrupt.d1.s1 WITH DATATYPE=INT64, ENCODING=RLE");
+      // many sealed files, so that the readers check the query between the fetches
+      for (int file = 0; file < FILE_NUM; file++) {
+        for (long time = file * POINT_NUM_PER_FILE; time < (file + 1) * POINT_NUM_PER_FILE;
+            time++) {
+          statement.execute(String
+              .format("INSERT INTO root.interrupt.d1(timestamp,s1) VALUES(%d,%d)", time, time));
+        }
+        statement.execute("flush");
+      }
+    }
+  }
+
+  @Test
+  public void statementTimeoutTest() throws SQLException, InterruptedException {
+    int referenceNum = FileReaderManager.getInstance().getReferenceNum();
+    try (Connection connection = DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+        Statement statement = connection.createStatement()) {
+      statement.setQueryTimeout(1);
+      statement.setFetchSize(10);
+      assertTrue(statement.execute(SQL));
+      ResultSet resultSet = statement.getResultSet();
+      assertTrue(resultSet.next());
+      assertRunning(referenceNum);
+
+      // the deadline is counted from the first fetch
+      Thread.sleep(1500);
+      assertInterrupted(resultSet, "exceeded its deadline");
+      assertReleased(referenceNum);
+    }
+  }
+
+  @Test
+  public void defaultTimeoutTest() throws SQLException, InterruptedException {
+    config.setDefaultQueryTimeoutInMs(1000);
+    int referenceNum = FileReaderManager.getInstance().getReferenceNum();
+    try (Connection connection = DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+        Statement statement = connection.createStatement()) {
+      statement.setFetchSize(10);
+      assertTrue(statement.execute(SQL));
+      ResultSet resultSet = statement.getResultSet();
+      assertTrue(resultSet.next());
+      assertRunning(referenceNum);
+
+      Thread.sleep(1500);
+      assertInterrupted(resultSet, "exceeded its deadline");
+      assertReleased(referenceNum);
+    }
+  }
+
+  @Test
+  public void noTimeoutTest() throws SQLException, InterruptedException {
+    // a timeout of 0 overrides the default of the server
+    config.setDefaultQueryTimeoutInMs(1000);
+    int referenceNum = FileReaderManager.getInstance().getReferenceNum();
+    try (Connection connection = DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+        Statement statement = connection.createStatement()) {
+      statement.setQueryTimeout(0);
+      statement.setFetchSize(10);
+      assertTrue(statement.execute(SQL));
+      ResultSet resultSet = statement.getResultSet();
+      assertTrue(resultSet.next());
+      Thread.sleep(1500);
+      int cnt = 1;
+      while (resultSet.next()) {
+        assertEquals(String.valueOf(cnt), resultSet.getString(TIMESTAMP_STR));
+        cnt++;
+      }
+      assertEquals(FILE_NUM * POINT_NUM_PER_FILE, cnt);
+      resultSet.close();
+    }
+    assertReleased(referenceNum);
+  }
+
+  @Test
+  public void cancelTest() throws SQLException {
+    int referenceNum = FileReaderManager.getInstance().getReferenceNum();
+    try (Connection connection = DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+        Statement statement = connection.createStatement()) {
+      statement.setFetchSize(10);
+      assertTrue(statement.execute(SQL));
+      ResultSet resultSet = statement.getResultSet();
+      for (int i = 0; i < 15; i++) {
+        assertTrue(resultSet.next());
+      }
+      assertRunning(referenceNum);
+
+      // cancelOperation releases the query at once, the next fetch fails
+      statement.cancel();
+      assertReleased(referenceNum);
+      assertInterrupted(resultSet, "has been cancelled");
+      assertReleased(referenceNum);
+
+      // the statement can run another query
+      assertTrue(statement.execute(SQL));
+      resultSet = statement.getResultSet();
+      int cnt = 0;
+      while (resultSet.next()) {
+        cnt++;
+      }
+      assertEquals(FILE_NUM * POINT_NUM_PER_FILE, cnt);
+      resultSet.close();
+    }
+    assertReleased(referenceNum);
+  }
+
+  private void assertRunning(int referenceNum) {
+    assertEquals(1, QueryMemoryManager.getInstance().getRunningQueryNum());
+    assertTrue(QueryMemoryManager.getInstance().getReservedMemory() > 0);
+    assertTrue(FileReaderManager.getInstance().getReferenceNum() > referenceNum);
+  }
+
+  private void assertReleased(int referenceNum) {
+    assertEquals(0, QueryMemoryManager.getInstance().getRunningQueryNum());
+    assertEquals(0, QueryMemoryManager.getInstance().getReservedMemory());
+    assertEquals(referenceNum, FileReaderManager.getInstance().getReferenceNum());
+  }
+
+  /**
+   * read the rest of the result set, which must fail before reaching its end
+   */
+  private void assertInterrupted(ResultSet resultSet, String message) {
+    try {
+      while (resultSet.next()) {
+        // the rows fetched before the query is interrupted
+      }
+      fail("the query should be interrupted");
+    } catch (SQLException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains(message));
+    }
+  }
+}
@@ -0,0 +1,165 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.integration;
+
+import static org.apache.iotdb.db.integration.Constant.count;
+import static org.apache.iotdb.db.integration.Constant.first;
+import static org.apache.iotdb.db.integration.Constant.last;
+import static org.apache.iotdb.db.integration.Constant.max_time;
+import static org.apache.iotdb.db.integration.Constant.max_value;
+import static org.apache.iotdb.db.integration.Constant.min_time;
+import static org.apache.iotdb.db.integration.Constant.sum;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.service.IoTDB;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.jdbc.Config;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * GROUP BY over ranges answered by the rollups and ranges read from the raw data must give the same
+ * results as reading only the raw data.
+ */
+public class IoTDBRollupIT {
+
+  private static final String SERIES = "root.rollup.d1.s1";
+
+  private static IoTDB daemon;
+  private IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+  private boolean rollupEnable;
+  private long[] rollupIntervals;
+
+  @Before
+  public void setUp() throws Exception {
+    rollupEnable = config.isRollupEnable();
+    rollupIntervals = config.getRollupIntervals();
+    config.setRollupEnable(true);
+    config.setRollupIntervals(new long[]{10L, 100L});
+    EnvironmentUtils.closeStatMonitor();
+    daemon = IoTDB.getInstance();
+    daemon.active();
+    EnvironmentUtils.envSetUp();
+    Class.forName(Config.JDBC_DRIVER_NAME);
+    prepareData();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    daemon.stop();
+    EnvironmentUtils.cleanEnv();
+    config.setRollupEnable(rollupEnable);
+    config.setRollupIntervals(rollupIntervals);
+  }
+
+  private void prepareData() throws SQLException {
+    try (Connection connection = DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+        Statement statement = connection.createStatement()) {
+      statement.execute("SET STORAGE GROUP TO root.rollup");
+      statement.execute("CREATE TIMESERIES " + SERIES + " WITH DATATYPE=INT64, ENCODING=RLE");
+      // three sealed sequence files with rollups
+      for (int file = 0; file < 3; file++) {
+        for (long time = file * 300; time < (file + 1) * 300; time++) {
+          statement.execute(String
+              .format("INSERT INTO root.rollup.d1(timestamp,s1) VALUES(%d,%d)", time, time % 37));
+        }
+        statement.execute("flush");
+      }
+      // unsequence data overwriting and adding points in [150, 160)
+      statement.execute("INSERT INTO root.rollup.d1(timestamp,s1) VALUES(152,1000)");
+      statement.execute("INSERT INTO root.rollup.d1(timestamp,s1) VALUES(157,-1000)");
+      statement.execute("flush");
+      // a deletion in the second file
+      statement.execute("DELETE FROM " + SERIES + " WHERE time >= 400 AND time <= 420");
+      // data in memory
+      for (long time = 900; time < 950; time++) {
+        statement.execute(String
+            .format("INSERT INTO root.rollup.d1(timestamp,s1) VALUES(%d,%d)", time, time % 37));
+      }
+    }
+  }
+
+  @Test
+  public void groupByTest() throws SQLException {
+    String[] queries = {
+        // every range is aligned to a rollup interval
+        "select count(s1), sum(s1), max_value(s1), min_time(s1), max_time(s1), first(s1), "
+            + "last(s1) from root.rollup.d1 GROUP BY (10ms, 0, [0, 999])",
+        "select count(s1), sum(s1), max_value(s1), min_time(s1), max_time(s1), first(s1), "
+            + "last(s1) from root.rollup.d1 GROUP BY (100ms, 0, [0, 999])",
+        // only some ranges are aligned
+        "select count(s1), sum(s1), max_value(s1), min_time(s1), max_time(s1), first(s1), "
+            + "last(s1) from root.rollup.d1 GROUP BY (50ms, 0, [0, 999])",
+        "select count(s1), sum(s1), max_value(s1), min_time(s1), max_time(s1), first(s1), "
+            + "last(s1) from root.rollup.d1 GROUP BY (10ms, 5, [5, 94], [100, 699], [905, 999])",
+        "select count(s1), sum(s1), max_value(s1), min_time(s1), max_time(s1), first(s1), "
+            + "last(s1) from root.rollup.d1 where time >= 120 GROUP BY (20ms, 0, [0, 999])",
+    };
+    for (String query : queries) {
+      config.setRollupEnable(true);
+      List<String> withRollups = query(query);
+      config.setRollupEnable(false);
+      List<String> withoutRollups = query(query);
+      assertEquals(query, withoutRollups, withRollups);
+    }
+
+    config.setRollupEnable(true);
+    List<String> result = query(queries[0]);
+    assertEquals(100, result.size());
+    // answered by the rollups
+    assertEquals("0,10,45.0,9,0,9,0,9", result.get(0));
+    // overlapped by the unsequence data
+    assertEquals("150,10,52.0,1000,150,159,2,11", result.get(15));
+    // deleted
+    assertEquals("410,0,0.0,null,null,null,null,null", result.get(41));
+    // partly deleted
+    assertEquals("420,9,162.0,22,421,429,14,22", result.get(42));
+    assertTrue(result.get(95).startsWith("950,0,"));
+  }
+
+  private List<String> query(String sql) throws SQLException {
+    List<String> result = new ArrayList<>();
+    try (Connection connection = DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+        Statement statement = connection.createStatement()) {
+      assertTrue(statement.execute(sql));
+      ResultSet resultSet = statement.getResultSet();
+      while (resultSet.next()) {
+        result.add(resultSet.getString("Time") + "," + resultSet.getString(count(SERIES)) + ","
+            + resultSet.getString(sum(SERIES)) + "," + resultSet.getString(max_value(SERIES))
+            + "," + resultSet.getString(min_time(SERIES)) + ","
+            + resultSet.getString(max_time(SERIES)) + "," + resultSet.getString(first(SERIES))
+            + "," + resultSet.getString(last(SERIES)));
+      }
+    }
+    return result;
+  }
+}
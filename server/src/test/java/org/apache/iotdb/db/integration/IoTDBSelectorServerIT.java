@@ -0,0 +1,164 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.integration;
+
+import static org.apache.iotdb.db.integration.Constant.count;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.service.IoTDB;
+import org.apache.iotdb.db.service.JDBCService;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.jdbc.Config;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Several clients served by one selector thread and a smaller worker pool keep their own sessions.
+ */
+public class IoTDBSelectorServerIT {
+
+  private static final int CLIENT_NUM = 8;
+
+  private static IoTDB daemon;
+  private IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+  private boolean selectorServerEnable;
+  private int selectorThreadNum;
+  private int workerThreadNum;
+  private boolean framedTransportEnable;
+
+  @Before
+  public void setUp() throws Exception {
+    selectorServerEnable = config.isRpcSelectorServerEnable();
+    selectorThreadNum = config.getRpcSelectorThreadNum();
+    workerThreadNum = config.getRpcWorkerThreadNum();
+    framedTransportEnable = Config.rpcFramedTransportEnable;
+    config.setRpcSelectorServerEnable(true);
+    config.setRpcSelectorThreadNum(1);
+    config.setRpcWorkerThreadNum(2);
+    Config.rpcFramedTransportEnable = true;
+
+    EnvironmentUtils.closeStatMonitor();
+    daemon = IoTDB.getInstance();
+    daemon.active();
+    EnvironmentUtils.envSetUp();
+    Class.forName(Config.JDBC_DRIVER_NAME);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    daemon.stop();
+    EnvironmentUtils.cleanEnv();
+    config.setRpcSelectorServerEnable(selectorServerEnable);
+    config.setRpcSelectorThreadNum(selectorThreadNum);
+    config.setRpcWorkerThreadNum(workerThreadNum);
+    Config.rpcFramedTransportEnable = framedTransportEnable;
+  }
+
+  private Connection connect(String password) throws SQLException {
+    return DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", password);
+  }
+
+  @Test
+  public void severalClientsTest() throws Exception {
+    try (Connection connection = connect("root");
+        Statement statement = connection.createStatement()) {
+      statement.execute("SET STORAGE GROUP TO root.selector");
+      for (int i = 0; i < CLIENT_NUM; i++) {
+        statement.execute(String.format(
+            "CREATE TIMESERIES root.selector.d%d.s0 WITH DATATYPE=INT64, ENCODING=PLAIN", i));
+      }
+    }
+
+    List<Connection> connections = new ArrayList<>();
+    try {
+      for (int i = 0; i < CLIENT_NUM; i++) {
+        connections.add(connect("root"));
+      }
+      assertEquals(CLIENT_NUM, JDBCService.getInstance().getSessionNum());
+
+      // the clients write and read their own devices at the same time
+      ExecutorService clients = Executors.newFixedThreadPool(CLIENT_NUM);
+      List<Future<Long>> results = new ArrayList<>();
+      for (int i = 0; i < CLIENT_NUM; i++) {
+        int client = i;
+        results.add(clients.submit(() -> writeAndCount(connections.get(client), client)));
+      }
+      for (Future<Long> result : results) {
+        assertEquals(100L, (long) result.get());
+      }
+      clients.shutdown();
+    } finally {
+      for (Connection connection : connections) {
+        connection.close();
+      }
+    }
+
+    // the sessions are removed when the connections are closed
+    long startTime = System.currentTimeMillis();
+    while (JDBCService.getInstance().getSessionNum() > 0) {
+      assertTrue(System.currentTimeMillis() - startTime < 10_000);
+      Thread.sleep(10);
+    }
+
+    // a client failing to log in gets an error and leaves no session
+    try {
+      connect("wrong password").close();
+      fail("login with a wrong password should fail");
+    } catch (SQLException e) {
+      // expected
+    }
+    startTime = System.currentTimeMillis();
+    while (JDBCService.getInstance().getSessionNum() > 0) {
+      assertTrue(System.currentTimeMillis() - startTime < 10_000);
+      Thread.sleep(10);
+    }
+  }
+
+  private long writeAndCount(Connection connection, int client) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      for (int time = 1; time <= 100; time++) {
+        statement.execute(String.format(
+            "INSERT INTO root.selector.d%d(timestamp,s0) VALUES(%d,%d)", client, time, time));
+      }
+      assertTrue(statement.execute(
+          String.format("SELECT count(s0) FROM root.selector.d%d", client)));
+      try (ResultSet resultSet = statement.getResultSet()) {
+        assertTrue(resultSet.next());
+        return Long.parseLong(
+            resultSet.getString(count(String.format("root.selector.d%d.s0", client))));
+      }
+    }
+  }
+}
@@ -19,13 +19,19 @@
 package org.apache.iotdb.db.qp;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import org.apache.iotdb.db.metadata.MManager;
 import org.apache.iotdb.db.qp.executor.QueryProcessExecutor;
 import org.apache.iotdb.db.qp.logical.Operator.OperatorType;
 import org.apache.iotdb.db.qp.physical.PhysicalPlan;
+import org.apache.iotdb.db.qp.physical.crud.QueryPlan;
 import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
 import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
 import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
@@ -135,4 +141,60 @@ public class QueryProcessorTest {
     assertEquals(OperatorType.FILL, plan10.getOperatorType());
 
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testPlanCache() throws Exception {
+    processor.getPlanCache().clear();
+    String queryStatement = "select * from root.vehicle.device1 where time > 50";
+    PhysicalPlan plan1 = processor.parseSQLToPhysicalPlan(queryStatement);
+    PhysicalPlan plan2 = processor
+        .parseSQLToPhysicalPlan("  select *  from root.vehicle.device1\nwhere time > 50 ");
+    assertSame(plan1, plan2);
+    assertEquals(1, processor.getPlanCache().size());
+
+    // statements with now() are not cached
+    processor.parseSQLToPhysicalPlan("select * from root.vehicle.device1 where time < now()");
+    assertEquals(1, processor.getPlanCache().size());
+
+    // the cached plan is dropped after the metadata changes
+    mManager.addPathToMTree("root.vehicle.device1.sensor4", TSDataType.valueOf("INT32"),
+        TSEncoding.valueOf("RLE"), compressionType, Collections
+            .emptyMap());
+    PhysicalPlan plan3 = processor.parseSQLToPhysicalPlan(queryStatement);
+    assertNotSame(plan1, plan3);
+    assertEquals(4, ((QueryPlan) plan3).getPaths().size());
+  }
+
+  @Test
+  public void testCachedPlanExecutedTwice() throws Exception {
+    processor.getPlanCache().clear();
+    for (int i = 1; i <= 100; i++) {
+      processor.getExecutor().processNonQuery(processor.parseSQLToPhysicalPlan(String.format(
+          "insert into root.vehicle.device1(timestamp,sensor1,sensor2) values(%d,%d,%d)", i, i,
+          i)));
+    }
+    String queryStatement =
+        "select sensor1 from root.vehicle.device1 where time > 50 and sensor2 < 60";
+    QueryPlan plan = (QueryPlan) processor.parseSQLToPhysicalPlan(queryStatement);
+    String expression = plan.getExpression().toString();
+    List<String> result = query(plan);
+    assertEquals(9, result.size());
+
+    // executing the cached plan does not change its expression or result
+    QueryPlan cachedPlan = (QueryPlan) processor.parseSQLToPhysicalPlan(queryStatement);
+    assertSame(plan, cachedPlan);
+    assertEquals(expression, cachedPlan.getExpression().toString());
+    assertEquals(result, query(cachedPlan));
+    assertEquals(expression, cachedPlan.getExpression().toString());
+  }
+
+  private List<String> query(QueryPlan plan) throws Exception {
+    QueryDataSet dataSet = processor.getExecutor()
+        .processQuery(plan, EnvironmentUtils.TEST_QUERY_CONTEXT);
+    List<String> records = new ArrayList<>();
+    while (dataSet.hasNext()) {
+      records.add(dataSet.next().toString());
+    }
+    return records;
+  }
+}
@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.qp.plan;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import org.apache.iotdb.db.exception.qp.LogicalOperatorException;
+import org.apache.iotdb.db.qp.PhysicalPlanTemplate;
+import org.apache.iotdb.db.qp.physical.crud.InsertPlan;
+import org.junit.Test;
+
+public class PhysicalPlanTemplateTest {
+
+  private ZoneId zoneId = ZoneId.of("+08:00");
+
+  @Test
+  public void testBindInsert() throws LogicalOperatorException {
+    PhysicalPlanTemplate template = new PhysicalPlanTemplate(
+        "insert into root.vehicle.d0(timestamp,s0,s1,s2) values(?,?,'?',?)");
+    assertEquals(3, template.getParameterCount());
+    assertNotNull(template.getInsertTemplate());
+
+    InsertPlan plan = template.bindInsert(Arrays.asList("10", "1.5", "true"), zoneId);
+    assertEquals("root.vehicle.d0", plan.getDeviceId());
+    assertEquals(10, plan.getTime());
+    assertArrayEquals(new String[]{"s0", "s1", "s2"}, plan.getMeasurements());
+    assertArrayEquals(new String[]{"1.5", "'?'", "true"}, plan.getValues());
+
+    // the template is not changed by binding
+    plan = template.bindInsert(Arrays.asList("2017-11-01T00:00:00", "2", "false"), zoneId);
+    assertEquals(1509465600000L, plan.getTime());
+    assertArrayEquals(new String[]{"2", "'?'", "false"}, plan.getValues());
+    assertNull(template.getInsertTemplate().getValues()[0]);
+  }
+
+  @Test
+  public void testBindInvalidValue() throws LogicalOperatorException {
+    PhysicalPlanTemplate template = new PhysicalPlanTemplate(
+        "insert into root.vehicle.d0(timestamp,s0) values(?,?)");
+    // values that are not a single literal are left to the full parser of the bound statement
+    assertNull(template.bindInsert(Arrays.asList("10", "1), (11, 2"), zoneId));
+    assertNull(template.bindInsert(Arrays.asList("10", "abc"), zoneId));
+    assertNull(template.bindInsert(Arrays.asList("10", "'it''s'"), zoneId));
+    assertNull(template.bindInsert(Arrays.asList("10", ""), zoneId));
+    assertEquals("insert into root.vehicle.d0(timestamp,s0) values(10,abc)",
+        template.bindStatement(Arrays.asList("10", "abc")));
+
+    InsertPlan plan = template.bindInsert(Arrays.asList("10", " -1.5e3 "), zoneId);
+    assertArrayEquals(new String[]{" -1.5e3 "}, plan.getValues());
+  }
+
+  @Test
+  public void testBindStatement() throws LogicalOperatorException {
+    PhysicalPlanTemplate template = new PhysicalPlanTemplate(
+        "select s0 from root.vehicle.d0 where s1 = '?' and time > ?");
+    assertEquals(1, template.getParameterCount());
+    assertNull(template.getInsertTemplate());
+    assertEquals("select s0 from root.vehicle.d0 where s1 = '?' and time > 100",
+        template.bindStatement(Collections.singletonList("100")));
+  }
+
+  @Test(expected = LogicalOperatorException.class)
+  public void testWrongParameterNumber() throws LogicalOperatorException {
+    PhysicalPlanTemplate template = new PhysicalPlanTemplate(
+        "insert into root.vehicle.d0(timestamp,s0) values(?,?)");
+    template.bindInsert(Collections.singletonList("1"), zoneId);
+  }
+}
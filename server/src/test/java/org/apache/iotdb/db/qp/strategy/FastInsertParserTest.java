@@ -0,0 +1,78 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.qp.strategy;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.time.ZonedDateTime;
+import org.apache.iotdb.db.qp.logical.crud.InsertOperator;
+import org.apache.iotdb.db.qp.physical.crud.InsertPlan;
+import org.apache.iotdb.db.sql.ParseGenerator;
+import org.apache.iotdb.db.sql.parse.ParseUtils;
+import org.junit.Test;
+
+public class FastInsertParserTest {
+
+  @Test
+  public void testSameAsFullParser() throws Exception {
+    String[] statements = {
+        "insert into root.vehicle.d0(timestamp,s0) values(10,100)",
+        "INSERT INTO root.vehicle.d0(timestamp, s0, s1, s2, s3) VALUES(-10, -1.5, 2.5e-3, +7, 0)",
+        "insert  into\troot . vehicle.d0 ( timestamp , s0 )\nvalues ( 10 , 'a, b' )  ",
+        "insert into root.vehicle.d0(timestamp,s0,s1) values(10,\"text\",TRUE)",
+        "insert into root.vehicle.d_1(timestamp,s-0,123) values(10,false,1.0)"
+    };
+    LogicalGenerator generator = new LogicalGenerator(ZonedDateTime.now().getOffset());
+    for (String statement : statements) {
+      InsertPlan plan = FastInsertParser.parse(statement);
+      assertNotNull(statement, plan);
+      InsertOperator operator = (InsertOperator) generator.getLogicalPlan(
+          ParseUtils.findRootNonNullToken(ParseGenerator.generateAST(statement)));
+      assertEquals(operator.getSelectedPaths().get(0).getFullPath(), plan.getDeviceId());
+      assertEquals(operator.getTime(), plan.getTime());
+      assertArrayEquals(operator.getMeasurementList(), plan.getMeasurements());
+      assertArrayEquals(operator.getValueList(), plan.getValues());
+    }
+  }
+
+  @Test
+  public void testFallback() {
+    String[] statements = {
+        "select s0 from root.vehicle.d0",
+        "insert into root.vehicle.d0(timestamp,s0) values(2017-11-01T00:00:00+08:00,100)",
+        "insert into root.vehicle.d0(timestamp,s0) values(now(),100)",
+        "insert into root.vehicle.d0(timestamp,s0) values(10,'it''s')",
+        "insert into root.vehicle.d0(timestamp,s0) values(10,'it\\'s')",
+        "insert into root.vehicle.d0(timestamp,select) values(10,1)",
+        "insert into root.vehicle.*(timestamp,s0) values(10,1)",
+        "insert into root.vehicle.d0(timestamp,s0,s1) values(10,1)",
+        "insert into root.vehicle.d0(timestamp,s0) values(10,abc)",
+        "insert into root.vehicle.d0(timestamp,s0) values(10.5,1)",
+        "insert into root.vehicle.d0(timestamp,s0) values(99999999999999999999,1)",
+        "insert into root.vehicle.d0(timestamp,s0) values(10,1);",
+        "insert into root(timestamp,s0) values(10,1)"
+    };
+    for (String statement : statements) {
+      assertNull(statement, FastInsertParser.parse(statement));
+    }
+  }
+}
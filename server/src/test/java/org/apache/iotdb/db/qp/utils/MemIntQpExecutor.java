@@ -112,7 +112,8 @@ public class MemIntQpExecutor extends AbstractQueryProcessExecutor {
 
   @Override
   public QueryDataSet groupBy(List<Path> paths, List<String> aggres, IExpression expression,
-      long unit, long origin, List<Pair<Long, Long>> intervals, QueryContext context)
+      long unit, long slidingStep, long origin, List<Pair<Long, Long>> intervals,
+      QueryContext context)
       throws ProcessorException, IOException, PathErrorException, StorageEngineException,
       QueryFilterOptimizationException {
     return null;
@@ -155,7 +156,7 @@ public class MemIntQpExecutor extends AbstractQueryProcessExecutor {
   }
 
   @Override
-  public boolean delete(Path path, long deleteTime) {
+  public boolean delete(Path path, long startTime, long deleteTime) {
     if (!demoMemDataBase.containsKey(path.toString())) {
       return true;
     }
@@ -163,7 +164,7 @@ public class MemIntQpExecutor extends AbstractQueryProcessExecutor {
     TreeMap<Long, Integer> delResult = new TreeMap<>();
     for (Entry<Long, Integer> entry : series.data.entrySet()) {
       long timestamp = entry.getKey();
-      if (timestamp >= deleteTime) {
+      if (timestamp < startTime || timestamp >= deleteTime) {
         delResult.put(timestamp, entry.getValue());
       }
     }
@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.exception.QueryMemoryExceededException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class QueryMemoryManagerTest {
+
+  private IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+  private long prevWaitTime;
+  private QueryMemoryManager manager;
+
+  @Before
+  public void setUp() {
+    prevWaitTime = config.getQueryMemoryWaitTimeInMs();
+    manager = new QueryMemoryManager(100);
+  }
+
+  @After
+  public void tearDown() {
+    config.setQueryMemoryWaitTimeInMs(prevWaitTime);
+  }
+
+  @Test
+  public void testReserveAndRelease() throws QueryMemoryExceededException {
+    manager.reserve(1, 30);
+    manager.reserve(1, 20);
+    manager.reserve(2, 50);
+    assertEquals(50, manager.getJobMemory(1));
+    assertEquals(100, manager.getReservedMemory());
+    assertEquals(2, manager.getRunningQueryNum());
+
+    manager.release(1);
+    assertEquals(0, manager.getJobMemory(1));
+    assertEquals(50, manager.getReservedMemory());
+    manager.release(2);
+    assertEquals(0, manager.getReservedMemory());
+    assertEquals(0, manager.getRunningQueryNum());
+  }
+
+  @Test
+  public void testRejectTooLargeQuery() throws QueryMemoryExceededException {
+    manager.reserve(1, 60);
+    try {
+      manager.reserve(1, 50);
+      fail("A query larger than the budget should be rejected");
+    } catch (QueryMemoryExceededException e) {
+      // expected
+    }
+    assertEquals(1, manager.getRejectedQueryNum());
+    assertEquals(60, manager.getReservedMemory());
+  }
+
+  @Test
+  public void testRejectAfterWaiting() throws QueryMemoryExceededException {
+    config.setQueryMemoryWaitTimeInMs(50);
+    manager.reserve(1, 60);
+    try {
+      manager.reserve(2, 50);
+      fail("A query should be rejected when no memory is released in time");
+    } catch (QueryMemoryExceededException e) {
+      // expected
+    }
+    assertEquals(1, manager.getRejectedQueryNum());
+    assertEquals(0, manager.getWaitingQueryNum());
+    assertEquals(0, manager.getJobMemory(2));
+  }
+
+  @Test
+  public void testWaitForRelease() throws QueryMemoryExceededException {
+    config.setQueryMemoryWaitTimeInMs(10000);
+    manager.reserve(1, 60);
+    Thread releaser = new Thread(() -> {
+      try {
+        Thread.sleep(100);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      manager.release(1);
+    });
+    releaser.start();
+    manager.reserve(2, 50);
+    assertEquals(50, manager.getReservedMemory());
+    assertEquals(0, manager.getRejectedQueryNum());
+  }
+
+  @Test
+  public void testQueriesHoldingMemoryDoNotWaitForEachOther() throws InterruptedException {
+    config.setQueryMemoryWaitTimeInMs(60000);
+    // each query reads two series of 40 bytes, together they need more than the budget
+    CountDownLatch firstSeriesReserved = new CountDownLatch(2);
+    AtomicInteger rejectedNum = new AtomicInteger();
+    Thread[] queries = new Thread[2];
+    for (int i = 0; i < queries.length; i++) {
+      long jobId = i + 1L;
+      queries[i] = new Thread(() -> {
+        try {
+          manager.reserve(jobId, 40);
+          firstSeriesReserved.countDown();
+          firstSeriesReserved.await();
+          manager.reserve(jobId, 40);
+        } catch (QueryMemoryExceededException e) {
+          rejectedNum.incrementAndGet();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } finally {
+          manager.release(jobId);
+        }
+      });
+      queries[i].start();
+    }
+    for (Thread query : queries) {
+      query.join(10000);
+      assertFalse("A query holding memory should not wait for another one", query.isAlive());
+    }
+    // at least one of them is rejected at once instead of waiting for the other one forever
+    assertTrue(rejectedNum.get() >= 1);
+    assertEquals(0, manager.getWaitingQueryNum());
+    assertEquals(0, manager.getReservedMemory());
+    assertEquals(0, manager.getRunningQueryNum());
+  }
+}
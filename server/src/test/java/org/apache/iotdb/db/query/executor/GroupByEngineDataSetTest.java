@@ -18,6 +18,7 @@
  */
 package org.apache.iotdb.db.query.executor;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import org.apache.iotdb.db.query.dataset.groupby.GroupByEngineDataSet;
@@ -29,7 +30,7 @@ import org.junit.Test;
 public class GroupByEngineDataSetTest {
 
   @Test
-  public void test1() {
+  public void test1() throws IOException {
     long jobId = 1000L;
     long unit = 20;
     long startTimePoint = 810;
@@ -52,7 +53,7 @@ public class GroupByEngineDataSetTest {
   }
 
   @Test
-  public void test2() {
+  public void test2() throws IOException {
     long jobId = 1000L;
     long unit = 20;
     long startTimePoint = 850;
@@ -77,7 +78,7 @@ public class GroupByEngineDataSetTest {
   }
 
   @Test
-  public void test3() {
+  public void test3() throws IOException {
     long jobId = 1000L;
     long unit = 20;
     long startTimePoint = 100;
@@ -102,7 +103,7 @@ public class GroupByEngineDataSetTest {
   }
 
   @Test
-  public void test4() {
+  public void test4() throws IOException {
     long jobId = 1000L;
     long unit = 200;
     long startTimePoint = 100;
@@ -128,7 +129,7 @@ public class GroupByEngineDataSetTest {
 
 //(80ms, 30,[50,100], [585,590], [615, 650])
   @Test
-  public void test5() {
+  public void test5() throws IOException {
     long jobId = 1000L;
     long unit = 80;
     long startTimePoint = 30;
@@ -150,4 +151,53 @@ public class GroupByEngineDataSetTest {
     }
     Assert.assertEquals(startTimeArray.length, cnt);
   }
+
+  @Test
+  public void slidingTest() throws IOException {
+    long jobId = 1000L;
+    long unit = 20;
+    long slidingStep = 10;
+    long startTimePoint = 0;
+    List<Pair<Long, Long>> pairList = new ArrayList<>();
+    pairList.add(new Pair<>(5L, 40L));
+    pairList.add(new Pair<>(75L, 85L));
+
+    long[] startTimeArray = {5, 10, 20, 30, 40, 75, 80};
+    long[] endTimeArray = {20, 30, 40, 50, 60, 90, 100};
+    GroupByEngineDataSet groupByEngine = new GroupByWithValueFilterDataSet(jobId, null, unit,
+        slidingStep, startTimePoint, pairList);
+    int cnt = 0;
+    while (groupByEngine.hasNext()) {
+      Pair pair = groupByEngine.nextTimePartition();
+      Assert.assertTrue(cnt < startTimeArray.length);
+      Assert.assertEquals(startTimeArray[cnt], pair.left);
+      Assert.assertEquals(endTimeArray[cnt], pair.right);
+      cnt++;
+    }
+    Assert.assertEquals(startTimeArray.length, cnt);
+  }
+
+  @Test
+  public void hoppingTest() throws IOException {
+    long jobId = 1000L;
+    long unit = 10;
+    long slidingStep = 30;
+    long startTimePoint = 0;
+    List<Pair<Long, Long>> pairList = new ArrayList<>();
+    pairList.add(new Pair<>(15L, 100L));
+
+    long[] startTimeArray = {30, 60, 90};
+    long[] endTimeArray = {40, 70, 100};
+    GroupByEngineDataSet groupByEngine = new GroupByWithValueFilterDataSet(jobId, null, unit,
+        slidingStep, startTimePoint, pairList);
+    int cnt = 0;
+    while (groupByEngine.hasNext()) {
+      Pair pair = groupByEngine.nextTimePartition();
+      Assert.assertTrue(cnt < startTimeArray.length);
+      Assert.assertEquals(startTimeArray[cnt], pair.left);
+      Assert.assertEquals(endTimeArray[cnt], pair.right);
+      cnt++;
+    }
+    Assert.assertEquals(startTimeArray.length, cnt);
+  }
 }
\ No newline at end of file
@@ -0,0 +1,263 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.reader.seriesRelated;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.io.FileUtils;
+import org.apache.iotdb.db.engine.cache.ChunkCache;
+import org.apache.iotdb.db.engine.cache.DeviceMetaDataCache;
+import org.apache.iotdb.db.engine.cache.TsFileMetaDataCache;
+import org.apache.iotdb.db.engine.modification.Deletion;
+import org.apache.iotdb.db.engine.modification.ModificationFile;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.db.query.control.FileReaderManager;
+import org.apache.iotdb.db.query.reader.IPointReader;
+import org.apache.iotdb.db.query.reader.resourceRelated.SeqResourceIterateReader;
+import org.apache.iotdb.db.utils.TimeValuePair;
+import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.write.TsFileWriter;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.record.datapoint.LongDataPoint;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+import org.apache.iotdb.tsfile.write.schema.Schema;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Two sealed sequence TsFiles with the points [0, 300) and [300, 600), whose values are their
+ * timestamps. Each TsFile has three chunks of 100 points, each chunk has four pages of 25 points.
+ */
+public class SeriesReaderSkipPointsTest {
+
+  private static final String DEVICE = "root.skip.d1";
+  private static final String MEASUREMENT = "s1";
+  private static final Path PATH = new Path(DEVICE, MEASUREMENT);
+  private static final int CHUNK_SIZE = 100;
+  private static final int PAGE_SIZE = 25;
+
+  private File dir = new File("skip-points-test");
+  private List<TsFileResource> seqResources = new ArrayList<>();
+  private QueryContext context = new QueryContext();
+  private int maxNumberOfPointsInPage;
+
+  @Before
+  public void setUp() throws IOException, WriteProcessException {
+    maxNumberOfPointsInPage = TSFileConfig.maxNumberOfPointsInPage;
+    TSFileConfig.maxNumberOfPointsInPage = PAGE_SIZE;
+    FileUtils.deleteDirectory(dir);
+    dir.mkdirs();
+    seqResources.add(writeTsFile(new File(dir, "1-1.tsfile"), 0));
+    seqResources.add(writeTsFile(new File(dir, "2-2.tsfile"), 3 * CHUNK_SIZE));
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    TSFileConfig.maxNumberOfPointsInPage = maxNumberOfPointsInPage;
+    FileReaderManager.getInstance().closeAndRemoveAllOpenedReaders();
+    TsFileMetaDataCache.getInstance().clear();
+    DeviceMetaDataCache.getInstance().clear();
+    ChunkCache.getInstance().clear();
+    FileUtils.deleteDirectory(dir);
+  }
+
+  private TsFileResource writeTsFile(File file, long startTime)
+      throws IOException, WriteProcessException {
+    Schema schema = new Schema();
+    schema.registerMeasurement(
+        new MeasurementSchema(MEASUREMENT, TSDataType.INT64, TSEncoding.PLAIN));
+    TsFileWriter writer = new TsFileWriter(file, schema);
+    for (long time = startTime; time < startTime + 3 * CHUNK_SIZE; time++) {
+      TSRecord record = new TSRecord(time, DEVICE);
+      record.addTuple(new LongDataPoint(MEASUREMENT, time));
+      writer.write(record);
+      if ((time + 1) % CHUNK_SIZE == 0) {
+        writer.flushForTest();
+      }
+    }
+    writer.close();
+    Map<String, Long> startTimeMap = new HashMap<>();
+    Map<String, Long> endTimeMap = new HashMap<>();
+    startTimeMap.put(DEVICE, startTime);
+    endTimeMap.put(DEVICE, startTime + 3 * CHUNK_SIZE - 1);
+    return new TsFileResource(file, startTimeMap, endTimeMap);
+  }
+
+  private void delete(TsFileResource resource, long startTime, long endTime) throws IOException {
+    ModificationFile modificationFile = resource.getModFile();
+    modificationFile.write(new Deletion(PATH, Long.MAX_VALUE, startTime, endTime));
+    modificationFile.close();
+  }
+
+  private SeqResourceIterateReader seqReader(boolean ascending) {
+    return new SeqResourceIterateReader(PATH, new ArrayList<>(seqResources), null, context,
+        !ascending, ascending);
+  }
+
+  private SeriesReaderWithoutValueFilter reader(IPointReader unseqReader, boolean ascending) {
+    return new SeriesReaderWithoutValueFilter(seqReader(ascending), unseqReader, ascending);
+  }
+
+  private List<Long> readTimes(SeriesReaderWithoutValueFilter reader) throws IOException {
+    List<Long> times = new ArrayList<>();
+    while (reader.hasNext()) {
+      TimeValuePair timeValuePair = reader.next();
+      times.add(timeValuePair.getTimestamp());
+    }
+    return times;
+  }
+
+  @Test
+  public void testSkipChunksAndPages() throws IOException {
+    SeriesReaderWithoutValueFilter reader = reader(null, true);
+    long requestNum = ChunkCache.getInstance().getRequestNum();
+    assertEquals(250, reader.skipPoints(250));
+    // the first two chunks are skipped without being loaded
+    assertEquals(requestNum + 1, ChunkCache.getInstance().getRequestNum());
+
+    List<Long> times = readTimes(reader);
+    assertEquals(350, times.size());
+    for (int i = 0; i < times.size(); i++) {
+      assertEquals(250 + i, (long) times.get(i));
+    }
+  }
+
+  @Test
+  public void testSkipMoreThanAll() throws IOException {
+    SeriesReaderWithoutValueFilter reader = reader(null, true);
+    assertEquals(600, reader.skipPoints(1000));
+    assertFalse(reader.hasNext());
+  }
+
+  @Test
+  public void testSkipWithDeletion() throws IOException {
+    delete(seqResources.get(0), 120, 129);
+    SeriesReaderWithoutValueFilter reader = reader(null, true);
+    // the numbers of points of the second chunk and its first page count deleted points
+    assertEquals(100, reader.skipPoints(250));
+
+    List<Long> times = readTimes(reader);
+    assertEquals(490, times.size());
+    assertEquals(100, (long) times.get(0));
+    assertEquals(119, (long) times.get(19));
+    assertEquals(130, (long) times.get(20));
+  }
+
+  @Test
+  public void testSkipWithUnseqOverlap() throws IOException {
+    // an unsequence point overwrites the point at 150 with 150 % 7
+    SeriesReaderWithoutValueFilter reader = reader(new FakedIPointReader(150, 1, 1, 7), true);
+    // the first chunk and the pages before 150 of the second chunk are skipped
+    assertEquals(150, reader.skipPoints(250));
+
+    TimeValuePair timeValuePair = reader.next();
+    assertEquals(150, timeValuePair.getTimestamp());
+    assertEquals(150 % 7, timeValuePair.getValue().getLong());
+    List<Long> times = readTimes(reader);
+    assertEquals(449, times.size());
+    assertEquals(151, (long) times.get(0));
+  }
+
+  @Test
+  public void testSkipDescending() throws IOException {
+    SeriesReaderWithoutValueFilter reader = reader(null, false);
+    long requestNum = ChunkCache.getInstance().getRequestNum();
+    // the last two chunks and the last two pages of the chunk before them
+    assertEquals(250, reader.skipPoints(250));
+    assertEquals(requestNum + 1, ChunkCache.getInstance().getRequestNum());
+
+    List<Long> times = readTimes(reader);
+    assertEquals(350, times.size());
+    for (int i = 0; i < times.size(); i++) {
+      assertEquals(349 - i, (long) times.get(i));
+    }
+  }
+
+  @Test
+  public void testSkipDescendingWithUnseqOverlap() throws IOException {
+    // unsequence points at 450 and 449 in descending order
+    SeriesReaderWithoutValueFilter reader = reader(new FakedIPointReader(450, 2, -1, 7), false);
+    // the last chunk and the last page of the chunk before it
+    assertEquals(125, reader.skipPoints(250));
+
+    List<Long> times = readTimes(reader);
+    assertEquals(475, times.size());
+    assertEquals(474, (long) times.get(0));
+    assertEquals(450, (long) times.get(24));
+    assertEquals(0, (long) times.get(474));
+  }
+
+  @Test
+  public void testChunkSkipper() throws IOException {
+    SeqResourceIterateReader reader = seqReader(true);
+    List<Long> times = new ArrayList<>();
+    assertTrue(reader.hasNext());
+    BatchData batchData = reader.nextBatch();
+    // the skipper is asked when the reader reaches a chunk, so the loaded chunk is read to the end
+    reader.setChunkSkipper(chunk -> chunk.getEndTime() < 450);
+    while (true) {
+      while (batchData.hasNext()) {
+        times.add(batchData.currentTime());
+        batchData.next();
+      }
+      if (!reader.hasNext()) {
+        break;
+      }
+      batchData = reader.nextBatch();
+    }
+    assertEquals(CHUNK_SIZE * 3, times.size());
+    assertEquals(99, (long) times.get(CHUNK_SIZE - 1));
+    assertEquals(400, (long) times.get(CHUNK_SIZE));
+    assertEquals(599, (long) times.get(CHUNK_SIZE * 3 - 1));
+  }
+
+  @Test
+  public void testChunkSkipperDescending() throws IOException {
+    SeqResourceIterateReader reader = seqReader(false);
+    reader.setChunkSkipper(chunk -> chunk.getStartTime() >= 100 && chunk.getEndTime() < 500);
+    List<Long> times = new ArrayList<>();
+    while (reader.hasNext()) {
+      BatchData batchData = reader.nextBatch();
+      while (batchData.hasNext()) {
+        times.add(batchData.currentTime());
+        batchData.next();
+      }
+    }
+    assertEquals(CHUNK_SIZE * 2, times.size());
+    assertEquals(599, (long) times.get(0));
+    assertEquals(500, (long) times.get(CHUNK_SIZE - 1));
+    assertEquals(99, (long) times.get(CHUNK_SIZE));
+    assertEquals(0, (long) times.get(CHUNK_SIZE * 2 - 1));
+  }
+}
@@ -20,6 +20,8 @@
 package org.apache.iotdb.db.query.reader.universal;
 
 import java.io.IOException;
+import org.apache.iotdb.db.exception.QueryInterruptedException;
+import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.query.reader.IPointReader;
 import org.apache.iotdb.db.utils.TimeValuePair;
 import org.apache.iotdb.db.utils.TsPrimitiveType;
@@ -51,6 +53,83 @@ public class PriorityMergeReaderTest {
         new long[]{4, 6});
   }
 
+  @Test
+  public void testDescOrder() throws IOException {
+    testDesc(new long[]{6, 5, 4, 3, 2, 1}, new long[]{2, 2, 1, 2, 2, 2}, new long[]{5, 4, 3, 2, 1},
+        new long[]{6, 5, 3, 2, 1});
+    testDesc(new long[]{7, 6, 5, 4, 3, 2, 1}, new long[]{3, 2, 3, 1, 3, 3, 3},
+        new long[]{5, 4, 3, 2, 1},
+        new long[]{6, 5, 3, 2, 1}, new long[]{7, 5, 3, 2, 1});
+  }
+
+  @Test
+  public void testCancel() throws IOException {
+    long[] timestamps = new long[100000];
+    for (int i = 0; i < timestamps.length; i++) {
+      timestamps[i] = i;
+    }
+    QueryContext context = new QueryContext(1);
+    PriorityMergeReader priorityMergeReader = new PriorityMergeReader();
+    priorityMergeReader.setContext(context);
+    priorityMergeReader.addReaderWithPriority(new FakedSeriesReader(timestamps, 1), 1);
+
+    int cnt = 0;
+    try {
+      while (priorityMergeReader.hasNext()) {
+        priorityMergeReader.next();
+        if (++cnt == 100) {
+          context.cancel();
+        }
+      }
+      Assert.fail("the reader should stop after the query is cancelled");
+    } catch (QueryInterruptedException e) {
+      // the query is checked once every 4096 points
+      Assert.assertTrue(cnt < 4096);
+    }
+  }
+
+  @Test
+  public void testTimeout() throws IOException, InterruptedException {
+    long[] timestamps = new long[100000];
+    for (int i = 0; i < timestamps.length; i++) {
+      timestamps[i] = i;
+    }
+    QueryContext context = new QueryContext(1);
+    context.setTimeout(1);
+    Thread.sleep(10);
+    PriorityMergeReader priorityMergeReader = new PriorityMergeReader();
+    priorityMergeReader.setContext(context);
+    priorityMergeReader.addReaderWithPriority(new FakedSeriesReader(timestamps, 1), 1);
+
+    int cnt = 0;
+    try {
+      while (priorityMergeReader.hasNext()) {
+        priorityMergeReader.next();
+        cnt++;
+      }
+      Assert.fail("the reader should stop after the query times out");
+    } catch (QueryInterruptedException e) {
+      Assert.assertTrue(cnt < 4096);
+    }
+  }
+
+  private void testDesc(long[] retTimestamp, long[] retValue, long[]... sources)
+      throws IOException {
+    PriorityMergeReader priorityMergeReader = new PriorityMergeReader(false);
+    for (int i = 0; i < sources.length; i++) {
+      priorityMergeReader.addReaderWithPriority(new FakedSeriesReader(sources[i], i + 1), i + 1);
+    }
+
+    int i = 0;
+    while (priorityMergeReader.hasNext()) {
+      TimeValuePair timeValuePair = priorityMergeReader.next();
+      Assert.assertEquals(retTimestamp[i], timeValuePair.getTimestamp());
+      Assert.assertEquals(retValue[i], timeValuePair.getValue().getValue());
+      i++;
+    }
+    Assert.assertEquals(retTimestamp.length, i);
+  }
+
   private void test(long[] retTimestamp, long[] retValue, long[]... sources) throws IOException {
     PriorityMergeReader priorityMergeReader = new PriorityMergeReader();
     for (int i = 0; i < sources.length; i++) {
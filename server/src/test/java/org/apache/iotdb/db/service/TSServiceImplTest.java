@@ -0,0 +1,149 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.service.rpc.thrift.TSCloseSessionReq;
+import org.apache.iotdb.service.rpc.thrift.TSOpenSessionReq;
+import org.apache.iotdb.service.rpc.thrift.TSOpenSessionResp;
+import org.apache.iotdb.service.rpc.thrift.TSProtocolVersion;
+import org.apache.iotdb.service.rpc.thrift.TSSetTimeZoneReq;
+import org.apache.iotdb.service.rpc.thrift.TS_StatusCode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TSServiceImplTest {
+
+  private TSServiceImpl service;
+
+  @Before
+  public void setUp() throws Exception {
+    EnvironmentUtils.closeStatMonitor();
+    EnvironmentUtils.envSetUp();
+    service = new TSServiceImpl();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    EnvironmentUtils.cleanEnv();
+  }
+
+  private TSOpenSessionResp login(String username, String password) throws Exception {
+    TSOpenSessionReq req = new TSOpenSessionReq(TSProtocolVersion.IOTDB_SERVICE_PROTOCOL_V1);
+    req.setUsername(username);
+    req.setPassword(password);
+    return service.openSession(req);
+  }
+
+  @Test
+  public void testNoSessionBound() throws Exception {
+    // requests not coming from a connection get an error instead of a new session
+    TSOpenSessionResp resp = login("root", "root");
+    assertEquals(TS_StatusCode.ERROR_STATUS, resp.getStatus().getStatusCode());
+    assertEquals(0, service.getSessionNum());
+    assertEquals(TS_StatusCode.ERROR_STATUS,
+        service.getTimeZone().getStatus().getStatusCode());
+    assertEquals(TS_StatusCode.ERROR_STATUS,
+        service.closeSession(new TSCloseSessionReq()).getStatus().getStatusCode());
+    assertEquals(0, service.getSessionNum());
+  }
+
+  @Test
+  public void testLoginAndLogout() throws Exception {
+    ClientSession session = service.createSession();
+    service.bindSession(session);
+    assertEquals(1, service.getSessionNum());
+
+    assertEquals(TS_StatusCode.ERROR_STATUS,
+        service.getTimeZone().getStatus().getStatusCode());
+    assertEquals(TS_StatusCode.ERROR_STATUS,
+        login("root", "wrong password").getStatus().getStatusCode());
+    assertNull(session.getUsername());
+
+    TSOpenSessionResp resp = login("root", "root");
+    assertEquals(TS_StatusCode.SUCCESS_STATUS, resp.getStatus().getStatusCode());
+    assertEquals(Long.toString(session.getSessionId()),
+        new String(resp.getSessionHandle().getSessionId().getGuid()));
+    assertEquals("root", session.getUsername());
+    assertEquals(TS_StatusCode.SUCCESS_STATUS,
+        service.getTimeZone().getStatus().getStatusCode());
+
+    assertEquals(TS_StatusCode.SUCCESS_STATUS,
+        service.closeSession(new TSCloseSessionReq()).getStatus().getStatusCode());
+    assertNull(session.getUsername());
+    assertEquals(TS_StatusCode.ERROR_STATUS,
+        service.getTimeZone().getStatus().getStatusCode());
+    assertEquals(TS_StatusCode.ERROR_STATUS,
+        service.closeSession(new TSCloseSessionReq()).getStatus().getStatusCode());
+    // the connection is still open
+    assertEquals(1, service.getSessionNum());
+  }
+
+  @Test
+  public void testSessionsOfSeveralClients() throws Exception {
+    ClientSession session1 = service.createSession();
+    ClientSession session2 = service.createSession();
+    assertEquals(2, service.getSessionNum());
+
+    // the requests of both connections are served by the same thread in turn
+    service.bindSession(session1);
+    assertEquals(TS_StatusCode.SUCCESS_STATUS, login("root", "root").getStatus().getStatusCode());
+    assertEquals(TS_StatusCode.SUCCESS_STATUS, service
+        .setTimeZone(new TSSetTimeZoneReq("+01:00")).getStatus().getStatusCode());
+
+    service.bindSession(session2);
+    assertEquals(TS_StatusCode.ERROR_STATUS,
+        service.getTimeZone().getStatus().getStatusCode());
+    assertEquals(TS_StatusCode.SUCCESS_STATUS, login("root", "root").getStatus().getStatusCode());
+    assertEquals(TS_StatusCode.SUCCESS_STATUS, service
+        .setTimeZone(new TSSetTimeZoneReq("+08:00")).getStatus().getStatusCode());
+
+    service.bindSession(session1);
+    assertEquals("+01:00", service.getTimeZone().getTimeZone());
+    service.bindSession(session2);
+    assertEquals("+08:00", service.getTimeZone().getTimeZone());
+  }
+
+  @Test
+  public void testCleanUpOnClientExit() throws Exception {
+    ClientSession session1 = service.createSession();
+    ClientSession session2 = service.createSession();
+    service.bindSession(session1);
+    login("root", "root");
+    service.bindSession(session2);
+    login("root", "root");
+
+    service.handleClientExit(session1);
+    assertNull(session1.getUsername());
+    assertEquals(1, service.getSessionNum());
+    // the thread is not bound to any session after the connection is closed
+    assertEquals(TS_StatusCode.ERROR_STATUS,
+        service.getTimeZone().getStatus().getStatusCode());
+
+    // a client that never logged in is cleaned up as well
+    ClientSession session3 = service.createSession();
+    service.handleClientExit(session3);
+    service.handleClientExit(session2);
+    assertEquals(0, service.getSessionNum());
+  }
+}
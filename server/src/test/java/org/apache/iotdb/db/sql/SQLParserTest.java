@@ -395,6 +395,22 @@ public class SQLParserTest {
   // }
   // }
 
+  @Test
+  public void loadFile() throws ParseException {
+    ArrayList<String> ans = new ArrayList<>(
+        Arrays.asList("TOK_LOAD_FILE", "'/user/data/1561800000000-1.tsfile'"));
+    ArrayList<String> rec = new ArrayList<>();
+    AstNode astTree = ParseGenerator.generateAST("LOAD '/user/data/1561800000000-1.tsfile'");
+    astTree = ParseUtils.findRootNonNullToken(astTree);
+    recursivePrintSon(astTree, rec);
+
+    int i = 0;
+    while (i <= rec.size() - 1) {
+      assertEquals(rec.get(i), ans.get(i));
+      i++;
+    }
+  }
+
   @Test
   public void deleteTimeseires1() throws ParseException {
     // template for test case
@@ -1087,6 +1103,28 @@ public class SQLParserTest {
     }
   }
 
+  @Test
+  public void groupby4() throws ParseException {
+    // template for test case
+    ArrayList<String> ans = new ArrayList<>(
+        Arrays.asList("TOK_QUERY", "TOK_SELECT", "TOK_PATH", "TOK_CLUSTER",
+            "TOK_PATH", "s2", "sum", "TOK_FROM", "TOK_PATH", "TOK_ROOT", "vehicle", "d1",
+            "TOK_GROUPBY", "TOK_TIMEUNIT", "5", "m", "TOK_SLIDINGSTEP", "10", "s",
+            "TOK_TIMEORIGIN", "44", "TOK_TIMEINTERVAL", "TOK_TIMEINTERVALPAIR", "1", "3"));
+    ArrayList<String> rec = new ArrayList<>();
+    AstNode astTree = ParseGenerator
+        .generateAST("select sum(s2) " + "FROM root.vehicle.d1 "
+            + "group by(5m, 10s, 44, [1,3])");
+    astTree = ParseUtils.findRootNonNullToken(astTree);
+    recursivePrintSon(astTree, rec);
+
+    int i = 0;
+    while (i <= rec.size() - 1) {
+      assertEquals(rec.get(i), ans.get(i));
+      i++;
+    }
+  }
+
   @Test
   public void fill1() throws ParseException {
     // template for test case
@@ -0,0 +1,155 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.sync.receiver;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import org.apache.commons.io.FileUtils;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.sync.conf.Constans;
+import org.apache.iotdb.db.utils.FilePathUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SyncServiceImplTest {
+
+  private static final String UUID = "sync-receiver-test";
+  private static final String IP = "127.0.0.1";
+  private static final String STORAGE_GROUP = "root.sg1";
+  private static final int BLOCK_SIZE = 1024;
+
+  private SyncServiceImpl service = new SyncServiceImpl();
+  private ExecutorService fileThread = Executors.newSingleThreadExecutor();
+  private File syncFolder = new File(FilePathUtils.regularizePath(
+      IoTDBDescriptor.getInstance().getConfig().getBaseDir()) + Constans.SYNC_SERVER, UUID);
+  private byte[] data = new byte[BLOCK_SIZE * 3 + 100];
+
+  @Before
+  public void setUp() throws IOException {
+    FileUtils.deleteDirectory(syncFolder);
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) i;
+    }
+    assertTrue(service.checkIdentity(UUID, IP));
+    assertTrue(service.init(STORAGE_GROUP));
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    fileThread.shutdownNow();
+    service.cleanUp();
+    FileUtils.deleteDirectory(syncFolder);
+  }
+
+  private List<String> filePathSplit(String fileName) {
+    return Arrays.asList(STORAGE_GROUP, "0", fileName);
+  }
+
+  private long sendBlock(List<String> filePathSplit, long offset, boolean corrupted) {
+    int length = (int) Math.min(BLOCK_SIZE, data.length - offset);
+    CRC32 crc32 = new CRC32();
+    crc32.update(data, (int) offset, length);
+    ByteBuffer block = ByteBuffer.wrap(Arrays.copyOfRange(data, (int) offset,
+        (int) offset + length));
+    if (corrupted) {
+      block.put(0, (byte) (block.get(0) + 1));
+    }
+    return service.syncDataBlock(filePathSplit, offset, block, crc32.getValue());
+  }
+
+  private File receivedFile(List<String> filePathSplit) {
+    return new File(syncFolder, Constans.DATA_SNAPSHOT_NAME + File.separator + String
+        .join(File.separator, filePathSplit));
+  }
+
+  @Test
+  public void testCorruptedBlock() throws Exception {
+    List<String> filePathSplit = filePathSplit("1-1.tsfile");
+    // the file is received by another connection of the sender, as the sender does with several
+    // threads
+    Future<Boolean> result = fileThread.submit(() -> {
+      service.checkIdentity(UUID, IP);
+      assertEquals(0, service.getReceivedLength(filePathSplit));
+      assertEquals(BLOCK_SIZE, sendBlock(filePathSplit, 0, false));
+      // a corrupted block is dropped and the received length stays
+      assertEquals(BLOCK_SIZE, sendBlock(filePathSplit, BLOCK_SIZE, true));
+      // so is a block beyond the received part
+      assertEquals(BLOCK_SIZE, sendBlock(filePathSplit, BLOCK_SIZE * 2L, false));
+      long offset = BLOCK_SIZE;
+      while (offset < data.length) {
+        offset = sendBlock(filePathSplit, offset, false);
+      }
+      assertEquals(data.length, offset);
+      // the length does not match
+      assertFalse(service.finishFile(filePathSplit, data.length + 1L));
+      return service.finishFile(filePathSplit, data.length);
+    });
+    assertTrue(result.get());
+
+    assertArrayEquals(data, Files.readAllBytes(receivedFile(filePathSplit).toPath()));
+    assertFalse(new File(receivedFile(filePathSplit).getPath() + Constans.RECEIVING_FILE_SUFFIX)
+        .exists());
+    // the file is counted for the sender, not only for the connection that received it
+    assertEquals(1, service.getFileNum().get());
+  }
+
+  @Test
+  public void testResume() throws Exception {
+    List<String> filePathSplit = filePathSplit("2-2.tsfile");
+    // the connection breaks after two blocks
+    fileThread.submit(() -> {
+      service.checkIdentity(UUID, IP);
+      assertEquals(BLOCK_SIZE, sendBlock(filePathSplit, 0, false));
+      return sendBlock(filePathSplit, BLOCK_SIZE, false);
+    }).get();
+
+    // the half-finished file is kept by the next sync round
+    assertTrue(service.checkIdentity(UUID, IP));
+    assertTrue(service.init(STORAGE_GROUP));
+    Future<Boolean> result = fileThread.submit(() -> {
+      service.checkIdentity(UUID, IP);
+      long offset = service.getReceivedLength(filePathSplit);
+      assertEquals(BLOCK_SIZE * 2L, offset);
+      // a resent block overwrites the received data after it
+      assertEquals(BLOCK_SIZE * 2L, sendBlock(filePathSplit, BLOCK_SIZE, false));
+      while (offset < data.length) {
+        offset = sendBlock(filePathSplit, offset, false);
+      }
+      return service.finishFile(filePathSplit, offset);
+    });
+    assertTrue(result.get());
+
+    assertArrayEquals(data, Files.readAllBytes(receivedFile(filePathSplit).toPath()));
+    assertEquals(1, service.getFileNum().get());
+  }
+}
@@ -18,15 +18,21 @@
  */
 package org.apache.iotdb.db.sync.sender;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Random;
-import java.util.Set;
+import java.util.List;
+import org.apache.iotdb.db.engine.modification.Deletion;
+import org.apache.iotdb.db.engine.modification.ModificationFile;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.sync.conf.Constans;
+import org.apache.iotdb.tsfile.common.constant.TsFileConstant;
+import org.apache.iotdb.tsfile.read.common.Path;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -39,6 +45,10 @@ public class SyncFileManagerTest {
   private static final String LAST_FILE_INFO_TEST =
       POST_BACK_DIRECTORY_TEST + Constans.LAST_LOCAL_FILE_NAME;
   private static final String SENDER_FILE_PATH_TEST = POST_BACK_DIRECTORY_TEST + "data";
+  private static final String STORAGE_GROUP = "root.sg1";
+  private static final List<String> DATA_FOLDERS = Arrays.asList(
+      SENDER_FILE_PATH_TEST + File.separator + "sequence",
+      SENDER_FILE_PATH_TEST + File.separator + "unsequence");
   private SyncFileManager manager = SyncFileManager.getInstance();
   private static final Logger logger = LoggerFactory.getLogger(SyncFileManagerTest.class);
 
@@ -55,7 +65,7 @@ public class SyncFileManagerTest {
     if (!file.exists()) {
       file.mkdirs();
     }
-    manager.setCurrentLocalFiles(new HashMap<>());
+    manager.getLastSyncProgress(LAST_FILE_INFO_TEST);
   }
 
   @After
@@ -76,299 +86,97 @@ public class SyncFileManagerTest {
     }
   }
 
-  @Test // It tests two classes : backupNowLocalFileInfo and getLastLocalFileList
-  public void testBackupCurrentLocalFileInfo() throws IOException {
-    Map<String, Set<String>> allFileList = new HashMap<>();
-
-    Random r = new Random(0);
-    for (int i = 0; i < 3; i++) {
-      for (int j = 0; j < 5; j++) {
-        if (!allFileList.containsKey(String.valueOf(i))) {
-          allFileList.put(String.valueOf(i), new HashSet<>());
-        }
-        String rand = String.valueOf(r.nextInt(10000));
-        String fileName =
-            SENDER_FILE_PATH_TEST + File.separator + i + File.separator + rand;
-        File file = new File(fileName);
-        allFileList.get(String.valueOf(i)).add(file.getPath());
-        if (!file.getParentFile().exists()) {
-          file.getParentFile().mkdirs();
-        }
-        if (!file.exists() && !file.createNewFile()) {
-          logger.error("Can not create new file {}", file.getPath());
-        }
-      }
-    }
-    Set<String> lastFileList;
-
-    // lastFileList is empty
-    manager.getLastLocalFileList(LAST_FILE_INFO_TEST);
-    lastFileList = manager.getLastLocalFiles();
-    assert (lastFileList.isEmpty());
-
-    // add some files
-    manager.getCurrentLocalFileList(new String[]{SENDER_FILE_PATH_TEST});
-    manager.backupNowLocalFileInfo(LAST_FILE_INFO_TEST);
-    manager.getLastLocalFileList(LAST_FILE_INFO_TEST);
-    lastFileList = manager.getLastLocalFiles();
-    for (Entry<String, Set<String>> entry : allFileList.entrySet()) {
-      assert (lastFileList.containsAll(entry.getValue()));
-    }
-
-    // add some files and delete some files
-    r = new Random(1);
-    for (int i = 0; i < 3; i++) {
-      for (int j = 0; j < 5; j++) {
-        if (!allFileList.containsKey(String.valueOf(i))) {
-          allFileList.put(String.valueOf(i), new HashSet<>());
-        }
-        String rand = String.valueOf(r.nextInt(10000));
-        String fileName =
-            SENDER_FILE_PATH_TEST + File.separator + i + File.separator + rand;
-        File file = new File(fileName);
-        allFileList.get(String.valueOf(i)).add(file.getPath());
-        if (!file.getParentFile().exists()) {
-          file.getParentFile().mkdirs();
-        }
-        if (!file.exists() && !file.createNewFile()) {
-          logger.error("Can not create new file {}", file.getPath());
-        }
-      }
-    }
-    int count = 0;
-    Map<String, Set<String>> deleteFile = new HashMap<>();
-    for (Entry<String, Set<String>> entry : allFileList.entrySet()) {
-      deleteFile.put(entry.getKey(), new HashSet<>());
-      for (String path : entry.getValue()) {
-        count++;
-        if (count % 3 == 0) {
-          deleteFile.get(entry.getKey()).add(path);
-        }
-      }
-    }
-    for (Entry<String, Set<String>> entry : deleteFile.entrySet()) {
-      for (String path : entry.getValue()) {
-        new File(path).delete();
-        allFileList.get(entry.getKey()).remove(path);
-      }
-    }
-    manager.getCurrentLocalFileList(new String[]{SENDER_FILE_PATH_TEST});
-    manager.backupNowLocalFileInfo(LAST_FILE_INFO_TEST);
-    manager.getLastLocalFileList(LAST_FILE_INFO_TEST);
-    lastFileList = manager.getLastLocalFiles();
-    for (Entry<String, Set<String>> entry : allFileList.entrySet()) {
-      assert (lastFileList.containsAll(entry.getValue()));
-    }
+  @Test
+  public void testGetValidFileList() throws IOException {
+    // nothing to send
+    manager.getValidFiles(DATA_FOLDERS, System.currentTimeMillis());
+    assertTrue(manager.getValidAllFiles().isEmpty());
+
+    String file1 = createTsFile(0, 1, true);
+    String file2 = createTsFile(1, 2, true);
+    String file3 = createTsFile(1, 3, false);
+    String file4 = createTsFile(0, 4, true);
+
+    // file4 waits for file3, which has a smaller version but is unsealed
+    manager.getValidFiles(DATA_FOLDERS, System.currentTimeMillis());
+    assertEquals(new HashSet<>(Arrays.asList(file1, file2)),
+        manager.getValidAllFiles().get(STORAGE_GROUP));
+    manager.finishStorageGroup(STORAGE_GROUP);
+    manager.backupSyncProgress(LAST_FILE_INFO_TEST);
+
+    // the progress survives a restart
+    manager.getLastSyncProgress(LAST_FILE_INFO_TEST);
+    assertEquals(2, manager.getSyncedFileVersion(STORAGE_GROUP));
+    manager.getValidFiles(DATA_FOLDERS, System.currentTimeMillis());
+    assertTrue(manager.getValidAllFiles().get(STORAGE_GROUP).isEmpty());
+
+    sealTsFile(file3);
+    manager.getValidFiles(DATA_FOLDERS, System.currentTimeMillis());
+    assertEquals(new HashSet<>(Arrays.asList(file3, file4)),
+        manager.getValidAllFiles().get(STORAGE_GROUP));
+
+    // the synchronization fails, files are sent again in the next round
+    manager.getValidFiles(DATA_FOLDERS, System.currentTimeMillis());
+    assertEquals(new HashSet<>(Arrays.asList(file3, file4)),
+        manager.getValidAllFiles().get(STORAGE_GROUP));
+    manager.finishStorageGroup(STORAGE_GROUP);
+    assertEquals(4, manager.getSyncedFileVersion(STORAGE_GROUP));
   }
 
   @Test
-  public void testGetCurrentLocalFileList() throws IOException {
-    Map<String, Set<String>> allFileList = new HashMap<>();
-    Map<String, Set<String>> fileList;
-
-    // nowLocalList is empty
-    manager.getCurrentLocalFileList(new String[]{SENDER_FILE_PATH_TEST});
-    fileList = manager.getCurrentLocalFiles();
-    assert (isEmpty(fileList));
-
-    // add some files
-    Random r = new Random(0);
-    for (int i = 0; i < 3; i++) {
-      for (int j = 0; j < 5; j++) {
-        if (!allFileList.containsKey(String.valueOf(i))) {
-          allFileList.put(String.valueOf(i), new HashSet<>());
-        }
-        String rand = String.valueOf(r.nextInt(10000));
-        String fileName =
-            SENDER_FILE_PATH_TEST + File.separator + i + File.separator + rand;
-        File file = new File(fileName);
-        allFileList.get(String.valueOf(i)).add(file.getPath());
-        if (!file.getParentFile().exists()) {
-          file.getParentFile().mkdirs();
-        }
-        if (!file.exists() && !file.createNewFile()) {
-          logger.error("Can not create new file {}", file.getPath());
-        }
-      }
-    }
-    manager.getCurrentLocalFileList(new String[]{SENDER_FILE_PATH_TEST});
-    fileList = manager.getCurrentLocalFiles();
-    assert (allFileList.size() == fileList.size());
-    for (Entry<String, Set<String>> entry : fileList.entrySet()) {
-      assert (allFileList.containsKey(entry.getKey()));
-      assert (allFileList.get(entry.getKey()).containsAll(entry.getValue()));
-    }
+  public void testGetValidDeletions() throws IOException {
+    String file1 = createTsFile(0, 1, true);
+    String file2 = createTsFile(1, 2, true);
+    writeDeletion(file1, 3);
+    manager.getValidFiles(DATA_FOLDERS, System.currentTimeMillis());
+    // the deletion is sent along with the tsfile
+    assertEquals(new HashSet<>(Arrays.asList(file1, file2)),
+        manager.getValidAllFiles().get(STORAGE_GROUP));
+    assertTrue(manager.getValidDeletions().get(STORAGE_GROUP).isEmpty());
+    manager.finishStorageGroup(STORAGE_GROUP);
+    assertEquals(3, manager.getSyncedDeletionVersion(STORAGE_GROUP));
+
+    // a deletion on both synchronized files is sent once
+    writeDeletion(file1, 4);
+    writeDeletion(file2, 4);
+    writeDeletion(file2, 5);
+    manager.getValidFiles(DATA_FOLDERS, System.currentTimeMillis());
+    assertTrue(manager.getValidAllFiles().get(STORAGE_GROUP).isEmpty());
+    List<Deletion> deletions = manager.getValidDeletions().get(STORAGE_GROUP);
+    assertEquals(2, deletions.size());
+    assertEquals(4, deletions.get(0).getVersionNum());
+    assertEquals(5, deletions.get(1).getVersionNum());
+    manager.finishStorageGroup(STORAGE_GROUP);
+
+    manager.getValidFiles(DATA_FOLDERS, System.currentTimeMillis());
+    assertEquals(Collections.emptyList(), manager.getValidDeletions().get(STORAGE_GROUP));
+    assertEquals(5, manager.getSyncedDeletionVersion(STORAGE_GROUP));
+  }
 
-    // delete some files and add some files
-    int count = 0;
-    Map<String, Set<String>> deleteFile = new HashMap<>();
-    for (Entry<String, Set<String>> entry : allFileList.entrySet()) {
-      deleteFile.put(entry.getKey(), new HashSet<>());
-      for (String path : entry.getValue()) {
-        count++;
-        if (count % 3 == 0) {
-          deleteFile.get(entry.getKey()).add(path);
-        }
-      }
-    }
-    for (Entry<String, Set<String>> entry : deleteFile.entrySet()) {
-      for (String path : entry.getValue()) {
-        new File(path).delete();
-        allFileList.get(entry.getKey()).remove(path);
-      }
+  private String createTsFile(int folderIndex, long version, boolean sealed) throws IOException {
+    File file = new File(DATA_FOLDERS.get(folderIndex) + File.separator + STORAGE_GROUP,
+        System.currentTimeMillis() + "-" + version + TsFileConstant.TSFILE_SUFFIX);
+    if (!file.getParentFile().exists()) {
+      file.getParentFile().mkdirs();
     }
-    r = new Random(1);
-    for (int i = 0; i < 3; i++) {
-      for (int j = 0; j < 5; j++) {
-        if (!allFileList.containsKey(String.valueOf(i))) {
-          allFileList.put(String.valueOf(i), new HashSet<>());
-        }
-        String rand = String.valueOf(r.nextInt(10000));
-        String fileName =
-            SENDER_FILE_PATH_TEST + File.separator + i + File.separator + rand;
-        File file = new File(fileName);
-        allFileList.get(String.valueOf(i)).add(file.getPath());
-        if (!file.getParentFile().exists()) {
-          file.getParentFile().mkdirs();
-        }
-        if (!file.exists() && !file.createNewFile()) {
-          logger.error("Can not create new file {}", file.getPath());
-        }
-      }
+    if (!file.exists() && !file.createNewFile()) {
+      logger.error("Can not create new file {}", file.getPath());
     }
-    manager.setCurrentLocalFiles(new HashMap<>());
-    manager.getCurrentLocalFileList(new String[]{SENDER_FILE_PATH_TEST});
-    fileList = manager.getCurrentLocalFiles();
-    assert (allFileList.size() == fileList.size());
-    for (Entry<String, Set<String>> entry : fileList.entrySet()) {
-      assert (allFileList.containsKey(entry.getKey()));
-      logger.debug("allFileList");
-      for (String a : allFileList.get(entry.getKey())) {
-        logger.debug(a);
-      }
-      logger.debug("FileList");
-      for (String a : entry.getValue()) {
-        logger.debug(a);
-      }
-      assert (allFileList.get(entry.getKey()).containsAll(entry.getValue()));
+    if (sealed) {
+      sealTsFile(file.getAbsolutePath());
     }
+    return file.getAbsolutePath();
   }
 
-  @Test
-  public void testGetValidFileList() throws IOException {
-    Map<String, Set<String>> allFileList;
-    Map<String, Set<String>> newFileList = new HashMap<>();
-    Map<String, Set<String>> sendingFileList;
-    Set<String> lastLocalList;
-
-    // nowSendingList is empty
-
-    manager.setCurrentLocalFiles(new HashMap<>());
-    manager.getCurrentLocalFileList(new String[]{SENDER_FILE_PATH_TEST});
-    allFileList = manager.getCurrentLocalFiles();
-    manager.getLastLocalFileList(LAST_FILE_INFO_TEST);
-    lastLocalList = manager.getLastLocalFiles();
-    manager.getValidFileList();
-    assert (lastLocalList.isEmpty());
-    assert (isEmpty(allFileList));
-
-    // add some files
-    newFileList.clear();
-    manager.backupNowLocalFileInfo(LAST_FILE_INFO_TEST);
-    Random r = new Random(0);
-    for (int i = 0; i < 3; i++) {
-      for (int j = 0; j < 5; j++) {
-        if (!allFileList.containsKey(String.valueOf(i))) {
-          allFileList.put(String.valueOf(i), new HashSet<>());
-        }
-        if (!newFileList.containsKey(String.valueOf(i))) {
-          newFileList.put(String.valueOf(i), new HashSet<>());
-        }
-        String rand = String.valueOf(r.nextInt(10000));
-        String fileName =
-            SENDER_FILE_PATH_TEST + File.separator + i + File.separator + rand;
-        File file = new File(fileName);
-        allFileList.get(String.valueOf(i)).add(file.getPath());
-        newFileList.get(String.valueOf(i)).add(file.getPath());
-        if (!file.getParentFile().exists()) {
-          file.getParentFile().mkdirs();
-        }
-        if (!file.exists() && !file.createNewFile()) {
-          logger.error("Can not create new file {}", file.getPath());
-        }
-      }
-    }
-    manager.getCurrentLocalFileList(new String[]{SENDER_FILE_PATH_TEST});
-    allFileList = manager.getCurrentLocalFiles();
-    manager.backupNowLocalFileInfo(LAST_FILE_INFO_TEST);
-    manager.getLastLocalFileList(LAST_FILE_INFO_TEST);
-    manager.getValidFileList();
-    sendingFileList = manager.getValidAllFiles();
-    assert (sendingFileList.size() == newFileList.size());
-    for (Entry<String, Set<String>> entry : sendingFileList.entrySet()) {
-      assert (newFileList.containsKey(entry.getKey()));
-      assert (newFileList.get(entry.getKey()).containsAll(entry.getValue()));
-    }
-
-    // delete some files and add some files
-    int count = 0;
-    Map<String, Set<String>> deleteFile = new HashMap<>();
-    for (Entry<String, Set<String>> entry : allFileList.entrySet()) {
-      deleteFile.put(entry.getKey(), new HashSet<>());
-      for (String path : entry.getValue()) {
-        count++;
-        if (count % 3 == 0) {
-          deleteFile.get(entry.getKey()).add(path);
-        }
-      }
-    }
-    for (Entry<String, Set<String>> entry : deleteFile.entrySet()) {
-      for (String path : entry.getValue()) {
-        new File(path).delete();
-        allFileList.get(entry.getKey()).remove(path);
-      }
-    }
-    newFileList.clear();
-    r = new Random(1);
-    for (int i = 0; i < 3; i++) {
-      for (int j = 0; j < 5; j++) {
-        if (!allFileList.containsKey(String.valueOf(i))) {
-          allFileList.put(String.valueOf(i), new HashSet<>());
-        }
-        if (!newFileList.containsKey(String.valueOf(i))) {
-          newFileList.put(String.valueOf(i), new HashSet<>());
-        }
-        String rand = String.valueOf(r.nextInt(10000));
-        String fileName =
-            SENDER_FILE_PATH_TEST + File.separator + i + File.separator + rand;
-        File file = new File(fileName);
-        allFileList.get(String.valueOf(i)).add(file.getPath());
-        newFileList.get(String.valueOf(i)).add(file.getPath());
-        if (!file.getParentFile().exists()) {
-          file.getParentFile().mkdirs();
-        }
-        if (!file.exists() && !file.createNewFile()) {
-          logger.error("Can not create new file {}", file.getPath());
-        }
-      }
-    }
-    manager.getCurrentLocalFileList(new String[]{SENDER_FILE_PATH_TEST});
-    manager.getLastLocalFileList(LAST_FILE_INFO_TEST);
-    manager.getValidFileList();
-    sendingFileList = manager.getValidAllFiles();
-    assert (sendingFileList.size() == newFileList.size());
-    for (Entry<String, Set<String>> entry : sendingFileList.entrySet()) {
-      assert (newFileList.containsKey(entry.getKey()));
-      assert (newFileList.get(entry.getKey()).containsAll(entry.getValue()));
+  private void sealTsFile(String path) throws IOException {
+    if (!new File(path + TsFileResource.RESOURCE_SUFFIX).createNewFile()) {
+      logger.error("Can not create new file {}", path);
     }
   }
 
-  private boolean isEmpty(Map<String, Set<String>> sendingFileList) {
-    for (Entry<String, Set<String>> entry : sendingFileList.entrySet()) {
-      if (!entry.getValue().isEmpty()) {
-        return false;
-      }
-    }
-    return true;
+  private void writeDeletion(String path, long version) throws IOException {
+    ModificationFile modificationFile = new ModificationFile(path + ModificationFile.FILE_SUFFIX);
+    modificationFile.write(new Deletion(new Path(STORAGE_GROUP + ".d1.s1"), version, 100));
+    modificationFile.close();
   }
-}
\ No newline at end of file
+}
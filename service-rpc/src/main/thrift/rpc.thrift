@@ -133,6 +133,9 @@ struct TSExecuteStatementReq {
 
   // The statement to be executed (DML, DDL, SET, etc)
   2: required string statement
+
+  // Timeout of the query in ms, overrides the default of the server. 0 means no limit.
+  3: optional i64 timeout
 }
 
 
@@ -166,6 +169,9 @@ struct TSGetOperationStatusResp {
 struct TSCancelOperationReq {
   // Operation to cancel
   1: required TSOperationHandle operationHandle
+
+  // The query to cancel, all queries of the session if not set
+  2: optional i64 queryId
 }
 
 struct TSCancelOperationResp {
@@ -269,6 +275,29 @@ struct TSBatchInsertionReq {
     6: required i32 size
 }
 
+// PrepareStatement()
+//
+// Parse a statement with '?' as placeholders of parameters once, and keep it on the server
+// under the given statement id so that it can be executed many times by ExecutePrepared().
+struct TSPrepareStatementReq {
+  1: required TS_SessionHandle sessionHandle
+  2: required string statement
+  3: required i64 stmtId
+}
+
+struct TSPrepareStatementResp {
+  1: required TS_Status status
+  2: optional i32 parameterCount
+}
+
+// ExecutePrepared()
+struct TSExecutePreparedReq {
+  1: required TS_SessionHandle sessionHandle
+  2: required i64 stmtId
+  // parameter values in the form of SQL literals, e.g., 1, 1.5, true, 'text'
+  3: required list<string> parameters
+}
+
 struct ServerProperties {
 	1: required string version;
 	2: required list<string> supportedTimeAggregationOperations;
@@ -307,4 +336,8 @@ service TSIService {
 	TSExecuteBatchStatementResp insertBatch(1:TSBatchInsertionReq req);
 
 	i64 requestStatementId();
+
+	TSPrepareStatementResp prepareStatement(1:TSPrepareStatementReq req);
+
+	TSExecuteStatementResp executePrepared(1:TSExecutePreparedReq req);
 	}
@@ -35,4 +35,11 @@ service SyncService{
 	bool load()
 	void cleanUp()
 	bool init(1:string storageGroupName)
+	// the length of the file received so far, which is where the sender should resume
+	long getReceivedLength(1:list<string> filename)
+	// write a block at the offset if its CRC32 checksum matches, and return the length of the file
+	// received so far
+	long syncDataBlock(1:list<string> filename, 2:long offset, 3:binary buff, 4:long checksum)
+	// mark the file as completely received if its received length equals the given length
+	bool finishFile(1:list<string> filename, 2:long length)
 }
\ No newline at end of file
@@ -37,7 +37,9 @@ import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
 import org.apache.thrift.TException;
 import org.apache.thrift.protocol.TBinaryProtocol;
 import org.apache.thrift.protocol.TCompactProtocol;
+import org.apache.thrift.transport.TFramedTransport;
 import org.apache.thrift.transport.TSocket;
+import org.apache.thrift.transport.TTransport;
 import org.apache.thrift.transport.TTransportException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,7 +54,7 @@ public class Session {
   private final TSProtocolVersion protocolVersion = TSProtocolVersion.IOTDB_SERVICE_PROTOCOL_V1;
   public TSIService.Iface client = null;
   private TS_SessionHandle sessionHandle = null;
-  private TSocket transport;
+  private TTransport transport;
   private boolean isClosed = true;
   private ZoneId zoneId;
 
@@ -77,7 +79,19 @@ public class Session {
 
   public void open(boolean enableRPCCompression, int connectionTimeoutInMs)
       throws IoTDBSessionException {
+    open(enableRPCCompression, false, connectionTimeoutInMs);
+  }
+
+  /**
+   * @param enableFramedTransport must be true if the server runs the selector-based RPC server
+   * (rpc_selector_server_enable)
+   */
+  public void open(boolean enableRPCCompression, boolean enableFramedTransport,
+      int connectionTimeoutInMs) throws IoTDBSessionException {
     transport = new TSocket(host, port, connectionTimeoutInMs);
+    if (enableFramedTransport) {
+      transport = new TFramedTransport(transport);
+    }
     if (!transport.isOpen()) {
       try {
         transport.open();
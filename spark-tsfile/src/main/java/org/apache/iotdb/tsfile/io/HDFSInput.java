@@ -62,6 +62,14 @@ public class HDFSInput implements TsFileInput {
     return fileStatus.getLen();
   }
 
+  /**
+   * @return the modification time of the file, used to tell apart different versions of a file
+   * with the same path
+   */
+  public long getModificationTime() {
+    return fileStatus.getModificationTime();
+  }
+
   @Override
   public long position() throws IOException {
     return fsDataInputStream.getPos();
@@ -39,6 +39,7 @@ import org.apache.iotdb.tsfile.write.schema.{Schema, MeasurementSchema, SchemaBu
 import org.apache.spark.sql.catalyst.InternalRow
 import org.apache.spark.sql.sources._
 import org.apache.spark.sql.types._
+import org.apache.spark.unsafe.types.UTF8String
 
 import scala.collection.JavaConversions._
 import scala.collection.mutable
@@ -104,7 +105,7 @@ object Converter {
     files.foreach(f => {
       val in = new HDFSInput(f.getPath, conf)
       val reader = new TsFileSequenceReader(in)
-      val tsFileMetaData = reader.readFileMetadata
+      val tsFileMetaData = TsFileMetaDataCache.get(f.getPath.toUri.toString, in, reader)
       val devices = tsFileMetaData.getDeviceMap.keySet()
       val measurements = tsFileMetaData.getMeasurementSchema
 
@@ -146,6 +147,27 @@ object Converter {
     }
   }
 
+  /**
+    * Convert TSFile data to the internal representation of SparkSQL data, which can be put into an
+    * InternalRow directly without going through a row encoder.
+    *
+    * @param field one data point in TsFile
+    * @return SparkSQL internal data
+    */
+  def toInternalValue(field: Field): Any = {
+    if (field == null || field.isNull)
+      null
+    else field.getDataType match {
+      case TSDataType.BOOLEAN => field.getBoolV
+      case TSDataType.INT32 => field.getIntV
+      case TSDataType.INT64 => field.getLongV
+      case TSDataType.FLOAT => field.getFloatV
+      case TSDataType.DOUBLE => field.getDoubleV
+      case TSDataType.TEXT => UTF8String.fromBytes(field.getBinaryV.getValues)
+      case other => throw new UnsupportedOperationException(s"Unsupported type $other")
+    }
+  }
+
   /**
     * Construct fields with the TSFile data type converted to the SparkSQL data type.
     *
@@ -28,13 +28,11 @@ import org.apache.hadoop.mapreduce.Job
 import org.apache.iotdb.tsfile.DefaultSource.SerializableConfiguration
 import org.apache.iotdb.tsfile.common.constant.QueryConstant
 import org.apache.iotdb.tsfile.io.HDFSInput
-import org.apache.iotdb.tsfile.read.common.Field
 import org.apache.iotdb.tsfile.read.{ReadOnlyTsFile, TsFileSequenceReader}
 import org.apache.spark.TaskContext
 import org.apache.spark.sql.SparkSession
 import org.apache.spark.sql.catalyst.InternalRow
-import org.apache.spark.sql.catalyst.encoders.RowEncoder
-import org.apache.spark.sql.catalyst.expressions.GenericRow
+import org.apache.spark.sql.catalyst.expressions.GenericInternalRow
 import org.apache.spark.sql.execution.datasources.{FileFormat, OutputWriterFactory, PartitionedFile}
 import org.apache.spark.sql.sources.{DataSourceRegister, Filter}
 import org.apache.spark.sql.types._
@@ -95,7 +93,8 @@ private[tsfile] class DefaultSource extends FileFormat with DataSourceRegister {
       }
       }
 
-      val tsFileMetaData = reader.readFileMetadata
+      // the footer is shared by all the splits of the file scheduled on this executor
+      val tsFileMetaData = TsFileMetaDataCache.get(file.filePath, in, reader)
 
       // get queriedSchema from requiredSchema
       var queriedSchema = Converter.prepSchema(requiredSchema, tsFileMetaData)
@@ -103,17 +102,26 @@ private[tsfile] class DefaultSource extends FileFormat with DataSourceRegister {
       // construct queryExpression based on queriedSchema and filters
       val queryExpression = Converter.toQueryExpression(queriedSchema, filters)
 
-      val readTsFile: ReadOnlyTsFile = new ReadOnlyTsFile(reader)
+      val readTsFile: ReadOnlyTsFile = new ReadOnlyTsFile(reader, tsFileMetaData)
       val queryDataSet = readTsFile.query(queryExpression, file.start.asInstanceOf[java.lang.Long],
         (file.start + file.length).asInstanceOf[java.lang.Long])
 
-      new Iterator[InternalRow] {
-        private val rowBuffer = Array.fill[Any](requiredSchema.length)(null)
-
-        private val safeDataRow = new GenericRow(rowBuffer)
+      // position of each required column in the fields of a record, -1 for the time column and
+      // -2 for the columns that do not exist in this file; resolved once instead of once per row
+      val paths = queryDataSet.getPaths
+      val fieldIndexes = requiredSchema.map((field: StructField) => {
+        if (field.name == QueryConstant.RESERVED_TIME) {
+          -1
+        } else {
+          val pos = paths.indexOf(new org.apache.iotdb.tsfile.read.common.Path(field.name))
+          if (pos == -1) -2 else pos
+        }
+      }).toArray
 
-        // Used to convert `Row`s containing data columns into `InternalRow`s.
-        private val encoderForDataColumns = RowEncoder(requiredSchema)
+      new Iterator[InternalRow] {
+        // rows are handed over one by one and Spark copies them when it needs to keep them,
+        // so the same row is refilled for every record
+        private val row = new GenericInternalRow(requiredSchema.length)
 
         override def hasNext: Boolean = {
           val hasNext = queryDataSet.hasNext
@@ -124,25 +132,22 @@ private[tsfile] class DefaultSource extends FileFormat with DataSourceRegister {
 
           val curRecord = queryDataSet.next()
           val fields = curRecord.getFields
-          val paths = queryDataSet.getPaths
 
           //index in one required row
           var index = 0
-          requiredSchema.foreach((field: StructField) => {
-            if (field.name == QueryConstant.RESERVED_TIME) {
-              rowBuffer(index) = curRecord.getTimestamp
+          while (index < fieldIndexes.length) {
+            val pos = fieldIndexes(index)
+            if (pos == -1) {
+              row.setLong(index, curRecord.getTimestamp)
+            } else if (pos == -2) {
+              row.setNullAt(index)
             } else {
-              val pos = paths.indexOf(new org.apache.iotdb.tsfile.read.common.Path(field.name))
-              var curField: Field = null
-              if (pos != -1) {
-                curField = fields.get(pos)
-              }
-              rowBuffer(index) = Converter.toSqlValue(curField)
+              row.update(index, Converter.toInternalValue(fields.get(pos)))
             }
             index += 1
-          })
+          }
 
-          encoderForDataColumns.toRow(safeDataRow)
+          row
         }
       }
     }
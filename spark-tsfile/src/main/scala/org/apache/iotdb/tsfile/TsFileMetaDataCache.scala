@@ -0,0 +1,73 @@
+/**
+  * Licensed to the Apache Software Foundation (ASF) under one
+  * or more contributor license agreements.  See the NOTICE file
+  * distributed with this work for additional information
+  * regarding copyright ownership.  The ASF licenses this file
+  * to you under the Apache License, Version 2.0 (the
+  * "License"); you may not use this file except in compliance
+  * with the License.  You may obtain a copy of the License at
+  *
+  *     http://www.apache.org/licenses/LICENSE-2.0
+  *
+  * Unless required by applicable law or agreed to in writing,
+  * software distributed under the License is distributed on an
+  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+  * KIND, either express or implied.  See the License for the
+  * specific language governing permissions and limitations
+  * under the License.
+  */
+
+package org.apache.iotdb.tsfile
+
+import java.util
+
+import org.apache.iotdb.tsfile.file.metadata.TsFileMetaData
+import org.apache.iotdb.tsfile.io.HDFSInput
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader
+
+/**
+  * A JVM-wide LRU cache of deserialized TsFile footers, shared by the driver (schema inference)
+  * and by all the tasks of an executor, so that the footer of a TsFile is read only once no matter
+  * how many splits of the file are scheduled on the same executor.
+  *
+  * Entries are keyed by the file path together with the file length and modification time, so a
+  * rewritten file never hits a stale footer.
+  */
+private[tsfile] object TsFileMetaDataCache {
+
+  private val MAX_CACHED_FILE_NUM = 1000
+
+  private val cache = new util.LinkedHashMap[String, TsFileMetaData](16, 0.75f, true) {
+    override def removeEldestEntry(eldest: util.Map.Entry[String, TsFileMetaData]): Boolean = {
+      size() > MAX_CACHED_FILE_NUM
+    }
+  }
+
+  /**
+    * Get the file metadata of the TsFile read by the given reader, deserializing the footer only
+    * when it is not cached yet.
+    *
+    * @param filePath the path of the TsFile
+    * @param in       the input of the TsFile
+    * @param reader   the reader opened on the input
+    * @return the file metadata
+    */
+  def get(filePath: String, in: HDFSInput, reader: TsFileSequenceReader): TsFileMetaData = {
+    val key = filePath + "#" + in.size() + "#" + in.getModificationTime
+    cache.synchronized {
+      val cached = cache.get(key)
+      if (cached != null) {
+        return cached
+      }
+    }
+    val tsFileMetaData = reader.readFileMetadata
+    cache.synchronized {
+      cache.put(key, tsFileMetaData)
+    }
+    tsFileMetaData
+  }
+
+  def clear(): Unit = cache.synchronized {
+    cache.clear()
+  }
+}
@@ -36,6 +36,7 @@ import org.apache.spark.sql.catalyst.InternalRow
 import org.apache.spark.sql.catalyst.expressions.GenericInternalRow
 import org.apache.spark.sql.sources._
 import org.apache.spark.sql.types._
+import org.apache.spark.unsafe.types.UTF8String
 import org.junit.Assert
 import org.scalatest.{BeforeAndAfterAll, FunSuite}
 
@@ -144,6 +145,17 @@ class ConverterTest extends FunSuite with BeforeAndAfterAll {
     Assert.assertEquals(Converter.toSqlValue(stringField), "pass")
   }
 
+  test("testToInternalValue") {
+    val intField = new Field(TSDataType.INT32)
+    intField.setIntV(32)
+    val stringField = new Field(TSDataType.TEXT)
+    stringField.setBinaryV(new Binary("pass"))
+
+    Assert.assertEquals(Converter.toInternalValue(intField), 32)
+    Assert.assertEquals(Converter.toInternalValue(stringField), UTF8String.fromString("pass"))
+    Assert.assertNull(Converter.toInternalValue(null))
+  }
+
   test("testToSparkSqlSchema") {
     val fields: util.ArrayList[Series] = new util.ArrayList[Series]()
     fields.add(new Series("device_1.sensor_3", TSDataType.INT32))
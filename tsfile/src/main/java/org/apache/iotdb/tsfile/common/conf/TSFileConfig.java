@@ -92,11 +92,20 @@ public class TSFileConfig {
   public static String timeEncoder = "TS_2DIFF";
   /**
    * Encoder of value series. default value is PLAIN. For int, long data type, TsFile also supports
-   * TS_2DIFF and RLE(run-length encoding). For float, double data type, TsFile also supports
-   * TS_2DIFF, RLE(run-length encoding) and GORILLA. For text data type, TsFile only supports
-   * PLAIN.
+   * TS_2DIFF, RLE(run-length encoding) and GORILLA. For float, double data type, TsFile also
+   * supports TS_2DIFF, RLE(run-length encoding), GORILLA and CHIMP. For text data type, TsFile also
+   * supports PLAIN_DICTIONARY.
    */
   public static String valueEncoder = "PLAIN";
+  /**
+   * Maximum number of distinct values in a page encoded by PLAIN_DICTIONARY, a page with more
+   * distinct values is written plainly. Default value is 1024.
+   */
+  public static int maxDictionarySize = 1024;
+  /**
+   * False positive rate of the page bloom filters of the measurements that enable them.
+   */
+  public static double bloomFilterErrorRate = 0.05;
 
   // Compression configuration
   /**
@@ -121,6 +130,10 @@ public class TSFileConfig {
    * Default SDT max error is 100.
    */
   public static double sdtMaxError = 100;
+  /**
+   * Default PAA max error is 100.
+   */
+  public static double paaMaxError = 100;
   /**
    * Default DFT satisfy rate is 0.1
    */
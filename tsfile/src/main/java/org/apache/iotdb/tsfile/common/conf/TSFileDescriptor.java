@@ -133,6 +133,16 @@ public class TSFileDescriptor {
           .getProperty("time_encoder", TSFileConfig.timeEncoder);
       TSFileConfig.valueEncoder = properties
           .getProperty("value_encoder", TSFileConfig.valueEncoder);
+      TSFileConfig.maxDictionarySize = Integer.parseInt(properties
+          .getProperty("max_dictionary_size", Integer.toString(TSFileConfig.maxDictionarySize)));
+      TSFileConfig.bloomFilterErrorRate = Double.parseDouble(properties.getProperty(
+          "bloom_filter_error_rate", Double.toString(TSFileConfig.bloomFilterErrorRate)));
+      TSFileConfig.sdtMaxError = Double.parseDouble(properties
+          .getProperty("sdt_max_error", Double.toString(TSFileConfig.sdtMaxError)));
+      TSFileConfig.paaMaxError = Double.parseDouble(properties
+          .getProperty("paa_max_error", Double.toString(TSFileConfig.paaMaxError)));
+      TSFileConfig.plaMaxError = Double.parseDouble(properties
+          .getProperty("pla_max_error", Double.toString(TSFileConfig.plaMaxError)));
       TSFileConfig.compressor = properties.getProperty("compressor", TSFileConfig.compressor);
     } catch (IOException e) {
       logger.warn("Cannot load config file, use default configuration", e);
@@ -37,5 +37,10 @@ public class StatisticConstant {
 
   public static final String LAST = "last";
 
+  // not aggregations, bloom filters of the values of a chunk and of its pages, see
+  // BloomFilter.serialize
+  public static final String BLOOM_FILTER = "bloom_filter";
+  public static final String PAGE_BLOOM_FILTERS = "page_bloom_filters";
+
   private StatisticConstant(){}
 }
@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.decoder;
+
+import java.nio.ByteBuffer;
+import org.apache.iotdb.tsfile.encoding.encoder.BitWordEncoder;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
+
+/**
+ * Base of the decoders for pages written by a {@link BitWordEncoder}. Bits are read from a 64-bit
+ * word that is refilled with 8 bytes at a time.
+ */
+public abstract class BitWordDecoder extends Decoder {
+
+  private long word = 0;
+  private int bitsInWord = 0;
+
+  /**
+   * number of values not read yet in the current page, -1 if the page header is not read.
+   */
+  private int valuesLeft = -1;
+  private boolean firstValue;
+
+  protected BitWordDecoder(TSEncoding type) {
+    super(type);
+  }
+
+  @Override
+  public boolean hasNext(ByteBuffer buffer) {
+    if (valuesLeft == 0) {
+      endPage(buffer);
+    }
+    if (valuesLeft < 0) {
+      if (!buffer.hasRemaining()) {
+        return false;
+      }
+      startPage(buffer);
+    }
+    return valuesLeft > 0;
+  }
+
+  /**
+   * must be called before a value is decoded.
+   *
+   * @return true if the value is the first one of a page
+   */
+  protected boolean nextValue(ByteBuffer buffer) {
+    if (valuesLeft == 0) {
+      endPage(buffer);
+    }
+    if (valuesLeft < 0) {
+      startPage(buffer);
+    }
+    valuesLeft--;
+    boolean first = firstValue;
+    firstValue = false;
+    return first;
+  }
+
+  private void startPage(ByteBuffer buffer) {
+    valuesLeft = ReadWriteForEncodingUtils.readUnsignedVarInt(buffer);
+    word = 0;
+    bitsInWord = 0;
+    firstValue = true;
+  }
+
+  /**
+   * The last word of a page is loaded with 8 bytes when they are available, the whole bytes not
+   * read belong to the next page.
+   */
+  private void endPage(ByteBuffer buffer) {
+    buffer.position(buffer.position() - bitsInWord / 8);
+    word = 0;
+    bitsInWord = 0;
+    valuesLeft = -1;
+  }
+
+  /**
+   * read the next {@code bitNum} bits as the lowest bits of the result.
+   *
+   * @param bitNum 0 to 64
+   */
+  protected long readBits(ByteBuffer buffer, int bitNum) {
+    if (bitNum <= bitsInWord) {
+      long value = bitNum == 0 ? 0 : (word >>> (bitsInWord - bitNum)) & mask(bitNum);
+      bitsInWord -= bitNum;
+      return value;
+    }
+    int rest = bitNum - bitsInWord;
+    long high = bitsInWord == 0 ? 0 : word & mask(bitsInWord);
+    fillWord(buffer);
+    long low = (word >>> (bitsInWord - rest)) & mask(rest);
+    bitsInWord -= rest;
+    return rest == Long.SIZE ? low : (high << rest) | low;
+  }
+
+  private void fillWord(ByteBuffer buffer) {
+    if (buffer.remaining() >= Long.BYTES) {
+      word = buffer.getLong();
+      bitsInWord = Long.SIZE;
+    } else {
+      // the last word of a page only keeps the bytes that hold bits
+      int byteNum = buffer.remaining();
+      word = 0;
+      for (int i = 0; i < byteNum; i++) {
+        word = (word << 8) | (buffer.get() & 0xFF);
+      }
+      bitsInWord = byteNum * 8;
+    }
+  }
+
+  private static long mask(int bitNum) {
+    return bitNum == Long.SIZE ? -1L : (1L << bitNum) - 1;
+  }
+
+  @Override
+  public void reset() {
+    valuesLeft = -1;
+    word = 0;
+    bitsInWord = 0;
+  }
+}
@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.decoder;
+
+import java.nio.ByteBuffer;
+import org.apache.iotdb.tsfile.encoding.encoder.ChimpEncoder;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+
+/**
+ * Decoder for values written by {@link ChimpEncoder}.
+ */
+public abstract class ChimpDecoder extends BitWordDecoder {
+
+  private final int valueBits;
+  private final int meaningfulBitsLength;
+
+  private long previousValue;
+  private int storedLeadingZeros;
+
+  protected ChimpDecoder(int valueBits, int meaningfulBitsLength) {
+    super(TSEncoding.CHIMP);
+    this.valueBits = valueBits;
+    this.meaningfulBitsLength = meaningfulBitsLength;
+  }
+
+  protected long decodeValue(ByteBuffer buffer) {
+    if (nextValue(buffer)) {
+      previousValue = readBits(buffer, valueBits);
+      return previousValue;
+    }
+    switch ((int) readBits(buffer, 2)) {
+      case 0b00:
+        break;
+      case 0b01:
+        int leadingZeros = ChimpEncoder.LEADING_ZEROS[(int) readBits(buffer, 3)];
+        int meaningfulBits = (int) readBits(buffer, meaningfulBitsLength);
+        int trailingZeros = valueBits - leadingZeros - meaningfulBits;
+        previousValue ^= readBits(buffer, meaningfulBits) << trailingZeros;
+        break;
+      case 0b10:
+        previousValue ^= readBits(buffer, valueBits - storedLeadingZeros);
+        break;
+      default:
+        storedLeadingZeros = ChimpEncoder.LEADING_ZEROS[(int) readBits(buffer, 3)];
+        previousValue ^= readBits(buffer, valueBits - storedLeadingZeros);
+        break;
+    }
+    return previousValue;
+  }
+
+  public static class FloatChimpDecoder extends ChimpDecoder {
+
+    public FloatChimpDecoder() {
+      super(Float.SIZE, 5);
+    }
+
+    @Override
+    public float readFloat(ByteBuffer buffer) {
+      return Float.intBitsToFloat((int) decodeValue(buffer));
+    }
+  }
+
+  public static class DoubleChimpDecoder extends ChimpDecoder {
+
+    public DoubleChimpDecoder() {
+      super(Double.SIZE, 6);
+    }
+
+    @Override
+    public double readDouble(ByteBuffer buffer) {
+      return Double.longBitsToDouble(decodeValue(buffer));
+    }
+  }
+}
@@ -52,9 +52,15 @@ public abstract class Decoder {
    * @return Decoder object
    */
   public static Decoder getDecoderByType(TSEncoding type, TSDataType dataType) {
-    // PLA and DFT encoding are not supported in current version
+    // DFT encoding is not supported in current version
     if (type == TSEncoding.PLAIN) {
       return new PlainDecoder(EndianType.LITTLE_ENDIAN);
+    } else if (type == TSEncoding.PLAIN_DICTIONARY) {
+      if (dataType == TSDataType.TEXT) {
+        return new DictionaryDecoder();
+      }
+      throw new TsFileDecodingException(
+          "Decoder not found:" + type + " , DataType is :" + dataType);
     } else if (type == TSEncoding.RLE) {
       switch (dataType) {
         case BOOLEAN:
@@ -84,6 +90,10 @@ public abstract class Decoder {
       }
     } else if (type == TSEncoding.GORILLA) {
       switch (dataType) {
+        case INT32:
+          return new DeltaOfDeltaDecoder.IntDeltaOfDeltaDecoder();
+        case INT64:
+          return new DeltaOfDeltaDecoder.LongDeltaOfDeltaDecoder();
         case FLOAT:
           return new SinglePrecisionDecoder();
         case DOUBLE:
@@ -92,6 +102,30 @@ public abstract class Decoder {
           throw new TsFileDecodingException(
               "Decoder not found:" + type + " , DataType is :" + dataType);
       }
+    } else if (type == TSEncoding.CHIMP) {
+      switch (dataType) {
+        case FLOAT:
+          return new ChimpDecoder.FloatChimpDecoder();
+        case DOUBLE:
+          return new ChimpDecoder.DoubleChimpDecoder();
+        default:
+          throw new TsFileDecodingException(
+              "Decoder not found:" + type + " , DataType is :" + dataType);
+      }
+    } else if (type == TSEncoding.SDT || type == TSEncoding.PAA || type == TSEncoding.PLA) {
+      switch (dataType) {
+        case INT32:
+        case INT64:
+        case FLOAT:
+        case DOUBLE:
+          if (type == TSEncoding.SDT) {
+            return new SdtDecoder();
+          }
+          return type == TSEncoding.PAA ? new PaaDecoder() : new PlaDecoder();
+        default:
+          throw new TsFileDecodingException(
+              "Decoder not found:" + type + " , DataType is :" + dataType);
+      }
     } else if (type == TSEncoding.REGULAR) {
       switch (dataType) {
         case INT32:
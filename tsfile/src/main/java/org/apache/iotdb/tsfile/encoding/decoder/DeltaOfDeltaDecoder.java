@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.decoder;
+
+import java.nio.ByteBuffer;
+import org.apache.iotdb.tsfile.encoding.encoder.DeltaOfDeltaEncoder;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+
+/**
+ * Decoder for values written by {@link DeltaOfDeltaEncoder}.
+ */
+public abstract class DeltaOfDeltaDecoder extends BitWordDecoder {
+
+  private static final int LAST_BUCKET = DeltaOfDeltaEncoder.BUCKET_BITS.length - 1;
+
+  private final int valueBits;
+
+  private long previousValue;
+  private long previousDelta;
+
+  protected DeltaOfDeltaDecoder(int valueBits) {
+    super(TSEncoding.GORILLA);
+    this.valueBits = valueBits;
+  }
+
+  protected long decodeValue(ByteBuffer buffer) {
+    if (nextValue(buffer)) {
+      // sign extend the first value
+      previousValue = readBits(buffer, valueBits) << (Long.SIZE - valueBits) >> (Long.SIZE
+          - valueBits);
+      previousDelta = 0;
+      return previousValue;
+    }
+    int bucket = 0;
+    while (bucket < LAST_BUCKET && readBits(buffer, 1) == 1) {
+      bucket++;
+    }
+    long zigzag = readBits(buffer, DeltaOfDeltaEncoder.BUCKET_BITS[bucket]);
+    long deltaOfDelta = (zigzag >>> 1) ^ -(zigzag & 1);
+    previousDelta += deltaOfDelta;
+    previousValue += previousDelta;
+    return previousValue;
+  }
+
+  public static class IntDeltaOfDeltaDecoder extends DeltaOfDeltaDecoder {
+
+    public IntDeltaOfDeltaDecoder() {
+      super(Integer.SIZE);
+    }
+
+    @Override
+    public int readInt(ByteBuffer buffer) {
+      return (int) decodeValue(buffer);
+    }
+  }
+
+  public static class LongDeltaOfDeltaDecoder extends DeltaOfDeltaDecoder {
+
+    public LongDeltaOfDeltaDecoder() {
+      super(Long.SIZE);
+    }
+
+    @Override
+    public long readLong(ByteBuffer buffer) {
+      return decodeValue(buffer);
+    }
+  }
+}
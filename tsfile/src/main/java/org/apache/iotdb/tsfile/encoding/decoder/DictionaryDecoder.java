@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.decoder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.iotdb.tsfile.encoding.common.EndianType;
+import org.apache.iotdb.tsfile.encoding.encoder.DictionaryEncoder;
+import org.apache.iotdb.tsfile.exception.encoding.TsFileDecodingException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
+
+/**
+ * Decoder for TEXT values written by {@link DictionaryEncoder}. The page layout is read on the
+ * first access after {@link #reset()}, so the decoder must be reset before each page.
+ */
+public class DictionaryDecoder extends Decoder {
+
+  private boolean pageHeaderRead = false;
+  /**
+   * entries of the current page, null if the page is written plainly.
+   */
+  private List<Binary> dictionary;
+
+  private IntRleDecoder idDecoder = new IntRleDecoder(EndianType.LITTLE_ENDIAN);
+  private PlainDecoder plainDecoder = new PlainDecoder(EndianType.LITTLE_ENDIAN);
+
+  public DictionaryDecoder() {
+    super(TSEncoding.PLAIN_DICTIONARY);
+  }
+
+  @Override
+  public boolean hasNext(ByteBuffer buffer) throws IOException {
+    if (!pageHeaderRead) {
+      if (!buffer.hasRemaining()) {
+        return false;
+      }
+      readPageHeader(buffer);
+    }
+    return dictionary != null ? idDecoder.hasNext(buffer) : plainDecoder.hasNext(buffer);
+  }
+
+  @Override
+  public Binary readBinary(ByteBuffer buffer) {
+    if (!pageHeaderRead) {
+      readPageHeader(buffer);
+    }
+    if (dictionary == null) {
+      return plainDecoder.readBinary(buffer);
+    }
+    return dictionary.get(idDecoder.readInt(buffer));
+  }
+
+  /**
+   * get the dictionary of the current page so that a filter can be evaluated once per entry.
+   *
+   * @return the entries indexed by id, or null if the page is written plainly and values must be
+   * read by {@link #readBinary(ByteBuffer)}
+   */
+  public List<Binary> getDictionary(ByteBuffer buffer) {
+    if (!pageHeaderRead) {
+      readPageHeader(buffer);
+    }
+    return dictionary;
+  }
+
+  /**
+   * read the id of the next value, only valid for a page with a dictionary.
+   */
+  public int readId(ByteBuffer buffer) {
+    return idDecoder.readInt(buffer);
+  }
+
+  private void readPageHeader(ByteBuffer buffer) {
+    byte layout = buffer.get();
+    if (layout == DictionaryEncoder.DICTIONARY_PAGE) {
+      int size = ReadWriteForEncodingUtils.readUnsignedVarInt(buffer);
+      dictionary = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        byte[] entry = new byte[ReadWriteForEncodingUtils.readUnsignedVarInt(buffer)];
+        buffer.get(entry);
+        dictionary.add(new Binary(entry));
+      }
+    } else if (layout == DictionaryEncoder.PLAIN_PAGE) {
+      dictionary = null;
+    } else {
+      throw new TsFileDecodingException("Unknown dictionary page layout: " + layout);
+    }
+    pageHeaderRead = true;
+  }
+
+  @Override
+  public void reset() {
+    pageHeaderRead = false;
+    dictionary = null;
+    idDecoder.reset();
+  }
+}
@@ -0,0 +1,52 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.decoder;
+
+import java.nio.ByteBuffer;
+import org.apache.iotdb.tsfile.encoding.encoder.PaaEncoder;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
+
+/**
+ * Decoder for pages written by {@link PaaEncoder}.
+ */
+public class PaaDecoder extends PiecewiseDecoder {
+
+  private int segmentLeft;
+  private double value;
+
+  public PaaDecoder() {
+    super(TSEncoding.PAA);
+  }
+
+  @Override
+  protected void startPage(ByteBuffer buffer) {
+    segmentLeft = 0;
+  }
+
+  @Override
+  protected double nextValue(ByteBuffer buffer) {
+    if (segmentLeft == 0) {
+      segmentLeft = ReadWriteForEncodingUtils.readUnsignedVarInt(buffer);
+      value = buffer.getDouble();
+    }
+    segmentLeft--;
+    return value;
+  }
+}
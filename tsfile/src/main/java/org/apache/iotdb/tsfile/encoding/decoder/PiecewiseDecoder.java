@@ -0,0 +1,99 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.decoder;
+
+import java.nio.ByteBuffer;
+import org.apache.iotdb.tsfile.encoding.encoder.PiecewiseEncoder;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
+
+/**
+ * Base of the decoders for pages written by a {@link PiecewiseEncoder}, reconstructing the value
+ * of every point from the segments. INT32 and INT64 values are rounded to the nearest integer.
+ */
+public abstract class PiecewiseDecoder extends Decoder {
+
+  /**
+   * number of points not read yet in the current page, -1 if the page header is not read.
+   */
+  private int pointsLeft = -1;
+
+  protected PiecewiseDecoder(TSEncoding type) {
+    super(type);
+  }
+
+  @Override
+  public boolean hasNext(ByteBuffer buffer) {
+    if (pointsLeft <= 0) {
+      if (!buffer.hasRemaining()) {
+        return false;
+      }
+      readPageHeader(buffer);
+    }
+    return pointsLeft > 0;
+  }
+
+  private double next(ByteBuffer buffer) {
+    if (pointsLeft <= 0) {
+      readPageHeader(buffer);
+    }
+    pointsLeft--;
+    return nextValue(buffer);
+  }
+
+  private void readPageHeader(ByteBuffer buffer) {
+    pointsLeft = ReadWriteForEncodingUtils.readUnsignedVarInt(buffer);
+    startPage(buffer);
+  }
+
+  /**
+   * clear the state of the previous page and read what the page stores before its segments.
+   */
+  protected abstract void startPage(ByteBuffer buffer);
+
+  /**
+   * @return the value of the next point, reading the next segment when needed
+   */
+  protected abstract double nextValue(ByteBuffer buffer);
+
+  @Override
+  public int readInt(ByteBuffer buffer) {
+    return (int) Math.round(next(buffer));
+  }
+
+  @Override
+  public long readLong(ByteBuffer buffer) {
+    return Math.round(next(buffer));
+  }
+
+  @Override
+  public float readFloat(ByteBuffer buffer) {
+    return (float) next(buffer);
+  }
+
+  @Override
+  public double readDouble(ByteBuffer buffer) {
+    return next(buffer);
+  }
+
+  @Override
+  public void reset() {
+    pointsLeft = -1;
+  }
+}
@@ -0,0 +1,56 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.decoder;
+
+import java.nio.ByteBuffer;
+import org.apache.iotdb.tsfile.encoding.encoder.PlaEncoder;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
+
+/**
+ * Decoder for pages written by {@link PlaEncoder}.
+ */
+public class PlaDecoder extends PiecewiseDecoder {
+
+  private int length;
+  private int index;
+  private double start;
+  private double slope;
+
+  public PlaDecoder() {
+    super(TSEncoding.PLA);
+  }
+
+  @Override
+  protected void startPage(ByteBuffer buffer) {
+    length = 0;
+    index = 0;
+  }
+
+  @Override
+  protected double nextValue(ByteBuffer buffer) {
+    if (index == length) {
+      length = ReadWriteForEncodingUtils.readUnsignedVarInt(buffer);
+      start = buffer.getDouble();
+      slope = buffer.getDouble();
+      index = 0;
+    }
+    return start + slope * index++;
+  }
+}
@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.encoder;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
+
+/**
+ * Base of the encoders that write a variable number of bits per value. Bits are appended to a
+ * 64-bit word and whole words are kept in memory until the page is flushed, instead of being
+ * written one bit at a time like {@link GorillaEncoder}. A flushed page is {@code [value
+ * number][words in big endian]}, where the last word only keeps the bytes that hold bits.
+ */
+public abstract class BitWordEncoder extends Encoder {
+
+  private static final int INITIAL_WORD_NUM = 64;
+
+  private long[] words = new long[INITIAL_WORD_NUM];
+  private int wordNum = 0;
+  /**
+   * bits that do not fill a word yet, aligned to the most significant bit.
+   */
+  private long word = 0;
+  private int bitsInWord = 0;
+
+  /**
+   * number of values encoded in the current page.
+   */
+  protected int valueNum = 0;
+
+  protected BitWordEncoder(TSEncoding type) {
+    super(type);
+  }
+
+  /**
+   * append the lowest {@code bitNum} bits of {@code value}.
+   *
+   * @param bitNum 0 to 64
+   */
+  protected void writeBits(long value, int bitNum) {
+    if (bitNum == 0) {
+      return;
+    }
+    if (bitNum < Long.SIZE) {
+      value &= (1L << bitNum) - 1;
+    }
+    int free = Long.SIZE - bitsInWord;
+    if (bitNum <= free) {
+      word |= value << (free - bitNum);
+      bitsInWord += bitNum;
+      if (bitsInWord == Long.SIZE) {
+        spillWord();
+      }
+    } else {
+      int rest = bitNum - free;
+      word |= value >>> rest;
+      spillWord();
+      word = value << (Long.SIZE - rest);
+      bitsInWord = rest;
+    }
+  }
+
+  private void spillWord() {
+    if (wordNum == words.length) {
+      words = Arrays.copyOf(words, words.length * 2);
+    }
+    words[wordNum++] = word;
+    word = 0;
+    bitsInWord = 0;
+  }
+
+  @Override
+  public void flush(ByteArrayOutputStream out) {
+    if (valueNum == 0) {
+      return;
+    }
+    ReadWriteForEncodingUtils.writeUnsignedVarInt(valueNum, out);
+    byte[] bytes = new byte[Long.BYTES];
+    for (int i = 0; i < wordNum; i++) {
+      toBytes(words[i], bytes);
+      out.write(bytes, 0, Long.BYTES);
+    }
+    if (bitsInWord > 0) {
+      toBytes(word, bytes);
+      out.write(bytes, 0, (bitsInWord + 7) / 8);
+    }
+    reset();
+  }
+
+  private static void toBytes(long word, byte[] bytes) {
+    for (int i = 0; i < Long.BYTES; i++) {
+      bytes[i] = (byte) (word >>> (Long.SIZE - 8 * (i + 1)));
+    }
+  }
+
+  protected void reset() {
+    if (words.length > INITIAL_WORD_NUM) {
+      words = new long[INITIAL_WORD_NUM];
+    }
+    wordNum = 0;
+    word = 0;
+    bitsInWord = 0;
+    valueNum = 0;
+  }
+
+  @Override
+  public long getMaxByteSize() {
+    if (valueNum == 0) {
+      return 0;
+    }
+    // value number + whole words + the word being filled
+    return Integer.BYTES + 1 + (long) (wordNum + 1) * Long.BYTES;
+  }
+}
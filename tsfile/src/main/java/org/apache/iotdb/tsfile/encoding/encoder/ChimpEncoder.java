@@ -0,0 +1,137 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.encoder;
+
+import java.io.ByteArrayOutputStream;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+
+/**
+ * Chimp encoding for floating-point values, a variant of the Gorilla XOR scheme. For more
+ * information about how it works, please see https://www.vldb.org/pvldb/vol15/p3058-liakos.pdf
+ * <br>Each value is XORed with the previous one and written with a 2-bit flag:
+ * <ul>
+ * <li>'00': the same as the previous value</li>
+ * <li>'01': the XOR has many trailing zeros, write the rounded leading zero number, the length of
+ * the meaningful bits and the meaningful bits</li>
+ * <li>'10': the rounded leading zero number equals the previous one, write the bits after
+ * it</li>
+ * <li>'11': write the rounded leading zero number and the bits after it</li>
+ * </ul>
+ */
+public abstract class ChimpEncoder extends BitWordEncoder {
+
+  /**
+   * leading zero numbers are rounded down to one of these values, stored as the 3-bit index.
+   */
+  public static final int[] LEADING_ZEROS = {0, 8, 12, 16, 18, 20, 22, 24};
+  private static final int[] LEADING_ZEROS_INDEX = new int[Long.SIZE + 1];
+
+  static {
+    int index = 0;
+    for (int i = 0; i <= Long.SIZE; i++) {
+      if (index + 1 < LEADING_ZEROS.length && i >= LEADING_ZEROS[index + 1]) {
+        index++;
+      }
+      LEADING_ZEROS_INDEX[i] = index;
+    }
+  }
+
+  private final int valueBits;
+  private final int trailingZerosThreshold;
+  private final int meaningfulBitsLength;
+
+  private long previousValue;
+  private int storedLeadingZeros;
+
+  protected ChimpEncoder(int valueBits, int trailingZerosThreshold, int meaningfulBitsLength) {
+    super(TSEncoding.CHIMP);
+    this.valueBits = valueBits;
+    this.trailingZerosThreshold = trailingZerosThreshold;
+    this.meaningfulBitsLength = meaningfulBitsLength;
+  }
+
+  /**
+   * @param value the bits of the value in the lowest {@code valueBits} bits
+   */
+  protected void encodeValue(long value) {
+    if (valueNum == 0) {
+      writeBits(value, valueBits);
+      storedLeadingZeros = Integer.MAX_VALUE;
+    } else {
+      long xor = value ^ previousValue;
+      if (xor == 0) {
+        writeBits(0b00, 2);
+        storedLeadingZeros = Integer.MAX_VALUE;
+      } else {
+        int leadingIndex =
+            LEADING_ZEROS_INDEX[Long.numberOfLeadingZeros(xor) - (Long.SIZE - valueBits)];
+        int leadingZeros = LEADING_ZEROS[leadingIndex];
+        int trailingZeros = Long.numberOfTrailingZeros(xor);
+        if (trailingZeros > trailingZerosThreshold) {
+          int meaningfulBits = valueBits - leadingZeros - trailingZeros;
+          writeBits(0b01, 2);
+          writeBits(leadingIndex, 3);
+          writeBits(meaningfulBits, meaningfulBitsLength);
+          writeBits(xor >>> trailingZeros, meaningfulBits);
+          storedLeadingZeros = Integer.MAX_VALUE;
+        } else if (leadingZeros == storedLeadingZeros) {
+          writeBits(0b10, 2);
+          writeBits(xor, valueBits - leadingZeros);
+        } else {
+          writeBits(0b11, 2);
+          writeBits(leadingIndex, 3);
+          writeBits(xor, valueBits - leadingZeros);
+          storedLeadingZeros = leadingZeros;
+        }
+      }
+    }
+    previousValue = value;
+    valueNum++;
+  }
+
+  @Override
+  public int getOneItemMaxSize() {
+    // flag + leading zero index + all value bits
+    return (2 + 3 + valueBits + 7) / 8;
+  }
+
+  public static class FloatChimpEncoder extends ChimpEncoder {
+
+    public FloatChimpEncoder() {
+      super(Float.SIZE, 5, 5);
+    }
+
+    @Override
+    public void encode(float value, ByteArrayOutputStream out) {
+      encodeValue(Float.floatToRawIntBits(value) & 0xFFFFFFFFL);
+    }
+  }
+
+  public static class DoubleChimpEncoder extends ChimpEncoder {
+
+    public DoubleChimpEncoder() {
+      super(Double.SIZE, 6, 6);
+    }
+
+    @Override
+    public void encode(double value, ByteArrayOutputStream out) {
+      encodeValue(Double.doubleToRawLongBits(value));
+    }
+  }
+}
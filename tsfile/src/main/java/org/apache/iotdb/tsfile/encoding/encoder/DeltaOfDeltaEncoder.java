@@ -0,0 +1,107 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.encoder;
+
+import java.io.ByteArrayOutputStream;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+
+/**
+ * Gorilla encoding for integer values. Like the timestamps in Gorilla, each value is stored as the
+ * delta of its delta, which is zigzag encoded and written in the smallest of these buckets:
+ * <ul>
+ * <li>'0': the delta of delta is 0</li>
+ * <li>'10': 7 bits</li>
+ * <li>'110': 9 bits</li>
+ * <li>'1110': 12 bits</li>
+ * <li>'11110': 32 bits</li>
+ * <li>'11111': 64 bits</li>
+ * </ul>
+ * Counters and regular series mostly take 1 bit per value.
+ */
+public abstract class DeltaOfDeltaEncoder extends BitWordEncoder {
+
+  /**
+   * the bit number of the delta of delta in each bucket, indexed by the number of leading '1's of
+   * the bucket flag.
+   */
+  public static final int[] BUCKET_BITS = {0, 7, 9, 12, 32, 64};
+
+  private final int valueBits;
+
+  private long previousValue;
+  private long previousDelta;
+
+  protected DeltaOfDeltaEncoder(int valueBits) {
+    super(TSEncoding.GORILLA);
+    this.valueBits = valueBits;
+  }
+
+  protected void encodeValue(long value) {
+    if (valueNum == 0) {
+      writeBits(value, valueBits);
+      previousDelta = 0;
+    } else {
+      long delta = value - previousValue;
+      long deltaOfDelta = delta - previousDelta;
+      long zigzag = (deltaOfDelta << 1) ^ (deltaOfDelta >> 63);
+      int bitNum = Long.SIZE - Long.numberOfLeadingZeros(zigzag);
+      int bucket = 0;
+      while (BUCKET_BITS[bucket] < bitNum) {
+        bucket++;
+      }
+      // the flag is 'bucket' ones followed by a zero, except for the last bucket
+      int flagBits = bucket == BUCKET_BITS.length - 1 ? bucket : bucket + 1;
+      writeBits(((1L << bucket) - 1) << (flagBits - bucket), flagBits);
+      writeBits(zigzag, BUCKET_BITS[bucket]);
+      previousDelta = delta;
+    }
+    previousValue = value;
+    valueNum++;
+  }
+
+  @Override
+  public int getOneItemMaxSize() {
+    // flag + 64 bits
+    return 9;
+  }
+
+  public static class IntDeltaOfDeltaEncoder extends DeltaOfDeltaEncoder {
+
+    public IntDeltaOfDeltaEncoder() {
+      super(Integer.SIZE);
+    }
+
+    @Override
+    public void encode(int value, ByteArrayOutputStream out) {
+      encodeValue(value);
+    }
+  }
+
+  public static class LongDeltaOfDeltaEncoder extends DeltaOfDeltaEncoder {
+
+    public LongDeltaOfDeltaEncoder() {
+      super(Long.SIZE);
+    }
+
+    @Override
+    public void encode(long value, ByteArrayOutputStream out) {
+      encodeValue(value);
+    }
+  }
+}
@@ -0,0 +1,153 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.encoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.iotdb.tsfile.encoding.common.EndianType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
+
+/**
+ * Encoder for TEXT values using a dictionary built per page. The values of a page are buffered
+ * and written when the page is flushed, in one of two layouts selected by the first byte:
+ * <ul>
+ * <li>{@code DICTIONARY_PAGE}: [entry number][entry length, entry bytes]...[ids in rle]</li>
+ * <li>{@code PLAIN_PAGE}: the values as {@link PlainEncoder} writes them</li>
+ * </ul>
+ * A page falls back to plain when it has more distinct values than the configured maximum
+ * dictionary size, or when the dictionary layout would not be smaller.
+ */
+public class DictionaryEncoder extends Encoder {
+
+  public static final byte DICTIONARY_PAGE = 0;
+  public static final byte PLAIN_PAGE = 1;
+
+  private final int maxDictionarySize;
+
+  /**
+   * entry -> id, null after the page has more distinct values than {@code maxDictionarySize}.
+   */
+  private Map<Binary, Integer> entryIds = new HashMap<>();
+  private List<Binary> entries = new ArrayList<>();
+  /**
+   * total size of the entries in the dictionary layout.
+   */
+  private long entriesSize = 0;
+
+  /**
+   * values of the current page in arrival order.
+   */
+  private List<Binary> values = new ArrayList<>();
+  /**
+   * total size of the buffered values in the plain layout.
+   */
+  private long plainSize = 0;
+
+  private IntRleEncoder idEncoder = new IntRleEncoder(EndianType.LITTLE_ENDIAN);
+  private PlainEncoder plainEncoder;
+
+  public DictionaryEncoder(int maxStringLength, int maxDictionarySize) {
+    super(TSEncoding.PLAIN_DICTIONARY);
+    this.maxDictionarySize = maxDictionarySize;
+    this.plainEncoder = new PlainEncoder(EndianType.LITTLE_ENDIAN, TSDataType.TEXT,
+        maxStringLength);
+  }
+
+  @Override
+  public void encode(Binary value, ByteArrayOutputStream out) {
+    values.add(value);
+    plainSize += Integer.BYTES + value.getLength();
+    if (entryIds == null || entryIds.containsKey(value)) {
+      return;
+    }
+    if (entries.size() >= maxDictionarySize) {
+      // too many distinct values, this page will be written plainly
+      entryIds = null;
+      entries.clear();
+      return;
+    }
+    entryIds.put(value, entries.size());
+    entries.add(value);
+    entriesSize += ReadWriteForEncodingUtils.getUnsignedVarInt(value.getLength()).length
+        + value.getLength();
+  }
+
+  @Override
+  public void flush(ByteArrayOutputStream out) throws IOException {
+    if (values.isEmpty()) {
+      return;
+    }
+    if (entryIds != null && getDictionaryPageSize() < plainSize) {
+      out.write(DICTIONARY_PAGE);
+      ReadWriteForEncodingUtils.writeUnsignedVarInt(entries.size(), out);
+      for (Binary entry : entries) {
+        ReadWriteForEncodingUtils.writeUnsignedVarInt(entry.getLength(), out);
+        out.write(entry.getValues());
+      }
+      for (Binary value : values) {
+        idEncoder.encode(entryIds.get(value), out);
+      }
+      idEncoder.flush(out);
+    } else {
+      out.write(PLAIN_PAGE);
+      for (Binary value : values) {
+        plainEncoder.encode(value, out);
+      }
+    }
+    reset();
+  }
+
+  /**
+   * the estimated size of the current page in the dictionary layout, ids take the bit width of
+   * the largest id.
+   */
+  private long getDictionaryPageSize() {
+    int bitWidth = 32 - Integer.numberOfLeadingZeros(Math.max(entries.size() - 1, 1));
+    return Integer.BYTES + entriesSize + ((long) values.size() * bitWidth + 7) / 8;
+  }
+
+  private void reset() {
+    entryIds = new HashMap<>();
+    entries.clear();
+    entriesSize = 0;
+    values.clear();
+    plainSize = 0;
+  }
+
+  @Override
+  public int getOneItemMaxSize() {
+    return plainEncoder.getOneItemMaxSize();
+  }
+
+  /**
+   * The buffered values are accounted by their plain size, so pages are cut at the same number of
+   * points as with PLAIN and the memory of the buffered values is not underestimated.
+   */
+  @Override
+  public long getMaxByteSize() {
+    return values.isEmpty() ? 0 : 1 + plainSize;
+  }
+}
@@ -0,0 +1,72 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.encoder;
+
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+
+/**
+ * Piecewise aggregate approximation with a bounded error. A segment is extended while the range of
+ * its values is within {@code 2 * maxError}, and stored as [length][middle of the range].
+ */
+public class PaaEncoder extends PiecewiseEncoder {
+
+  private int length = 0;
+  private double min;
+  private double max;
+
+  public PaaEncoder(TSDataType dataType, double maxError) {
+    super(TSEncoding.PAA, dataType, maxError);
+  }
+
+  @Override
+  protected void append(double value) {
+    if (length > 0) {
+      double newMin = Math.min(min, value);
+      double newMax = Math.max(max, value);
+      if (newMax - newMin <= 2 * maxError) {
+        min = newMin;
+        max = newMax;
+        length++;
+        return;
+      }
+      writeSegment(length, middle());
+    }
+    min = value;
+    max = value;
+    length = 1;
+  }
+
+  private double middle() {
+    return min + (max - min) / 2;
+  }
+
+  @Override
+  protected void finishPage() {
+    if (length > 0) {
+      writeSegment(length, middle());
+    }
+    length = 0;
+  }
+
+  @Override
+  protected int getMaxSegmentSize() {
+    return 5 + Double.BYTES;
+  }
+}
@@ -0,0 +1,128 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.encoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
+
+/**
+ * Base of the lossy encoders that approximate the values of a page by segments, so that every
+ * decoded value differs from the original one by no more than {@code maxError}. The position of a
+ * point in the page is used as its x-axis, the timestamps are kept by the time encoder. A page is
+ * written as [point number][segments], the layout of the segments is up to the subclass.
+ *
+ * <p>INT32 and INT64 values are decoded by rounding, so the integer part of {@code maxError} is
+ * used as the bound for them and the decoded values keep the bound.
+ */
+public abstract class PiecewiseEncoder extends Encoder {
+
+  /**
+   * max bytes of a varint.
+   */
+  private static final int MAX_VARINT_SIZE = 5;
+
+  protected final double maxError;
+
+  private ByteArrayOutputStream segments = new ByteArrayOutputStream();
+  private int pointNum = 0;
+
+  protected PiecewiseEncoder(TSEncoding type, TSDataType dataType, double maxError) {
+    super(type);
+    if (dataType == TSDataType.INT32 || dataType == TSDataType.INT64) {
+      maxError = Math.floor(maxError);
+    }
+    this.maxError = maxError;
+  }
+
+  @Override
+  public void encode(int value, ByteArrayOutputStream out) {
+    encode((double) value, out);
+  }
+
+  @Override
+  public void encode(long value, ByteArrayOutputStream out) {
+    encode((double) value, out);
+  }
+
+  @Override
+  public void encode(float value, ByteArrayOutputStream out) {
+    encode((double) value, out);
+  }
+
+  @Override
+  public void encode(double value, ByteArrayOutputStream out) {
+    append(value);
+    pointNum++;
+  }
+
+  /**
+   * add the next point of the page, the segments that can not be extended are written by
+   * {@link #writeSegment}.
+   */
+  protected abstract void append(double value);
+
+  /**
+   * write the segment in progress, and clear the state for the next page.
+   */
+  protected abstract void finishPage();
+
+  /**
+   * @return max size of a segment with its length
+   */
+  protected abstract int getMaxSegmentSize();
+
+  protected void writeSegment(int length, double... values) {
+    ReadWriteForEncodingUtils.writeUnsignedVarInt(length, segments);
+    for (double value : values) {
+      writeDouble(value);
+    }
+  }
+
+  protected void writeDouble(double value) {
+    long bits = Double.doubleToLongBits(value);
+    for (int i = Long.BYTES - 1; i >= 0; i--) {
+      segments.write((int) (bits >>> (i * 8)));
+    }
+  }
+
+  @Override
+  public void flush(ByteArrayOutputStream out) throws IOException {
+    if (pointNum == 0) {
+      return;
+    }
+    finishPage();
+    ReadWriteForEncodingUtils.writeUnsignedVarInt(pointNum, out);
+    segments.writeTo(out);
+    segments.reset();
+    pointNum = 0;
+  }
+
+  @Override
+  public int getOneItemMaxSize() {
+    return getMaxSegmentSize();
+  }
+
+  @Override
+  public long getMaxByteSize() {
+    return MAX_VARINT_SIZE + (long) segments.size() + getMaxSegmentSize() + Double.BYTES;
+  }
+}
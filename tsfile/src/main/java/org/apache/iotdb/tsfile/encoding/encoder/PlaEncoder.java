@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.encoder;
+
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+
+/**
+ * Piecewise linear approximation with a bounded error. Each segment starts at the exact value of
+ * its first point and keeps the range of slopes that put every later point within
+ * {@code maxError}; it is closed when the range becomes empty and stored as
+ * [length][first value][slope]. Segments are not connected, see {@link SdtEncoder} for a more
+ * compact layout with connected segments.
+ */
+public class PlaEncoder extends PiecewiseEncoder {
+
+  private int length = 0;
+  private double start;
+  private double minSlope;
+  private double maxSlope;
+
+  public PlaEncoder(TSDataType dataType, double maxError) {
+    super(TSEncoding.PLA, dataType, maxError);
+  }
+
+  @Override
+  protected void append(double value) {
+    if (length > 0) {
+      double newMinSlope = Math.max(minSlope, (value - maxError - start) / length);
+      double newMaxSlope = Math.min(maxSlope, (value + maxError - start) / length);
+      if (newMinSlope <= newMaxSlope) {
+        minSlope = newMinSlope;
+        maxSlope = newMaxSlope;
+        length++;
+        return;
+      }
+      writeSegment(length, start, slope());
+    }
+    start = value;
+    minSlope = Double.NEGATIVE_INFINITY;
+    maxSlope = Double.POSITIVE_INFINITY;
+    length = 1;
+  }
+
+  private double slope() {
+    return length == 1 ? 0 : minSlope + (maxSlope - minSlope) / 2;
+  }
+
+  @Override
+  protected void finishPage() {
+    if (length > 0) {
+      writeSegment(length, start, slope());
+    }
+    length = 0;
+  }
+
+  @Override
+  protected int getMaxSegmentSize() {
+    return 5 + 2 * Double.BYTES;
+  }
+}
@@ -0,0 +1,103 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.encoder;
+
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+
+/**
+ * Swinging door trending. A page is a polyline whose vertices are stored: the first value, then
+ * each segment as [number of points after its start][end value]. A segment starts at the end of
+ * the previous one and keeps the range of slopes (the door) that put every point within
+ * {@code maxError}; it is closed at the last point before the door shuts.
+ */
+public class SdtEncoder extends PiecewiseEncoder {
+
+  private boolean pageStarted = false;
+  /**
+   * the decoded value of the start of the current segment.
+   */
+  private double start;
+  /**
+   * number of points in the current segment after its start.
+   */
+  private int length;
+  private double minSlope;
+  private double maxSlope;
+  private double lastValue;
+
+  public SdtEncoder(TSDataType dataType, double maxError) {
+    super(TSEncoding.SDT, dataType, maxError);
+  }
+
+  @Override
+  protected void append(double value) {
+    if (!pageStarted) {
+      pageStarted = true;
+      writeDouble(value);
+      startSegment(value);
+      return;
+    }
+    double newMinSlope = Math.max(minSlope, (value - maxError - start) / (length + 1));
+    double newMaxSlope = Math.min(maxSlope, (value + maxError - start) / (length + 1));
+    if (newMinSlope > newMaxSlope) {
+      // the previous point is within the door, so the new segment starts within maxError of it
+      startSegment(closeSegment());
+      newMinSlope = value - maxError - start;
+      newMaxSlope = value + maxError - start;
+    }
+    minSlope = newMinSlope;
+    maxSlope = newMaxSlope;
+    lastValue = value;
+    length++;
+  }
+
+  private void startSegment(double value) {
+    start = value;
+    length = 0;
+    minSlope = Double.NEGATIVE_INFINITY;
+    maxSlope = Double.POSITIVE_INFINITY;
+  }
+
+  /**
+   * The end is the value in the door closest to the last point, so the next segment starts as
+   * close to the data as possible.
+   *
+   * @return the end value of the segment
+   */
+  private double closeSegment() {
+    double end = Math.min(Math.max(lastValue, start + minSlope * length),
+        start + maxSlope * length);
+    writeSegment(length, end);
+    return end;
+  }
+
+  @Override
+  protected void finishPage() {
+    if (pageStarted && length > 0) {
+      closeSegment();
+    }
+    pageStarted = false;
+  }
+
+  @Override
+  protected int getMaxSegmentSize() {
+    return 5 + Double.BYTES;
+  }
+}
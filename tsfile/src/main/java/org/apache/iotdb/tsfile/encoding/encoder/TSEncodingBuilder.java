@@ -56,6 +56,8 @@ public abstract class TSEncodingBuilder {
     switch (type) {
       case PLAIN:
         return new PLAIN();
+      case PLAIN_DICTIONARY:
+        return new PLAIN_DICTIONARY();
       case RLE:
         return new RLE();
       case TS_2DIFF:
@@ -64,6 +66,18 @@ public abstract class TSEncodingBuilder {
         return new GORILLA();
       case REGULAR:
         return new REGULAR();
+      case CHIMP:
+        return new CHIMP();
+      case SDT:
+        return new SDT();
+      case PAA:
+        return new PAA();
+      case PLA:
+        return new PLA();
+      case ADAPTIVE:
+        // the encoding of each chunk is chosen when the memtable is flushed
+        throw new UnsupportedOperationException(
+            "ADAPTIVE must be resolved to a concrete encoding before a chunk is written");
       default:
         throw new UnsupportedOperationException(type.toString());
     }
@@ -121,6 +135,38 @@ public abstract class TSEncodingBuilder {
     }
   }
 
+  /**
+   * for TEXT.
+   */
+  public static class PLAIN_DICTIONARY extends TSEncodingBuilder {
+
+    private int maxStringLength = TSFileConfig.maxStringLength;
+
+    @Override
+    public Encoder getEncoder(TSDataType type) {
+      if (type != TSDataType.TEXT) {
+        throw new UnSupportedDataTypeException(
+            "PLAIN_DICTIONARY doesn't support data type: " + type);
+      }
+      return new DictionaryEncoder(maxStringLength, TSFileConfig.maxDictionarySize);
+    }
+
+    @Override
+    public void initFromProps(Map<String, String> props) {
+      if (props == null || !props.containsKey(Encoder.MAX_STRING_LENGTH)) {
+        maxStringLength = TSFileConfig.maxStringLength;
+      } else {
+        maxStringLength = Integer.valueOf(props.get(Encoder.MAX_STRING_LENGTH));
+        if (maxStringLength < 0) {
+          maxStringLength = TSFileConfig.maxStringLength;
+          logger.warn(
+              "cannot set max string length to negative value, replaced with default value:{}",
+              maxStringLength);
+        }
+      }
+    }
+  }
+
   /**
    * for ENUMS, INT32, BOOLEAN, INT64, FLOAT, DOUBLE.
    */
@@ -220,13 +266,17 @@ public abstract class TSEncodingBuilder {
   }
 
   /**
-   * for ENUMS.
+   * for INT32, INT64, FLOAT, DOUBLE.
    */
   public static class GORILLA extends TSEncodingBuilder {
 
     @Override
     public Encoder getEncoder(TSDataType type) {
       switch (type) {
+        case INT32:
+          return new DeltaOfDeltaEncoder.IntDeltaOfDeltaEncoder();
+        case INT64:
+          return new DeltaOfDeltaEncoder.LongDeltaOfDeltaEncoder();
         case FLOAT:
           return new SinglePrecisionEncoder();
         case DOUBLE:
@@ -265,4 +315,124 @@ public abstract class TSEncodingBuilder {
       // allowed do nothing
     }
   }
+
+  /**
+   * for FLOAT, DOUBLE.
+   */
+  public static class CHIMP extends TSEncodingBuilder {
+
+    @Override
+    public Encoder getEncoder(TSDataType type) {
+      switch (type) {
+        case FLOAT:
+          return new ChimpEncoder.FloatChimpEncoder();
+        case DOUBLE:
+          return new ChimpEncoder.DoubleChimpEncoder();
+        default:
+          throw new UnSupportedDataTypeException("CHIMP doesn't support data type: " + type);
+      }
+    }
+
+    @Override
+    public void initFromProps(Map<String, String> props) {
+      // allowed do nothing
+    }
+  }
+
+  /**
+   * Base of the lossy piecewise encodings for INT32, INT64, FLOAT, DOUBLE, which could specify
+   * <b>max_error</b> in given props, the max difference between a decoded value and the original
+   * one.
+   */
+  public abstract static class PiecewiseBuilder extends TSEncodingBuilder {
+
+    private final double defaultMaxError;
+    protected double maxError;
+
+    PiecewiseBuilder(double defaultMaxError) {
+      this.defaultMaxError = defaultMaxError;
+      this.maxError = defaultMaxError;
+    }
+
+    @Override
+    public Encoder getEncoder(TSDataType type) {
+      switch (type) {
+        case INT32:
+        case INT64:
+        case FLOAT:
+        case DOUBLE:
+          return createEncoder(type);
+        default:
+          throw new UnSupportedDataTypeException(
+              getClass().getSimpleName() + " doesn't support data type: " + type);
+      }
+    }
+
+    protected abstract Encoder createEncoder(TSDataType type);
+
+    @Override
+    public void initFromProps(Map<String, String> props) {
+      // set max error from initialized map or default value if not set
+      if (props == null || !props.containsKey(Encoder.MAX_ERROR)) {
+        maxError = defaultMaxError;
+      } else {
+        maxError = Double.parseDouble(props.get(Encoder.MAX_ERROR));
+        if (maxError < 0 || Double.isNaN(maxError)) {
+          maxError = defaultMaxError;
+          logger.warn("cannot set max error to {}, replaced with default value:{}",
+              props.get(Encoder.MAX_ERROR), maxError);
+        }
+      }
+    }
+
+    @Override
+    public String toString() {
+      return Encoder.MAX_ERROR + ":" + maxError;
+    }
+  }
+
+  /**
+   * swinging door trending, for INT32, INT64, FLOAT, DOUBLE.
+   */
+  public static class SDT extends PiecewiseBuilder {
+
+    public SDT() {
+      super(TSFileConfig.sdtMaxError);
+    }
+
+    @Override
+    protected Encoder createEncoder(TSDataType type) {
+      return new SdtEncoder(type, maxError);
+    }
+  }
+
+  /**
+   * piecewise aggregate approximation, for INT32, INT64, FLOAT, DOUBLE.
+   */
+  public static class PAA extends PiecewiseBuilder {
+
+    public PAA() {
+      super(TSFileConfig.paaMaxError);
+    }
+
+    @Override
+    protected Encoder createEncoder(TSDataType type) {
+      return new PaaEncoder(type, maxError);
+    }
+  }
+
+  /**
+   * piecewise linear approximation, for INT32, INT64, FLOAT, DOUBLE.
+   */
+  public static class PLA extends PiecewiseBuilder {
+
+    public PLA() {
+      super(TSFileConfig.plaMaxError);
+    }
+
+    @Override
+    protected Encoder createEncoder(TSDataType type) {
+      return new PlaEncoder(type, maxError);
+    }
+  }
 }
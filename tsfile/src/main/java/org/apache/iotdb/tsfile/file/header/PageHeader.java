@@ -41,6 +41,10 @@ public class PageHeader {
   // this field does not need to be serialized.
   private int serializedSize;
 
+  // true if some but not all points of this page are deleted, so that its statistics cannot be
+  // used in query. This field does not need to be serialized.
+  private boolean modified;
+
   public PageHeader(int uncompressedSize, int compressedSize, int numOfValues,
       Statistics statistics,
       long maxTimestamp, long minTimestamp) {
@@ -187,6 +191,14 @@ public class PageHeader {
     this.minTimestamp = minTimestamp;
   }
 
+  public boolean isModified() {
+    return modified;
+  }
+
+  public void setModified(boolean modified) {
+    this.modified = modified;
+  }
+
   public int serializeTo(OutputStream outputStream) throws IOException {
     int length = 0;
     length += ReadWriteIOUtils.write(uncompressedSize, outputStream);
@@ -23,8 +23,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import org.apache.iotdb.tsfile.common.constant.StatisticConstant;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.TimeRange;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
 
 /**
@@ -54,12 +59,22 @@ public class ChunkMetaData {
   private long version;
 
   /**
-   * All data with timestamp <= deletedAt are considered deleted.
+   * Closed time ranges whose data are considered deleted, sorted by start time and not
+   * overlapping each other. Null if nothing in this chunk is deleted. Like version, it is set only
+   * when being queried, so it is not persisted.
    */
-  private long deletedAt = -1;
+  private List<TimeRange> deleteIntervalList;
 
   private TsDigest valuesStatistics;
 
+  /**
+   * bloom filters of the chunk and of its pages parsed from the digest when first used,
+   * NO_BLOOM_FILTER if the chunk has none. They are not persisted besides the digest.
+   */
+  private volatile BloomFilter[] bloomFilter;
+  private volatile BloomFilter[] pageBloomFilters;
+  private static final BloomFilter[] NO_BLOOM_FILTER = new BloomFilter[0];
+
   private ChunkMetaData() {
   }
 
@@ -173,7 +188,39 @@ public class ChunkMetaData {
 
   public void setDigest(TsDigest digest) {
     this.valuesStatistics = digest;
+    this.bloomFilter = null;
+    this.pageBloomFilters = null;
+  }
+
+  /**
+   * @return bloom filter of the values of the chunk, null if the measurement does not enable it
+   */
+  public BloomFilter getBloomFilter() {
+    BloomFilter[] filters = bloomFilter;
+    if (filters == null) {
+      filters = readBloomFilters(StatisticConstant.BLOOM_FILTER);
+      bloomFilter = filters;
+    }
+    return filters == NO_BLOOM_FILTER ? null : filters[0];
+  }
+
+  /**
+   * @return bloom filters of the values of the pages in page order, null if the measurement does
+   * not enable them
+   */
+  public BloomFilter[] getPageBloomFilters() {
+    BloomFilter[] filters = pageBloomFilters;
+    if (filters == null) {
+      filters = readBloomFilters(StatisticConstant.PAGE_BLOOM_FILTERS);
+      pageBloomFilters = filters;
+    }
+    return filters == NO_BLOOM_FILTER ? null : filters;
+  }
 
+  private BloomFilter[] readBloomFilters(String key) {
+    ByteBuffer buffer = valuesStatistics == null || valuesStatistics.getStatistics() == null
+        ? null : valuesStatistics.getStatistics().get(key);
+    return buffer == null ? NO_BLOOM_FILTER : BloomFilter.deserialize(buffer);
   }
 
   public long getStartTime() {
@@ -257,12 +304,51 @@ public class ChunkMetaData {
     this.version = version;
   }
 
-  public long getDeletedAt() {
-    return deletedAt;
+  public List<TimeRange> getDeleteIntervalList() {
+    return deleteIntervalList;
+  }
+
+  public void setDeleteIntervalList(List<TimeRange> deleteIntervalList) {
+    this.deleteIntervalList = deleteIntervalList;
+  }
+
+  /**
+   * mark [startTime, endTime] as deleted, merging it with the deleted ranges it overlaps or
+   * adjoins so that deleteIntervalList stays sorted and disjoint.
+   */
+  public void insertIntoSortedDeletions(long startTime, long endTime) {
+    List<TimeRange> resultInterval = new ArrayList<>();
+    if (deleteIntervalList != null) {
+      for (TimeRange interval : deleteIntervalList) {
+        if (interval.getMax() < startTime && interval.getMax() + 1 != startTime) {
+          resultInterval.add(interval);
+        } else if (interval.getMin() > endTime && interval.getMin() - 1 != endTime) {
+          // the pending range is complete, the current one becomes the pending one
+          resultInterval.add(new TimeRange(startTime, endTime));
+          startTime = interval.getMin();
+          endTime = interval.getMax();
+        } else {
+          startTime = Math.min(startTime, interval.getMin());
+          endTime = Math.max(endTime, interval.getMax());
+        }
+      }
+    }
+    resultInterval.add(new TimeRange(startTime, endTime));
+    deleteIntervalList = resultInterval;
   }
 
-  public void setDeletedAt(long deletedAt) {
-    this.deletedAt = deletedAt;
+  /**
+   * @return true if every point of this chunk lies in a deleted range
+   */
+  public boolean isFullyDeleted() {
+    if (deleteIntervalList != null) {
+      for (TimeRange interval : deleteIntervalList) {
+        if (interval.getMin() <= startTime && interval.getMax() >= endTime) {
+          return true;
+        }
+      }
+    }
+    return false;
   }
 
   @Override
@@ -279,7 +365,7 @@ public class ChunkMetaData {
         startTime == that.startTime &&
         endTime == that.endTime &&
         version == that.version &&
-        deletedAt == that.deletedAt &&
+        Objects.equals(deleteIntervalList, that.deleteIntervalList) &&
         Objects.equals(measurementUid, that.measurementUid) &&
         tsDataType == that.tsDataType &&
         Objects.equals(valuesStatistics, that.valuesStatistics);
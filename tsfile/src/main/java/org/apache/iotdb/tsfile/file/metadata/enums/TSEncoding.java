@@ -20,7 +20,7 @@ package org.apache.iotdb.tsfile.file.metadata.enums;
 
 public enum TSEncoding {
 
-  PLAIN, PLAIN_DICTIONARY, RLE, DIFF, TS_2DIFF, BITMAP, GORILLA, REGULAR;
+  PLAIN, PLAIN_DICTIONARY, RLE, DIFF, TS_2DIFF, BITMAP, GORILLA, REGULAR, CHIMP, ADAPTIVE, SDT, PAA, PLA;
 
   /**
    * judge the encoding deserialize type.
@@ -46,6 +46,16 @@ public enum TSEncoding {
         return GORILLA;
       case 7:
         return REGULAR;
+      case 8:
+        return CHIMP;
+      case 9:
+        return ADAPTIVE;
+      case 10:
+        return SDT;
+      case 11:
+        return PAA;
+      case 12:
+        return PLA;
       default:
         return PLAIN;
     }
@@ -78,6 +88,16 @@ public enum TSEncoding {
         return 6;
       case REGULAR:
         return 7;
+      case CHIMP:
+        return 8;
+      case ADAPTIVE:
+        return 9;
+      case SDT:
+        return 10;
+      case PAA:
+        return 11;
+      case PLA:
+        return 12;
       default:
         return 0;
     }
@@ -49,6 +49,7 @@ import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
 import org.apache.iotdb.tsfile.read.common.Chunk;
 import org.apache.iotdb.tsfile.read.reader.DefaultTsFileInput;
+import org.apache.iotdb.tsfile.read.reader.MMapTsFileInput;
 import org.apache.iotdb.tsfile.read.reader.TsFileInput;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
 import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
@@ -127,6 +128,18 @@ public class TsFileSequenceReader implements AutoCloseable {
     }
   }
 
+  /**
+   * Create a file reader of the given file which reads the file through the given input, e.g., a
+   * {@link MMapTsFileInput} of a sealed file.
+   *
+   * @param file the data file
+   * @param input the input opened on the file
+   */
+  public TsFileSequenceReader(String file, TsFileInput input) throws IOException {
+    this(input, true);
+    this.file = file;
+  }
+
   /**
    * construct function for TsFileSequenceReader.
    *
@@ -393,10 +406,15 @@ public class TsFileSequenceReader implements AutoCloseable {
       case UNCOMPRESSED:
         return buffer;
       default:
-        // FIXME if the buffer is not array-implemented.
-        unCompressor.uncompress(buffer.array(), buffer.position(), buffer.remaining(),
-            uncompressedBuffer.array(),
-            0);
+        if (buffer.hasArray()) {
+          unCompressor.uncompress(buffer.array(), buffer.arrayOffset() + buffer.position(),
+              buffer.remaining(), uncompressedBuffer.array(), 0);
+        } else {
+          // e.g., a slice of a memory-mapped file
+          byte[] compressed = new byte[buffer.remaining()];
+          buffer.get(compressed);
+          unCompressor.uncompress(compressed, 0, compressed.length, uncompressedBuffer.array(), 0);
+        }
         return uncompressedBuffer;
     }
   }
@@ -441,6 +459,15 @@ public class TsFileSequenceReader implements AutoCloseable {
    * @return data that been read.
    */
   private ByteBuffer readData(long position, int size) throws IOException {
+    if (tsFileInput instanceof MMapTsFileInput) {
+      // zero-copy: the returned buffer is a view of the mapped file
+      long start = position == -1 ? tsFileInput.position() : position;
+      ByteBuffer buffer = ((MMapTsFileInput) tsFileInput).slice(start, size);
+      if (position == -1) {
+        tsFileInput.position(start + size);
+      }
+      return buffer;
+    }
     ByteBuffer buffer = ByteBuffer.allocate(size);
     if (position == -1) {
       if (ReadWriteIOUtils.readAsPossible(tsFileInput, buffer) != size) {
@@ -600,6 +600,21 @@ public class BatchData implements Serializable {
     }
   }
 
+  /**
+   * build a copy of this batch whose points are in the reverse time order. The read cursor of this
+   * batch is not moved.
+   *
+   * @return a new BatchData in reverse order
+   */
+  public BatchData reverse() {
+    BatchData reversed = new BatchData(dataType, true);
+    for (int i = timeLength - 1; i >= 0; i--) {
+      reversed.putTime(getTimeByIndex(i));
+      reversed.putAnObject(getValueByIndex(i));
+    }
+    return reversed;
+  }
+
   public Object getValueInTimestamp(long time) {
     while (hasNext()) {
       if (currentTime() < time) {
@@ -19,7 +19,9 @@
 package org.apache.iotdb.tsfile.read.common;
 
 import java.nio.ByteBuffer;
+import java.util.List;
 import org.apache.iotdb.tsfile.file.header.ChunkHeader;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
 
 /**
  * used in query.
@@ -28,7 +30,8 @@ public class Chunk {
 
   private ChunkHeader chunkHeader;
   private ByteBuffer chunkData;
-  private long deletedAt = -1;
+  private List<TimeRange> deleteIntervalList;
+  private BloomFilter[] pageBloomFilters;
 
   public Chunk(ChunkHeader header, ByteBuffer buffer) {
     this.chunkHeader = header;
@@ -43,11 +46,22 @@ public class Chunk {
     return chunkData;
   }
 
-  public long getDeletedAt() {
-    return deletedAt;
+  public List<TimeRange> getDeleteIntervalList() {
+    return deleteIntervalList;
   }
 
-  public void setDeletedAt(long deletedAt) {
-    this.deletedAt = deletedAt;
+  public void setDeleteIntervalList(List<TimeRange> deleteIntervalList) {
+    this.deleteIntervalList = deleteIntervalList;
+  }
+
+  /**
+   * @return bloom filters of the values of the pages in page order, null if there is none
+   */
+  public BloomFilter[] getPageBloomFilters() {
+    return pageBloomFilters;
+  }
+
+  public void setPageBloomFilters(BloomFilter[] pageBloomFilters) {
+    this.pageBloomFilters = pageBloomFilters;
   }
 }
@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import org.apache.iotdb.tsfile.read.expression.IExpression;
 import org.apache.iotdb.tsfile.read.expression.impl.BinaryExpression;
 import org.apache.iotdb.tsfile.read.expression.impl.GlobalTimeExpression;
@@ -61,21 +62,8 @@ public class TimeRange implements Comparable<TimeRange> {
     if (r == null) {
       throw new NullPointerException("The input cannot be null!");
     }
-    long res1 = this.min - r.min;
-    if (res1 > 0) {
-      return 1;
-    } else if (res1 < 0) {
-      return -1;
-    } else {
-      long res2 = this.max - r.max;
-      if (res2 > 0) {
-        return 1;
-      } else if (res2 < 0) {
-        return -1;
-      } else {
-        return 0;
-      }
-    }
+    int res = Long.compare(this.min, r.min);
+    return res != 0 ? res : Long.compare(this.max, r.max);
   }
 
   public void setMin(long min) {
@@ -99,6 +87,13 @@ public class TimeRange implements Comparable<TimeRange> {
     return min <= r.min && max >= r.max;
   }
 
+  /**
+   * @return true if the given closed range shares at least one point with this closed range
+   */
+  public boolean overlaps(TimeRange r) {
+    return min <= r.max && r.min <= max;
+  }
+
 
   /**
    * Set a closed interval [min,max].
@@ -168,6 +163,24 @@ public class TimeRange implements Comparable<TimeRange> {
     }
   }
 
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    TimeRange that = (TimeRange) o;
+    return min == that.min && max == that.max && leftClose == that.leftClose
+        && rightClose == that.rightClose;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(min, max, leftClose, rightClose);
+  }
+
   @Override
   public String toString() {
     StringBuilder res = new StringBuilder();
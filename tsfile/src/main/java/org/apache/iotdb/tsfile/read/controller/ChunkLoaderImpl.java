@@ -60,7 +60,8 @@ public class ChunkLoaderImpl implements ChunkLoader {
   public Chunk getChunk(ChunkMetaData chunkMetaData) throws IOException {
     Chunk chunk = chunkCache.get(chunkMetaData);
     Chunk chunkRet = new Chunk(chunk.getHeader(), chunk.getData().duplicate());
-    chunkRet.setDeletedAt(chunkMetaData.getDeletedAt());
+    chunkRet.setDeleteIntervalList(chunkMetaData.getDeleteIntervalList());
+    chunkRet.setPageBloomFilters(chunkMetaData.getPageBloomFilters());
     return chunkRet;
   }
 
@@ -54,8 +54,17 @@ public class MetadataQuerierByFileImpl implements MetadataQuerier {
    * Constructor of MetadataQuerierByFileImpl.
    */
   public MetadataQuerierByFileImpl(TsFileSequenceReader tsFileReader) throws IOException {
+    this(tsFileReader, tsFileReader.readFileMetadata());
+  }
+
+  /**
+   * Constructor of MetadataQuerierByFileImpl with a file metadata that has already been read, so
+   * that the footer of the file is not deserialized again.
+   */
+  public MetadataQuerierByFileImpl(TsFileSequenceReader tsFileReader,
+      TsFileMetaData fileMetaData) {
     this.tsFileReader = tsFileReader;
-    this.fileMetaData = tsFileReader.readFileMetadata();
+    this.fileMetaData = fileMetaData;
     chunkMetaDataCache = new LRUCache<Path, List<ChunkMetaData>>(CHUNK_METADATA_CACHE_SIZE) {
       @Override
       public List<ChunkMetaData> loadObjectByKey(Path key) throws IOException {
@@ -27,6 +27,18 @@ public class QueryExpression {
   private List<Path> selectedSeries;
   private IExpression expression;
   private boolean hasQueryFilter;
+  /**
+   * True to return the rows in ascending time order; False in descending time order.
+   */
+  private boolean ascending = true;
+  /**
+   * The maximum number of rows to return, 0 means no limit.
+   */
+  private int rowLimit = 0;
+  /**
+   * The number of rows to skip before the first returned row.
+   */
+  private int rowOffset = 0;
 
   private QueryExpression() {
     selectedSeries = new ArrayList<>();
@@ -71,6 +83,33 @@ public class QueryExpression {
     return selectedSeries;
   }
 
+  public boolean isAscending() {
+    return ascending;
+  }
+
+  public QueryExpression setAscending(boolean ascending) {
+    this.ascending = ascending;
+    return this;
+  }
+
+  public int getRowLimit() {
+    return rowLimit;
+  }
+
+  public QueryExpression setRowLimit(int rowLimit) {
+    this.rowLimit = rowLimit;
+    return this;
+  }
+
+  public int getRowOffset() {
+    return rowOffset;
+  }
+
+  public QueryExpression setRowOffset(int rowOffset) {
+    this.rowOffset = rowOffset;
+    return this;
+  }
+
   @Override
   public String toString() {
     StringBuilder stringBuilder = new StringBuilder("\n\t[Selected Series]:").append(selectedSeries)
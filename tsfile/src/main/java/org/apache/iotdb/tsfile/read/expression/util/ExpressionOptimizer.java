@@ -107,8 +107,8 @@ public class ExpressionOptimizer {
           relation);
     }
     if (relation == ExpressionType.AND) {
-      addTimeFilterToQueryFilter((globalTimeExpression).getFilter(), regularRightIExpression);
-      return regularRightIExpression;
+      return addTimeFilterToQueryFilter((globalTimeExpression).getFilter(),
+          regularRightIExpression);
     } else if (relation == ExpressionType.OR) {
       return BinaryExpression
           .or(pushGlobalTimeFilterToAllSeries(globalTimeExpression, selectedSeries),
@@ -141,14 +141,21 @@ public class ExpressionOptimizer {
   }
 
   /**
-   * Combine TimeFilter with all SeriesFilters in the expression.
+   * Combine TimeFilter with all SeriesFilters in the expression. The given expression is not
+   * modified, as it may be shared by the executions of a cached query plan.
+   *
+   * @return a new expression whose SeriesFilters are combined with the TimeFilter
    */
-  private void addTimeFilterToQueryFilter(Filter timeFilter, IExpression expression) {
+  private IExpression addTimeFilterToQueryFilter(Filter timeFilter, IExpression expression) {
     if (expression instanceof SingleSeriesExpression) {
-      addTimeFilterToSeriesFilter(timeFilter, (SingleSeriesExpression) expression);
+      return addTimeFilterToSeriesFilter(timeFilter, (SingleSeriesExpression) expression);
     } else if (expression instanceof BinaryExpression) {
-      addTimeFilterToQueryFilter(timeFilter, ((BinaryExpression) expression).getLeft());
-      addTimeFilterToQueryFilter(timeFilter, ((BinaryExpression) expression).getRight());
+      IExpression left = addTimeFilterToQueryFilter(timeFilter,
+          ((BinaryExpression) expression).getLeft());
+      IExpression right = addTimeFilterToQueryFilter(timeFilter,
+          ((BinaryExpression) expression).getRight());
+      return expression.getType() == ExpressionType.AND ? BinaryExpression.and(left, right)
+          : BinaryExpression.or(left, right);
     } else {
       throw new UnsupportedOperationException(
           "IExpression should contains only SingleSeriesExpression but other type is found:"
@@ -161,9 +168,10 @@ public class ExpressionOptimizer {
    * input: timeFilter SingleSeriesExpression(path, filter) output: SingleSeriesExpression( path,
    * AndExpression(filter, timeFilter) )
    */
-  private void addTimeFilterToSeriesFilter(Filter timeFilter,
+  private SingleSeriesExpression addTimeFilterToSeriesFilter(Filter timeFilter,
       SingleSeriesExpression singleSeriesExp) {
-    singleSeriesExp.setFilter(FilterFactory.and(singleSeriesExp.getFilter(), timeFilter));
+    return new SingleSeriesExpression(singleSeriesExp.getSeriesPath(),
+        FilterFactory.and(singleSeriesExp.getFilter(), timeFilter));
   }
 
   /**
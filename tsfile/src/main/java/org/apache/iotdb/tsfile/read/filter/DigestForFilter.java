@@ -22,6 +22,7 @@ import java.nio.ByteBuffer;
 import org.apache.iotdb.tsfile.exception.filter.UnSupportFilterDataTypeException;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
 import org.apache.iotdb.tsfile.utils.BytesUtils;
 
 /**
@@ -34,6 +35,10 @@ public class DigestForFilter {
   private long minTime;
   private long maxTime;
   private TSDataType type;
+  /**
+   * bloom filter of the values, null if there is none.
+   */
+  private BloomFilter bloomFilter;
 
   /**
    * constructor of DigestForFilter with ByteBuffer minValue and maxValue.
@@ -137,4 +142,15 @@ public class DigestForFilter {
     return type;
   }
 
+  public void setBloomFilter(BloomFilter bloomFilter) {
+    this.bloomFilter = bloomFilter;
+  }
+
+  /**
+   * @return false if the bloom filter tells that no value equals the given one
+   */
+  public boolean mightContain(Object value) {
+    return bloomFilter == null || bloomFilter.mightContain(value);
+  }
+
 }
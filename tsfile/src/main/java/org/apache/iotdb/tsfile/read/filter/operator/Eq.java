@@ -42,7 +42,8 @@ public class Eq<T extends Comparable<T>> extends UnaryFilter<T> {
       return ((Long) value) >= digest.getMinTime() && ((Long) value) <= digest.getMaxTime();
     } else {
       return value.compareTo(digest.getMinValue()) >= 0
-          && value.compareTo(digest.getMaxValue()) <= 0;
+          && value.compareTo(digest.getMaxValue()) <= 0
+          && digest.mightContain(value);
     }
   }
 
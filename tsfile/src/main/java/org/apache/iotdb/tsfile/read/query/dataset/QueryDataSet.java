@@ -32,6 +32,18 @@ public abstract class QueryDataSet {
   protected List<Path> paths;
   protected List<TSDataType> dataTypes;
 
+  /**
+   * the maximum number of rows returned by hasNext() and next(), 0 means no limit.
+   */
+  protected int rowLimit = 0;
+
+  /**
+   * the number of rows skipped before the first returned row.
+   */
+  protected int rowOffset = 0;
+
+  private int alreadyReturnedRowNum = 0;
+
   public QueryDataSet(List<Path> paths, List<TSDataType> dataTypes) {
     this.paths = paths;
     this.dataTypes = dataTypes;
@@ -42,14 +54,42 @@ public abstract class QueryDataSet {
   }
 
   /**
-   * This method is used for batch query.
+   * This method is used for batch query. The rows before rowOffset are skipped here, so that they
+   * are never returned to the caller, and no row is returned after rowLimit rows.
    */
-  public abstract boolean hasNext() throws IOException;
+  public boolean hasNext() throws IOException {
+    while (rowOffset > 0) {
+      if (!hasNextWithoutConstraint()) {
+        return false;
+      }
+      nextWithoutConstraint();
+      rowOffset--;
+    }
+    if (rowLimit > 0 && alreadyReturnedRowNum >= rowLimit) {
+      return false;
+    }
+    return hasNextWithoutConstraint();
+  }
 
   /**
    * This method is used for batch query, return RowRecord.
    */
-  public abstract RowRecord next() throws IOException;
+  public RowRecord next() throws IOException {
+    if (rowLimit > 0) {
+      alreadyReturnedRowNum++;
+    }
+    return nextWithoutConstraint();
+  }
+
+  /**
+   * @return true if there is another row regardless of rowLimit and rowOffset
+   */
+  protected abstract boolean hasNextWithoutConstraint() throws IOException;
+
+  /**
+   * @return the next row regardless of rowLimit and rowOffset
+   */
+  protected abstract RowRecord nextWithoutConstraint() throws IOException;
 
   public List<Path> getPaths() {
     return paths;
@@ -63,6 +103,22 @@ public abstract class QueryDataSet {
     this.dataTypes = dataTypes;
   }
 
+  public int getRowLimit() {
+    return rowLimit;
+  }
+
+  public void setRowLimit(int rowLimit) {
+    this.rowLimit = rowLimit;
+  }
+
+  public int getRowOffset() {
+    return rowOffset;
+  }
+
+  public void setRowOffset(int rowOffset) {
+    this.rowOffset = rowOffset;
+  }
+
   protected Field getField(Object value, TSDataType dataType) {
     Field field = new Field(dataType);
 
@@ -54,6 +54,14 @@ public class TsFileExecutor implements QueryExecutor {
 
   @Override
   public QueryDataSet execute(QueryExpression queryExpression) throws IOException {
+    QueryDataSet dataSet = executeWithoutConstraint(queryExpression);
+    dataSet.setRowLimit(queryExpression.getRowLimit());
+    dataSet.setRowOffset(queryExpression.getRowOffset());
+    return dataSet;
+  }
+
+  private QueryDataSet executeWithoutConstraint(QueryExpression queryExpression)
+      throws IOException {
     metadataQuerier.loadChunkMetaDatas(queryExpression.getSelectedSeries());
     if (queryExpression.hasQueryFilter()) {
       try {
@@ -0,0 +1,188 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.read.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A TsFileInput that memory-maps the whole file, so that reads are served from the page cache
+ * without system calls and {@link #slice(long, int)} can hand out zero-copy views of the file.
+ *
+ * <p>It must only be used on sealed files, because the mapping does not grow with the file. The
+ * file is mapped in regions of at most {@link #REGION_SIZE} bytes, as a single MappedByteBuffer
+ * cannot address more than 2GB.
+ *
+ * <p>Closing the input only closes the channel: the mapped regions are released by the GC once
+ * no buffer returned by {@link #slice(long, int)} refers to them any more, so a slice that is still
+ * used by a query stays valid even if the file reader has been closed meanwhile.
+ */
+public class MMapTsFileInput implements TsFileInput {
+
+  static final long REGION_SIZE = 1L << 30;
+
+  private FileChannel channel;
+  private long size;
+  private MappedByteBuffer[] regions;
+  private long position;
+
+  public MMapTsFileInput(Path file) throws IOException {
+    channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      size = channel.size();
+      regions = new MappedByteBuffer[(int) ((size + REGION_SIZE - 1) / REGION_SIZE)];
+      for (int i = 0; i < regions.length; i++) {
+        long regionStart = i * REGION_SIZE;
+        regions[i] = channel
+            .map(MapMode.READ_ONLY, regionStart, Math.min(REGION_SIZE, size - regionStart));
+      }
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  @Override
+  public long size() {
+    return size;
+  }
+
+  @Override
+  public long position() {
+    return position;
+  }
+
+  @Override
+  public TsFileInput position(long newPosition) {
+    position = newPosition;
+    return this;
+  }
+
+  @Override
+  public int read(ByteBuffer dst) {
+    int readSize = read(dst, position);
+    if (readSize > 0) {
+      position += readSize;
+    }
+    return readSize;
+  }
+
+  @Override
+  public int read(ByteBuffer dst, long position) {
+    if (position >= size) {
+      return -1;
+    }
+    int readSize = (int) Math.min(dst.remaining(), size - position);
+    int copied = 0;
+    while (copied < readSize) {
+      long current = position + copied;
+      int offsetInRegion = (int) (current % REGION_SIZE);
+      ByteBuffer region = regions[(int) (current / REGION_SIZE)].duplicate();
+      int length = Math.min(readSize - copied, region.capacity() - offsetInRegion);
+      region.position(offsetInRegion);
+      region.limit(offsetInRegion + length);
+      dst.put(region);
+      copied += length;
+    }
+    return readSize;
+  }
+
+  @Override
+  public int read() {
+    if (position >= size) {
+      return -1;
+    }
+    byte b = regions[(int) (position / REGION_SIZE)].get((int) (position % REGION_SIZE));
+    position++;
+    return b & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) {
+    return read(ByteBuffer.wrap(b, off, len));
+  }
+
+  /**
+   * Get the bytes in [position, position + length) of the file. When the range lies in a single
+   * mapped region, the returned buffer is a read-only view of the mapping and no byte is copied,
+   * otherwise the bytes are copied into a new heap buffer.
+   *
+   * @param position the start position in the file
+   * @param length the number of bytes
+   * @return a buffer whose position is 0 and whose limit is length
+   */
+  public ByteBuffer slice(long position, int length) throws IOException {
+    if (position < 0 || position + length > size) {
+      throw new IOException("reach the end of the data");
+    }
+    int offsetInRegion = (int) (position % REGION_SIZE);
+    ByteBuffer region = regions[(int) (position / REGION_SIZE)];
+    if (offsetInRegion + length <= region.capacity()) {
+      ByteBuffer view = region.duplicate();
+      view.position(offsetInRegion);
+      view.limit(offsetInRegion + length);
+      return view.slice();
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    read(buffer, position);
+    buffer.flip();
+    return buffer;
+  }
+
+  @Override
+  public FileChannel wrapAsFileChannel() {
+    return channel;
+  }
+
+  @Override
+  public InputStream wrapAsInputStream() {
+    return new InputStream() {
+      @Override
+      public int read() {
+        return MMapTsFileInput.this.read();
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) {
+        return MMapTsFileInput.this.read(b, off, len);
+      }
+    };
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  @Override
+  public int readInt() throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+    if (read(buffer) != Integer.BYTES) {
+      throw new IOException("reach the end of the data");
+    }
+    buffer.flip();
+    return buffer.getInt();
+  }
+}
@@ -21,18 +21,22 @@ package org.apache.iotdb.tsfile.read.reader.chunk;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
 import org.apache.iotdb.tsfile.compress.IUnCompressor;
 import org.apache.iotdb.tsfile.encoding.decoder.Decoder;
 import org.apache.iotdb.tsfile.file.header.ChunkHeader;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.read.common.BatchData;
 import org.apache.iotdb.tsfile.read.common.Chunk;
+import org.apache.iotdb.tsfile.read.common.TimeRange;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.reader.page.PageReader;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
 
 public abstract class ChunkReader {
 
@@ -53,24 +57,53 @@ public abstract class ChunkReader {
   private boolean hasCachedPageHeader;
 
   /**
-   * Data whose timestamp <= deletedAt should be considered deleted(not be returned).
+   * Data whose timestamp lies in one of these sorted closed ranges should be considered deleted(not
+   * be returned). Null if nothing is deleted.
    */
-  protected long deletedAt;
+  private List<TimeRange> deleteIntervalList;
+
+  /**
+   * bloom filters of the values of the pages, null if there is none.
+   */
+  private BloomFilter[] pageBloomFilters;
+  /**
+   * index of the page whose header is deserialized last.
+   */
+  private int pageIndex = -1;
+
+  /**
+   * True to read the pages and points of this chunk in ascending time order; False in descending
+   * order.
+   */
+  private boolean ascending;
+
+  /**
+   * headers and body offsets of the satisfied pages, only used in descending order.
+   */
+  private List<PageHeader> satisfiedPageHeaders;
+  private List<Integer> satisfiedPageOffsets;
 
   public ChunkReader(Chunk chunk) {
     this(chunk, null);
   }
 
+  public ChunkReader(Chunk chunk, Filter filter) {
+    this(chunk, filter, true);
+  }
+
   /**
    * constructor of ChunkReader.
    *
    * @param chunk input Chunk object
    * @param filter filter
+   * @param ascending True to read in ascending time order; False in descending order
    */
-  public ChunkReader(Chunk chunk, Filter filter) {
+  public ChunkReader(Chunk chunk, Filter filter, boolean ascending) {
     this.filter = filter;
+    this.ascending = ascending;
     this.chunkDataBuffer = chunk.getData();
-    this.deletedAt = chunk.getDeletedAt();
+    this.deleteIntervalList = chunk.getDeleteIntervalList();
+    this.pageBloomFilters = chunk.getPageBloomFilters();
     chunkHeader = chunk.getHeader();
     this.unCompressor = IUnCompressor.getUnCompressor(chunkHeader.getCompressionType());
     valueDecoder = Decoder
@@ -86,13 +119,18 @@ public abstract class ChunkReader {
     if (hasCachedPageHeader) {
       return true;
     }
+    if (!ascending) {
+      return hasNextBatchInDescOrder();
+    }
     // construct next satisfied page header
     while (chunkDataBuffer.remaining() > 0) {
       // deserialize a PageHeader from chunkDataBuffer
       pageHeader = PageHeader.deserializeFrom(chunkDataBuffer, chunkHeader.getDataType());
+      pageIndex++;
 
       // if the current page satisfies
       if (pageSatisfied(pageHeader)) {
+        pageHeader.setModified(isPageModified(pageHeader));
         hasCachedPageHeader = true;
         return true;
       } else {
@@ -102,6 +140,39 @@ public abstract class ChunkReader {
     return false;
   }
 
+  private boolean hasNextBatchInDescOrder() throws IOException {
+    if (satisfiedPageHeaders == null) {
+      collectSatisfiedPages();
+    }
+    if (satisfiedPageHeaders.isEmpty()) {
+      return false;
+    }
+    int lastIndex = satisfiedPageHeaders.size() - 1;
+    pageHeader = satisfiedPageHeaders.remove(lastIndex);
+    chunkDataBuffer.position(satisfiedPageOffsets.remove(lastIndex));
+    hasCachedPageHeader = true;
+    return true;
+  }
+
+  /**
+   * A page can only be located by walking the page headers from the beginning of the chunk, so the
+   * satisfied pages are collected once and then returned from the last to the first.
+   */
+  private void collectSatisfiedPages() throws IOException {
+    satisfiedPageHeaders = new ArrayList<>();
+    satisfiedPageOffsets = new ArrayList<>();
+    while (chunkDataBuffer.remaining() > 0) {
+      PageHeader header = PageHeader.deserializeFrom(chunkDataBuffer, chunkHeader.getDataType());
+      pageIndex++;
+      if (pageSatisfied(header)) {
+        header.setModified(isPageModified(header));
+        satisfiedPageHeaders.add(header);
+        satisfiedPageOffsets.add(chunkDataBuffer.position());
+      }
+      skipBytesInStreamByLength(header.getCompressedSize());
+    }
+  }
+
   /**
    * get next data batch.
    *
@@ -137,24 +208,81 @@ public abstract class ChunkReader {
 
   public abstract boolean pageSatisfied(PageHeader pageHeader);
 
+  /**
+   * @return bloom filter of the values of the page whose header is deserialized last, null if
+   * there is none
+   */
+  protected BloomFilter getPageBloomFilter() {
+    if (pageBloomFilters == null || pageIndex < 0 || pageIndex >= pageBloomFilters.length) {
+      return null;
+    }
+    return pageBloomFilters[pageIndex];
+  }
+
+  /**
+   * @return true if all the points of the page lie in a deleted range, so the page can be skipped
+   * without being decoded
+   */
+  protected boolean isPageDeleted(PageHeader pageHeader) {
+    if (deleteIntervalList != null) {
+      for (TimeRange interval : deleteIntervalList) {
+        if (interval.getMin() > pageHeader.getMinTimestamp()) {
+          break;
+        }
+        if (interval.getMax() >= pageHeader.getMaxTimestamp()) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return true if some points of the page lie in a deleted range, so the statistics in its header
+   * no longer describe the page
+   */
+  private boolean isPageModified(PageHeader pageHeader) {
+    if (deleteIntervalList != null) {
+      for (TimeRange interval : deleteIntervalList) {
+        if (interval.getMin() > pageHeader.getMaxTimestamp()) {
+          break;
+        }
+        if (interval.getMax() >= pageHeader.getMinTimestamp()) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
   private PageReader constructPageReaderForNextPage(int compressedPageBodyLength)
       throws IOException {
-    byte[] compressedPageBody = new byte[compressedPageBodyLength];
-
     // already in memory
     if (compressedPageBodyLength > chunkDataBuffer.remaining()) {
       throw new IOException(
           "unexpected byte read length when read compressedPageBody. Expected:"
-              + Arrays.toString(compressedPageBody) + ". Actual:" + chunkDataBuffer
+              + compressedPageBodyLength + ". Actual:" + chunkDataBuffer
               .remaining());
     }
 
-    chunkDataBuffer.get(compressedPageBody, 0, compressedPageBodyLength);
+    ByteBuffer pageData;
+    if (chunkHeader.getCompressionType() == CompressionType.UNCOMPRESSED) {
+      // decode the page in place, without copying it out of the chunk (which may be a view of a
+      // memory-mapped file)
+      pageData = chunkDataBuffer.slice();
+      pageData.limit(compressedPageBodyLength);
+      skipBytesInStreamByLength(compressedPageBodyLength);
+    } else {
+      byte[] compressedPageBody = new byte[compressedPageBodyLength];
+      chunkDataBuffer.get(compressedPageBody, 0, compressedPageBodyLength);
+      pageData = ByteBuffer.wrap(unCompressor.uncompress(compressedPageBody));
+    }
     valueDecoder.reset();
-    PageReader reader = new PageReader(ByteBuffer.wrap(unCompressor.uncompress(compressedPageBody)),
+    PageReader reader = new PageReader(pageData,
         chunkHeader.getDataType(),
         valueDecoder, timeDecoder, filter);
-    reader.setDeletedAt(deletedAt);
+    reader.setDeleteIntervalList(deleteIntervalList);
+    reader.setAscending(ascending);
     return reader;
   }
 
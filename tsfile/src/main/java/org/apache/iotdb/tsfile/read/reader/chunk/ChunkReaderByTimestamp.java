@@ -33,7 +33,7 @@ public class ChunkReaderByTimestamp extends ChunkReader {
   public boolean pageSatisfied(PageHeader pageHeader) {
     long maxTimestamp = pageHeader.getMaxTimestamp();
     // if maxTimestamp > currentTimestamp, this page should NOT be skipped
-    return maxTimestamp >= currentTimestamp && maxTimestamp > deletedAt;
+    return maxTimestamp >= currentTimestamp && !isPageDeleted(pageHeader);
   }
 
   public void setCurrentTimestamp(long currentTimestamp) {
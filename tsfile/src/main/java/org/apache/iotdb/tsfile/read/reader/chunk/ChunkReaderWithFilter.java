@@ -28,13 +28,17 @@ public class ChunkReaderWithFilter extends ChunkReader {
   private Filter filter;
 
   public ChunkReaderWithFilter(Chunk chunk, Filter filter) {
-    super(chunk, filter);
+    this(chunk, filter, true);
+  }
+
+  public ChunkReaderWithFilter(Chunk chunk, Filter filter, boolean ascending) {
+    super(chunk, filter, ascending);
     this.filter = filter;
   }
 
   @Override
   public boolean pageSatisfied(PageHeader pageHeader) {
-    if (pageHeader.getMaxTimestamp() < deletedAt) {
+    if (isPageDeleted(pageHeader)) {
       return false;
     }
     DigestForFilter digest = new DigestForFilter(pageHeader.getMinTimestamp(),
@@ -42,6 +46,7 @@ public class ChunkReaderWithFilter extends ChunkReader {
         pageHeader.getStatistics().getMinBytebuffer(),
         pageHeader.getStatistics().getMaxBytebuffer(),
         chunkHeader.getDataType());
+    digest.setBloomFilter(getPageBloomFilter());
     return filter.satisfy(digest);
   }
 
@@ -27,9 +27,13 @@ public class ChunkReaderWithoutFilter extends ChunkReader {
     super(chunk);
   }
 
+  public ChunkReaderWithoutFilter(Chunk chunk, boolean ascending) {
+    super(chunk, null, ascending);
+  }
+
   @Override
   public boolean pageSatisfied(PageHeader pageHeader) {
-    return pageHeader.getMaxTimestamp() > deletedAt;
+    return !isPageDeleted(pageHeader);
   }
 
 }
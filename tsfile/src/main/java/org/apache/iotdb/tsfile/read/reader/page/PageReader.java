@@ -20,11 +20,18 @@ package org.apache.iotdb.tsfile.read.reader.page;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.List;
 import org.apache.iotdb.tsfile.encoding.decoder.Decoder;
+import org.apache.iotdb.tsfile.encoding.decoder.DictionaryDecoder;
 import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.common.TimeRange;
+import org.apache.iotdb.tsfile.read.filter.basic.BinaryFilter;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.filter.basic.UnaryFilter;
+import org.apache.iotdb.tsfile.read.filter.factory.FilterType;
+import org.apache.iotdb.tsfile.read.filter.operator.NotFilter;
 import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
 
@@ -48,7 +55,16 @@ public class PageReader {
 
   private Filter filter = null;
 
-  private long deletedAt = -1;
+  /** sorted closed ranges of deleted data, null if nothing is deleted */
+  private List<TimeRange> deleteIntervalList;
+
+  /** index of the first deleted range that does not end before the last decoded timestamp */
+  private int deleteCursor = 0;
+
+  /**
+   * True to return the points of this page in ascending time order; False in descending order.
+   */
+  private boolean ascending = true;
 
   public PageReader(ByteBuffer pageData, TSDataType dataType, Decoder valueDecoder,
       Decoder timeDecoder,
@@ -94,7 +110,11 @@ public class PageReader {
     } else {
       data = getAllPageDataWithFilter();
     }
-
+    // values of a page can only be decoded from the beginning, so a descending batch is the
+    // reverse of the decoded one
+    if (!ascending) {
+      data = data.reverse();
+    }
     return data;
   }
 
@@ -112,42 +132,42 @@ public class PageReader {
       switch (dataType) {
         case BOOLEAN:
           boolean aBoolean = valueDecoder.readBoolean(valueBuffer);
-          if (timestamp > deletedAt) {
+          if (!isDeleted(timestamp)) {
             pageData.putTime(timestamp);
             pageData.putBoolean(aBoolean);
           }
           break;
         case INT32:
           int anInt = valueDecoder.readInt(valueBuffer);
-          if (timestamp > deletedAt) {
+          if (!isDeleted(timestamp)) {
             pageData.putTime(timestamp);
             pageData.putInt(anInt);
           }
           break;
         case INT64:
           long aLong = valueDecoder.readLong(valueBuffer);
-          if (timestamp > deletedAt) {
+          if (!isDeleted(timestamp)) {
             pageData.putTime(timestamp);
             pageData.putLong(aLong);
           }
           break;
         case FLOAT:
           float aFloat = valueDecoder.readFloat(valueBuffer);
-          if (timestamp > deletedAt) {
+          if (!isDeleted(timestamp)) {
             pageData.putTime(timestamp);
             pageData.putFloat(aFloat);
           }
           break;
         case DOUBLE:
           double aDouble = valueDecoder.readDouble(valueBuffer);
-          if (timestamp > deletedAt) {
+          if (!isDeleted(timestamp)) {
             pageData.putTime(timestamp);
             pageData.putDouble(aDouble);
           }
           break;
         case TEXT:
           Binary aBinary = valueDecoder.readBinary(valueBuffer);
-          if (timestamp > deletedAt) {
+          if (!isDeleted(timestamp)) {
             pageData.putTime(timestamp);
             pageData.putBinary(aBinary);
           }
@@ -160,6 +180,13 @@ public class PageReader {
   }
 
   private BatchData getAllPageDataWithFilter() throws IOException {
+    if (valueDecoder instanceof DictionaryDecoder && isValueFilter(filter)) {
+      List<Binary> dictionary = ((DictionaryDecoder) valueDecoder).getDictionary(valueBuffer);
+      if (dictionary != null) {
+        return getDictionaryPageDataWithFilter(dictionary);
+      }
+    }
+
     BatchData pageData = new BatchData(dataType, true);
 
     while (timeDecoder.hasNext(timeBuffer)) {
@@ -192,9 +219,57 @@ public class PageReader {
     return pageData;
   }
 
+  /**
+   * A value filter does not depend on the time, so it is evaluated once for each entry of the
+   * dictionary and the points are matched by their ids.
+   */
+  private BatchData getDictionaryPageDataWithFilter(List<Binary> dictionary) throws IOException {
+    BatchData pageData = new BatchData(dataType, true);
+    DictionaryDecoder decoder = (DictionaryDecoder) valueDecoder;
+
+    boolean[] satisfied = new boolean[dictionary.size()];
+    boolean anySatisfied = false;
+    for (int i = 0; i < satisfied.length; i++) {
+      satisfied[i] = filter.satisfy(0, dictionary.get(i));
+      anySatisfied |= satisfied[i];
+    }
+    if (!anySatisfied) {
+      // the time column is still consumed so that the time decoder ends at the page boundary
+      while (timeDecoder.hasNext(timeBuffer)) {
+        timeDecoder.readLong(timeBuffer);
+      }
+      return pageData;
+    }
+
+    while (timeDecoder.hasNext(timeBuffer)) {
+      long timestamp = timeDecoder.readLong(timeBuffer);
+      int id = decoder.readId(valueBuffer);
+      if (satisfied[id] && !isDeleted(timestamp)) {
+        pageData.putTime(timestamp);
+        pageData.putBinary(dictionary.get(id));
+      }
+    }
+    return pageData;
+  }
+
+  /**
+   * whether the result of the filter only depends on the value of a point.
+   */
+  private static boolean isValueFilter(Filter filter) {
+    if (filter instanceof UnaryFilter) {
+      return ((UnaryFilter) filter).getFilterType() == FilterType.VALUE_FILTER;
+    } else if (filter instanceof BinaryFilter) {
+      return isValueFilter(((BinaryFilter) filter).getLeft())
+          && isValueFilter(((BinaryFilter) filter).getRight());
+    } else if (filter instanceof NotFilter) {
+      return isValueFilter(((NotFilter) filter).getFilter());
+    }
+    return false;
+  }
+
   private void readBoolean(BatchData pageData, long timestamp) {
     boolean aBoolean = valueDecoder.readBoolean(valueBuffer);
-    if (timestamp > deletedAt && filter.satisfy(timestamp, aBoolean)) {
+    if (!isDeleted(timestamp) && filter.satisfy(timestamp, aBoolean)) {
       pageData.putTime(timestamp);
       pageData.putBoolean(aBoolean);
     }
@@ -202,7 +277,7 @@ public class PageReader {
 
   private void readInt(BatchData pageData, long timestamp) {
     int anInt = valueDecoder.readInt(valueBuffer);
-    if (timestamp > deletedAt && filter.satisfy(timestamp, anInt)) {
+    if (!isDeleted(timestamp) && filter.satisfy(timestamp, anInt)) {
       pageData.putTime(timestamp);
       pageData.putInt(anInt);
     }
@@ -210,7 +285,7 @@ public class PageReader {
 
   private void readLong(BatchData pageData, long timestamp) {
     long aLong = valueDecoder.readLong(valueBuffer);
-    if (timestamp > deletedAt && filter.satisfy(timestamp, aLong)) {
+    if (!isDeleted(timestamp) && filter.satisfy(timestamp, aLong)) {
       pageData.putTime(timestamp);
       pageData.putLong(aLong);
     }
@@ -218,7 +293,7 @@ public class PageReader {
 
   private void readFloat(BatchData pageData, long timestamp) {
     float aFloat = valueDecoder.readFloat(valueBuffer);
-    if (timestamp > deletedAt && filter.satisfy(timestamp, aFloat)) {
+    if (!isDeleted(timestamp) && filter.satisfy(timestamp, aFloat)) {
       pageData.putTime(timestamp);
       pageData.putFloat(aFloat);
     }
@@ -226,7 +301,7 @@ public class PageReader {
 
   private void readDouble(BatchData pageData, long timestamp) {
     double aDouble = valueDecoder.readDouble(valueBuffer);
-    if (timestamp > deletedAt && filter.satisfy(timestamp, aDouble)) {
+    if (!isDeleted(timestamp) && filter.satisfy(timestamp, aDouble)) {
       pageData.putTime(timestamp);
       pageData.putDouble(aDouble);
     }
@@ -234,7 +309,7 @@ public class PageReader {
 
   private void readText(BatchData pageData, long timestamp) {
     Binary aBinary = valueDecoder.readBinary(valueBuffer);
-    if (timestamp > deletedAt && filter.satisfy(timestamp, aBinary)) {
+    if (!isDeleted(timestamp) && filter.satisfy(timestamp, aBinary)) {
       pageData.putTime(timestamp);
       pageData.putBinary(aBinary);
     }
@@ -245,7 +320,28 @@ public class PageReader {
     valueBuffer = null;
   }
 
-  public void setDeletedAt(long deletedAt) {
-    this.deletedAt = deletedAt;
+  /**
+   * Points are always decoded in ascending time order, so the deleted ranges are walked with a
+   * cursor instead of being searched for each point.
+   */
+  private boolean isDeleted(long timestamp) {
+    if (deleteIntervalList == null) {
+      return false;
+    }
+    while (deleteCursor < deleteIntervalList.size()
+        && deleteIntervalList.get(deleteCursor).getMax() < timestamp) {
+      deleteCursor++;
+    }
+    return deleteCursor < deleteIntervalList.size()
+        && deleteIntervalList.get(deleteCursor).getMin() <= timestamp;
+  }
+
+  public void setDeleteIntervalList(List<TimeRange> deleteIntervalList) {
+    this.deleteIntervalList = deleteIntervalList;
+    this.deleteCursor = 0;
+  }
+
+  public void setAscending(boolean ascending) {
+    this.ascending = ascending;
   }
 }
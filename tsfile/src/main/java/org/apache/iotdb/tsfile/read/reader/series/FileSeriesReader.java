@@ -21,6 +21,7 @@ package org.apache.iotdb.tsfile.read.reader.series;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.function.Predicate;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
 import org.apache.iotdb.tsfile.read.common.BatchData;
@@ -37,15 +38,35 @@ public abstract class FileSeriesReader {
   protected ChunkReader chunkReader;
   private int chunkToRead;
 
+  /**
+   * True to read the chunks in ascending time order; False to read them, and the pages and points
+   * inside them, in descending time order.
+   */
+  protected boolean ascending;
+
   private BatchData data;
 
   /**
-   * constructor of FileSeriesReader.
+   * decides whether a chunk can be dropped without being loaded when the reader reaches it, null to
+   * read every satisfied chunk.
    */
+  private Predicate<ChunkMetaData> chunkSkipper;
+
   public FileSeriesReader(ChunkLoader chunkLoader, List<ChunkMetaData> chunkMetaDataList) {
+    this(chunkLoader, chunkMetaDataList, true);
+  }
+
+  /**
+   * constructor of FileSeriesReader.
+   *
+   * @param chunkMetaDataList chunk metadata in ascending time order, also for a descending reader
+   */
+  public FileSeriesReader(ChunkLoader chunkLoader, List<ChunkMetaData> chunkMetaDataList,
+      boolean ascending) {
     this.chunkLoader = chunkLoader;
     this.chunkMetaDataList = chunkMetaDataList;
-    this.chunkToRead = 0;
+    this.ascending = ascending;
+    this.chunkToRead = ascending ? 0 : chunkMetaDataList.size() - 1;
   }
 
   /**
@@ -61,10 +82,11 @@ public abstract class FileSeriesReader {
     }
 
     // current chunk does not have additional batch, init new chunk reader
-    while (chunkToRead < chunkMetaDataList.size()) {
+    while (hasNextChunkMeta()) {
 
       ChunkMetaData chunkMetaData = nextChunkMeta();
-      if (chunkSatisfied(chunkMetaData)) {
+      if (chunkSatisfied(chunkMetaData)
+          && (chunkSkipper == null || !chunkSkipper.test(chunkMetaData))) {
         // chunk metadata satisfy the condition
         initChunkReader(chunkMetaData);
 
@@ -96,6 +118,10 @@ public abstract class FileSeriesReader {
     chunkReader.skipPageData();
   }
 
+  public void setChunkSkipper(Predicate<ChunkMetaData> chunkSkipper) {
+    this.chunkSkipper = chunkSkipper;
+  }
+
   protected abstract void initChunkReader(ChunkMetaData chunkMetaData) throws IOException;
 
   protected abstract boolean chunkSatisfied(ChunkMetaData chunkMetaData);
@@ -104,7 +130,11 @@ public abstract class FileSeriesReader {
     chunkLoader.close();
   }
 
+  private boolean hasNextChunkMeta() {
+    return ascending ? chunkToRead < chunkMetaDataList.size() : chunkToRead >= 0;
+  }
+
   private ChunkMetaData nextChunkMeta() {
-    return chunkMetaDataList.get(chunkToRead++);
+    return ascending ? chunkMetaDataList.get(chunkToRead++) : chunkMetaDataList.get(chunkToRead--);
   }
 }
@@ -38,14 +38,19 @@ public class FileSeriesReaderWithFilter extends FileSeriesReader {
 
   public FileSeriesReaderWithFilter(ChunkLoader chunkLoader,
       List<ChunkMetaData> chunkMetaDataList, Filter filter) {
-    super(chunkLoader, chunkMetaDataList);
+    this(chunkLoader, chunkMetaDataList, filter, true);
+  }
+
+  public FileSeriesReaderWithFilter(ChunkLoader chunkLoader,
+      List<ChunkMetaData> chunkMetaDataList, Filter filter, boolean ascending) {
+    super(chunkLoader, chunkMetaDataList, ascending);
     this.filter = filter;
   }
 
   @Override
   protected void initChunkReader(ChunkMetaData chunkMetaData) throws IOException {
     Chunk chunk = chunkLoader.getChunk(chunkMetaData);
-    this.chunkReader = new ChunkReaderWithFilter(chunk, filter);
+    this.chunkReader = new ChunkReaderWithFilter(chunk, filter, ascending);
   }
 
   @Override
@@ -55,6 +60,7 @@ public class FileSeriesReaderWithFilter extends FileSeriesReader {
         chunkMetaData.getDigest().getStatistics().get(StatisticConstant.MIN_VALUE),
         chunkMetaData.getDigest().getStatistics().get(StatisticConstant.MAX_VALUE),
         chunkMetaData.getTsDataType());
+    digest.setBloomFilter(chunkMetaData.getBloomFilter());
     return filter.satisfy(digest);
   }
 
@@ -35,10 +35,15 @@ public class FileSeriesReaderWithoutFilter extends FileSeriesReader {
     super(chunkLoader, chunkMetaDataList);
   }
 
+  public FileSeriesReaderWithoutFilter(ChunkLoader chunkLoader,
+      List<ChunkMetaData> chunkMetaDataList, boolean ascending) {
+    super(chunkLoader, chunkMetaDataList, ascending);
+  }
+
   @Override
   protected void initChunkReader(ChunkMetaData chunkMetaData) throws IOException {
     Chunk chunk = chunkLoader.getChunk(chunkMetaData);
-    this.chunkReader = new ChunkReaderWithoutFilter(chunk);
+    this.chunkReader = new ChunkReaderWithoutFilter(chunk, ascending);
   }
 
   @Override
@@ -0,0 +1,211 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.utils;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable bloom filter of the values in a page, used to skip pages that do not contain the
+ * value of an equality filter. It is built once the page is complete, so it can be sized by the
+ * number of distinct values of the page. Values are added and tested by their 64-bit hash from
+ * {@link #hash}, which follows {@code equals} of the boxed values: floating-point values are hashed
+ * by their bits, so 0.0 and -0.0 are different and NaN equals NaN.
+ */
+public class BloomFilter {
+
+  private static final int MAX_HASH_FUNCTION_NUM = 16;
+  private static final double LN2 = Math.log(2);
+
+  private final long[] bits;
+  private final int hashFunctionNum;
+
+  private BloomFilter(long[] bits, int hashFunctionNum) {
+    this.bits = bits;
+    this.hashFunctionNum = hashFunctionNum;
+  }
+
+  /**
+   * @param hashes hashes of values, may contain duplicates
+   * @param size number of hashes to use from the array
+   * @return the distinct hashes in ascending order
+   */
+  public static long[] distinct(long[] hashes, int size) {
+    long[] distinct = Arrays.copyOf(hashes, size);
+    Arrays.sort(distinct);
+    int distinctNum = 0;
+    for (int i = 0; i < size; i++) {
+      if (i == 0 || distinct[i] != distinct[i - 1]) {
+        distinct[distinctNum++] = distinct[i];
+      }
+    }
+    return distinctNum == size ? distinct : Arrays.copyOf(distinct, distinctNum);
+  }
+
+  /**
+   * @param distinctHashes distinct hashes of the values, see {@link #distinct}
+   * @param errorRate expected false positive rate
+   */
+  public static BloomFilter build(long[] distinctHashes, double errorRate) {
+    int n = Math.max(distinctHashes.length, 1);
+    long bitNum = (long) Math.ceil(-n * Math.log(errorRate) / (LN2 * LN2));
+    int wordNum = (int) Math.max(1, (bitNum + Long.SIZE - 1) / Long.SIZE);
+    int hashFunctionNum = (int) Math.round((double) wordNum * Long.SIZE / n * LN2);
+    hashFunctionNum = Math.max(1, Math.min(MAX_HASH_FUNCTION_NUM, hashFunctionNum));
+
+    BloomFilter filter = new BloomFilter(new long[wordNum], hashFunctionNum);
+    for (long hash : distinctHashes) {
+      filter.add(hash);
+    }
+    return filter;
+  }
+
+  private void add(long hash) {
+    long bitNum = (long) bits.length * Long.SIZE;
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 0; i < hashFunctionNum; i++) {
+      long bit = Math.floorMod(h1 + (long) i * h2, bitNum);
+      bits[(int) (bit >>> 6)] |= 1L << bit;
+    }
+  }
+
+  /**
+   * @return false if no value with the given hash is in the filter
+   */
+  public boolean mightContainHash(long hash) {
+    long bitNum = (long) bits.length * Long.SIZE;
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 0; i < hashFunctionNum; i++) {
+      long bit = Math.floorMod(h1 + (long) i * h2, bitNum);
+      if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param value Integer, Long, Float, Double or Binary
+   * @return false if the value is not in the filter
+   */
+  public boolean mightContain(Object value) {
+    return mightContainHash(hash(value));
+  }
+
+  public int getSerializedSize() {
+    return 2 * Integer.BYTES + bits.length * Long.BYTES;
+  }
+
+  /**
+   * serialize the filters as [filter number]([hash function number][word number][words])*.
+   */
+  public static ByteBuffer serialize(List<BloomFilter> filters) {
+    int size = Integer.BYTES;
+    for (BloomFilter filter : filters) {
+      size += filter.getSerializedSize();
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    buffer.putInt(filters.size());
+    for (BloomFilter filter : filters) {
+      buffer.putInt(filter.hashFunctionNum);
+      buffer.putInt(filter.bits.length);
+      for (long word : filter.bits) {
+        buffer.putLong(word);
+      }
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  /**
+   * @return the filters in the serialized order
+   */
+  public static BloomFilter[] deserialize(ByteBuffer buffer) {
+    ByteBuffer input = buffer.duplicate();
+    BloomFilter[] filters = new BloomFilter[input.getInt()];
+    for (int i = 0; i < filters.length; i++) {
+      int hashFunctionNum = input.getInt();
+      long[] bits = new long[input.getInt()];
+      for (int j = 0; j < bits.length; j++) {
+        bits[j] = input.getLong();
+      }
+      filters[i] = new BloomFilter(bits, hashFunctionNum);
+    }
+    return filters;
+  }
+
+  public static long hash(int value) {
+    return mix(value);
+  }
+
+  public static long hash(long value) {
+    return mix(value);
+  }
+
+  public static long hash(float value) {
+    return mix(Float.floatToIntBits(value));
+  }
+
+  public static long hash(double value) {
+    return mix(Double.doubleToLongBits(value));
+  }
+
+  /**
+   * FNV-1a of the bytes.
+   */
+  public static long hash(Binary value) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : value.getValues()) {
+      hash ^= b & 0xFF;
+      hash *= 0x100000001b3L;
+    }
+    return mix(hash);
+  }
+
+  public static long hash(Object value) {
+    if (value instanceof Integer) {
+      return hash((int) value);
+    } else if (value instanceof Long) {
+      return hash((long) value);
+    } else if (value instanceof Float) {
+      return hash((float) value);
+    } else if (value instanceof Double) {
+      return hash((double) value);
+    } else if (value instanceof Binary) {
+      return hash((Binary) value);
+    }
+    throw new IllegalArgumentException("Bloom filter does not support " + value.getClass());
+  }
+
+  /**
+   * the finalizer of MurmurHash3, spreading every input bit to all the output bits.
+   */
+  private static long mix(long value) {
+    long h = value;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb3ed53ae3a07L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
@@ -0,0 +1,270 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.write;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
+import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
+import org.apache.iotdb.tsfile.write.chunk.IChunkGroupWriter;
+import org.apache.iotdb.tsfile.write.record.RowBatch;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.schema.Schema;
+import org.apache.iotdb.tsfile.write.writer.TsFileIOWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * AsyncTsFileWriter is a TsFileWriter that flushes chunk groups in a background thread, so that
+ * writing does not stall while the buffered data is sealed and written out.
+ * <p>
+ * The chunk groups are double-buffered: when the buffered chunk groups exceed the chunk group size,
+ * they are handed over to the flush thread and new chunk groups are created for the following
+ * data. A device whose chunk group alone exceeds the device size threshold is handed over by
+ * itself. The chunk groups being flushed never exceed the chunk group size either, and writing
+ * blocks until enough of them are flushed, so a writer holds about twice the chunk group size
+ * of data in memory.
+ * <p>
+ * An error in the flush thread is thrown by the next call of write() or close().
+ */
+public class AsyncTsFileWriter extends TsFileWriter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncTsFileWriter.class);
+
+  private final long deviceSizeThreshold;
+
+  private final ExecutorService flushThread = Executors.newSingleThreadExecutor(r -> {
+    Thread thread = new Thread(r, "AsyncTsFileWriter-flush");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * estimated memory size of the chunk groups handed over but not flushed yet.
+   */
+  private long flushingMemSize = 0;
+  private final Object flushingLock = new Object();
+
+  private volatile IOException flushException;
+
+  /**
+   * number of records in the buffered chunk group of each device. recordCount is the number of
+   * records in all buffered chunk groups, i.e., the records written since they were handed over.
+   */
+  private final Map<String, Long> deviceRecordCounts = new HashMap<>();
+
+  /**
+   * init this AsyncTsFileWriter.
+   *
+   * @param file the File to be written by this AsyncTsFileWriter
+   */
+  public AsyncTsFileWriter(File file) throws IOException {
+    this(file, new Schema());
+  }
+
+  /**
+   * init this AsyncTsFileWriter.
+   *
+   * @param file the File to be written by this AsyncTsFileWriter
+   * @param schema the schema of this TsFile
+   */
+  public AsyncTsFileWriter(File file, Schema schema) throws IOException {
+    this(file, schema, TSFileConfig.groupSizeInByte);
+  }
+
+  /**
+   * init this AsyncTsFileWriter.
+   *
+   * @param file the File to be written by this AsyncTsFileWriter
+   * @param schema the schema of this TsFile
+   * @param deviceSizeThreshold the memory size over which the chunk group of a device is flushed
+   */
+  public AsyncTsFileWriter(File file, Schema schema, long deviceSizeThreshold)
+      throws IOException {
+    this(new TsFileIOWriter(file), schema, TSFileDescriptor.getInstance().getConfig(),
+        deviceSizeThreshold);
+  }
+
+  /**
+   * init this AsyncTsFileWriter.
+   *
+   * @param fileWriter the io writer of this TsFile
+   * @param schema the schema of this TsFile
+   * @param conf the configuration of this TsFile
+   * @param deviceSizeThreshold the memory size over which the chunk group of a device is flushed
+   */
+  protected AsyncTsFileWriter(TsFileIOWriter fileWriter, Schema schema, TSFileConfig conf,
+      long deviceSizeThreshold) throws IOException {
+    super(fileWriter, schema, conf);
+    this.deviceSizeThreshold = deviceSizeThreshold;
+  }
+
+  @Override
+  public boolean write(TSRecord record) throws IOException, WriteProcessException {
+    checkFlushException();
+    deviceRecordCounts.merge(record.deviceId, 1L, Long::sum);
+    return super.write(record);
+  }
+
+  @Override
+  public boolean write(RowBatch rowBatch) throws IOException, WriteProcessException {
+    checkFlushException();
+    deviceRecordCounts.merge(rowBatch.deviceId, (long) rowBatch.batchSize, Long::sum);
+    return super.write(rowBatch);
+  }
+
+  /**
+   * hand over the chunk groups exceeding the device size threshold, and all chunk groups if they
+   * exceed the chunk group size in total, to the flush thread.
+   */
+  @Override
+  protected boolean checkMemorySizeAndMayFlushGroup() throws IOException {
+    if (recordCount < recordCountForNextMemCheck) {
+      return false;
+    }
+    long totalRecordCount = recordCount;
+    long totalMemSize = 0;
+    long bufferedMemSize = 0;
+    long maxDeviceMemSize = 0;
+    Iterator<Entry<String, IChunkGroupWriter>> iterator = groupWriters.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Entry<String, IChunkGroupWriter> entry = iterator.next();
+      long memSize = entry.getValue().updateMaxGroupMemSize();
+      totalMemSize += memSize;
+      if (memSize > deviceSizeThreshold) {
+        LOG.debug("start to flush chunk group of {}, memory space occupy:{}", entry.getKey(),
+            memSize);
+        iterator.remove();
+        Long deviceRecordCount = deviceRecordCounts.remove(entry.getKey());
+        recordCount -= deviceRecordCount == null ? 0 : deviceRecordCount;
+        submitChunkGroup(entry.getKey(), entry.getValue(), memSize);
+      } else {
+        bufferedMemSize += memSize;
+        maxDeviceMemSize = Math.max(maxDeviceMemSize, memSize);
+      }
+    }
+    if (bufferedMemSize > chunkGroupSizeThreshold) {
+      LOG.debug("start to flush chunk groups, memory space occupy:{}", bufferedMemSize);
+      for (Entry<String, IChunkGroupWriter> entry : groupWriters.entrySet()) {
+        submitChunkGroup(entry.getKey(), entry.getValue(), entry.getValue()
+            .updateMaxGroupMemSize());
+      }
+      reset();
+      bufferedMemSize = 0;
+      maxDeviceMemSize = 0;
+    }
+    // check again when either threshold may be reached, assuming the same size per record
+    if (totalMemSize > 0) {
+      long remainingMemSize = Math.min(chunkGroupSizeThreshold - bufferedMemSize,
+          deviceSizeThreshold - maxDeviceMemSize);
+      recordCountForNextMemCheck =
+          recordCount + Math.max(1, remainingMemSize * totalRecordCount / totalMemSize);
+    }
+    return false;
+  }
+
+  /**
+   * hand over all chunk groups to the flush thread and wait until they are flushed.
+   */
+  @Override
+  protected boolean flushAllChunkGroups() throws IOException {
+    for (Entry<String, IChunkGroupWriter> entry : groupWriters.entrySet()) {
+      submitChunkGroup(entry.getKey(), entry.getValue(), entry.getValue().updateMaxGroupMemSize());
+    }
+    reset();
+    waitForFlushing(0);
+    checkFlushException();
+    return false;
+  }
+
+  @Override
+  protected void reset() {
+    super.reset();
+    deviceRecordCounts.clear();
+  }
+
+  /**
+   * flush all chunk groups and close the file. The io writer is closed even if flushing failed.
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      super.close();
+    } finally {
+      flushThread.shutdownNow();
+      if (getIOWriter().canWrite()) {
+        getIOWriter().close();
+      }
+    }
+  }
+
+  private void submitChunkGroup(String deviceId, IChunkGroupWriter groupWriter, long memSize)
+      throws IOException {
+    checkFlushException();
+    // a chunk group larger than the chunk group size is flushed alone
+    waitForFlushing(Math.max(0, chunkGroupSizeThreshold - memSize));
+    synchronized (flushingLock) {
+      flushingMemSize += memSize;
+    }
+    flushThread.submit(() -> {
+      try {
+        if (flushException == null) {
+          flushChunkGroup(deviceId, groupWriter);
+        }
+      } catch (IOException | RuntimeException e) {
+        LOG.error("flush chunk group of {} failed", deviceId, e);
+        flushException = e instanceof IOException ? (IOException) e : new IOException(e);
+      } finally {
+        synchronized (flushingLock) {
+          flushingMemSize -= memSize;
+          flushingLock.notifyAll();
+        }
+      }
+    });
+  }
+
+  /**
+   * block until the memory size of the chunk groups being flushed is not more than the given size.
+   */
+  private void waitForFlushing(long memSize) throws IOException {
+    synchronized (flushingLock) {
+      while (flushingMemSize > memSize) {
+        try {
+          flushingLock.wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException("interrupted when waiting for flushing chunk groups", e);
+        }
+      }
+    }
+  }
+
+  private void checkFlushException() throws IOException {
+    if (flushException != null) {
+      throw new IOException("flushing chunk groups failed", flushException);
+    }
+  }
+}
@@ -59,18 +59,18 @@ public class TsFileWriter implements AutoCloseable{
    **/
   private final TsFileIOWriter fileWriter;
   private final int pageSize;
-  private long recordCount = 0;
+  protected long recordCount = 0;
 
   /**
    * all IChunkGroupWriters.
    **/
-  private Map<String, IChunkGroupWriter> groupWriters = new HashMap<>();
+  protected Map<String, IChunkGroupWriter> groupWriters = new HashMap<>();
 
   /**
    * min value of threshold of data points num check.
    **/
-  private long recordCountForNextMemCheck = 100;
-  private long chunkGroupSizeThreshold;
+  protected long recordCountForNextMemCheck = 100;
+  protected long chunkGroupSizeThreshold;
 
   /**
    * init this TsFileWriter.
@@ -268,7 +268,7 @@ public class TsFileWriter implements AutoCloseable{
    * @return true - size of tsfile or metadata reaches the threshold. false - otherwise
    * @throws IOException exception in IO
    */
-  private boolean checkMemorySizeAndMayFlushGroup() throws IOException {
+  protected boolean checkMemorySizeAndMayFlushGroup() throws IOException {
     if (recordCount >= recordCountForNextMemCheck) {
       long memSize = calculateMemSizeForAllGroup();
       assert memSize > 0;
@@ -293,27 +293,35 @@ public class TsFileWriter implements AutoCloseable{
    * function just return false, the Override of IoTDB may return true.
    * @throws IOException exception in IO
    */
-  private boolean flushAllChunkGroups() throws IOException {
+  protected boolean flushAllChunkGroups() throws IOException {
     if (recordCount > 0) {
       for (Map.Entry<String, IChunkGroupWriter> entry: groupWriters.entrySet()) {
-        long pos = fileWriter.getPos();
-        String deviceId = entry.getKey();
-        IChunkGroupWriter groupWriter = entry.getValue();
-        fileWriter.startChunkGroup(deviceId);
-        ChunkGroupFooter chunkGroupFooter = groupWriter.flushToFileWriter(fileWriter);
-        if (fileWriter.getPos() - pos != chunkGroupFooter.getDataSize()) {
-          throw new IOException(String.format(
-              "Flushed data size is inconsistent with computation! Estimated: %d, Actual: %d",
-              chunkGroupFooter.getDataSize(), fileWriter.getPos() - pos));
-        }
-        fileWriter.endChunkGroup(0);
+        flushChunkGroup(entry.getKey(), entry.getValue());
       }
       reset();
     }
     return false;
   }
 
-  private void reset() {
+  /**
+   * flush the data of a chunk group writer to outputStream as a chunk group.
+   *
+   * @throws IOException exception in IO
+   */
+  protected void flushChunkGroup(String deviceId, IChunkGroupWriter groupWriter)
+      throws IOException {
+    long pos = fileWriter.getPos();
+    fileWriter.startChunkGroup(deviceId);
+    ChunkGroupFooter chunkGroupFooter = groupWriter.flushToFileWriter(fileWriter);
+    if (fileWriter.getPos() - pos != chunkGroupFooter.getDataSize()) {
+      throw new IOException(String.format(
+          "Flushed data size is inconsistent with computation! Estimated: %d, Actual: %d",
+          chunkGroupFooter.getDataSize(), fileWriter.getPos() - pos));
+    }
+    fileWriter.endChunkGroup(0);
+  }
+
+  protected void reset() {
     groupWriters.clear();
     recordCount = 0;
   }
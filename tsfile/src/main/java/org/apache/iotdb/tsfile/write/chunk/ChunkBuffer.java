@@ -22,11 +22,18 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import org.apache.iotdb.tsfile.common.constant.StatisticConstant;
 import org.apache.iotdb.tsfile.compress.ICompressor;
 import org.apache.iotdb.tsfile.exception.write.PageException;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
 import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
 import org.apache.iotdb.tsfile.utils.PublicBAOS;
 import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
 import org.apache.iotdb.tsfile.write.writer.TsFileIOWriter;
@@ -56,6 +63,16 @@ public class ChunkBuffer {
   private long minTimestamp = -1;
   private ByteBuffer compressedData;// DirectByteBuffer
 
+  /**
+   * bloom filters of the pages in page order, empty if the measurement does not enable them.
+   */
+  private List<BloomFilter> pageBloomFilters = new ArrayList<>();
+  /**
+   * distinct hashes of the values of each page, for the bloom filter of the chunk.
+   */
+  private long[] chunkValueHashes = new long[0];
+  private int chunkValueHashNum;
+
   /**
    * constructor of ChunkBuffer.
    *
@@ -75,6 +92,24 @@ public class ChunkBuffer {
     this.numOfPages = numOfPages;
   }
 
+  /**
+   * build the bloom filter of the page written last, which is stored in the digest of the chunk
+   * with the one of the chunk.
+   *
+   * @param hashes hashes of the values of the page, see {@link BloomFilter#hash}
+   */
+  public void addPageValueHashes(long[] hashes, int size) {
+    long[] distinctHashes = BloomFilter.distinct(hashes, size);
+    pageBloomFilters.add(BloomFilter.build(distinctHashes, TSFileConfig.bloomFilterErrorRate));
+    if (chunkValueHashNum + distinctHashes.length > chunkValueHashes.length) {
+      chunkValueHashes = Arrays.copyOf(chunkValueHashes,
+          Math.max(chunkValueHashNum + distinctHashes.length, chunkValueHashes.length * 2));
+    }
+    System.arraycopy(distinctHashes, 0, chunkValueHashes, chunkValueHashNum,
+        distinctHashes.length);
+    chunkValueHashNum += distinctHashes.length;
+  }
+
   /**
    * write the page header and data into the PageWriter's output stream.
    *
@@ -182,6 +217,15 @@ public class ChunkBuffer {
     int headerSize = writer.startFlushChunk(schema, compressor.getType(), schema.getType(),
         schema.getEncodingType(), statistics, maxTimestamp, minTimestamp, pageBuffer.size(),
         numOfPages);
+    if (!pageBloomFilters.isEmpty()) {
+      BloomFilter chunkBloomFilter = BloomFilter.build(
+          BloomFilter.distinct(chunkValueHashes, chunkValueHashNum),
+          TSFileConfig.bloomFilterErrorRate);
+      writer.addChunkDigest(StatisticConstant.BLOOM_FILTER,
+          BloomFilter.serialize(Collections.singletonList(chunkBloomFilter)));
+      writer.addChunkDigest(StatisticConstant.PAGE_BLOOM_FILTERS,
+          BloomFilter.serialize(pageBloomFilters));
+    }
 
     long totalByteSize = writer.getPos();
     LOG.debug("start writing pages of {} into file, position {}", schema.getMeasurementId(),
@@ -206,6 +250,8 @@ public class ChunkBuffer {
     minTimestamp = -1;
     pageBuffer.reset();
     totalValueCount = 0;
+    pageBloomFilters.clear();
+    chunkValueHashNum = 0;
   }
 
   /**
@@ -20,12 +20,14 @@ package org.apache.iotdb.tsfile.write.chunk;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.Arrays;
 import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
 import org.apache.iotdb.tsfile.exception.write.PageException;
 import org.apache.iotdb.tsfile.file.header.ChunkHeader;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
 import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
 import org.apache.iotdb.tsfile.write.page.PageWriter;
 import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
 import org.apache.iotdb.tsfile.write.writer.TsFileIOWriter;
@@ -80,6 +82,13 @@ public class ChunkWriterImpl implements IChunkWriter {
 
   private MeasurementSchema measurementSchema;
 
+  /**
+   * hashes of the values in the current page, null if the measurement does not enable bloom
+   * filters. It will be reset after calling {@code writePageHeaderAndDataIntoBuff()}
+   */
+  private long[] pageValueHashes;
+  private int pageValueHashNum;
+
   /**
    * constructor of ChunkWriterImpl.
    *
@@ -106,6 +115,17 @@ public class ChunkWriterImpl implements IChunkWriter {
 
     this.dataPageWriter.setTimeEncoder(measurementSchema.getTimeEncoder());
     this.dataPageWriter.setValueEncoder(measurementSchema.getValueEncoder());
+
+    if (measurementSchema.isBloomFilterEnabled()) {
+      this.pageValueHashes = new long[MINIMUM_RECORD_COUNT_FOR_CHECK];
+    }
+  }
+
+  private void addValueHash(long hash) {
+    if (pageValueHashNum == pageValueHashes.length) {
+      pageValueHashes = Arrays.copyOf(pageValueHashes, pageValueHashNum * 2);
+    }
+    pageValueHashes[pageValueHashNum++] = hash;
   }
 
   /**
@@ -121,6 +141,9 @@ public class ChunkWriterImpl implements IChunkWriter {
     ++valueCountInOnePage;
     dataPageWriter.write(time, value);
     pageStatistics.updateStats(value);
+    if (pageValueHashes != null) {
+      addValueHash(BloomFilter.hash(value));
+    }
     if (minTimestamp == Long.MIN_VALUE) {
       minTimestamp = time;
     }
@@ -133,6 +156,9 @@ public class ChunkWriterImpl implements IChunkWriter {
     ++valueCountInOnePage;
     dataPageWriter.write(time, value);
     pageStatistics.updateStats(value);
+    if (pageValueHashes != null) {
+      addValueHash(BloomFilter.hash(value));
+    }
     if (minTimestamp == Long.MIN_VALUE) {
       minTimestamp = time;
     }
@@ -157,6 +183,9 @@ public class ChunkWriterImpl implements IChunkWriter {
     ++valueCountInOnePage;
     dataPageWriter.write(time, value);
     pageStatistics.updateStats(value);
+    if (pageValueHashes != null) {
+      addValueHash(BloomFilter.hash(value));
+    }
     if (minTimestamp == Long.MIN_VALUE) {
       minTimestamp = time;
     }
@@ -169,6 +198,9 @@ public class ChunkWriterImpl implements IChunkWriter {
     ++valueCountInOnePage;
     dataPageWriter.write(time, value);
     pageStatistics.updateStats(value);
+    if (pageValueHashes != null) {
+      addValueHash(BloomFilter.hash(value));
+    }
     if (minTimestamp == Long.MIN_VALUE) {
       minTimestamp = time;
     }
@@ -193,6 +225,9 @@ public class ChunkWriterImpl implements IChunkWriter {
     ++valueCountInOnePage;
     dataPageWriter.write(time, value);
     pageStatistics.updateStats(value);
+    if (pageValueHashes != null) {
+      addValueHash(BloomFilter.hash(value));
+    }
     if (minTimestamp == Long.MIN_VALUE) {
       minTimestamp = time;
     }
@@ -208,6 +243,11 @@ public class ChunkWriterImpl implements IChunkWriter {
     }
     dataPageWriter.write(timestamps, values, batchSize);
     pageStatistics.updateStats(values);
+    if (pageValueHashes != null) {
+      for (int i = 0; i < batchSize; i++) {
+        addValueHash(BloomFilter.hash(values[i]));
+      }
+    }
     checkPageSizeAndMayOpenANewPage();
   }
 
@@ -220,6 +260,11 @@ public class ChunkWriterImpl implements IChunkWriter {
     }
     dataPageWriter.write(timestamps, values, batchSize);
     pageStatistics.updateStats(values);
+    if (pageValueHashes != null) {
+      for (int i = 0; i < batchSize; i++) {
+        addValueHash(BloomFilter.hash(values[i]));
+      }
+    }
     checkPageSizeAndMayOpenANewPage();
   }
 
@@ -244,6 +289,11 @@ public class ChunkWriterImpl implements IChunkWriter {
     }
     dataPageWriter.write(timestamps, values, batchSize);
     pageStatistics.updateStats(values);
+    if (pageValueHashes != null) {
+      for (int i = 0; i < batchSize; i++) {
+        addValueHash(BloomFilter.hash(values[i]));
+      }
+    }
     checkPageSizeAndMayOpenANewPage();
   }
 
@@ -256,6 +306,11 @@ public class ChunkWriterImpl implements IChunkWriter {
     }
     dataPageWriter.write(timestamps, values, batchSize);
     pageStatistics.updateStats(values);
+    if (pageValueHashes != null) {
+      for (int i = 0; i < batchSize; i++) {
+        addValueHash(BloomFilter.hash(values[i]));
+      }
+    }
     checkPageSizeAndMayOpenANewPage();
   }
 
@@ -280,6 +335,11 @@ public class ChunkWriterImpl implements IChunkWriter {
     }
     dataPageWriter.write(timestamps, values, batchSize);
     pageStatistics.updateStats(values);
+    if (pageValueHashes != null) {
+      for (int i = 0; i < batchSize; i++) {
+        addValueHash(BloomFilter.hash(values[i]));
+      }
+    }
     checkPageSizeAndMayOpenANewPage();
   }
 
@@ -324,6 +384,9 @@ public class ChunkWriterImpl implements IChunkWriter {
       chunkBuffer.writePageHeaderAndDataIntoBuff(dataPageWriter.getUncompressedBytes(),
           valueCountInOnePage,
           pageStatistics, time, minTimestamp);
+      if (pageValueHashes != null) {
+        chunkBuffer.addPageValueHashes(pageValueHashes, pageValueHashNum);
+      }
 
       // update statistics of this series
       this.chunkStatistics.mergeStatistics(this.pageStatistics);
@@ -336,6 +399,7 @@ public class ChunkWriterImpl implements IChunkWriter {
       // clear start time stamp for next initializing
       minTimestamp = Long.MIN_VALUE;
       valueCountInOnePage = 0;
+      pageValueHashNum = 0;
       dataPageWriter.reset();
       resetPageStatistics();
     }
@@ -45,6 +45,12 @@ import org.apache.iotdb.tsfile.utils.StringContainer;
  */
 public class MeasurementSchema implements Comparable<MeasurementSchema>, Serializable {
 
+  /**
+   * key of the property enabling the page bloom filters, which let queries skip the pages without
+   * the value of an equality filter. Not supported for BOOLEAN.
+   */
+  public static final String BLOOM_FILTER = "bloom_filter";
+
   private TSDataType type;
   private TSEncoding encoding;
   private String measurementId;
@@ -156,6 +162,11 @@ public class MeasurementSchema implements Comparable<MeasurementSchema>, Seriali
     return props;
   }
 
+  public boolean isBloomFilterEnabled() {
+    return type != TSDataType.BOOLEAN && props != null
+        && Boolean.parseBoolean(props.get(BLOOM_FILTER));
+  }
+
   public TSEncoding getEncodingType() {
     return encoding;
   }
@@ -134,6 +134,14 @@ public class TsFileIOWriter {
     currentChunkGroupMetaData = new ChunkGroupMetaData(deviceId, new ArrayList<>(), out.getPosition());
   }
 
+  /**
+   * add an entry to the digest of the chunk being written, between {@code startFlushChunk} and
+   * {@code endChunk}.
+   */
+  public void addChunkDigest(String key, ByteBuffer value) {
+    currentChunkMetaData.getDigest().addStatistics(key, value);
+  }
+
   /**
    * end chunk and write some log.
    */
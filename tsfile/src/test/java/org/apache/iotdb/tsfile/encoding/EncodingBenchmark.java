@@ -0,0 +1,149 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.apache.iotdb.tsfile.encoding.decoder.Decoder;
+import org.apache.iotdb.tsfile.encoding.encoder.Encoder;
+import org.apache.iotdb.tsfile.encoding.encoder.TSEncodingBuilder;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+
+/**
+ * Encoding benchmark. Compares the size and the encoding and decoding speed of the numeric
+ * encodings on generated sensor values, counters and timestamps.
+ */
+public class EncodingBenchmark {
+
+  private static int numOfPoint = 1000000;
+  private static int numOfPointInPage = 8192;
+  private static int numOfRound = 5;
+
+  private static TSEncoding[] floatEncodings = {TSEncoding.GORILLA, TSEncoding.TS_2DIFF,
+      TSEncoding.CHIMP};
+  private static TSEncoding[] intEncodings = {TSEncoding.TS_2DIFF, TSEncoding.RLE,
+      TSEncoding.GORILLA};
+
+  public static void main(String[] args) throws IOException {
+    Random random = new Random(0);
+    double[] sensor = new double[numOfPoint];
+    long[] counter = new long[numOfPoint];
+    long[] timestamp = new long[numOfPoint];
+    double value = 100;
+    for (int i = 0; i < numOfPoint; i++) {
+      // a random walk with two decimal digits
+      value += Math.round(random.nextGaussian() * 100) / 100.0;
+      sensor[i] = value;
+      counter[i] = i * 10L + (i % 1000 == 0 ? random.nextInt(1000) : 0);
+      timestamp[i] = 1500000000000L + i * 1000L + random.nextInt(10);
+    }
+
+    for (TSEncoding encoding : floatEncodings) {
+      bench("sensor", TSDataType.FLOAT, encoding, sensor, null);
+      bench("sensor", TSDataType.DOUBLE, encoding, sensor, null);
+    }
+    for (TSEncoding encoding : intEncodings) {
+      bench("counter", TSDataType.INT32, encoding, null, counter);
+      bench("counter", TSDataType.INT64, encoding, null, counter);
+      bench("timestamp", TSDataType.INT64, encoding, null, timestamp);
+    }
+  }
+
+  private static void bench(String data, TSDataType dataType, TSEncoding encoding,
+      double[] doubles, long[] longs) throws IOException {
+    TSEncodingBuilder builder = TSEncodingBuilder.getConverter(encoding);
+    builder.initFromProps(null);
+    Encoder encoder = builder.getEncoder(dataType);
+    Decoder decoder = Decoder.getDecoderByType(encoding, dataType);
+
+    long encodeTime = 0;
+    long decodeTime = 0;
+    long size = 0;
+    for (int round = 0; round < numOfRound; round++) {
+      // the first round warms up
+      boolean measured = round > 0;
+      List<ByteBuffer> pages = new ArrayList<>();
+      long startTime = System.nanoTime();
+      for (int start = 0; start < numOfPoint; start += numOfPointInPage) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int end = Math.min(start + numOfPointInPage, numOfPoint);
+        for (int i = start; i < end; i++) {
+          switch (dataType) {
+            case INT32:
+              encoder.encode((int) longs[i], out);
+              break;
+            case INT64:
+              encoder.encode(longs[i], out);
+              break;
+            case FLOAT:
+              encoder.encode((float) doubles[i], out);
+              break;
+            default:
+              encoder.encode(doubles[i], out);
+          }
+        }
+        encoder.flush(out);
+        pages.add(ByteBuffer.wrap(out.toByteArray()));
+      }
+      if (measured) {
+        encodeTime += System.nanoTime() - startTime;
+      }
+
+      long checksum = 0;
+      startTime = System.nanoTime();
+      for (ByteBuffer page : pages) {
+        size += measured ? page.remaining() : 0;
+        decoder.reset();
+        while (decoder.hasNext(page)) {
+          switch (dataType) {
+            case INT32:
+              checksum += decoder.readInt(page);
+              break;
+            case INT64:
+              checksum += decoder.readLong(page);
+              break;
+            case FLOAT:
+              checksum += Float.floatToRawIntBits(decoder.readFloat(page));
+              break;
+            default:
+              checksum += Double.doubleToRawLongBits(decoder.readDouble(page));
+          }
+        }
+      }
+      if (measured) {
+        decodeTime += System.nanoTime() - startTime;
+      }
+      if (checksum == 0) {
+        System.out.println("Checksum is 0");
+      }
+    }
+
+    long points = (long) numOfPoint * (numOfRound - 1);
+    System.out.println(String.format(
+        "Data: %-9s Type: %-6s Encoding: %-8s Bits per point: %6.2f, "
+            + "Encode: %7.2f Mpoints/s, Decode: %7.2f Mpoints/s",
+        data, dataType, encoding, size * 8.0 / points, points * 1000.0 / encodeTime,
+        points * 1000.0 / decodeTime));
+  }
+}
@@ -0,0 +1,148 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.decoder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.apache.iotdb.tsfile.encoding.encoder.ChimpEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.DoublePrecisionEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.Encoder;
+import org.junit.Test;
+
+public class ChimpDecoderTest {
+
+  private static final double[] SPECIAL_DOUBLES = {0.0, -0.0, Double.NaN,
+      Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE, Double.MAX_VALUE,
+      1.0, 1.0, 1.0};
+
+  @Test
+  public void testDouble() throws IOException {
+    Random random = new Random(1);
+    List<Double> values = new ArrayList<>();
+    double value = 100;
+    for (int i = 0; i < 10000; i++) {
+      // a random walk with two decimal digits, like most sensor values
+      value += Math.round(random.nextGaussian() * 100) / 100.0;
+      values.add(value);
+    }
+    for (double special : SPECIAL_DOUBLES) {
+      values.add(special);
+    }
+    for (int i = 0; i < 1000; i++) {
+      values.add(random.nextDouble());
+    }
+    testDouble(values);
+
+    // smaller than GORILLA
+    Encoder gorilla = new DoublePrecisionEncoder();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (int i = 0; i < 10000; i++) {
+      gorilla.encode(values.get(i), out);
+    }
+    gorilla.flush(out);
+    assertTrue(encodeDouble(values.subList(0, 10000)).remaining() < out.size());
+  }
+
+  @Test
+  public void testFloat() throws IOException {
+    Random random = new Random(2);
+    List<Float> values = new ArrayList<>();
+    float value = 100;
+    for (int i = 0; i < 10000; i++) {
+      value += Math.round(random.nextGaussian() * 10) / 10.0f;
+      values.add(value);
+    }
+    for (double special : SPECIAL_DOUBLES) {
+      values.add((float) special);
+    }
+    values.add(Float.MIN_VALUE);
+    values.add(Float.MAX_VALUE);
+    for (int i = 0; i < 1000; i++) {
+      values.add(random.nextFloat());
+    }
+
+    Encoder encoder = new ChimpEncoder.FloatChimpEncoder();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (float v : values) {
+      encoder.encode(v, out);
+    }
+    encoder.flush(out);
+    ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+
+    Decoder decoder = new ChimpDecoder.FloatChimpDecoder();
+    for (float v : values) {
+      assertTrue(decoder.hasNext(buffer));
+      assertEquals(Float.floatToRawIntBits(v), Float.floatToRawIntBits(decoder.readFloat(buffer)));
+    }
+    assertFalse(decoder.hasNext(buffer));
+  }
+
+  @Test
+  public void testMultiplePages() throws IOException {
+    Encoder encoder = new ChimpEncoder.DoubleChimpEncoder();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (int page = 0; page < 3; page++) {
+      for (int i = 0; i < 100 * page + 1; i++) {
+        encoder.encode(page * 1000 + i * 0.5, out);
+      }
+      encoder.flush(out);
+    }
+    // an empty page writes nothing
+    encoder.flush(out);
+    ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+
+    Decoder decoder = new ChimpDecoder.DoubleChimpDecoder();
+    for (int page = 0; page < 3; page++) {
+      for (int i = 0; i < 100 * page + 1; i++) {
+        assertTrue(decoder.hasNext(buffer));
+        assertEquals(page * 1000 + i * 0.5, decoder.readDouble(buffer), 0);
+      }
+    }
+    assertFalse(decoder.hasNext(buffer));
+  }
+
+  private void testDouble(List<Double> values) throws IOException {
+    ByteBuffer buffer = encodeDouble(values);
+    Decoder decoder = new ChimpDecoder.DoubleChimpDecoder();
+    for (double v : values) {
+      assertTrue(decoder.hasNext(buffer));
+      assertEquals(Double.doubleToRawLongBits(v),
+          Double.doubleToRawLongBits(decoder.readDouble(buffer)));
+    }
+    assertFalse(decoder.hasNext(buffer));
+  }
+
+  private ByteBuffer encodeDouble(List<Double> values) throws IOException {
+    Encoder encoder = new ChimpEncoder.DoubleChimpEncoder();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (double v : values) {
+      encoder.encode(v, out);
+    }
+    encoder.flush(out);
+    return ByteBuffer.wrap(out.toByteArray());
+  }
+}
@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.decoder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.apache.iotdb.tsfile.encoding.encoder.DeltaOfDeltaEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.Encoder;
+import org.junit.Test;
+
+public class DeltaOfDeltaDecoderTest {
+
+  @Test
+  public void testIntCounter() throws IOException {
+    int[] values = new int[10000];
+    int value = -1000;
+    for (int i = 0; i < values.length; i++) {
+      // a counter with a constant step and a few jumps
+      value += i % 1000 == 0 ? 12345 : 7;
+      values[i] = value;
+    }
+    ByteBuffer buffer = encodeInt(values);
+    // most values take one bit
+    assertTrue(buffer.remaining() < values.length / 8 + 100);
+    checkInt(values, buffer);
+  }
+
+  @Test
+  public void testIntExtremes() throws IOException {
+    Random random = new Random(1);
+    int[] values = new int[1000];
+    for (int i = 0; i < values.length; i++) {
+      switch (i % 4) {
+        case 0:
+          values[i] = Integer.MIN_VALUE;
+          break;
+        case 1:
+          values[i] = Integer.MAX_VALUE;
+          break;
+        default:
+          values[i] = random.nextInt();
+      }
+    }
+    checkInt(values, encodeInt(values));
+  }
+
+  @Test
+  public void testLong() throws IOException {
+    Random random = new Random(2);
+    long[] values = new long[10000];
+    long value = System.currentTimeMillis();
+    for (int i = 0; i < values.length; i++) {
+      if (i % 100 < 90) {
+        value += 1000 + random.nextInt(20) - 10;
+      } else if (i % 100 < 95) {
+        value = random.nextLong();
+      } else {
+        value = i % 2 == 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+      }
+      values[i] = value;
+    }
+
+    Encoder encoder = new DeltaOfDeltaEncoder.LongDeltaOfDeltaEncoder();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    // two pages
+    for (int i = 0; i < values.length; i++) {
+      encoder.encode(values[i], out);
+      if (i == values.length / 2) {
+        encoder.flush(out);
+      }
+    }
+    encoder.flush(out);
+    ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+
+    Decoder decoder = new DeltaOfDeltaDecoder.LongDeltaOfDeltaDecoder();
+    for (long v : values) {
+      assertTrue(decoder.hasNext(buffer));
+      assertEquals(v, decoder.readLong(buffer));
+    }
+    assertFalse(decoder.hasNext(buffer));
+  }
+
+  private ByteBuffer encodeInt(int[] values) throws IOException {
+    Encoder encoder = new DeltaOfDeltaEncoder.IntDeltaOfDeltaEncoder();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (int v : values) {
+      encoder.encode(v, out);
+    }
+    encoder.flush(out);
+    return ByteBuffer.wrap(out.toByteArray());
+  }
+
+  private void checkInt(int[] values, ByteBuffer buffer) throws IOException {
+    Decoder decoder = new DeltaOfDeltaDecoder.IntDeltaOfDeltaDecoder();
+    for (int v : values) {
+      assertTrue(decoder.hasNext(buffer));
+      assertEquals(v, decoder.readInt(buffer));
+    }
+    assertFalse(decoder.hasNext(buffer));
+  }
+}
@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.decoder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.iotdb.tsfile.encoding.encoder.DictionaryEncoder;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.junit.Test;
+
+public class DictionaryDecoderTest {
+
+  private DictionaryEncoder encoder = new DictionaryEncoder(128, 16);
+  private DictionaryDecoder decoder = new DictionaryDecoder();
+
+  @Test
+  public void testFewDistinctValues() throws IOException {
+    List<Binary> values = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      values.add(new Binary("status" + i % 5));
+    }
+    ByteBuffer page = encode(values);
+    assertEquals(DictionaryEncoder.DICTIONARY_PAGE, page.get(0));
+    // 1000 plain values take at least 1000 * (4 + 7) bytes
+    assertTrue(page.remaining() < 1000);
+
+    assertEquals(5, decoder.getDictionary(page).size());
+    check(values, page);
+  }
+
+  @Test
+  public void testTooManyDistinctValues() throws IOException {
+    List<Binary> values = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      values.add(new Binary("status" + i));
+    }
+    ByteBuffer page = encode(values);
+    assertEquals(DictionaryEncoder.PLAIN_PAGE, page.get(0));
+
+    assertNull(decoder.getDictionary(page));
+    check(values, page);
+  }
+
+  @Test
+  public void testMultiplePages() throws IOException {
+    for (int page = 0; page < 3; page++) {
+      List<Binary> values = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        values.add(new Binary("page" + page + "status" + i % (page * 5 + 1)));
+      }
+      decoder.reset();
+      ByteBuffer buffer = encode(values);
+      assertNotNull(decoder.getDictionary(buffer));
+      check(values, buffer);
+    }
+  }
+
+  @Test
+  public void testEmptyPage() throws IOException {
+    ByteBuffer page = encode(new ArrayList<>());
+    assertFalse(decoder.hasNext(page));
+  }
+
+  private ByteBuffer encode(List<Binary> values) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (Binary value : values) {
+      encoder.encode(value, out);
+    }
+    encoder.flush(out);
+    return ByteBuffer.wrap(out.toByteArray());
+  }
+
+  private void check(List<Binary> values, ByteBuffer page) throws IOException {
+    for (Binary value : values) {
+      assertTrue(decoder.hasNext(page));
+      assertEquals(value, decoder.readBinary(page));
+    }
+    assertFalse(decoder.hasNext(page));
+  }
+}
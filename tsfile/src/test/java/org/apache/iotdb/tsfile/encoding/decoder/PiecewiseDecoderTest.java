@@ -0,0 +1,181 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.decoder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Random;
+import org.apache.iotdb.tsfile.encoding.encoder.Encoder;
+import org.apache.iotdb.tsfile.encoding.encoder.TSEncodingBuilder;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.junit.Test;
+
+public class PiecewiseDecoderTest {
+
+  private static final TSEncoding[] ENCODINGS = {TSEncoding.SDT, TSEncoding.PAA, TSEncoding.PLA};
+  private static final double MAX_ERROR = 0.5;
+  // rounding of the interpolation
+  private static final double DELTA = 1e-9;
+
+  @Test
+  public void testDouble() throws IOException {
+    double[] values = sensorValues(100000, 3);
+    for (TSEncoding encoding : ENCODINGS) {
+      Encoder encoder = getEncoder(encoding, TSDataType.DOUBLE, MAX_ERROR);
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      for (double value : values) {
+        encoder.encode(value, out);
+      }
+      encoder.flush(out);
+      // 8 bytes per point in PLAIN
+      assertTrue(encoding + " " + out.size(), out.size() * 10 < values.length * 8);
+
+      ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+      Decoder decoder = Decoder.getDecoderByType(encoding, TSDataType.DOUBLE);
+      for (double value : values) {
+        assertTrue(decoder.hasNext(buffer));
+        assertEquals(encoding.toString(), value, decoder.readDouble(buffer), MAX_ERROR + DELTA);
+      }
+      assertFalse(decoder.hasNext(buffer));
+    }
+  }
+
+  @Test
+  public void testFloat() throws IOException {
+    double[] values = sensorValues(10000, 4);
+    for (TSEncoding encoding : ENCODINGS) {
+      Encoder encoder = getEncoder(encoding, TSDataType.FLOAT, MAX_ERROR);
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      for (double value : values) {
+        encoder.encode((float) value, out);
+      }
+      encoder.flush(out);
+
+      ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+      Decoder decoder = Decoder.getDecoderByType(encoding, TSDataType.FLOAT);
+      for (double value : values) {
+        assertTrue(decoder.hasNext(buffer));
+        assertEquals(encoding.toString(), (float) value, decoder.readFloat(buffer),
+            MAX_ERROR + 1e-4);
+      }
+      assertFalse(decoder.hasNext(buffer));
+    }
+  }
+
+  @Test
+  public void testLong() throws IOException {
+    Random random = new Random(5);
+    long[] values = new long[10000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = 1000000 + i * 3 + random.nextInt(5);
+    }
+    for (TSEncoding encoding : ENCODINGS) {
+      // the bound of integers is the integer part of max error
+      Encoder encoder = getEncoder(encoding, TSDataType.INT64, 2.9);
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      for (long value : values) {
+        encoder.encode(value, out);
+      }
+      encoder.flush(out);
+
+      ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+      Decoder decoder = Decoder.getDecoderByType(encoding, TSDataType.INT64);
+      for (long value : values) {
+        assertTrue(decoder.hasNext(buffer));
+        long decoded = decoder.readLong(buffer);
+        assertTrue(encoding + " " + value + " " + decoded, Math.abs(decoded - value) <= 2);
+      }
+      assertFalse(decoder.hasNext(buffer));
+    }
+  }
+
+  @Test
+  public void testZeroError() throws IOException {
+    int[] values = {1, 1, 1, 2, 3, 4, 5, 5, 7, -3, Integer.MAX_VALUE, Integer.MIN_VALUE, 0};
+    for (TSEncoding encoding : ENCODINGS) {
+      Encoder encoder = getEncoder(encoding, TSDataType.INT32, 0);
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      for (int value : values) {
+        encoder.encode(value, out);
+      }
+      encoder.flush(out);
+
+      ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+      Decoder decoder = Decoder.getDecoderByType(encoding, TSDataType.INT32);
+      for (int value : values) {
+        assertTrue(decoder.hasNext(buffer));
+        assertEquals(encoding.toString(), value, decoder.readInt(buffer));
+      }
+      assertFalse(decoder.hasNext(buffer));
+    }
+  }
+
+  @Test
+  public void testMultiplePages() throws IOException {
+    for (TSEncoding encoding : ENCODINGS) {
+      Encoder encoder = getEncoder(encoding, TSDataType.DOUBLE, MAX_ERROR);
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      for (int page = 0; page < 4; page++) {
+        for (int i = 0; i < 100 * page + 1; i++) {
+          encoder.encode(page * 1000 + i * 0.7 * (i % 3), out);
+        }
+        encoder.flush(out);
+      }
+      // an empty page writes nothing
+      encoder.flush(out);
+
+      ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+      Decoder decoder = Decoder.getDecoderByType(encoding, TSDataType.DOUBLE);
+      for (int page = 0; page < 4; page++) {
+        for (int i = 0; i < 100 * page + 1; i++) {
+          assertTrue(decoder.hasNext(buffer));
+          assertEquals(encoding.toString(), page * 1000 + i * 0.7 * (i % 3),
+              decoder.readDouble(buffer), MAX_ERROR + DELTA);
+        }
+      }
+      assertFalse(decoder.hasNext(buffer));
+    }
+  }
+
+  /**
+   * a slow wave with noise, like a temperature sensor sampled at a high frequency.
+   */
+  private double[] sensorValues(int size, long seed) {
+    Random random = new Random(seed);
+    double[] values = new double[size];
+    for (int i = 0; i < size; i++) {
+      values[i] = 20 + 5 * Math.sin(i / 2000.0) + random.nextGaussian() * 0.05;
+    }
+    return values;
+  }
+
+  private Encoder getEncoder(TSEncoding encoding, TSDataType dataType, double maxError) {
+    TSEncodingBuilder builder = TSEncodingBuilder.getConverter(encoding);
+    builder.initFromProps(
+        Collections.singletonMap(Encoder.MAX_ERROR, Double.toString(maxError)));
+    return builder.getEncoder(dataType);
+  }
+}
@@ -22,10 +22,13 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.utils.TestHelper;
 import org.apache.iotdb.tsfile.file.metadata.utils.Utils;
+import org.apache.iotdb.tsfile.read.common.TimeRange;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -60,6 +63,24 @@ public class ChunkMetaDataTest {
     serialized(readMetaData);
   }
 
+  @Test
+  public void testInsertIntoSortedDeletions() {
+    ChunkMetaData metaData = new ChunkMetaData(MEASUREMENT_UID, DATA_TYPE, FILE_OFFSET, 0, 100);
+    metaData.insertIntoSortedDeletions(50, 60);
+    metaData.insertIntoSortedDeletions(10, 20);
+    metaData.insertIntoSortedDeletions(80, 90);
+    metaData.insertIntoSortedDeletions(55, 82);
+    Assert.assertEquals(Arrays.asList(new TimeRange(10, 20), new TimeRange(50, 90)),
+        metaData.getDeleteIntervalList());
+    Assert.assertFalse(metaData.isFullyDeleted());
+
+    metaData.insertIntoSortedDeletions(Long.MIN_VALUE, 15);
+    Assert.assertEquals(Arrays.asList(new TimeRange(Long.MIN_VALUE, 20), new TimeRange(50, 90)),
+        metaData.getDeleteIntervalList());
+    metaData.insertIntoSortedDeletions(21, 100);
+    Assert.assertTrue(metaData.isFullyDeleted());
+  }
+
   private ChunkMetaData deSerialized() {
     FileInputStream fis = null;
     ChunkMetaData metaData = null;
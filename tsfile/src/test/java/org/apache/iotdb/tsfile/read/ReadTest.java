@@ -377,4 +377,30 @@ public class ReadTest {
       cnt++;
     }
   }
+
+  @Test
+  public void queryWithLimitAndOffsetTest() throws IOException {
+    List<Path> pathList = new ArrayList<>();
+    pathList.add(new Path("d1.s1"));
+    QueryExpression queryExpression = QueryExpression.create(pathList, null)
+        .setRowLimit(10).setRowOffset(100);
+    QueryDataSet dataSet = roTsFile.query(queryExpression);
+
+    int count = 0;
+    while (dataSet.hasNext()) {
+      RowRecord r = dataSet.next();
+      if (count == 0) {
+        // d1.s1 is written every two timestamps, so the 101st row is at 10 + 2 * 100
+        assertEquals(1480562618210L, r.getTimestamp());
+      }
+      count++;
+    }
+    assertEquals(10, count);
+    Assert.assertFalse(dataSet.hasNext());
+
+    // an offset past the last row returns nothing
+    queryExpression = QueryExpression.create(pathList, null).setRowOffset(500);
+    dataSet = roTsFile.query(queryExpression);
+    Assert.assertFalse(dataSet.hasNext());
+  }
 }
@@ -20,6 +20,7 @@
 package org.apache.iotdb.tsfile.read;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -32,6 +33,7 @@ import org.apache.iotdb.tsfile.file.metadata.ChunkGroupMetaData;
 import org.apache.iotdb.tsfile.file.metadata.TsDeviceMetadata;
 import org.apache.iotdb.tsfile.file.metadata.TsDeviceMetadataIndex;
 import org.apache.iotdb.tsfile.file.metadata.TsFileMetaData;
+import org.apache.iotdb.tsfile.read.reader.MMapTsFileInput;
 import org.apache.iotdb.tsfile.utils.Pair;
 import org.apache.iotdb.tsfile.utils.TsFileGeneratorForTest;
 import org.junit.After;
@@ -64,7 +66,16 @@ public class TsFileSequenceReaderTest {
 
   @Test
   public void testReadTsFileSequently() throws IOException {
-    TsFileSequenceReader reader = new TsFileSequenceReader(FILE_PATH);
+    checkReadSequently(new TsFileSequenceReader(FILE_PATH));
+  }
+
+  @Test
+  public void testReadTsFileSequentlyWithMMap() throws IOException {
+    checkReadSequently(
+        new TsFileSequenceReader(FILE_PATH, new MMapTsFileInput(Paths.get(FILE_PATH))));
+  }
+
+  private void checkReadSequently(TsFileSequenceReader reader) throws IOException {
     TsFileMetaData metaData = reader.readFileMetadata();
     List<Pair<Long, Long>> offsetList = new ArrayList<>();
     long startOffset = reader.position();
@@ -0,0 +1,198 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.read.reader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import org.apache.iotdb.tsfile.common.constant.StatisticConstant;
+import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.controller.ChunkLoaderImpl;
+import org.apache.iotdb.tsfile.read.controller.MetadataQuerierByFileImpl;
+import org.apache.iotdb.tsfile.read.filter.DigestForFilter;
+import org.apache.iotdb.tsfile.read.filter.ValueFilter;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReaderWithFilter;
+import org.apache.iotdb.tsfile.write.TsFileWriter;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.record.datapoint.LongDataPoint;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BloomFilterReaderTest {
+
+  private static final String FILE_PATH = "target/bloomFilterReaderTest.tsfile";
+  private static final int ROW_NUM = 1000;
+  private static final int POINT_NUM_IN_PAGE = 100;
+
+  private int maxNumberOfPointsInPage;
+  private TsFileSequenceReader fileReader;
+  private MetadataQuerierByFileImpl metadataQuerier;
+
+  @Before
+  public void before() throws IOException, WriteProcessException {
+    maxNumberOfPointsInPage = TSFileConfig.maxNumberOfPointsInPage;
+    TSFileConfig.maxNumberOfPointsInPage = POINT_NUM_IN_PAGE;
+    File file = new File(FILE_PATH);
+    file.getParentFile().mkdirs();
+    if (file.exists()) {
+      file.delete();
+    }
+
+    // s1 and s2 hold the same even values, only s1 has bloom filters
+    TsFileWriter writer = new TsFileWriter(file);
+    writer.addMeasurement(new MeasurementSchema("s1", TSDataType.INT64, TSEncoding.PLAIN,
+        CompressionType.UNCOMPRESSED,
+        Collections.singletonMap(MeasurementSchema.BLOOM_FILTER, "true")));
+    writer.addMeasurement(new MeasurementSchema("s2", TSDataType.INT64, TSEncoding.PLAIN,
+        CompressionType.UNCOMPRESSED));
+    for (long i = 0; i < ROW_NUM; i++) {
+      TSRecord record = new TSRecord(i, "d1");
+      record.addTuple(new LongDataPoint("s1", i * 2));
+      record.addTuple(new LongDataPoint("s2", i * 2));
+      writer.write(record);
+    }
+    writer.close();
+
+    fileReader = new TsFileSequenceReader(FILE_PATH);
+    metadataQuerier = new MetadataQuerierByFileImpl(fileReader);
+  }
+
+  @After
+  public void after() throws IOException {
+    fileReader.close();
+    TSFileConfig.maxNumberOfPointsInPage = maxNumberOfPointsInPage;
+    new File(FILE_PATH).delete();
+  }
+
+  @Test
+  public void testMetadata() throws IOException {
+    ChunkMetaData s1 = getChunkMetaData("s1");
+    assertNotNull(s1.getBloomFilter());
+    assertEquals(ROW_NUM / POINT_NUM_IN_PAGE, s1.getPageBloomFilters().length);
+
+    ChunkMetaData s2 = getChunkMetaData("s2");
+    assertNull(s2.getBloomFilter());
+    assertNull(s2.getPageBloomFilters());
+  }
+
+  @Test
+  public void testChunkSatisfied() throws IOException {
+    // all the odd values but the last one lie in the value range of the chunk
+    assertEquals(ROW_NUM - 1, countSatisfiedChunks("s2"));
+    assertTrue(countSatisfiedChunks("s1") < ROW_NUM * 0.1);
+  }
+
+  @Test
+  public void testPageSatisfied() throws IOException {
+    assertEquals(ROW_NUM - ROW_NUM / POINT_NUM_IN_PAGE, countSatisfiedPages("s2"));
+    assertTrue(countSatisfiedPages("s1") < ROW_NUM * 0.1);
+  }
+
+  @Test
+  public void testNoFalseNegative() throws IOException {
+    ChunkLoaderImpl chunkLoader = new ChunkLoaderImpl(fileReader);
+    ChunkMetaData chunkMetaData = getChunkMetaData("s1");
+    for (long i = 0; i < ROW_NUM; i++) {
+      Filter filter = ValueFilter.eq(i * 2);
+      assertTrue(filter.satisfy(getDigest(chunkMetaData)));
+
+      ChunkReaderWithFilter reader = new ChunkReaderWithFilter(
+          chunkLoader.getChunk(chunkMetaData), filter);
+      int rowNum = 0;
+      while (reader.hasNextBatch()) {
+        BatchData batchData = reader.nextBatch();
+        while (batchData.hasNext()) {
+          assertEquals(i, batchData.currentTime());
+          assertEquals(i * 2, batchData.getLong());
+          rowNum++;
+          batchData.next();
+        }
+      }
+      assertEquals(1, rowNum);
+    }
+  }
+
+  /**
+   * @return the number of absent odd values whose equality filter keeps the chunk
+   */
+  private int countSatisfiedChunks(String measurement) throws IOException {
+    ChunkMetaData chunkMetaData = getChunkMetaData(measurement);
+    int satisfiedNum = 0;
+    for (long i = 0; i < ROW_NUM; i++) {
+      if (ValueFilter.eq(i * 2 + 1).satisfy(getDigest(chunkMetaData))) {
+        satisfiedNum++;
+      }
+    }
+    return satisfiedNum;
+  }
+
+  /**
+   * @return the number of pages kept by the equality filters of the absent odd values, the odd
+   * values between two pages and the last one lie in the value range of no page
+   */
+  private int countSatisfiedPages(String measurement) throws IOException {
+    ChunkLoaderImpl chunkLoader = new ChunkLoaderImpl(fileReader);
+    ChunkMetaData chunkMetaData = getChunkMetaData(measurement);
+    int satisfiedNum = 0;
+    for (long i = 0; i < ROW_NUM; i++) {
+      ChunkReaderWithFilter reader = new ChunkReaderWithFilter(
+          chunkLoader.getChunk(chunkMetaData), ValueFilter.eq(i * 2 + 1));
+      while (reader.hasNextBatch()) {
+        satisfiedNum++;
+        assertFalse(reader.nextBatch().hasNext());
+      }
+    }
+    return satisfiedNum;
+  }
+
+  private ChunkMetaData getChunkMetaData(String measurement) throws IOException {
+    List<ChunkMetaData> chunkMetaDataList = metadataQuerier
+        .getChunkMetaDataList(new Path("d1." + measurement));
+    assertEquals(1, chunkMetaDataList.size());
+    return chunkMetaDataList.get(0);
+  }
+
+  private DigestForFilter getDigest(ChunkMetaData chunkMetaData) {
+    DigestForFilter digest = new DigestForFilter(chunkMetaData.getStartTime(),
+        chunkMetaData.getEndTime(),
+        chunkMetaData.getDigest().getStatistics().get(StatisticConstant.MIN_VALUE),
+        chunkMetaData.getDigest().getStatistics().get(StatisticConstant.MAX_VALUE),
+        chunkMetaData.getTsDataType());
+    digest.setBloomFilter(chunkMetaData.getBloomFilter());
+    return digest;
+  }
+}
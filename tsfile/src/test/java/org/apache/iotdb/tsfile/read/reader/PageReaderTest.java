@@ -20,15 +20,22 @@ package org.apache.iotdb.tsfile.read.reader;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import org.apache.iotdb.tsfile.encoding.common.EndianType;
+import org.apache.iotdb.tsfile.encoding.decoder.ChimpDecoder;
 import org.apache.iotdb.tsfile.encoding.decoder.Decoder;
 import org.apache.iotdb.tsfile.encoding.decoder.DeltaBinaryDecoder;
+import org.apache.iotdb.tsfile.encoding.decoder.DeltaOfDeltaDecoder;
+import org.apache.iotdb.tsfile.encoding.decoder.DictionaryDecoder;
 import org.apache.iotdb.tsfile.encoding.decoder.DoublePrecisionDecoder;
 import org.apache.iotdb.tsfile.encoding.decoder.IntRleDecoder;
 import org.apache.iotdb.tsfile.encoding.decoder.LongRleDecoder;
 import org.apache.iotdb.tsfile.encoding.decoder.PlainDecoder;
 import org.apache.iotdb.tsfile.encoding.decoder.SinglePrecisionDecoder;
+import org.apache.iotdb.tsfile.encoding.encoder.ChimpEncoder;
 import org.apache.iotdb.tsfile.encoding.encoder.DeltaBinaryEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.DeltaOfDeltaEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.DictionaryEncoder;
 import org.apache.iotdb.tsfile.encoding.encoder.DoublePrecisionEncoder;
 import org.apache.iotdb.tsfile.encoding.encoder.Encoder;
 import org.apache.iotdb.tsfile.encoding.encoder.IntRleEncoder;
@@ -37,6 +44,8 @@ import org.apache.iotdb.tsfile.encoding.encoder.PlainEncoder;
 import org.apache.iotdb.tsfile.encoding.encoder.SinglePrecisionEncoder;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.common.TimeRange;
+import org.apache.iotdb.tsfile.read.filter.ValueFilter;
 import org.apache.iotdb.tsfile.read.reader.page.PageReader;
 import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.write.page.PageWriter;
@@ -129,6 +138,33 @@ public class PageReaderTest {
     test2.test();
   }
 
+  @Test
+  public void testChimpDouble() {
+    LoopWriteReadTest test = new LoopWriteReadTest("Test Chimp Double",
+        new ChimpEncoder.DoubleChimpEncoder(), new ChimpDecoder.DoubleChimpDecoder(),
+        TSDataType.DOUBLE, POINTS_COUNT_IN_ONE_PAGE) {
+      @Override
+      public Object generateValueByIndex(int i) {
+        return Double.valueOf(i) / 10 - Double.valueOf(i) / 100;
+      }
+    };
+    test.test();
+  }
+
+  @Test
+  public void testDeltaOfDeltaLong() {
+    LoopWriteReadTest test = new LoopWriteReadTest("Test Delta of Delta INT64",
+        new DeltaOfDeltaEncoder.LongDeltaOfDeltaEncoder(),
+        new DeltaOfDeltaDecoder.LongDeltaOfDeltaDecoder(), TSDataType.INT64,
+        POINTS_COUNT_IN_ONE_PAGE) {
+      @Override
+      public Object generateValueByIndex(int i) {
+        return Long.valueOf(i % 7 == 0 ? Long.MAX_VALUE - i : i * 3L);
+      }
+    };
+    test.test();
+  }
+
   @Test
   public void testBinary() {
     LoopWriteReadTest test = new LoopWriteReadTest("Test Double",
@@ -142,6 +178,78 @@ public class PageReaderTest {
     test.test();
   }
 
+  @Test
+  public void testDictionaryBinary() {
+    LoopWriteReadTest test = new LoopWriteReadTest("Test Dictionary",
+        new DictionaryEncoder(1000, 1024), new DictionaryDecoder(), TSDataType.TEXT,
+        POINTS_COUNT_IN_ONE_PAGE) {
+      @Override
+      public Object generateValueByIndex(int i) {
+        return new Binary(new StringBuilder("TEST TEXT").append(i % 100).toString());
+      }
+    };
+    test.test();
+  }
+
+  @Test
+  public void testDictionaryValueFilter() throws IOException {
+    PageWriter pageWriter = new PageWriter();
+    pageWriter.setTimeEncoder(new DeltaBinaryEncoder.LongDeltaEncoder());
+    pageWriter.setValueEncoder(new DictionaryEncoder(1000, 1024));
+    for (long i = 0; i < 100; i++) {
+      pageWriter.write(i, new Binary("status" + i % 4));
+    }
+    ByteBuffer page = ByteBuffer.wrap(pageWriter.getUncompressedBytes().array());
+
+    PageReader pageReader = new PageReader(page.duplicate(), TSDataType.TEXT,
+        new DictionaryDecoder(), new DeltaBinaryDecoder.LongDeltaDecoder(),
+        ValueFilter.eq(new Binary("status1")));
+    pageReader.setDeleteIntervalList(Arrays.asList(new TimeRange(0, 9)));
+    BatchData data = pageReader.nextBatch();
+    int count = 0;
+    while (data.hasNext()) {
+      Assert.assertEquals(1, data.currentTime() % 4);
+      Assert.assertEquals(new Binary("status1"), data.getBinary());
+      data.next();
+      count++;
+    }
+    Assert.assertEquals(22, count);
+    Assert.assertFalse(pageReader.hasNextBatch());
+
+    pageReader = new PageReader(page.duplicate(), TSDataType.TEXT, new DictionaryDecoder(),
+        new DeltaBinaryDecoder.LongDeltaDecoder(), ValueFilter.eq(new Binary("status4")));
+    Assert.assertFalse(pageReader.nextBatch().hasNext());
+    Assert.assertFalse(pageReader.hasNextBatch());
+  }
+
+  @Test
+  public void testDeleteIntervals() throws IOException {
+    PageWriter pageWriter = new PageWriter();
+    pageWriter.setTimeEncoder(new DeltaBinaryEncoder.LongDeltaEncoder());
+    pageWriter.setValueEncoder(new LongRleEncoder(EndianType.BIG_ENDIAN));
+    for (long i = 0; i < 100; i++) {
+      pageWriter.write(i, i);
+    }
+    ByteBuffer page = ByteBuffer.wrap(pageWriter.getUncompressedBytes().array());
+
+    PageReader pageReader = new PageReader(page, TSDataType.INT64,
+        new LongRleDecoder(EndianType.BIG_ENDIAN), new DeltaBinaryDecoder.LongDeltaDecoder());
+    pageReader.setDeleteIntervalList(
+        Arrays.asList(new TimeRange(Long.MIN_VALUE, 9), new TimeRange(20, 29),
+            new TimeRange(90, 200)));
+    BatchData data = pageReader.nextBatch();
+
+    int count = 0;
+    while (data.hasNext()) {
+      long time = data.currentTime();
+      Assert.assertTrue(time >= 10 && time < 20 || time >= 30 && time < 90);
+      Assert.assertEquals(time, data.getLong());
+      data.next();
+      count++;
+    }
+    Assert.assertEquals(70, count);
+  }
+
   private abstract static class LoopWriteReadTest {
 
     private Encoder encoder;
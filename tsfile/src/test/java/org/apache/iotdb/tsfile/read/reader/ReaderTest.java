@@ -100,6 +100,53 @@ public class ReaderTest {
     }
   }
 
+  @Test
+  public void readInDescOrderTest() throws IOException {
+    int count = 0;
+    ChunkLoaderImpl seriesChunkLoader = new ChunkLoaderImpl(fileReader);
+    List<ChunkMetaData> chunkMetaDataList = metadataQuerierByFile
+        .getChunkMetaDataList(new Path("d1.s1"));
+
+    FileSeriesReader seriesReader = new FileSeriesReaderWithoutFilter(seriesChunkLoader,
+        chunkMetaDataList, false);
+    long endTime = TsFileGeneratorForTest.START_TIMESTAMP + rowCount - 1;
+    BatchData data;
+
+    while (seriesReader.hasNextBatch()) {
+      data = seriesReader.nextBatch();
+      while (data.hasNext()) {
+        Assert.assertEquals(endTime, data.currentTime());
+        data.next();
+        endTime--;
+        count++;
+      }
+    }
+    Assert.assertEquals(rowCount, count);
+  }
+
+  @Test
+  public void readWithFilterInDescOrderTest() throws IOException {
+    ChunkLoaderImpl seriesChunkLoader = new ChunkLoaderImpl(fileReader);
+    List<ChunkMetaData> chunkMetaDataList = metadataQuerierByFile
+        .getChunkMetaDataList(new Path("d1.s1"));
+
+    Filter filter = FilterFactory.and(TimeFilter.gt(1480563570029L), TimeFilter.lt(1480563570033L));
+    FileSeriesReader seriesReader = new FileSeriesReaderWithFilter(seriesChunkLoader,
+        chunkMetaDataList, filter, false);
+
+    BatchData data;
+    long aimedTimestamp = 1480563570032L;
+
+    while (seriesReader.hasNextBatch()) {
+      data = seriesReader.nextBatch();
+      while (data.hasNext()) {
+        Assert.assertEquals(aimedTimestamp--, data.currentTime());
+        data.next();
+      }
+    }
+    Assert.assertEquals(1480563570029L, aimedTimestamp);
+  }
+
   @Test
   public void readWithFilterTest() throws IOException {
     ChunkLoaderImpl seriesChunkLoader = new ChunkLoaderImpl(fileReader);
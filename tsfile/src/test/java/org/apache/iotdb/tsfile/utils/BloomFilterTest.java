@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.junit.Test;
+
+public class BloomFilterTest {
+
+  private static final int VALUE_NUM = 10000;
+
+  private BloomFilter buildWithEvenNumbers() {
+    long[] hashes = new long[VALUE_NUM * 2];
+    for (int i = 0; i < hashes.length; i++) {
+      // every value twice, duplicates are not counted when sizing the filter
+      hashes[i] = BloomFilter.hash((long) (i % VALUE_NUM) * 2);
+    }
+    long[] distinctHashes = BloomFilter.distinct(hashes, hashes.length);
+    assertEquals(VALUE_NUM, distinctHashes.length);
+    return BloomFilter.build(distinctHashes, 0.05);
+  }
+
+  @Test
+  public void testNoFalseNegative() {
+    BloomFilter filter = buildWithEvenNumbers();
+    for (int i = 0; i < VALUE_NUM; i++) {
+      assertTrue(filter.mightContain((long) i * 2));
+    }
+  }
+
+  @Test
+  public void testFalsePositiveRate() {
+    BloomFilter filter = buildWithEvenNumbers();
+    int falsePositiveNum = 0;
+    for (int i = 0; i < VALUE_NUM; i++) {
+      if (filter.mightContain((long) i * 2 + 1)) {
+        falsePositiveNum++;
+      }
+    }
+    assertTrue(falsePositiveNum < VALUE_NUM * 0.08);
+  }
+
+  @Test
+  public void testHash() {
+    assertEquals(BloomFilter.hash(1.5), BloomFilter.hash((Object) 1.5));
+    assertEquals(BloomFilter.hash(new Binary("abc")), BloomFilter.hash(new Binary("abc")));
+    assertFalse(BloomFilter.hash(new Binary("abc")) == BloomFilter.hash(new Binary("abd")));
+    assertFalse(BloomFilter.hash(1) == BloomFilter.hash(2));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnsupportedHash() {
+    BloomFilter.hash(true);
+  }
+
+  @Test
+  public void testSerialize() {
+    BloomFilter filter1 = buildWithEvenNumbers();
+    BloomFilter filter2 = BloomFilter.build(new long[]{BloomFilter.hash(7)}, 0.01);
+    ByteBuffer buffer = BloomFilter.serialize(Arrays.asList(filter1, filter2));
+    assertEquals(4 + filter1.getSerializedSize() + filter2.getSerializedSize(),
+        buffer.remaining());
+
+    BloomFilter[] filters = BloomFilter.deserialize(buffer);
+    assertEquals(2, filters.length);
+    for (int i = 0; i < VALUE_NUM; i++) {
+      assertTrue(filters[0].mightContain((long) i * 2));
+    }
+    assertTrue(filters[1].mightContain(7));
+    assertFalse(filters[1].mightContain(8));
+    // deserializing does not consume the buffer, which is kept in the digest
+    assertEquals(2, BloomFilter.deserialize(buffer).length);
+  }
+}
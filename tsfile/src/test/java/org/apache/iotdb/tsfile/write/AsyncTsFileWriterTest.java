@@ -0,0 +1,251 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.write;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
+import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
+import org.apache.iotdb.tsfile.file.metadata.ChunkGroupMetaData;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.ReadOnlyTsFile;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.common.RowRecord;
+import org.apache.iotdb.tsfile.read.expression.QueryExpression;
+import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+import org.apache.iotdb.tsfile.write.chunk.IChunkGroupWriter;
+import org.apache.iotdb.tsfile.write.record.RowBatch;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.record.datapoint.DoubleDataPoint;
+import org.apache.iotdb.tsfile.write.record.datapoint.LongDataPoint;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+import org.apache.iotdb.tsfile.write.schema.Schema;
+import org.apache.iotdb.tsfile.write.writer.DefaultTsFileOutput;
+import org.apache.iotdb.tsfile.write.writer.TsFileIOWriter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AsyncTsFileWriterTest {
+
+  private static final int POINT_NUM = 200_000;
+
+  private String path = "async_write.tsfile";
+  private File f;
+  private int groupSizeInByte;
+
+  @Before
+  public void setUp() {
+    f = new File(path);
+    if (f.exists()) {
+      assertTrue(f.delete());
+    }
+    groupSizeInByte = TSFileConfig.groupSizeInByte;
+    TSFileConfig.groupSizeInByte = 1024 * 1024;
+  }
+
+  @After
+  public void tearDown() {
+    TSFileConfig.groupSizeInByte = groupSizeInByte;
+    if (f.exists()) {
+      assertTrue(f.delete());
+    }
+  }
+
+  private Schema schema() {
+    Schema schema = new Schema();
+    schema.registerMeasurement(
+        new MeasurementSchema("sensor_1", TSDataType.INT64, TSEncoding.TS_2DIFF));
+    schema.registerMeasurement(
+        new MeasurementSchema("sensor_2", TSDataType.DOUBLE, TSEncoding.GORILLA));
+    return schema;
+  }
+
+  @Test
+  public void writeRecordTest() throws IOException, WriteProcessException {
+    // device_1 is written ten times as often as device_2, so it is flushed alone
+    AsyncTsFileWriter writer = new AsyncTsFileWriter(f, schema(), 64 * 1024);
+    for (long i = 0; i < POINT_NUM; i++) {
+      TSRecord record = new TSRecord(i, "device_1");
+      record.addTuple(new LongDataPoint("sensor_1", i));
+      record.addTuple(new DoubleDataPoint("sensor_2", i / 2.0));
+      writer.write(record);
+      if (i % 10 == 0) {
+        record = new TSRecord(i, "device_2");
+        record.addTuple(new LongDataPoint("sensor_1", -i));
+        writer.write(record);
+      }
+    }
+    writer.close();
+    List<ChunkGroupMetaData> chunkGroupMetaDatas = writer.getIOWriter().getChunkGroupMetaDatas();
+
+    int device1GroupNum = 0;
+    int device2GroupNum = 0;
+    for (ChunkGroupMetaData chunkGroupMetaData : chunkGroupMetaDatas) {
+      if (chunkGroupMetaData.getDeviceID().equals("device_1")) {
+        device1GroupNum++;
+      } else {
+        device2GroupNum++;
+      }
+    }
+    assertTrue(device1GroupNum > device2GroupNum);
+
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(path)) {
+      ReadOnlyTsFile readTsFile = new ReadOnlyTsFile(reader);
+      List<Path> paths = new ArrayList<>();
+      paths.add(new Path("device_1.sensor_1"));
+      paths.add(new Path("device_1.sensor_2"));
+      QueryDataSet dataSet = readTsFile.query(QueryExpression.create(paths, null));
+      long i = 0;
+      while (dataSet.hasNext()) {
+        RowRecord record = dataSet.next();
+        assertEquals(i, record.getTimestamp());
+        assertEquals(i, record.getFields().get(0).getLongV());
+        assertEquals(i / 2.0, record.getFields().get(1).getDoubleV(), 0.0001);
+        i++;
+      }
+      assertEquals(POINT_NUM, i);
+
+      paths.clear();
+      paths.add(new Path("device_2.sensor_1"));
+      dataSet = readTsFile.query(QueryExpression.create(paths, null));
+      i = 0;
+      while (dataSet.hasNext()) {
+        RowRecord record = dataSet.next();
+        assertEquals(i, record.getTimestamp());
+        assertEquals(-i, record.getFields().get(0).getLongV());
+        i += 10;
+      }
+      assertEquals(POINT_NUM, i);
+    }
+  }
+
+  @Test
+  public void writeRowBatchTest() throws IOException, WriteProcessException {
+    Schema schema = schema();
+    try (AsyncTsFileWriter writer = new AsyncTsFileWriter(f, schema)) {
+      RowBatch rowBatch = schema.createRowBatch("device_1");
+      for (long i = 0; i < POINT_NUM; i++) {
+        int row = rowBatch.batchSize++;
+        rowBatch.timestamps[row] = i;
+        ((long[]) rowBatch.values[0])[row] = i;
+        ((double[]) rowBatch.values[1])[row] = i / 2.0;
+        if (rowBatch.batchSize == rowBatch.getMaxBatchSize()) {
+          writer.write(rowBatch);
+          rowBatch.reset();
+        }
+      }
+      if (rowBatch.batchSize != 0) {
+        writer.write(rowBatch);
+      }
+    }
+
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(path)) {
+      ReadOnlyTsFile readTsFile = new ReadOnlyTsFile(reader);
+      List<Path> paths = new ArrayList<>();
+      paths.add(new Path("device_1.sensor_1"));
+      QueryDataSet dataSet = readTsFile.query(QueryExpression.create(paths, null));
+      long i = 0;
+      while (dataSet.hasNext()) {
+        RowRecord record = dataSet.next();
+        assertEquals(i, record.getTimestamp());
+        assertEquals(i, record.getFields().get(0).getLongV());
+        i++;
+      }
+      assertEquals(POINT_NUM, i);
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void flushFailureTest() throws IOException, WriteProcessException {
+    // every check flushes device_1, which fails as the output is closed
+    AsyncTsFileWriter writer = new AsyncTsFileWriter(f, schema(), 1);
+    writer.getIOWriter().close();
+    for (long i = 0; i < POINT_NUM; i++) {
+      TSRecord record = new TSRecord(i, "device_1");
+      record.addTuple(new LongDataPoint("sensor_1", i));
+      writer.write(record);
+    }
+    writer.close();
+  }
+
+  @Test
+  public void bufferedMemoryTest() throws IOException, WriteProcessException {
+    // the chunk groups of several devices are handed over many times, the buffered ones should
+    // not grow beyond the chunk group size
+    TSFileConfig.groupSizeInByte = 128 * 1024;
+    long maxBufferedMemSize = 0;
+    int deviceNum = 5;
+    AsyncTsFileWriter writer = new AsyncTsFileWriter(f, schema());
+    try {
+      for (long i = 0; i < POINT_NUM * 5; i++) {
+        TSRecord record = new TSRecord(i, "device_" + i % deviceNum);
+        record.addTuple(new LongDataPoint("sensor_1", i));
+        record.addTuple(new DoubleDataPoint("sensor_2", i / 2.0));
+        writer.write(record);
+        if (i % 100 == 0) {
+          long bufferedMemSize = 0;
+          for (IChunkGroupWriter groupWriter : writer.groupWriters.values()) {
+            bufferedMemSize += groupWriter.updateMaxGroupMemSize();
+          }
+          maxBufferedMemSize = Math.max(maxBufferedMemSize, bufferedMemSize);
+        }
+      }
+    } finally {
+      writer.close();
+    }
+    assertTrue(writer.getIOWriter().getChunkGroupMetaDatas().size() > 10 * deviceNum);
+    // the memory is checked now and then, so the buffered chunk groups may grow a little more
+    assertTrue("buffered " + maxBufferedMemSize + " bytes",
+        maxBufferedMemSize <= TSFileConfig.groupSizeInByte * 1.25);
+  }
+
+  @Test
+  public void closeAfterFlushFailureTest() throws IOException, WriteProcessException {
+    // the chunk groups are flushed to a closed output when the writer is closed
+    FileOutputStream outputStream = new FileOutputStream(f);
+    AsyncTsFileWriter writer = new AsyncTsFileWriter(
+        new TsFileIOWriter(new DefaultTsFileOutput(outputStream)), schema(),
+        TSFileDescriptor.getInstance().getConfig(), Long.MAX_VALUE);
+    for (long i = 0; i < 10; i++) {
+      TSRecord record = new TSRecord(i, "device_1");
+      record.addTuple(new LongDataPoint("sensor_1", i));
+      writer.write(record);
+    }
+    outputStream.close();
+    try {
+      writer.close();
+      fail("flushing to a closed output should fail");
+    } catch (IOException e) {
+      // expected
+    }
+    assertFalse(writer.getIOWriter().canWrite());
+  }
+}